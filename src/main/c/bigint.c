@@ -118,7 +118,8 @@ void karatsuba(jint *x, jint xoff, jint *y, jint yoff, jint *z, jint zoff, jint
 
     j = ll + l_b2 + 2; // length needed for (x2) computation
     k = j + l_b2 + 1;  // length needed for (y2) computation
-    if (!parallel && zlength >= (i = zoff + zlen) + k + 1) {
+    // The scratch follows the product, which is longer than (zlen) if the operands are padded to equal length
+    if (!parallel && zlength >= (i = zoff + (zlen > ll ? zlen : ll)) + k + 1) {
       tmpoff = i;
       x2offl_b2 = j + i;
       y2offl_b2 = k + i;
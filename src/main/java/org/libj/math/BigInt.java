@@ -29,9 +29,15 @@
 
 package org.libj.math;
 
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.RoundingMode;
+import java.nio.ByteBuffer;
 
 /**
  * An arbitrary-precision integer replacement for {@link java.math.BigInteger},
@@ -60,7 +66,7 @@ import java.math.RoundingMode;
  *
  * @author Seva Safris
  */
-public class BigInt extends BigIntMath implements Comparable<BigInt>, Cloneable {
+public class BigInt extends BigIntMath implements Comparable<BigInt>, Cloneable, Externalizable {
   private static final long serialVersionUID = -4360183347203631370L;
 
   /**
@@ -98,6 +104,50 @@ public class BigInt extends BigIntMath implements Comparable<BigInt>, Cloneable
     return val;
   }
 
+  /**
+   * Returns the {@linkplain #val() value-encoded number} of this
+   * {@link BigInt} to the {@link BigIntPool}, if the pool is enabled, and
+   * assigns zero to this {@link BigInt}.
+   * <p>
+   * <i><b>Note:</b> The {@linkplain #val() value-encoded number} of this
+   * {@link BigInt} must not be referenced anywhere else.</i>
+   *
+   * @complexity O(1)
+   * @see BigIntPool
+   */
+  public void release() {
+    BigIntPool.release(val);
+    val = new int[1];
+  }
+
+  /**
+   * Assigns the provided {@linkplain #val() value-encoded number} to this
+   * {@link BigInt}, and returns the array that it supersedes to the
+   * {@link BigIntPool}, if the pool is enabled.
+   *
+   * @param val The {@linkplain #val() value-encoded number} to assign.
+   * @return {@code this}
+   * @complexity O(1)
+   */
+  private BigInt update(final int[] val) {
+    if (val != this.val) {
+      BigIntPool.release(this.val);
+      this.val = val;
+    }
+
+    return this;
+  }
+
+  /**
+   * Creates a {@link BigInt} with the value of zero, which is the constructor
+   * of the {@link Externalizable} form.
+   *
+   * @complexity O(1)
+   */
+  public BigInt() {
+    val = new int[1];
+  }
+
   /**
    * Creates a {@link BigInt} from the provided {@linkplain #val() value-encoded
    * number}.
@@ -223,6 +273,22 @@ public class BigInt extends BigIntMath implements Comparable<BigInt>, Cloneable
     val = assign(emptyVal, s);
   }
 
+  /**
+   * Creates a {@link BigInt} from the provided number as a
+   * {@link CharSequence} of the given radix.
+   *
+   * @param s The number as a {@link CharSequence}.
+   * @param radix The radix of the number.
+   * @throws NumberFormatException If {@code s} is not a valid representation
+   *           of a number in the given radix, or if {@code radix} is outside
+   *           the range from {@link Character#MIN_RADIX} to
+   *           {@link Character#MAX_RADIX}.
+   * @complexity O(n) - O(M(n) log n)
+   */
+  public BigInt(final CharSequence s, final int radix) {
+    val = assign(emptyVal, s, radix);
+  }
+
   /**
    * Creates a {@link BigInt} from the provided {@link BigInt}.
    * <p>
@@ -282,7 +348,7 @@ public class BigInt extends BigIntMath implements Comparable<BigInt>, Cloneable
    * @complexity O(1)
    */
   public BigInt assign(final int[] val) {
-    this.val = assign(this.val, val);
+    update(assign(this.val, val));
     // _debugLenSig(val);
     return this;
   }
@@ -307,8 +373,7 @@ public class BigInt extends BigIntMath implements Comparable<BigInt>, Cloneable
    * @complexity O(n^2)
    */
   public BigInt assign(final byte[] mag, final int off, final int len, final boolean littleEndian) {
-    val = assign(val, mag, off, len, littleEndian);
-    return this;
+    return update(assign(val, mag, off, len, littleEndian));
   }
 
   /**
@@ -329,8 +394,33 @@ public class BigInt extends BigIntMath implements Comparable<BigInt>, Cloneable
    * @complexity O(n^2)
    */
   public BigInt assign(final byte[] mag, final boolean littleEndian) {
-    val = assign(val, mag, 0, mag.length, littleEndian);
-    return this;
+    return update(assign(val, mag, 0, mag.length, littleEndian));
+  }
+
+  /**
+   * Assigns the two's-complement binary representation of a
+   * {@linkplain #val() value-encoded <code>int[]</code>} of {@code len} bytes
+   * at the current position of the provided {@link ByteBuffer} to this
+   * {@link BigInt}, and advances the position past it.
+   *
+   * <pre>
+   * this = buf
+   * </pre>
+   *
+   * @param buf The {@link ByteBuffer} of the two's-complement binary
+   *          representation of a {@linkplain #val() value-encoded
+   *          <code>int[]</code>}.
+   * @param len The number of bytes to use.
+   * @param littleEndian Whether the bytes are encoded in <i>little-endian</i>
+   *          ({@code true}), or <i>big-endian</i> ({@code false}), regardless
+   *          of the {@linkplain ByteBuffer#order() byte order} of the buffer.
+   * @return {@code this}
+   * @throws java.nio.BufferUnderflowException If the remaining bytes of the
+   *           buffer are fewer than {@code len}.
+   * @complexity O(n)
+   */
+  public BigInt assign(final ByteBuffer buf, final int len, final boolean littleEndian) {
+    return update(assign(val, buf, len, littleEndian));
   }
 
   /**
@@ -345,8 +435,7 @@ public class BigInt extends BigIntMath implements Comparable<BigInt>, Cloneable
    * @complexity O(n^2)
    */
   public BigInt assign(final String s) {
-    val = assign(val, s);
-    return this;
+    return update(assign(val, s));
   }
 
   /**
@@ -361,8 +450,28 @@ public class BigInt extends BigIntMath implements Comparable<BigInt>, Cloneable
    * @complexity O(n^2)
    */
   public BigInt assign(final char[] s) {
-    val = assign(val, s);
-    return this;
+    return update(assign(val, s));
+  }
+
+  /**
+   * Assigns the specified number as a {@link CharSequence} of the given radix
+   * to this {@link BigInt}.
+   *
+   * <pre>
+   * this = s
+   * </pre>
+   *
+   * @param s The number as a {@link CharSequence}.
+   * @param radix The radix of the number.
+   * @return {@code this}
+   * @throws NumberFormatException If {@code s} is not a valid representation
+   *           of a number in the given radix, or if {@code radix} is outside
+   *           the range from {@link Character#MIN_RADIX} to
+   *           {@link Character#MAX_RADIX}.
+   * @complexity O(n) - O(M(n) log n)
+   */
+  public BigInt assign(final CharSequence s, final int radix) {
+    return update(assign(val, s, radix));
   }
 
   /**
@@ -378,8 +487,7 @@ public class BigInt extends BigIntMath implements Comparable<BigInt>, Cloneable
    * @complexity O(1)
    */
   public BigInt assign(final int sig, final int mag) {
-    val = assign(val, sig, mag);
-    return this;
+    return update(assign(val, sig, mag));
   }
 
   /**
@@ -395,8 +503,7 @@ public class BigInt extends BigIntMath implements Comparable<BigInt>, Cloneable
    * @complexity O(1)
    */
   public BigInt assign(final int sig, final long mag) {
-    val = assign(val, sig, mag);
-    return this;
+    return update(assign(val, sig, mag));
   }
 
   /**
@@ -411,8 +518,7 @@ public class BigInt extends BigIntMath implements Comparable<BigInt>, Cloneable
    * @complexity O(1)
    */
   public BigInt assign(final int mag) {
-    val = assign(val, mag);
-    return this;
+    return update(assign(val, mag));
   }
 
   /**
@@ -427,8 +533,7 @@ public class BigInt extends BigIntMath implements Comparable<BigInt>, Cloneable
    * @complexity O(1)
    */
   public BigInt assign(final long mag) {
-    val = assign(val, mag);
-    return this;
+    return update(assign(val, mag));
   }
 
   /**
@@ -528,8 +633,7 @@ public class BigInt extends BigIntMath implements Comparable<BigInt>, Cloneable
    * @complexity O(n)
    */
   public BigInt add(final int sig, final int add) {
-    val = add(val, sig, add);
-    return this;
+    return update(add(val, sig, add));
   }
 
   /**
@@ -544,8 +648,7 @@ public class BigInt extends BigIntMath implements Comparable<BigInt>, Cloneable
    * @complexity O(n)
    */
   public BigInt add(final int add) {
-    val = add(val, add);
-    return this;
+    return update(add(val, add));
   }
 
   /**
@@ -561,8 +664,7 @@ public class BigInt extends BigIntMath implements Comparable<BigInt>, Cloneable
    * @complexity O(n)
    */
   public BigInt add(final int sig, final long add) {
-    val = add(val, sig, add);
-    return this;
+    return update(add(val, sig, add));
   }
 
   /**
@@ -577,8 +679,7 @@ public class BigInt extends BigIntMath implements Comparable<BigInt>, Cloneable
    * @complexity O(n)
    */
   public BigInt add(final long add) {
-    val = add(val, add);
-    return this;
+    return update(add(val, add));
   }
 
   /**
@@ -593,8 +694,7 @@ public class BigInt extends BigIntMath implements Comparable<BigInt>, Cloneable
    * @complexity O(n)
    */
   public BigInt add(final BigInt add) {
-    val = add(val, add.val);
-    return this;
+    return update(add(val, add.val));
   }
 
   /**
@@ -610,8 +710,7 @@ public class BigInt extends BigIntMath implements Comparable<BigInt>, Cloneable
    * @complexity O(n)
    */
   public BigInt sub(final int sig, final int sub) {
-    val = sub(val, sig, sub);
-    return this;
+    return update(sub(val, sig, sub));
   }
 
   /**
@@ -626,8 +725,7 @@ public class BigInt extends BigIntMath implements Comparable<BigInt>, Cloneable
    * @complexity O(n)
    */
   public BigInt sub(final int sub) {
-    val = sub(val, sub);
-    return this;
+    return update(sub(val, sub));
   }
 
   /**
@@ -643,8 +741,7 @@ public class BigInt extends BigIntMath implements Comparable<BigInt>, Cloneable
    * @complexity O(n)
    */
   public BigInt sub(final int sig, final long sub) {
-    val = sub(val, sig, sub);
-    return this;
+    return update(sub(val, sig, sub));
   }
 
   /**
@@ -659,8 +756,7 @@ public class BigInt extends BigIntMath implements Comparable<BigInt>, Cloneable
    * @complexity O(n)
    */
   public BigInt sub(final long sub) {
-    val = sub(val, sub);
-    return this;
+    return update(sub(val, sub));
   }
 
   /**
@@ -675,8 +771,7 @@ public class BigInt extends BigIntMath implements Comparable<BigInt>, Cloneable
    * @complexity O(n)
    */
   public BigInt sub(final BigInt sub) {
-    val = sub(val, sub.val);
-    return this;
+    return update(sub(val, sub.val));
   }
 
   /**
@@ -693,8 +788,7 @@ public class BigInt extends BigIntMath implements Comparable<BigInt>, Cloneable
    * @complexity O(n)
    */
   public BigInt mul(final int sig, final int mul) {
-    val = mul(val, sig, mul);
-    return this;
+    return update(mul(val, sig, mul));
   }
 
   /**
@@ -709,8 +803,7 @@ public class BigInt extends BigIntMath implements Comparable<BigInt>, Cloneable
    * @complexity O(n)
    */
   public BigInt mul(final int mul) {
-    val = mul(val, mul);
-    return this;
+    return update(mul(val, mul));
   }
 
   /**
@@ -727,8 +820,7 @@ public class BigInt extends BigIntMath implements Comparable<BigInt>, Cloneable
    * @complexity O(n)
    */
   public BigInt mul(final int sig, final long mul) {
-    val = mul(val, sig, mul);
-    return this;
+    return update(mul(val, sig, mul));
   }
 
   /**
@@ -743,8 +835,7 @@ public class BigInt extends BigIntMath implements Comparable<BigInt>, Cloneable
    * @complexity O(n)
    */
   public BigInt mul(final long mul) {
-    val = mul(val, mul);
-    return this;
+    return update(mul(val, mul));
   }
 
   /**
@@ -759,8 +850,7 @@ public class BigInt extends BigIntMath implements Comparable<BigInt>, Cloneable
    * @complexity O(n^2) - O(n log n)
    */
   public BigInt mul(final BigInt mul) {
-    val = mul(val, mul.val);
-    return this;
+    return update(mul(val, mul.val));
   }
 
   /**
@@ -777,8 +867,7 @@ public class BigInt extends BigIntMath implements Comparable<BigInt>, Cloneable
    * @complexity O(n^2 log exp) - O(n log n log exp)
    */
   public BigInt pow(final int exp) {
-    val = pow(val, exp);
-    return this;
+    return update(pow(val, exp));
   }
 
   /**
@@ -795,8 +884,58 @@ public class BigInt extends BigIntMath implements Comparable<BigInt>, Cloneable
    * @complexity O(n^2) - O(n log n)
    */
   public BigInt sqrt(final RoundingMode rm) {
-    val = sqrt(val, rm);
-    return this;
+    return update(sqrt(val, rm));
+  }
+
+  /**
+   * Set this {@link BigInt} to the value of its {@code k}-th root, rounded
+   * toward zero.
+   *
+   * <blockquote>
+   * <code>this = sgn(this) * ⌊|this|<sup>1/k</sup>⌋</code>
+   * </blockquote>
+   *
+   * @param k The degree of the root.
+   * @return <code>sgn(this) * ⌊|this|<sup>1/k</sup>⌋</code>
+   * @throws ArithmeticException If {@code k} is not positive, or if this
+   *           {@link BigInt} is negative and {@code k} is even.
+   * @see BigIntMath#root(int[],int)
+   * @complexity O(M(n) log k)
+   */
+  public BigInt root(final int k) {
+    return update(root(val, k));
+  }
+
+  /**
+   * Set this {@link BigInt} to the value of its square root, rounded down, and
+   * returns the remainder as a new {@link BigInt}.
+   *
+   * <pre>
+   * rem = this - ⌊this<sup>1/2</sup>⌋<sup>2</sup>
+   * this = ⌊this<sup>1/2</sup>⌋
+   * return rem
+   * </pre>
+   *
+   * @return A new {@link BigInt} with the remainder.
+   * @throws ArithmeticException If this {@link BigInt} is negative.
+   * @see BigIntMath#sqrtRem(int[])
+   * @complexity O(M(n))
+   */
+  public BigInt sqrtRem() {
+    return new BigInt(sqrtRem(val));
+  }
+
+  /**
+   * Returns {@code true} if this {@link BigInt} is a perfect power, i.e. if
+   * <code>this = m<sup>k</sup></code> for an integer {@code m} and
+   * {@code k >= 2}.
+   *
+   * @return {@code true} if this {@link BigInt} is a perfect power.
+   * @see BigIntMath#isPerfectPower(int[])
+   * @complexity O(n^2 / log n) - O(M(n) log n)
+   */
+  public boolean isPerfectPower() {
+    return isPerfectPower(val);
   }
 
   /**
@@ -810,10 +949,173 @@ public class BigInt extends BigIntMath implements Comparable<BigInt>, Cloneable
    * @complexity O(n^2) - O(n log n)
    */
   public BigInt sqrt() {
-    val = sqrt(val, RoundingMode.DOWN);
+    return update(sqrt(val, RoundingMode.DOWN));
+  }
+
+  /**
+   * Sets the value of this {@link BigInt} to the greatest common divisor of
+   * this {@link BigInt} and the provided {@link BigInt}, which is
+   * non-negative.
+   *
+   * <pre>
+   * this = gcd(this, val)
+   * </pre>
+   *
+   * @param val The other {@link BigInt}.
+   * @return {@code gcd(this, val)}
+   * @complexity O(n^2) - O(M(n) log n)
+   */
+  public BigInt gcd(final BigInt val) {
+    return update(gcd(this.val, val.val));
+  }
+
+  /**
+   * Sets the value of this {@link BigInt} to the least common multiple of this
+   * {@link BigInt} and the provided {@link BigInt}, which is non-negative.
+   *
+   * <pre>
+   * this = lcm(this, val)
+   * </pre>
+   *
+   * @param val The other {@link BigInt}.
+   * @return {@code lcm(this, val)}
+   * @complexity O(n^2) - O(M(n) log n)
+   */
+  public BigInt lcm(final BigInt val) {
+    return update(lcm(this.val, val.val));
+  }
+
+  /**
+   * Sets the value of this {@link BigInt} to the greatest common divisor of
+   * this {@link BigInt} and the provided {@link BigInt}, which is
+   * non-negative, and sets the provided {@link BigInt}s {@code x} and
+   * {@code y} to the Bézout coefficients, such that:
+   *
+   * <pre>
+   * x * this + y * val = gcd(this, val)
+   * this = gcd(this, val)
+   * </pre>
+   *
+   * <i><b>Note:</b> The {@link BigInt}s {@code x} and {@code y} must not be
+   * {@code this} or {@code val}.</i>
+   *
+   * @param val The other {@link BigInt}.
+   * @param x The {@link BigInt} into which the coefficient of {@code this} is
+   *          to be put, or {@code null} if it is not needed.
+   * @param y The {@link BigInt} into which the coefficient of {@code val} is
+   *          to be put, or {@code null} if it is not needed.
+   * @return {@code gcd(this, val)}
+   * @complexity O(n^2)
+   */
+  public BigInt gcdExt(final BigInt val, final BigInt x, final BigInt y) {
+    final int[] a = this.val, b = val.val;
+    final int[] s, t;
+    if (b[0] == 0) {
+      s = a[0] == 0 ? alloc(1) : assign(alloc(2), a[0] < 0 ? -1 : 1, 1);
+      t = alloc(1);
+      update(abs(a));
+    }
+    else if (a[0] == 0) {
+      s = alloc(1);
+      t = assign(alloc(2), b[0] < 0 ? -1 : 1, 1);
+      update(abs(assign(a, b)));
+    }
+    else {
+      final int[] g = a.clone();
+      s = gcdExt(g, b);
+      // t = (g - s * a) / b
+      t = y == null ? null : divExact(sub(g.clone(), mul(s.clone(), a)), b);
+      update(g);
+    }
+
+    if (x != null)
+      x.update(s);
+
+    if (y != null)
+      y.update(t);
+
     return this;
   }
 
+  /**
+   * Sets the value of this {@link BigInt} to its inverse modulo the provided
+   * modulus, which is non-negative and less than the modulus.
+   *
+   * <pre>
+   * this = this<sup>-1</sup> mod mod
+   * </pre>
+   *
+   * If an {@link ArithmeticException} is thrown, the value of this
+   * {@link BigInt} is not changed.
+   *
+   * @param mod The modulus.
+   * @return <code>this<sup>-1</sup> mod mod</code>
+   * @throws ArithmeticException If {@code mod} is not positive, or if this
+   *           {@link BigInt} is not invertible modulo {@code mod}.
+   * @complexity O(n^2)
+   */
+  public BigInt modInverse(final BigInt mod) {
+    return update(modInverse(val, mod.val));
+  }
+
+  /**
+   * Sets the value of this {@link BigInt} to this {@link BigInt} raised to the
+   * power of the provided exponent, modulo the provided modulus, which is
+   * non-negative.
+   *
+   * <pre>
+   * this = this<sup>exp</sup> mod mod
+   * </pre>
+   *
+   * @param exp The exponent.
+   * @param mod The modulus.
+   * @return <code>this<sup>exp</sup> mod mod</code>
+   * @throws ArithmeticException If {@code mod} is not positive, or if
+   *           {@code exp} is negative and this {@link BigInt} is not
+   *           invertible modulo {@code mod}.
+   * @complexity O(n^2 e) - O(M(n) e)
+   */
+  public BigInt modPow(final BigInt exp, final BigInt mod) {
+    return update(modPow(val, exp.val, mod.val));
+  }
+
+  /**
+   * Returns {@code true} if this {@link BigInt} is probably prime, and
+   * {@code false} if it is definitely composite. The sign of this
+   * {@link BigInt} is ignored.
+   *
+   * @param certainty A measure of the uncertainty that the caller is willing to
+   *          tolerate: if the call returns {@code true} the probability that
+   *          this {@link BigInt} is prime exceeds
+   *          <code>1 - 1/2<sup>certainty</sup></code>. If
+   *          {@code certainty <= 0}, {@code true} is returned.
+   * @return {@code true} if this {@link BigInt} is probably prime, and
+   *         {@code false} if it is definitely composite.
+   * @see BigIntMath#isProbablePrime(int[],int)
+   * @complexity O(n^3) - O(M(n) n)
+   */
+  public boolean isProbablePrime(final int certainty) {
+    return isProbablePrime(val, certainty);
+  }
+
+  /**
+   * Sets the value of this {@link BigInt} to the least number greater than
+   * this {@link BigInt} that is probably prime.
+   *
+   * <pre>
+   * this = nextProbablePrime(this)
+   * </pre>
+   *
+   * @return The least number greater than this {@link BigInt} that is probably
+   *         prime.
+   * @throws ArithmeticException If this {@link BigInt} is negative.
+   * @see BigIntMath#nextProbablePrime(int[])
+   * @complexity O(n^4) - O(M(n) n^2)
+   */
+  public BigInt nextProbablePrime() {
+    return update(nextProbablePrime(val));
+  }
+
   /**
    * Set this {@link BigInt} to the value of its natural logarithm, rounded as
    * per the provided {@link RoundingMode}.
@@ -1023,10 +1325,87 @@ public class BigInt extends BigIntMath implements Comparable<BigInt>, Cloneable
    * @complexity O(n^2)
    */
   public BigInt div(final BigInt div) {
-    val = div(val, div.val);
+    return update(div(val, div.val));
+  }
+
+  /**
+   * Divides this {@link BigInt} by the provided precomputed
+   * {@link BigIntDivisor}.
+   *
+   * <pre>
+   * this = this / div
+   * </pre>
+   *
+   * @param div The {@link BigIntDivisor}.
+   * @return {@code this}
+   * @complexity O(M(k) * n/k)
+   */
+  public BigInt div(final BigIntDivisor div) {
+    return update(div.div(val));
+  }
+
+  /**
+   * Divides this {@link BigInt} by the provided {@code int} divisor, which is
+   * known to divide this {@link BigInt} exactly.
+   *
+   * <pre>
+   * this = this / div
+   * </pre>
+   *
+   * <i><b>Note:</b> The result is undefined if the remainder of the division
+   * is not zero.</i>
+   *
+   * @param div The divisor.
+   * @return {@code this}
+   * @throws ArithmeticException If {@code div} is 0.
+   * @complexity O(n)
+   */
+  public BigInt divExact(final int div) {
+    divExact(val, div);
     return this;
   }
 
+  /**
+   * Divides this {@link BigInt} by the provided {@code long} divisor, which is
+   * known to divide this {@link BigInt} exactly.
+   *
+   * <pre>
+   * this = this / div
+   * </pre>
+   *
+   * <i><b>Note:</b> The result is undefined if the remainder of the division
+   * is not zero.</i>
+   *
+   * @param div The divisor.
+   * @return {@code this}
+   * @throws ArithmeticException If {@code div} is 0.
+   * @complexity O(n)
+   */
+  public BigInt divExact(final long div) {
+    divExact(val, div);
+    return this;
+  }
+
+  /**
+   * Divides this {@link BigInt} by the provided {@link BigInt} divisor, which
+   * is known to divide this {@link BigInt} exactly.
+   *
+   * <pre>
+   * this = this / div
+   * </pre>
+   *
+   * <i><b>Note:</b> The result is undefined if the remainder of the division
+   * is not zero.</i>
+   *
+   * @param div The divisor.
+   * @return {@code this}
+   * @throws ArithmeticException If {@code div} is zero.
+   * @complexity O(n^2)
+   */
+  public BigInt divExact(final BigInt div) {
+    return update(divExact(val, div.val));
+  }
+
   /**
    * Divides this {@link BigInt} by the specified <i>unsigned</i> {@code int}
    * divisor, and returns the <i>absolute unsigned int</i> remainder.
@@ -1125,6 +1504,24 @@ public class BigInt extends BigIntMath implements Comparable<BigInt>, Cloneable
     return new BigInt(divRem(val, div.val));
   }
 
+  /**
+   * Divides this {@link BigInt} by the provided precomputed
+   * {@link BigIntDivisor}, and returns the remainder as a new {@link BigInt}.
+   *
+   * <pre>
+   * rem = this % div
+   * this = this / div
+   * return rem
+   * </pre>
+   *
+   * @param div The {@link BigIntDivisor}.
+   * @return A new {@link BigInt} with the remainder.
+   * @complexity O(M(k) * n/k)
+   */
+  public BigInt divRem(final BigIntDivisor div) {
+    return new BigInt(div.divRem(val));
+  }
+
   /**
    * Divides this {@link BigInt} by the provided <i>unsigned</i> {@code int}
    * divisor and sets the remainder as the value of this {@link BigInt}.
@@ -1208,8 +1605,24 @@ public class BigInt extends BigIntMath implements Comparable<BigInt>, Cloneable
    * @complexity O(n^2)
    */
   public BigInt rem(final BigInt div) {
-    val = rem(val, div.val);
-    return this;
+    return update(rem(val, div.val));
+  }
+
+  /**
+   * Divides this {@link BigInt} by the provided precomputed
+   * {@link BigIntDivisor} and sets the remainder as the value of this
+   * {@link BigInt}.
+   *
+   * <pre>
+   * this = this % div
+   * </pre>
+   *
+   * @param div The {@link BigIntDivisor}.
+   * @return {@code this}
+   * @complexity O(M(k) * n/k)
+   */
+  public BigInt rem(final BigIntDivisor div) {
+    return update(div.rem(val));
   }
 
   /**
@@ -1228,8 +1641,7 @@ public class BigInt extends BigIntMath implements Comparable<BigInt>, Cloneable
    * @complexity O(n^2)
    */
   public BigInt mod(final int div) {
-    val = mod(val, div);
-    return this;
+    return update(mod(val, div));
   }
 
   /**
@@ -1248,8 +1660,7 @@ public class BigInt extends BigIntMath implements Comparable<BigInt>, Cloneable
    * @complexity O(n^2)
    */
   public BigInt mod(final long div) {
-    val = mod(val, div);
-    return this;
+    return update(mod(val, div));
   }
 
   /**
@@ -1268,8 +1679,27 @@ public class BigInt extends BigIntMath implements Comparable<BigInt>, Cloneable
    * @complexity O(n^2)
    */
   public BigInt mod(final BigInt div) {
-    val = mod(val, div.val);
-    return this;
+    return update(mod(val, div.val));
+  }
+
+  /**
+   * Divides this {@link BigInt} by the provided precomputed
+   * {@link BigIntDivisor} and sets the modulus as the value of this
+   * {@link BigInt}.
+   * <p>
+   * <i><b>Note:</b> This method differs from {@link #rem(BigIntDivisor)} in
+   * that it always returns a <i>non-negative</i> result.</i>
+   *
+   * <pre>
+   * this = this % div
+   * </pre>
+   *
+   * @param div The {@link BigIntDivisor}.
+   * @return {@code this}
+   * @complexity O(M(k) * n/k)
+   */
+  public BigInt mod(final BigIntDivisor div) {
+    return update(div.mod(val));
   }
 
   /**
@@ -1342,8 +1772,7 @@ public class BigInt extends BigIntMath implements Comparable<BigInt>, Cloneable
    * @complexity O(n)
    */
   public BigInt shiftLeft(final int num) {
-    val = shiftLeft(val, num);
-    return this;
+    return update(shiftLeft(val, num));
   }
 
   /**
@@ -1360,8 +1789,7 @@ public class BigInt extends BigIntMath implements Comparable<BigInt>, Cloneable
    * @complexity O(n)
    */
   public BigInt shiftRight(final int num) {
-    val = shiftRight(val, num);
-    return this;
+    return update(shiftRight(val, num));
   }
 
   /**
@@ -1392,8 +1820,7 @@ public class BigInt extends BigIntMath implements Comparable<BigInt>, Cloneable
    * @complexity O(n)
    */
   public BigInt setBit(final int bit) {
-    val = setBit(val, bit);
-    return this;
+    return update(setBit(val, bit));
   }
 
   /**
@@ -1408,8 +1835,7 @@ public class BigInt extends BigIntMath implements Comparable<BigInt>, Cloneable
    * @complexity O(n)
    */
   public BigInt clearBit(final int bit) {
-    val = clearBit(val, bit);
-    return this;
+    return update(clearBit(val, bit));
   }
 
   /**
@@ -1424,8 +1850,7 @@ public class BigInt extends BigIntMath implements Comparable<BigInt>, Cloneable
    * @complexity O(n)
    */
   public BigInt flipBit(final int bit) {
-    val = flipBit(val, bit);
-    return this;
+    return update(flipBit(val, bit));
   }
 
   /**
@@ -1441,8 +1866,7 @@ public class BigInt extends BigIntMath implements Comparable<BigInt>, Cloneable
    * @complexity O(n)
    */
   public BigInt and(final BigInt mask) {
-    val = and(val, mask.val);
-    return this;
+    return update(and(val, mask.val));
   }
 
   /**
@@ -1458,8 +1882,7 @@ public class BigInt extends BigIntMath implements Comparable<BigInt>, Cloneable
    * @complexity O(n)
    */
   public BigInt or(final BigInt mask) {
-    val = or(val, mask.val);
-    return this;
+    return update(or(val, mask.val));
   }
 
   /**
@@ -1475,8 +1898,7 @@ public class BigInt extends BigIntMath implements Comparable<BigInt>, Cloneable
    * @complexity O(n)
    */
   public BigInt xor(final BigInt mask) {
-    val = xor(val, mask.val);
-    return this;
+    return update(xor(val, mask.val));
   }
 
   /**
@@ -1492,8 +1914,7 @@ public class BigInt extends BigIntMath implements Comparable<BigInt>, Cloneable
    * @complexity O(n)
    */
   public BigInt andNot(final BigInt mask) {
-    val = andNot(val, mask.val);
-    return this;
+    return update(andNot(val, mask.val));
   }
 
   /**
@@ -1512,8 +1933,7 @@ public class BigInt extends BigIntMath implements Comparable<BigInt>, Cloneable
    * @complexity O(n)
    */
   public BigInt not() {
-    val = not(val);
-    return this;
+    return update(not(val));
   }
 
   /**
@@ -1611,6 +2031,56 @@ public class BigInt extends BigIntMath implements Comparable<BigInt>, Cloneable
     return toByteArray(val, littleEndian);
   }
 
+  /**
+   * Returns the number of bytes of the two's-complement representation of this
+   * {@link BigInt}, which is the length of the array of
+   * {@link #toByteArray(boolean)}, and the number of bytes that are written by
+   * {@link #writeTo(ByteBuffer)} and {@link #writeTo(byte[],int,boolean)}.
+   *
+   * @return The number of bytes of the two's-complement representation of this
+   *         {@link BigInt}.
+   * @complexity O(n)
+   * @amortized O(1)
+   */
+  public int byteLength() {
+    return byteLength(val);
+  }
+
+  /**
+   * Writes the two's-complement representation of this {@link BigInt} to the
+   * provided byte array at the provided offset, in the endian order as
+   * specified by the {@code littleEndian} argument.
+   *
+   * @param bytes The byte array.
+   * @param off The offset in the byte array at which to write.
+   * @param littleEndian Whether the bytes are to be written in
+   *          <i>little-endian</i> ({@code true}), or <i>big-endian</i>
+   *          ({@code false}).
+   * @return The number of bytes written, which is {@link #byteLength()}.
+   * @throws ArrayIndexOutOfBoundsException If the byte array is shorter than
+   *           {@code off + byteLength()}.
+   * @complexity O(n)
+   */
+  public int writeTo(final byte[] bytes, final int off, final boolean littleEndian) {
+    return writeTo(val, bytes, off, littleEndian);
+  }
+
+  /**
+   * Writes the two's-complement representation of this {@link BigInt} to the
+   * provided {@link ByteBuffer} at its current position, in the
+   * {@linkplain ByteBuffer#order() byte order} of the buffer, and advances the
+   * position past it.
+   *
+   * @param buf The {@link ByteBuffer}.
+   * @return The number of bytes written, which is {@link #byteLength()}.
+   * @throws java.nio.BufferOverflowException If the remaining bytes of the
+   *           buffer are fewer than {@link #byteLength()}.
+   * @complexity O(n)
+   */
+  public int writeTo(final ByteBuffer buf) {
+    return writeTo(val, buf);
+  }
+
   /**
    * Returns a {@link BigInteger} representation of this {@link BigInt}.
    *
@@ -1708,6 +2178,83 @@ public class BigInt extends BigIntMath implements Comparable<BigInt>, Cloneable
     return toString(val);
   }
 
+  /**
+   * Converts this {@link BigInt} into a string of the given radix. If the
+   * radix is outside the range from {@link Character#MIN_RADIX} to
+   * {@link Character#MAX_RADIX}, radix 10 is used.
+   *
+   * @param radix The radix of the string representation.
+   * @return The string representation of this {@link BigInt} in the given
+   *         radix.
+   * @complexity O(n) - O(M(n) log n)
+   */
+  public String toString(final int radix) {
+    return toString(val, radix);
+  }
+
+  /**
+   * Writes the compact form of this {@link BigInt} to the provided
+   * {@link ObjectOutput}, which is the signed length of the magnitude as a
+   * zigzag varint of 1 to 4 bytes, followed by the limbs of the magnitude as
+   * raw {@code int}s from the least significant. The spare capacity of the
+   * {@linkplain #val() value-encoded number} is not written.
+   *
+   * @param out The {@link ObjectOutput}.
+   * @throws IOException If an I/O error has occurred.
+   * @complexity O(n)
+   */
+  @Override
+  public void writeExternal(final ObjectOutput out) throws IOException {
+    final int signum = val[0];
+    final int len = Math.abs(signum);
+    for (int zigzag = signum << 1 ^ signum >> 31; true; zigzag >>>= 7) {
+      if ((zigzag & ~0x7F) == 0) {
+        out.writeByte(zigzag);
+        break;
+      }
+
+      out.writeByte(zigzag & 0x7F | 0x80);
+    }
+
+    for (int i = 1; i <= len; ++i)
+      out.writeInt(val[i]);
+  }
+
+  /**
+   * Reads the compact form of {@link #writeExternal(ObjectOutput)} from the
+   * provided {@link ObjectInput} into this {@link BigInt}.
+   *
+   * @param in The {@link ObjectInput}.
+   * @throws IOException If an I/O error has occurred, or if the length of the
+   *           magnitude is not a varint of 1 to 4 bytes, or is out of range.
+   * @complexity O(n)
+   */
+  @Override
+  public void readExternal(final ObjectInput in) throws IOException {
+    int zigzag = 0;
+    for (int shift = 0, b; true; shift += 7) {
+      if (shift == 28)
+        throw new InvalidObjectException("Malformed length");
+
+      b = in.readUnsignedByte();
+      zigzag |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0)
+        break;
+    }
+
+    final int signum = zigzag >>> 1 ^ -(zigzag & 1);
+    final int len = Math.abs(signum);
+    if (len < 0 || len >= MAX_VAL_LENGTH)
+      throw new InvalidObjectException("Length out of range: " + signum);
+
+    final int[] val = alloc(len + 1);
+    val[0] = signum;
+    for (int i = 1; i <= len; ++i)
+      val[i] = in.readInt();
+
+    update(val);
+  }
+
   /**
    * Returns a copy of this {@link BigInt}.
    *
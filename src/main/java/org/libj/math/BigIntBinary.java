@@ -31,6 +31,9 @@ package org.libj.math;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 
 abstract class BigIntBinary extends BigIntMagnitude {
   private static final long serialVersionUID = 6584645376198040730L;
@@ -812,7 +815,7 @@ abstract class BigIntBinary extends BigIntMagnitude {
 
     int len1 = val[0];
     if (len1 == 0)
-      return mask;
+      return copy(mask, Math.abs(len2) + 1, val, Math.abs(len2) + 1);
 
     int sig1 = 1; if (len1 < 0) { len1 = -len1; sig1 = -1; }
     int sig2 = 1; if (len2 < 0) { len2 = -len2; sig2 = -1; }
@@ -1353,17 +1356,70 @@ abstract class BigIntBinary extends BigIntMagnitude {
    *         provided {@linkplain BigInt#val() value-encoded number}.
    */
   public static byte[] toByteArray(final int[] val, final boolean littleEndian) {
-    int len = val[0];
+    final byte[] bytes = new byte[byteLength(val)];
+    writeTo(val, bytes, 0, littleEndian);
+    return bytes;
+  }
+
+  /**
+   * Returns the number of bytes of the two's-complement representation of the
+   * provided {@linkplain BigInt#val() value-encoded number}, which is the
+   * minimum number of bytes required to represent the provided number,
+   * including at least one sign bit: {@code (ceil((bitLength(val) + 1) / 8))}.
+   *
+   * @param val The {@linkplain BigInt#val() value-encoded number}.
+   * @return The number of bytes of the two's-complement representation of the
+   *         provided {@linkplain BigInt#val() value-encoded number}.
+   * @complexity O(n)
+   * @amortized O(1)
+   */
+  public static int byteLength(final int[] val) {
+    final int len = Math.abs(val[0]);
     if (len == 0)
-      return new byte[] {0};
+      return 1;
+
+    long bitLength = bitLength(val, len);
+    // The two's-complement of a negative power of two does not need the top bit of its magnitude
+    if (val[0] < 0 && (val[len] & val[len] - 1) == 0 && firstNonzeroIntNum(val, 1, len) == len)
+      --bitLength;
+
+    return (int)(bitLength / 8L + 1L);
+  }
+
+  /**
+   * Writes the two's-complement representation of the provided
+   * {@linkplain BigInt#val() value-encoded number} to the provided byte array
+   * at the provided offset, in the endian order as specified by the
+   * {@code littleEndian} argument. The number of bytes written is
+   * {@link #byteLength(int[])}.
+   *
+   * @param val The {@linkplain BigInt#val() value-encoded number}.
+   * @param bytes The byte array.
+   * @param off The offset in the byte array at which to write.
+   * @param littleEndian Whether the bytes are to be written in
+   *          <i>little-endian</i> ({@code true}), or <i>big-endian</i>
+   *          ({@code false}).
+   * @return The number of bytes written.
+   * @throws ArrayIndexOutOfBoundsException If the byte array is shorter than
+   *           {@code off + byteLength(val)}.
+   * @complexity O(n)
+   */
+  public static int writeTo(final int[] val, final byte[] bytes, final int off, final boolean littleEndian) {
+    int len = val[0];
+    if (len == 0) {
+      bytes[off] = 0;
+      return 1;
+    }
 
     int sig = 0; if (len < 0) { len = -len; sig = -1; }
-    final int byteLen = (int)(bitLength(val, len) / 8L + 1L);
-    final int nzIndex = firstNonzeroIntNum(val, 1, len);
-    final byte[] bytes = new byte[byteLen];
+    final int byteLen = byteLength(val);
+    if (off < 0 || bytes.length - off < byteLen)
+      throw new ArrayIndexOutOfBoundsException("off: " + off + ", length: " + byteLen + ", bytes.length: " + bytes.length);
 
+    final int nzIndex = firstNonzeroIntNum(val, 1, len);
+    final int end = off + byteLen;
     if (littleEndian) {
-      for (int i = 0, bytesCopied = 4, nextInt = 0, intIndex = 1; i < byteLen; ++i) {
+      for (int i = off, bytesCopied = 4, nextInt = 0, intIndex = 1; i < end; ++i) {
         if (bytesCopied == 4) {
           nextInt = getInt(sig, len, val, nzIndex, intIndex++);
           bytesCopied = 1;
@@ -1377,7 +1433,7 @@ abstract class BigIntBinary extends BigIntMagnitude {
       }
     }
     else {
-      for (int i = byteLen - 1, bytesCopied = 4, nextInt = 0, intIndex = 1; i >= 0; --i) {
+      for (int i = end - 1, bytesCopied = 4, nextInt = 0, intIndex = 1; i >= off; --i) {
         if (bytesCopied == 4) {
           nextInt = getInt(sig, len, val, nzIndex, intIndex++);
           bytesCopied = 1;
@@ -1391,7 +1447,56 @@ abstract class BigIntBinary extends BigIntMagnitude {
       }
     }
 
-    return bytes;
+    return byteLen;
+  }
+
+  /**
+   * Writes the two's-complement representation of the provided
+   * {@linkplain BigInt#val() value-encoded number} to the provided
+   * {@link ByteBuffer} at its current position, in the {@linkplain ByteBuffer#order()
+   * byte order} of the buffer, and advances the position past it. The number
+   * of bytes written is {@link #byteLength(int[])}.
+   * <p>
+   * The limbs are written as whole {@code int}s with the absolute
+   * {@link ByteBuffer#putInt(int,int)}, which is a single store on both heap
+   * and direct buffers, and no intermediate array is allocated.
+   *
+   * @param val The {@linkplain BigInt#val() value-encoded number}.
+   * @param buf The {@link ByteBuffer}.
+   * @return The number of bytes written.
+   * @throws BufferOverflowException If the remaining bytes of the buffer are
+   *           fewer than {@code byteLength(val)}.
+   * @complexity O(n)
+   */
+  public static int writeTo(final int[] val, final ByteBuffer buf) {
+    final int byteLen = byteLength(val);
+    if (buf.remaining() < byteLen)
+      throw new BufferOverflowException();
+
+    int len = val[0], sig = 0; if (len < 0) { len = -len; sig = -1; }
+    final int nzIndex = firstNonzeroIntNum(val, 1, len);
+    final int pos = buf.position();
+    final int ints = byteLen >>> 2;
+    final int rem = byteLen & 3;
+    int topInt = getInt(sig, len, val, nzIndex, ints + 1);
+    if (buf.order() == ByteOrder.LITTLE_ENDIAN) {
+      for (int i = 0; i < ints; ++i)
+        buf.putInt(pos + (i << 2), getInt(sig, len, val, nzIndex, i + 1));
+
+      for (int i = pos + (ints << 2), end = pos + byteLen; i < end; ++i, topInt >>>= 8)
+        buf.put(i, (byte)topInt);
+    }
+    else {
+      final int end = pos + byteLen;
+      for (int i = 0; i < ints; ++i)
+        buf.putInt(end - (i + 1 << 2), getInt(sig, len, val, nzIndex, i + 1));
+
+      for (int i = pos + rem - 1; i >= pos; --i, topInt >>>= 8)
+        buf.put(i, (byte)topInt);
+    }
+
+    buf.position(pos + byteLen);
+    return byteLen;
   }
 
   /**
@@ -29,9 +29,48 @@
 
 package org.libj.math;
 
+import java.util.Arrays;
+import java.util.Random;
+
 abstract class BigIntDivision extends BigIntMultiplication {
   private static final long serialVersionUID = -4156041218135948540L;
 
+  /**
+   * The threshold for the number of ints in the divisor at and above which
+   * Burnikel-Ziegler recursive division is used instead of Knuth's Algorithm D,
+   * provided that the quotient is expected to have at least
+   * {@link #BURNIKEL_ZIEGLER_OFFSET} ints.
+   * <p>
+   * Burnikel-Ziegler division reduces the division to multiplications of
+   * halves of the divisor, and therefore benefits from Karatsuba and faster
+   * multiplication, which is why this threshold is close to
+   * {@link #KARATSUBA_THRESHOLD_X}. This value is found experimentally to work
+   * well with both the Java and native implementations of multiplication, and
+   * can be calibrated to the host CPU (see {@link BigIntThresholds}).
+   */
+  static int BURNIKEL_ZIEGLER_THRESHOLD = Math.max(32, BigIntThresholds.get("BURNIKEL_ZIEGLER_THRESHOLD", 80));
+
+  /**
+   * The minimum number of ints by which the length of the dividend must exceed
+   * the length of the divisor for Burnikel-Ziegler recursive division to be
+   * used. For shorter quotients, the cost of Knuth's Algorithm D is
+   * proportional to the length of the quotient, and is lower.
+   */
+  static final int BURNIKEL_ZIEGLER_OFFSET = 40;
+
+  /**
+   * The threshold value for the number of ints of the divisor of a
+   * {@link BigIntDivisor}, at and above which the divisor precomputes its
+   * Barrett constant, and divides with two multiplications instead of Knuth's
+   * Algorithm D or Burnikel-Ziegler division. The Barrett reduction of a
+   * dividend of twice the length of the divisor costs two multiplications,
+   * which is close to the cost of one level of Burnikel-Ziegler division, and
+   * is therefore only faster if the multiplications are fast. This value is
+   * found experimentally, and can be calibrated to the host CPU (see
+   * {@link BigIntThresholds}).
+   */
+  static int BARRETT_THRESHOLD = Math.max(2, BigIntThresholds.get("BARRETT_THRESHOLD", NATIVE_THRESHOLD == Integer.MAX_VALUE ? 600 : 64)); // 600 : 64
+
   /**
    * Divides the provided {@linkplain BigInt#val() value-encoded dividend} by
    * the specified <i>unsigned</i> {@code int} divisor.
@@ -207,13 +246,12 @@ abstract class BigIntDivision extends BigIntMultiplication {
     return divRem0(val, len1, sig1, sig, div, div >>> 32);
   }
 
-  private static long divRem0(final int[] val, int len, final int sig, final int dsig, final long div, long divh) {
+  private static long divRem0(final int[] val, int len, final int sig, final int dsig, final long div, final long divh) {
     if (divh == 0)
       return divRem0(val, len, sig, dsig, (int)div) & LONG_MASK;
 
-    final long r;
     if (len <= 1) {
-      r = val[1] & LONG_MASK;
+      final long r = val[1] & LONG_MASK;
       if (div == 1) {
         val[1] = 1;
         if (sig < 0 != dsig < 0)
@@ -226,74 +264,16 @@ abstract class BigIntDivision extends BigIntMultiplication {
       return r;
     }
 
-    final int s = Integer.numberOfLeadingZeros((int)(divh));
-    divh = div >>> 32 - s;
-    final long dl = (div << s) & LONG_MASK;
-    final long hbit = Long.MIN_VALUE;
-
-    long u2 = 0;
-    long u1 = val[len] >>> 32 - s;
-    long u0 = (val[len] << s | val[len - 1] >>> 32 - s) & LONG_MASK;
-    if (s == 0) {
-      u1 = 0;
-      u0 = val[len] & LONG_MASK;
-    }
-
-    long k, qhat, t, rhat, p;
-    for (int j = len - 1; j >= 1; --j) {
-      u2 = u1;
-      u1 = u0;
-      u0 = s > 0 && j > 0 ? (val[j] << s | val[j - 1] >>> 32 - s) & LONG_MASK : (val[j] << s) & LONG_MASK;
-
-      k = (u2 << 32) + u1;
-      qhat = ((k >>> 1) / divh) * 2;
-      t = k - qhat * divh;
-      if (t + hbit >= divh + hbit)
-        ++qhat; // qhat = (u[j+n]*b + u[j+n-1])/v[n-1];
-
-      rhat = k - qhat * divh;
-
-      while (qhat + hbit >= (1L << 32) + hbit || qhat * dl + hbit > (rhat << 32) + u0 + hbit) { // Unsigned comparison
-        --qhat;
-        rhat += divh;
-        if (rhat + hbit >= (1L << 32) + hbit)
-          break;
-      }
-
-      // Multiply and subtract. Unfolded loop.
-      p = qhat * dl;
-      t = u0 - (p & LONG_MASK);
-      u0 = t & LONG_MASK;
-      k = (p >>> 32) - (t >> 32);
-      p = qhat * divh;
-      t = u1 - k - (p & LONG_MASK);
-      u1 = t & LONG_MASK;
-      k = (p >>> 32) - (t >> 32);
-      t = u2 - k;
-      u2 = t & LONG_MASK;
-
-      val[j] = (int)qhat; // Store quotient digit. If we subtracted too much, add back.
-      if (t < 0) {
-        --val[j]; // Unfolded loop.
-        t = u0 + dl;
-        u0 = t & LONG_MASK;
-        t >>>= 32;
-        t = u1 + divh + t;
-        u1 = t & LONG_MASK;
-        t >>>= 32;
-        u2 += t & LONG_MASK;
-      }
-    }
-
-    val[len] = 0;
-    while (val[--len] == 0);
+    // Each limb is divided by multiplication with the reciprocal of the divisor
+    final int s = Long.numberOfLeadingZeros(div);
+    final long dn = div << s;
+    final long r = InvariantDivisor.divRem2(val, 1, len, dn, s, InvariantDivisor.reciprocal2(dn));
+    while (len > 0 && val[len] == 0)
+      --len;
 
     val[0] = sig < 0 != dsig < 0 ? -len : len;
-
     // _debugLenSig(val);
-
-    final long tmp = u1 << 32 - s | u0 >>> s;
-    return s == 0 ? tmp : u2 << 64 - s | tmp;
+    return r;
   }
 
   /**
@@ -363,6 +343,11 @@ abstract class BigIntDivision extends BigIntMultiplication {
   }
 
   private static void div0(final int[] val, int len1, final int sig1, final int[] div, int len2, final int sig2, final int[] q) {
+    if (len2 >= BURNIKEL_ZIEGLER_THRESHOLD && len1 - len2 >= BURNIKEL_ZIEGLER_OFFSET) {
+      burnikelZiegler(val, len1, sig1, div, len2, sig2, q);
+      return;
+    }
+
     ++len1;
     ++len2;
 
@@ -395,6 +380,10 @@ abstract class BigIntDivision extends BigIntMultiplication {
 
       val[fromIndex] = val[fromIndex] << s;
     }
+    else {
+      // The appended digit may hold a stale limb beyond the length of the dividend
+      val[len1] = 0;
+    }
 
     final long dh = div[len2 - 1] & LONG_MASK;
     final long dl = div[len2 - 2] & LONG_MASK;
@@ -472,6 +461,279 @@ abstract class BigIntDivision extends BigIntMultiplication {
     // _debugLenSig(val);
   }
 
+  /**
+   * Divides the magnitude of the provided {@linkplain BigInt#val()
+   * value-encoded dividend} by the magnitude of the specified
+   * {@linkplain BigInt#val() value-encoded divisor} with the Burnikel-Ziegler
+   * recursive division algorithm, and puts the quotient into {@code q} and the
+   * remainder into {@code val}, with the same contract as
+   * {@link #div0(int[],int,int,int[],int,int,int[])}. The divisor is not
+   * modified.
+   * <p>
+   * The divisor is shifted left to a length {@code n} of {@code j * 2^k} ints
+   * with its highest bit set, and the dividend is shifted left by the same
+   * amount and split into blocks of {@code n} ints. Each pair of blocks is
+   * divided by the divisor with
+   * {@link #bzDivide2n1n(int[],int,int[],int,int,int[],int,int[],int,int[])},
+   * and the remainder is carried into the next pair.
+   *
+   * @param val The {@linkplain BigInt#val() value-encoded dividend}.
+   * @param len1 The number of limbs of the dividend.
+   * @param sig1 The sign of the dividend.
+   * @param div The {@linkplain BigInt#val() value-encoded divisor}.
+   * @param len2 The number of limbs of the divisor.
+   * @param sig2 The sign of the divisor.
+   * @param q An array to store the quotient, which must be at least of length
+   *          {@code len1 - len2 + 2}.
+   * @see <a href="http://cr.yp.to/bib/1998/burnikel.ps">Christoph Burnikel and
+   *      Joachim Ziegler: Fast Recursive Division</a>
+   * @complexity O(M(n) log(n))
+   */
+  private static void burnikelZiegler(final int[] val, final int len1, final int sig1, final int[] div, final int len2, final int sig2, final int[] q) {
+    final int m = 1 << (32 - Integer.numberOfLeadingZeros(len2 / BURNIKEL_ZIEGLER_THRESHOLD));
+    final int n = (len2 + m - 1) / m * m;
+    final int shift = (n - len2) * 32 + Integer.numberOfLeadingZeros(div[len2]);
+    final int[] b = new int[n];
+    shiftLeft(div, OFF, len2, b, shift);
+
+    // The number of blocks is chosen such that the highest bit of the top
+    // block is clear, whereby the top block is less than the divisor
+    final int bits = len1 * 32 - Integer.numberOfLeadingZeros(val[len1]) + shift;
+    final int t = Math.max(2, bits / (n * 32) + 1);
+    final int[] a = new int[t * n];
+    shiftLeft(val, OFF, len1, a, shift);
+
+    final int[] z = new int[n * 2];
+    final int[] r = new int[n];
+    final int[] quo = new int[(t - 1) * n];
+    final int[] scratch = new int[toom3ScratchLen(n / 2, n / 2)];
+    System.arraycopy(a, (t - 2) * n, z, 0, n * 2);
+    for (int i = t - 2;; --i) {
+      bzDivide2n1n(z, 0, b, 0, n, quo, i * n, r, 0, scratch);
+      if (i == 0)
+        break;
+
+      System.arraycopy(a, (i - 1) * n, z, 0, n);
+      System.arraycopy(r, 0, z, n, n);
+    }
+
+    final int qlen = significantLength(quo, 0, quo.length);
+    System.arraycopy(quo, 0, q, OFF, qlen);
+    q[0] = sig1 != sig2 ? -qlen : qlen;
+
+    // Unnormalize the remainder into val
+    final int rlen = significantLength(shiftRight(r, shift, val), OFF, len2);
+    val[0] = sig1 < 0 ? -rlen : rlen;
+  }
+
+  /**
+   * Shifts the magnitude {@code src[off..off+len)} left by {@code shift} bits
+   * into {@code dst}, which must be zero-filled and long enough to hold the
+   * result.
+   *
+   * @param src The source magnitude array.
+   * @param off The offset of the first limb of {@code src}.
+   * @param len The number of limbs of {@code src}.
+   * @param dst The destination magnitude array.
+   * @param shift The number of bits to shift by.
+   */
+  private static void shiftLeft(final int[] src, final int off, final int len, final int[] dst, final int shift) {
+    final int ints = shift >>> 5, bits = shift & 31;
+    if (bits == 0) {
+      System.arraycopy(src, off, dst, ints, len);
+      return;
+    }
+
+    int prev = 0;
+    for (int i = 0; i < len; ++i) {
+      final int limb = src[off + i];
+      dst[ints + i] = limb << bits | prev >>> 32 - bits;
+      prev = limb;
+    }
+
+    if (ints + len < dst.length)
+      dst[ints + len] = prev >>> 32 - bits;
+  }
+
+  /**
+   * Shifts the magnitude {@code src} right by {@code shift} bits into the
+   * {@linkplain BigInt#val() value-encoded} array {@code dst}, starting at
+   * {@link #OFF}, and returns {@code dst}. The length of {@code dst} is not
+   * set.
+   *
+   * @param src The source magnitude array.
+   * @param shift The number of bits to shift by.
+   * @param dst The destination {@linkplain BigInt#val() value-encoded} array.
+   * @return The destination array {@code dst}.
+   */
+  private static int[] shiftRight(final int[] src, final int shift, final int[] dst) {
+    final int ints = shift >>> 5, bits = shift & 31, len = src.length - ints;
+    if (bits == 0) {
+      System.arraycopy(src, ints, dst, OFF, len);
+      return dst;
+    }
+
+    for (int i = 0; i < len - 1; ++i)
+      dst[OFF + i] = src[ints + i] >>> bits | src[ints + i + 1] << 32 - bits;
+
+    dst[OFF + len - 1] = src[src.length - 1] >>> bits;
+    return dst;
+  }
+
+  /**
+   * Divides the magnitude {@code a[aoff..aoff+2n)} by the normalized magnitude
+   * {@code b[boff..boff+n)}, whose highest bit is set, and puts the quotient
+   * into {@code q[qoff..qoff+n)} and the remainder into
+   * {@code r[roff..roff+n)}. The top {@code n} limbs of {@code a} must be less
+   * than {@code b}. This is Algorithm 1 of Burnikel and Ziegler, which
+   * recurses into {@link #bzDivide3n2n(int[],int,int[],int,int,int[],int,int[],int,int[])}
+   * for the upper and lower halves of {@code a}.
+   *
+   * @param a The dividend magnitude array.
+   * @param aoff The offset of the first limb of {@code a}.
+   * @param b The divisor magnitude array.
+   * @param boff The offset of the first limb of {@code b}.
+   * @param n The number of limbs of {@code b}.
+   * @param q The quotient magnitude array.
+   * @param qoff The offset of the first limb of {@code q}.
+   * @param r The remainder magnitude array.
+   * @param roff The offset of the first limb of {@code r}.
+   * @param t The scratch array for multiplication.
+   */
+  private static void bzDivide2n1n(final int[] a, final int aoff, final int[] b, final int boff, final int n, final int[] q, final int qoff, final int[] r, final int roff, final int[] t) {
+    if ((n & 1) != 0 || n < BURNIKEL_ZIEGLER_THRESHOLD) {
+      final int[] u = new int[n * 2];
+      System.arraycopy(a, aoff, u, 0, n * 2);
+      knuthMag(u, n * 2, b, boff, n, q, qoff);
+      System.arraycopy(u, 0, r, roff, n);
+      return;
+    }
+
+    final int h = n / 2;
+    final int[] u = new int[h * 3];
+    bzDivide3n2n(a, aoff + h, b, boff, h, q, qoff + h, u, h, t);
+    System.arraycopy(a, aoff, u, 0, h);
+    bzDivide3n2n(u, 0, b, boff, h, q, qoff, r, roff, t);
+  }
+
+  /**
+   * Divides the magnitude {@code a[aoff..aoff+3h)} by the normalized magnitude
+   * {@code b[boff..boff+2h)}, and puts the quotient into
+   * {@code q[qoff..qoff+h)} and the remainder into {@code r[roff..roff+2h)}.
+   * The magnitude {@code a} must be less than {@code b * 2^(32h)}. This is
+   * Algorithm 2 of Burnikel and Ziegler: the quotient is estimated by dividing
+   * the top two thirds of {@code a} by the top half of {@code b}, and is
+   * corrected at most twice.
+   *
+   * @param a The dividend magnitude array.
+   * @param aoff The offset of the first limb of {@code a}.
+   * @param b The divisor magnitude array.
+   * @param boff The offset of the first limb of {@code b}.
+   * @param h The number of limbs of each half of {@code b}.
+   * @param q The quotient magnitude array.
+   * @param qoff The offset of the first limb of {@code q}.
+   * @param r The remainder magnitude array.
+   * @param roff The offset of the first limb of {@code r}.
+   * @param t The scratch array for multiplication.
+   */
+  private static void bzDivide3n2n(final int[] a, final int aoff, final int[] b, final int boff, final int h, final int[] q, final int qoff, final int[] r, final int roff, final int[] t) {
+    final int n = h * 2;
+    // R = R1 * 2^(32h) + A3, with 2 limbs of headroom for the carry of R1 and the correction
+    final int[] rr = new int[n + 2];
+    if (compareToMag(a, aoff + n, h, b, boff + h, h) < 0) {
+      bzDivide2n1n(a, aoff + h, b, boff + h, h, q, qoff, rr, h, t);
+    }
+    else {
+      // A1 == B1, so Q = 2^(32h) - 1, and R1 = [A1,A2] - [B1,0] + B1 = A2 + B1
+      Arrays.fill(q, qoff, qoff + h, -1);
+      System.arraycopy(a, aoff + h, rr, h, h);
+      rr[n] = uaddMag(rr, h, h, b, boff + h, h);
+    }
+
+    System.arraycopy(a, aoff, rr, 0, h);
+
+    // D = Q * B2
+    final int[] d = new int[n];
+    mulMag(q, qoff, h, b, boff, h, d, 0, t, 0, PARALLEL_KARATSUBA_MAX_DEPTH);
+
+    // R = R - D, adding B back while R < D
+    while (compareToMag(rr, 0, n + 2, d, 0, n) < 0) {
+      uaddMag(rr, 0, n + 2, b, boff, n);
+      for (int i = qoff; q[i]-- == 0; ++i);
+    }
+
+    usubMag(rr, 0, n + 2, d, 0, n);
+    System.arraycopy(rr, 0, r, roff, n);
+  }
+
+  /**
+   * Divides the magnitude {@code u[0..ulen)} by the normalized magnitude
+   * {@code v[voff..voff+vlen)}, whose highest bit is set, with Knuth's
+   * Algorithm D, and puts the quotient into {@code q[qoff..qoff+ulen-vlen)}
+   * and the remainder into {@code u[0..vlen)}. The top {@code vlen} limbs of
+   * {@code u} must be less than {@code v}.
+   *
+   * @param u The dividend magnitude array, which is replaced with the
+   *          remainder.
+   * @param ulen The number of limbs of {@code u}.
+   * @param v The divisor magnitude array.
+   * @param voff The offset of the first limb of {@code v}.
+   * @param vlen The number of limbs of {@code v}, which must be at least 2.
+   * @param q The quotient magnitude array.
+   * @param qoff The offset of the first limb of {@code q}.
+   * @complexity O(ulen*vlen)
+   */
+  private static void knuthMag(final int[] u, final int ulen, final int[] v, final int voff, final int vlen, final int[] q, final int qoff) {
+    final long b = 1L << 32; // Number base (32 bits)
+    final long hbit = Long.MIN_VALUE;
+    final long dh = v[voff + vlen - 1] & LONG_MASK;
+    final long dl = v[voff + vlen - 2] & LONG_MASK;
+    long qhat, rhat, p, t, k;
+    int i;
+    for (int j = ulen - vlen - 1; j >= 0; --j) {
+      // Compute estimate qhat of q[j]
+      k = u[j + vlen] * b + (u[j + vlen - 1] & LONG_MASK);
+      qhat = ((k >>> 1) / dh) * 2;
+      t = k - qhat * dh;
+      if (t + hbit >= dh + hbit)
+        ++qhat;
+
+      rhat = k - qhat * dh;
+      while (qhat + hbit >= b + hbit || qhat * dl + hbit > b * rhat + (u[j + vlen - 2] & LONG_MASK) + hbit) { // Unsigned comparison.
+        qhat -= 1;
+        rhat += dh;
+        if (rhat + hbit >= b + hbit)
+          break;
+      }
+
+      // Multiply and subtract
+      k = 0;
+      for (i = 0; i < vlen; ++i) {
+        p = qhat * (v[voff + i] & LONG_MASK);
+        t = (u[i + j] & LONG_MASK) - k - (p & LONG_MASK);
+        u[i + j] = (int)t;
+        k = (p >>> 32) - (t >> 32);
+      }
+
+      t = (u[j + vlen] & LONG_MASK) - k;
+      u[j + vlen] = (int)t;
+
+      // Store quotient digit. If we subtracted too much, add back
+      q[qoff + j] = (int)qhat;
+      if (t < 0) {
+        q[qoff + j] -= 1;
+        k = 0;
+        for (i = 0; i < vlen; ++i) {
+          t = (u[i + j] & LONG_MASK) + (v[voff + i] & LONG_MASK) + k;
+          u[i + j] = (int)t;
+          k = t >>> 32;
+        }
+
+        u[j + vlen] += (int)k;
+      }
+    }
+  }
+
   /**
    * Divides the provided {@linkplain BigInt#val() value-encoded dividend} by
    * the specified {@linkplain BigInt#val() value-encoded divisor}.
@@ -551,7 +813,7 @@ abstract class BigIntDivision extends BigIntMultiplication {
   public static int[] divRem(int[] val, int[] div) {
     int len1 = val[0];
     if (len1 == 0)
-      return val;
+      return alloc(1);
 
     int sig1 = 1; if (len1 < 0) { len1 = -len1; sig1 = -1; }
     int sig2 = 1, len2 = div[0]; if (len2 < 0) { len2 = -len2; sig2 = -1; }
@@ -947,6 +1209,254 @@ abstract class BigIntDivision extends BigIntMultiplication {
     return val;
   }
 
+  /**
+   * Divides the provided {@linkplain BigInt#val() value-encoded dividend} by
+   * the specified {@code int} divisor, which is known to divide the dividend
+   * exactly.
+   *
+   * <pre>
+   * val = val / div
+   * </pre>
+   *
+   * The quotient is developed from the lowest limb upwards by multiplication
+   * with the inverse of the divisor modulo {@code 2^32} (Jebelean), which
+   * requires no hardware division and no remainder.
+   * <p>
+   * <i><b>Note:</b> The result is undefined if the remainder of the division
+   * is not zero.</i>
+   *
+   * @param val The {@linkplain BigInt#val() value-encoded dividend}.
+   * @param div The divisor.
+   * @return The provided {@linkplain BigInt#val() value-encoded dividend},
+   *         divided by the specified {@code int} divisor.
+   * @throws ArithmeticException If {@code div} is 0.
+   * @complexity O(n)
+   */
+  public static int[] divExact(final int[] val, final int div) {
+    if (div == 0)
+      throw new ArithmeticException("/ by zero");
+
+    return divExact0(val, div < 0, div < 0 ? -(long)div : div);
+  }
+
+  /**
+   * Divides the provided {@linkplain BigInt#val() value-encoded dividend} by
+   * the specified {@code long} divisor, which is known to divide the dividend
+   * exactly.
+   *
+   * <pre>
+   * val = val / div
+   * </pre>
+   *
+   * <i><b>Note:</b> The result is undefined if the remainder of the division
+   * is not zero.</i>
+   *
+   * @param val The {@linkplain BigInt#val() value-encoded dividend}.
+   * @param div The divisor.
+   * @return The provided {@linkplain BigInt#val() value-encoded dividend},
+   *         divided by the specified {@code long} divisor.
+   * @throws ArithmeticException If {@code div} is 0.
+   * @complexity O(n)
+   */
+  public static int[] divExact(final int[] val, final long div) {
+    if (div == 0)
+      throw new ArithmeticException("/ by zero");
+
+    return divExact0(val, div < 0, div < 0 ? -div : div);
+  }
+
+  private static int[] divExact0(final int[] val, final boolean dsig, long div) {
+    int len = val[0];
+    if (len != 0) {
+      final int tz = Long.numberOfTrailingZeros(div);
+      if (tz > 0) {
+        shiftRight(val, tz);
+        div >>>= tz;
+        len = val[0];
+      }
+
+      boolean sig = len < 0; if (sig) { len = -len; }
+      if ((div >>> 32) == 0) {
+        if (div != 1)
+          len = udivExact(val, OFF, len, (int)div);
+      }
+      else {
+        final int[] d = {(int)div, (int)(div >>> 32)};
+        len = udivExact(val, OFF, len, d, 0, 2);
+      }
+
+      val[0] = sig != dsig ? -len : len;
+    }
+
+    // _debugLenSig(val);
+    return val;
+  }
+
+  /**
+   * Divides the provided {@linkplain BigInt#val() value-encoded dividend} by
+   * the specified {@linkplain BigInt#val() value-encoded divisor}, which is
+   * known to divide the dividend exactly.
+   *
+   * <pre>
+   * val = val / div
+   * </pre>
+   *
+   * The quotient is developed from the lowest limb upwards by multiplication
+   * with the inverse of the lowest limb of the divisor modulo {@code 2^32}
+   * (Jebelean). Only the limbs of the dividend that hold the quotient are
+   * updated, which halves the cost of {@link #div(int[],int[])} when the
+   * quotient and divisor are of similar length. When both are above
+   * {@link #BURNIKEL_ZIEGLER_THRESHOLD}, {@link #div(int[],int[])} is used
+   * instead.
+   * <p>
+   * <i><b>Note:</b> The result is undefined if the remainder of the division
+   * is not zero.</i>
+   * <p>
+   * <i><b>Note:</b> The returned number may be a {@code new int[]} instance if
+   * the operation requires a larger array for the computation.</i>
+   *
+   * @param val The {@linkplain BigInt#val() value-encoded dividend}.
+   * @param div The {@linkplain BigInt#val() value-encoded divisor}.
+   * @return The provided {@linkplain BigInt#val() value-encoded dividend},
+   *         divided by the specified {@linkplain BigInt#val() value-encoded
+   *         divisor}.
+   * @throws ArithmeticException If {@code div} is 0.
+   * @complexity O(n^2)
+   */
+  public static int[] divExact(int[] val, int[] div) {
+    int len2 = div[0];
+    if (len2 == 0)
+      throw new ArithmeticException("/ by zero");
+
+    int len1 = val[0];
+    if (len1 == 0)
+      return val;
+
+    final boolean dsig = len2 < 0; if (dsig) { len2 = -len2; }
+    if (len2 <= 2)
+      return divExact0(val, dsig, len2 == 1 ? div[1] & LONG_MASK : (div[2] & LONG_MASK) << 32 | div[1] & LONG_MASK);
+
+    if (len1 < 0) { len1 = -len1; }
+    if (len1 < len2)
+      return setToZeroInPlace(val);
+
+    if (Math.min(len1 - len2 + 1, len2) >= BURNIKEL_ZIEGLER_THRESHOLD)
+      return div(val, div);
+
+    if ((div[OFF] & 1) == 0) {
+      final int tz = getLowestSetBit(div);
+      div = shiftRight(copy(div, len2 + 1, new int[len2 + 1], len2 + 1), tz);
+      val = shiftRight(val, tz);
+      len2 = Math.abs(div[0]);
+      if (len2 <= 2)
+        return divExact0(val, dsig, len2 == 1 ? div[1] & LONG_MASK : (div[2] & LONG_MASK) << 32 | div[1] & LONG_MASK);
+    }
+
+    len1 = val[0];
+    final boolean sig = len1 < 0; if (sig) { len1 = -len1; }
+    len1 = udivExact(val, OFF, len1, div, OFF, len2);
+    val[0] = sig != dsig ? -len1 : len1;
+    // _debugLenSig(val);
+    return val;
+  }
+
+  /**
+   * Returns the inverse of the provided odd {@code int} modulo {@code 2^32}.
+   *
+   * @param d The odd {@code int}.
+   * @return The inverse of the provided odd {@code int} modulo {@code 2^32}.
+   */
+  static int inverse(final int d) {
+    // d * d == 1 (mod 8), and each Newton iteration doubles the correct bits
+    int x = d;
+    x *= 2 - d * x;
+    x *= 2 - d * x;
+    x *= 2 - d * x;
+    x *= 2 - d * x;
+    return x;
+  }
+
+  /**
+   * Divides the magnitude {@code mag[off..off+len)} in place by the odd
+   * {@code int} divisor (unsigned), which is known to divide it exactly, and
+   * returns the number of limbs of the quotient.
+   *
+   * @param mag The dividend as a magnitude array.
+   * @param off The offset of the first limb of the dividend.
+   * @param len The number of limbs of the dividend.
+   * @param div The odd divisor (unsigned).
+   * @return The number of limbs of the quotient.
+   * @complexity O(n)
+   */
+  static int udivExact(final int[] mag, final int off, int len, final int div) {
+    final int inv = inverse(div);
+    final long d = div & LONG_MASK;
+    long b = 0;
+    for (int i = off, end = off + len; i < end; ++i) {
+      final long s = (mag[i] & LONG_MASK) - b;
+      final int q = (int)s * inv;
+      mag[i] = q;
+      b = ((q & LONG_MASK) * d >>> 32) - (s >> 63);
+    }
+
+    while (len > 0 && mag[off + len - 1] == 0)
+      --len;
+
+    return len;
+  }
+
+  /**
+   * Divides the magnitude {@code mag[off..off+len)} in place by the magnitude
+   * {@code div[doff..doff+dlen)}, whose lowest limb is odd, and which is known
+   * to divide it exactly, and returns the number of limbs of the quotient.
+   * <p>
+   * Each limb of the quotient is {@code q = mag[i] * inverse(div[doff])}, after
+   * which {@code q * div} is subtracted from the limbs of the dividend that are
+   * yet to become limbs of the quotient.
+   *
+   * @param mag The dividend as a magnitude array.
+   * @param off The offset of the first limb of the dividend.
+   * @param len The number of limbs of the dividend.
+   * @param div The divisor as a magnitude array.
+   * @param doff The offset of the first limb of the divisor.
+   * @param dlen The number of limbs of the divisor.
+   * @return The number of limbs of the quotient.
+   * @complexity O(n^2)
+   */
+  static int udivExact(final int[] mag, final int off, final int len, final int[] div, final int doff, final int dlen) {
+    final int inv = inverse(div[doff]);
+    final int qlen = len - dlen + 1;
+    final int qend = off + qlen;
+    for (int i = off; i < qend; ++i) {
+      final int q = mag[i] * inv;
+      final long ql = q & LONG_MASK;
+      // The lowest limb of q * div is mag[i], so the subtraction starts with its carry
+      long b = ql * (div[doff] & LONG_MASK) >>> 32, p, t;
+      final int n = Math.min(dlen, qend - i);
+      int j = 1;
+      for (; j < n; ++j) {
+        p = ql * (div[doff + j] & LONG_MASK);
+        t = (mag[i + j] & LONG_MASK) - b - (p & LONG_MASK);
+        mag[i + j] = (int)t;
+        b = (p >>> 32) - (t >> 32);
+      }
+
+      for (j += i; b != 0 && j < qend; ++j) {
+        t = (mag[j] & LONG_MASK) - b;
+        mag[j] = (int)t;
+        b = -(t >> 32);
+      }
+
+      mag[i] = q;
+    }
+
+    int qlen1 = qlen;
+    while (qlen1 > 0 && mag[off + qlen1 - 1] == 0)
+      --qlen1;
+
+    return qlen1;
+  }
+
   /**
    * Computes:
    *
@@ -1018,4 +1528,91 @@ abstract class BigIntDivision extends BigIntMultiplication {
     mulInPlace(t, 10);
     return (int)q;
   }
+
+  static {
+    if (BigIntThresholds.isCalibrating("BURNIKEL_ZIEGLER_THRESHOLD", "BARRETT_THRESHOLD"))
+      calibrate();
+  }
+
+  /**
+   * Measures the length of the divisor from which a level of Burnikel-Ziegler
+   * recursive division outperforms Knuth's Algorithm D on the host CPU, and
+   * then the length of the divisor from which the Barrett reduction of a
+   * {@link BigIntDivisor} outperforms the division of {@link #rem(int[],int[])},
+   * sets {@link #BURNIKEL_ZIEGLER_THRESHOLD} and {@link #BARRETT_THRESHOLD}
+   * accordingly, and saves them to the profile. The dividends are twice the
+   * length of the divisor, with the highest bit clear, which is the shape of
+   * the recursive sub-problems, and of a reduction modulo the divisor. This
+   * method is called during the initialization of this class, and therefore
+   * disables parallel execution while it measures, such that no task leaves
+   * the initializing thread.
+   */
+  private static void calibrate() {
+    final int max = 1024;
+    final int[] limbs = new int[max * 6];
+    final Random random = new Random(0);
+    for (int i = 0; i < limbs.length; ++i)
+      limbs[i] = random.nextInt();
+
+    final int parallelDepth = PARALLEL_KARATSUBA_MAX_DEPTH;
+    PARALLEL_KARATSUBA_MAX_DEPTH = 0;
+    try {
+      BURNIKEL_ZIEGLER_THRESHOLD = BigIntThresholds.crossover(new BigIntThresholds.Trial() {
+        private int[] div;
+
+        @Override
+        void configure(final int len, final boolean enabled) {
+          BURNIKEL_ZIEGLER_THRESHOLD = enabled ? len : len + 1;
+          div = new int[OFF + len];
+          div[0] = len;
+          System.arraycopy(limbs, 0, div, OFF, len);
+          div[len] |= 1 << 31;
+        }
+
+        @Override
+        void run(final int len) {
+          final int[] val = new int[OFF + len * 2 + 1];
+          val[0] = len * 2;
+          System.arraycopy(limbs, len, val, OFF, len * 2);
+          val[len * 2] = val[len * 2] & 0x7FFFFFFF | 1;
+          div(val, div);
+        }
+      }, Math.max(32, BURNIKEL_ZIEGLER_OFFSET), max);
+
+      BARRETT_THRESHOLD = BigIntThresholds.crossover(new BigIntThresholds.Trial() {
+        private int[] div;
+        private BigIntDivisor divisor;
+
+        @Override
+        void configure(final int len, final boolean enabled) {
+          if (div == null || div[0] != len) {
+            div = new int[OFF + len];
+            div[0] = len;
+            System.arraycopy(limbs, 0, div, OFF, len);
+            div[len] |= 1 << 31;
+          }
+
+          BARRETT_THRESHOLD = enabled ? len : len + 1;
+          divisor = new BigIntDivisor(div);
+        }
+
+        @Override
+        void run(final int len) {
+          // The extra slot avoids the reallocation of the dividend by rem(int[],int[])
+          final int[] val = new int[OFF + len * 2 + 2];
+          val[0] = len * 2;
+          System.arraycopy(limbs, len, val, OFF, len * 2);
+          val[len * 2] = val[len * 2] & 0x7FFFFFFF | 1;
+          divisor.rem(val);
+        }
+      }, 32, max * 2);
+    }
+    finally {
+      PARALLEL_KARATSUBA_MAX_DEPTH = parallelDepth;
+    }
+
+    BigIntThresholds.put("BURNIKEL_ZIEGLER_THRESHOLD", BURNIKEL_ZIEGLER_THRESHOLD);
+    BigIntThresholds.put("BARRETT_THRESHOLD", BARRETT_THRESHOLD);
+    BigIntThresholds.save();
+  }
 }
\ No newline at end of file
@@ -0,0 +1,328 @@
+/* Copyright (c) 2020 Seva Safris, LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.math;
+
+/**
+ * A precomputed divisor for the repeated division of
+ * {@linkplain BigInt#val() value-encoded numbers} by the same {@link BigInt}.
+ * <p>
+ * Upon construction, the divisor is copied, and if it has at least
+ * {@link BigIntDivision#BARRETT_THRESHOLD} limbs, its Barrett constant
+ * <code>&mu; = floor(2<sup>64k</sup> / |div|)</code> is computed, where
+ * {@code k} is the number of limbs of the divisor. Thereafter, each division
+ * of a dividend of up to {@code 2k} limbs costs two multiplications of
+ * {@code k}-limb magnitudes, which are performed with the algorithms of
+ * {@link BigIntMultiplication}, and longer dividends are divided in blocks of
+ * {@code k} limbs. Divisors below the threshold are divided with
+ * {@link BigInt#div(int[],int[])} and its siblings, for which a Barrett
+ * reduction does not outperform the Knuth division. The Knuth division
+ * normalizes its divisor in place, so each such division is given a copy of
+ * the divisor, which costs an allocation of {@code k + 1} ints per call
+ * against the {@code O(n * k)} of the division itself.
+ * <p>
+ * A {@link BigIntDivisor} is immutable, and can be shared among threads.
+ *
+ * @see <a href="https://doi.org/10.1007/3-540-47721-7_24">Paul Barrett:
+ *      Implementing the Rivest Shamir and Adleman Public Key Encryption
+ *      Algorithm on a Standard Digital Signal Processor</a>
+ */
+public final class BigIntDivisor {
+  private static final int OFF = BigInt.OFF;
+
+  /** The {@linkplain BigInt#val() value-encoded} divisor. */
+  private final int[] div;
+
+  /** The number of limbs of the divisor. */
+  private final int k;
+
+  /** The Barrett constant, or {@code null} if below the threshold. */
+  private final int[] mu;
+
+  /** The number of limbs of {@link #mu}. */
+  private final int mulen;
+
+  /**
+   * Creates a new {@link BigIntDivisor} with the provided {@link BigInt}
+   * divisor.
+   *
+   * @param div The {@link BigInt} divisor.
+   * @throws ArithmeticException If {@code div} is zero.
+   * @throws NullPointerException If {@code div} is null.
+   */
+  public BigIntDivisor(final BigInt div) {
+    this(div.val());
+  }
+
+  /**
+   * Creates a new {@link BigIntDivisor} with the provided
+   * {@linkplain BigInt#val() value-encoded divisor}.
+   *
+   * @param div The {@linkplain BigInt#val() value-encoded divisor}.
+   * @throws ArithmeticException If {@code div} is zero.
+   * @throws NullPointerException If {@code div} is null.
+   */
+  public BigIntDivisor(final int[] div) {
+    if (BigInt.isZero(div))
+      throw new ArithmeticException("/ by zero");
+
+    final int len = Math.abs(div[0]);
+    this.div = BigInt.reallocExact(div, len + 1, len + 1);
+    this.k = len;
+    if (len < BigIntDivision.BARRETT_THRESHOLD) {
+      this.mu = null;
+      this.mulen = 0;
+    }
+    else {
+      // mu = 2^(64k) / |div|
+      int[] mu = BigInt.alloc(len * 2 + 2);
+      mu[0] = len * 2 + 1;
+      mu[len * 2 + 1] = 1;
+      mu = BigInt.div(mu, this.div[0] < 0 ? BigInt.abs(this.div.clone()) : this.div);
+      this.mulen = mu[0];
+      this.mu = BigInt.reallocExact(mu, mulen + 1, mulen + 1);
+    }
+  }
+
+  /**
+   * Returns the number of limbs of this divisor.
+   *
+   * @return The number of limbs of this divisor.
+   */
+  int length() {
+    return k;
+  }
+
+  /**
+   * Divides the provided {@linkplain BigInt#val() value-encoded dividend} by
+   * this divisor.
+   *
+   * <pre>
+   * val = val / div
+   * </pre>
+   *
+   * <i><b>Note:</b> The returned number may be a {@code new int[]} instance if
+   * the operation requires a larger array for the computation.</i>
+   *
+   * @param val The {@linkplain BigInt#val() value-encoded dividend}.
+   * @return The provided {@linkplain BigInt#val() value-encoded dividend},
+   *         divided by this divisor.
+   * @complexity O(M(k) * n/k)
+   */
+  public int[] div(final int[] val) {
+    if (mu == null)
+      return BigInt.div(val, div.clone());
+
+    int len = val[0];
+    if (len == 0)
+      return val;
+
+    final boolean flipSig = len < 0 != div[0] < 0;
+    if (len < 0) { len = -len; }
+    final int[] q = new int[((len - 1) / k + 1) * k];
+    reduce(val, len, q, new int[k]);
+    return assign(val, q, q.length, flipSig);
+  }
+
+  /**
+   * Divides the provided {@linkplain BigInt#val() value-encoded dividend} by
+   * this divisor, and returns the dividend array with its value replaced by
+   * the remainder, which has the sign of the dividend.
+   *
+   * <pre>
+   * val = val % div
+   * </pre>
+   *
+   * <i><b>Note:</b> The returned number may be a {@code new int[]} instance if
+   * the operation requires a larger array for the computation.</i>
+   *
+   * @param val The {@linkplain BigInt#val() value-encoded dividend}.
+   * @return The dividend array with its value replaced by the remainder
+   *         resulting from the division of the provided
+   *         {@linkplain BigInt#val() value-encoded dividend} by this divisor.
+   * @complexity O(M(k) * n/k)
+   */
+  public int[] rem(final int[] val) {
+    if (mu == null)
+      return BigInt.rem(val, div.clone());
+
+    int len = val[0];
+    if (len == 0)
+      return val;
+
+    final boolean sig = len < 0;
+    if (len < 0) { len = -len; }
+    final int[] r = new int[k];
+    reduce(val, len, null, r);
+    return assign(val, r, k, sig);
+  }
+
+  /**
+   * Divides the provided {@linkplain BigInt#val() value-encoded dividend} by
+   * this divisor, and returns the dividend array with its value replaced by
+   * the <i>non-negative</i> modulus.
+   *
+   * <pre>
+   * val = val % div
+   * </pre>
+   *
+   * <i><b>Note:</b> This method differs from {@link #rem(int[])} in that it
+   * always returns a <i>non-negative</i> result.</i>
+   * <p>
+   * <i><b>Note:</b> The returned number may be a {@code new int[]} instance if
+   * the operation requires a larger array for the computation.</i>
+   *
+   * @param val The {@linkplain BigInt#val() value-encoded dividend}.
+   * @return The dividend array with its value replaced by the modulus
+   *         resulting from the division of the provided
+   *         {@linkplain BigInt#val() value-encoded dividend} by this divisor.
+   * @complexity O(M(k) * n/k)
+   */
+  public int[] mod(int[] val) {
+    val = rem(val);
+    if (val[0] < 0)
+      val = BigInt.add(val, div[0] < 0 ? BigInt.abs(div.clone()) : div);
+
+    return val;
+  }
+
+  /**
+   * Divides the provided {@linkplain BigInt#val() value-encoded dividend} by
+   * this divisor in place, and returns the remainder, which has the sign of
+   * the dividend.
+   *
+   * <pre>
+   * rem = val % div
+   * val = val / div
+   * return rem
+   * </pre>
+   *
+   * @param val The {@linkplain BigInt#val() value-encoded dividend}, which is
+   *          replaced with the quotient.
+   * @return The remainder resulting from the division of the provided
+   *         {@linkplain BigInt#val() value-encoded dividend} by this divisor.
+   * @complexity O(M(k) * n/k)
+   */
+  public int[] divRem(final int[] val) {
+    if (mu == null)
+      return BigInt.divRem(val, div.clone());
+
+    int len = val[0];
+    if (len == 0)
+      return BigInt.alloc(2);
+
+    final boolean sig = len < 0;
+    final boolean flipSig = sig != div[0] < 0;
+    if (len < 0) { len = -len; }
+    final int[] q = new int[((len - 1) / k + 1) * k];
+    final int[] r = new int[k];
+    reduce(val, len, q, r);
+    // The quotient is not longer than the dividend, so it fits into val
+    assign(val, q, len, flipSig);
+    return assign(BigInt.alloc(k + 1), r, k, sig);
+  }
+
+  /**
+   * Sets the magnitude {@code mag[0..len)} with the provided sign as the value
+   * of the {@linkplain BigInt#val() value-encoded} array {@code val}, and
+   * returns {@code val}, or a new array if {@code val} is too short.
+   *
+   * @param val The {@linkplain BigInt#val() value-encoded} target array.
+   * @param mag The magnitude array.
+   * @param len The number of limbs of {@code mag}.
+   * @param sig Whether the value is negative.
+   * @return The {@linkplain BigInt#val() value-encoded} target array.
+   */
+  private static int[] assign(int[] val, final int[] mag, int len, final boolean sig) {
+    len = BigIntMagnitude.significantLength(mag, 0, len);
+    if (val.length <= len)
+      val = BigInt.alloc(len + 1);
+
+    System.arraycopy(mag, 0, val, OFF, len);
+    val[0] = sig ? -len : len;
+    return val;
+  }
+
+  /**
+   * Divides the magnitude {@code val[OFF..OFF+len)} by the magnitude of this
+   * divisor with Barrett reduction, and puts the quotient into {@code q} (if
+   * not null), which must be zero-filled and of length
+   * {@code ((len - 1) / k + 1) * k}, and the remainder into
+   * {@code r[0..k)}.
+   * <p>
+   * The dividend is divided in blocks of {@code k} limbs from the top, such
+   * that each step divides a {@code 2k}-limb number
+   * {@code c = r * 2^(32k) + block}, which is less than
+   * {@code div * 2^(32k)}, to produce a {@code k}-limb quotient block and the
+   * next remainder. In each step, the estimate of the quotient
+   * {@code floor(floor(c / 2^(32(k-1))) * mu / 2^(32(k+1)))} is less than the
+   * true quotient by at most 2, which is corrected by subtracting the divisor
+   * from the remainder.
+   *
+   * @param val The {@linkplain BigInt#val() value-encoded dividend}.
+   * @param len The number of limbs of the dividend.
+   * @param q The quotient magnitude array, or {@code null}.
+   * @param r The remainder magnitude array.
+   */
+  private void reduce(final int[] val, final int len, final int[] q, final int[] r) {
+    final int k = this.k, k2 = k * 2;
+    final int[] m = div;
+    final int[] c = new int[k2];
+    final int[] p = new int[k2 + 3];
+    final int[] s = new int[k2];
+    final int[] t = new int[BigIntMultiplication.toom3ScratchLen(k + 2, k + 2)];
+    final int depth = BigIntMultiplication.PARALLEL_KARATSUBA_MAX_DEPTH;
+
+    int i = (len - 1) / k;
+    int blen = len - i * k;
+    if (BigIntMagnitude.compareToMag(val, OFF + i * k, blen, m, OFF, k) < 0) {
+      if (i == 0) {
+        System.arraycopy(val, OFF, r, 0, len);
+        return;
+      }
+
+      System.arraycopy(val, OFF + i * k, c, k, blen);
+      blen = k;
+      --i;
+    }
+
+    for (;; --i) {
+      System.arraycopy(val, OFF + i * k, c, 0, blen);
+      blen = k;
+
+      // q3 = floor(floor(c / 2^(32(k-1))) * mu / 2^(32(k+1))), which is p[k+1..2k+1)
+      BigIntMultiplication.mulMag(c, k - 1, k + 1, mu, OFF, mulen, p, 0, t, 0, depth);
+      // c = c - q3 * div
+      BigIntMultiplication.mulMag(p, k + 1, k, m, OFF, k, s, 0, t, 0, depth);
+      BigIntMagnitude.usubMag(c, 0, k2, s, 0, k2);
+      while (BigIntMagnitude.compareToMag(c, 0, k2, m, OFF, k) >= 0) {
+        BigIntMagnitude.usubMag(c, 0, k2, m, OFF, k);
+        for (int j = k + 1; ++p[j] == 0; ++j);
+      }
+
+      if (q != null)
+        System.arraycopy(p, k + 1, q, i * k, k);
+
+      if (i == 0)
+        break;
+
+      // The remainder is less than div, so c[k..2k) is zero
+      System.arraycopy(c, 0, c, k, k);
+    }
+
+    System.arraycopy(c, 0, r, 0, k);
+  }
+}
\ No newline at end of file
@@ -278,4 +278,177 @@ abstract class BigIntMagnitude extends BigIntValue {
     val[0] = sig ? len : -len;
     // _debugLenSig(val);
   }
+
+  /**
+   * Adds the magnitude {@code b[boff..boff+blen)} to the magnitude
+   * {@code a[aoff..aoff+alen)} in place, and returns the carry out of the most
+   * significant limb of {@code a}.
+   *
+   * <pre>
+   * a = a + b
+   * </pre>
+   *
+   * <i><b>Note:</b> This method assumes {@code alen >= blen}.</i>
+   *
+   * @param a The magnitude array to which {@code b} is to be added.
+   * @param aoff The offset of the first limb of {@code a}.
+   * @param alen The number of limbs of {@code a}.
+   * @param b The magnitude array to add.
+   * @param boff The offset of the first limb of {@code b}.
+   * @param blen The number of limbs of {@code b}.
+   * @return The carry out of the most significant limb of {@code a}.
+   * @complexity O(n)
+   */
+  static int uaddMag(final int[] a, int aoff, final int alen, final int[] b, int boff, final int blen) {
+    final int bend = boff + blen;
+    final int aend = aoff + alen;
+    long carry = 0;
+    for (; boff < bend; ++aoff, ++boff) {
+      carry += (a[aoff] & LONG_MASK) + (b[boff] & LONG_MASK);
+      a[aoff] = (int)carry;
+      carry >>>= 32;
+    }
+
+    if (carry != 0) {
+      for (; aoff < aend; ++aoff)
+        if (++a[aoff] != 0)
+          return 0;
+
+      return 1;
+    }
+
+    return 0;
+  }
+
+  /**
+   * Subtracts the magnitude {@code b[boff..boff+blen)} from the magnitude
+   * {@code a[aoff..aoff+alen)} in place, and returns the borrow out of the most
+   * significant limb of {@code a}.
+   *
+   * <pre>
+   * a = a - b
+   * </pre>
+   *
+   * <i><b>Note:</b> This method assumes {@code alen >= blen}.</i>
+   *
+   * @param a The magnitude array from which {@code b} is to be subtracted.
+   * @param aoff The offset of the first limb of {@code a}.
+   * @param alen The number of limbs of {@code a}.
+   * @param b The magnitude array to subtract.
+   * @param boff The offset of the first limb of {@code b}.
+   * @param blen The number of limbs of {@code b}.
+   * @return The borrow out of the most significant limb of {@code a}.
+   * @complexity O(n)
+   */
+  static int usubMag(final int[] a, int aoff, final int alen, final int[] b, int boff, final int blen) {
+    final int bend = boff + blen;
+    final int aend = aoff + alen;
+    long borrow = 0;
+    for (; boff < bend; ++aoff, ++boff) {
+      borrow += (a[aoff] & LONG_MASK) - (b[boff] & LONG_MASK);
+      a[aoff] = (int)borrow;
+      borrow >>= 32;
+    }
+
+    if (borrow != 0) {
+      for (; aoff < aend; ++aoff)
+        if (a[aoff]-- != 0)
+          return 0;
+
+      return 1;
+    }
+
+    return 0;
+  }
+
+  /**
+   * Subtracts the magnitude {@code b[boff..boff+blen)} from the magnitude
+   * {@code a[aoff..aoff+alen)}, and stores the result in {@code b}, which is
+   * extended to {@code alen} limbs.
+   *
+   * <pre>
+   * b = a - b
+   * </pre>
+   *
+   * <i><b>Note:</b> This method assumes {@code alen >= blen}, {@code a >= b},
+   * and that {@code b} has room for {@code alen} limbs.</i>
+   *
+   * @param a The magnitude array of the minuend.
+   * @param aoff The offset of the first limb of {@code a}.
+   * @param alen The number of limbs of {@code a}.
+   * @param b The magnitude array of the subtrahend, and of the result.
+   * @param boff The offset of the first limb of {@code b}.
+   * @param blen The number of limbs of {@code b}.
+   * @complexity O(n)
+   */
+  static void ursubMag(final int[] a, int aoff, final int alen, final int[] b, int boff, final int blen) {
+    final int bend = boff + blen;
+    final int aend = aoff + alen;
+    long borrow = 0;
+    for (; boff < bend; ++aoff, ++boff) {
+      borrow += (a[aoff] & LONG_MASK) - (b[boff] & LONG_MASK);
+      b[boff] = (int)borrow;
+      borrow >>= 32;
+    }
+
+    for (; aoff < aend; ++aoff, ++boff) {
+      borrow += a[aoff] & LONG_MASK;
+      b[boff] = (int)borrow;
+      borrow >>= 32;
+    }
+  }
+
+  /**
+   * Compares the magnitude {@code a[aoff..aoff+alen)} to the magnitude
+   * {@code b[boff..boff+blen)}, and returns one of {@code -1}, {@code 0}, or
+   * {@code 1} if {@code a} is less than, equal to, or greater than {@code b},
+   * respectively. The magnitudes may have leading zero limbs.
+   *
+   * @param a The first magnitude array.
+   * @param aoff The offset of the first limb of {@code a}.
+   * @param alen The number of limbs of {@code a}.
+   * @param b The second magnitude array.
+   * @param boff The offset of the first limb of {@code b}.
+   * @param blen The number of limbs of {@code b}.
+   * @return One of {@code -1}, {@code 0}, or {@code 1} if {@code a} is less
+   *         than, equal to, or greater than {@code b}, respectively.
+   * @complexity O(n)
+   */
+  static int compareToMag(final int[] a, final int aoff, int alen, final int[] b, final int boff, int blen) {
+    for (; alen > blen; --alen)
+      if (a[aoff + alen - 1] != 0)
+        return 1;
+
+    for (; blen > alen; --blen)
+      if (b[boff + blen - 1] != 0)
+        return -1;
+
+    for (long x, y; alen > 0; --alen) {
+      x = a[aoff + alen - 1] & LONG_MASK;
+      y = b[boff + alen - 1] & LONG_MASK;
+      if (x != y)
+        return x > y ? 1 : -1;
+    }
+
+    return 0;
+  }
+
+  /**
+   * Returns the number of significant limbs in the magnitude
+   * {@code mag[off..off+len)}, which is {@code len} less the number of leading
+   * zero limbs.
+   *
+   * @param mag The magnitude array.
+   * @param off The offset of the first limb of {@code mag}.
+   * @param len The number of limbs of {@code mag}.
+   * @return The number of significant limbs in the magnitude.
+   * @complexity O(n)
+   * @amortized O(1)
+   */
+  static int significantLength(final int[] mag, final int off, int len) {
+    while (len > 0 && mag[off + len - 1] == 0)
+      --len;
+
+    return len;
+  }
 }
\ No newline at end of file
@@ -30,6 +30,10 @@
 package org.libj.math;
 
 import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
 
 import org.libj.lang.Constants;
 
@@ -190,76 +194,295 @@ abstract class BigIntMath extends BigIntDivision {
     if (fitsInLong(val, len))
       return assign(val, sqrt(longValue(val), rm));
 
-    final int[] sqrtApprox = sqrtApprox(val, rm);
+    final int[] sqrtApprox = root0(val, 2);
     if (rm == RoundingMode.FLOOR || rm == RoundingMode.DOWN)
       return sqrtApprox;
 
     if (rm == RoundingMode.CEILING || rm == RoundingMode.UP) {
       final int sqrtFloorInt = intValue(sqrtApprox);
       if (sqrtFloorInt * sqrtFloorInt != intValue(val)) // fast check mod 2^32
-        return addInPlace(sqrtApprox, 1, 1);
+        return add(sqrtApprox, 1);
 
-      final int[] tmp = sqrtApprox.clone();
-      return equals(mulInPlace(tmp, tmp), val) ? sqrtApprox : addInPlace(sqrtApprox, 1, 1); // slow exact check
+      return equals(mul(sqrtApprox.clone(), sqrtApprox), val) ? sqrtApprox : add(sqrtApprox, 1); // slow exact check
     }
 
-    final int[] tmp = sqrtApprox.clone();
-    mulInPlace(tmp, tmp);
+    final int[] tmp = mul(sqrtApprox.clone(), sqrtApprox);
     if (rm == RoundingMode.UNNECESSARY || rm == null)
       return equals(tmp, val) ? sqrtApprox : null;
 
-    final int[] halfSquare = addInPlace(tmp, sqrtApprox);
+    final int[] halfSquare = add(tmp, sqrtApprox);
     /* Test whether or not x <= (sqrtFloor + 0.5)^2 = halfSquare + 0.25. Since
      * both x and halfSquare are integers, this is equivalent to testing whether
      * or not x <= halfSquare. */
-    return compareToAbs(halfSquare, val) >= 0 ? sqrtApprox : addInPlace(sqrtApprox, 1, 1);
-  }
-
-  /**
-   * Adapted from Hacker's Delight, Figure 11-1. Using DoubleUtils.bigToDouble,
-   * getting a double approximation of x is extremely fast, and then we can get
-   * a double approximation of the square root. Then, we iteratively improve
-   * this guess with an application of Newton's method, which sets guess :=
-   * (guess + (x / guess)) / 2. This iteration has the following two properties:
-   * a) every iteration (except potentially the first) has guess >=
-   * floor(sqrt(x)). This is because guess' is the arithmetic mean of guess and
-   * x / guess, sqrt(x) is the geometric mean, and the arithmetic mean is always
-   * higher than the geometric mean. b) this iteration converges to
-   * floor(sqrt(x)). In fact, the number of correct digits doubles with each
-   * iteration, so this algorithm takes O(log(digits)) iterations. We start out
-   * with a double-precision approximation, which may be higher or lower than
-   * the true value. Therefore, we perform at least one Newton iteration to get
-   * a guess that's definitely >= floor(sqrt(x)), and then continue the
-   * iteration until we reach a fixed point.
-   */
-  // FIXME: Perhaps it's possible to yet remove more realloc(s). Use ThreadLocal.
-  private static int[] sqrtApprox(final int[] val, final RoundingMode rm) {
-    int[] res;
-    final int log2 = log2(val, RoundingMode.FLOOR);
-    if (log2 < Double.MAX_EXPONENT) {
-      res = sqrtApproxDoubleInPlace(val.clone(), rm);
+    return compareToAbs(halfSquare, val) >= 0 ? sqrtApprox : add(sqrtApprox, 1);
+  }
+
+  /**
+   * Computes the {@code k}-th root of the provided {@linkplain BigInt#val()
+   * value-encoded number}, rounded toward zero.
+   *
+   * <blockquote>
+   * <code>val = sgn(val) * ⌊|val|<sup>1/k</sup>⌋</code>
+   * </blockquote>
+   *
+   * The root is computed with precision doubling: the root of the number
+   * shifted right by {@code k * s} bits, where {@code s} is half the length of
+   * the root, is computed recursively, after which a few Newton iterations
+   * <code>x = ((k - 1) * x + val / x<sup>k-1</sup>) / k</code> refine it to
+   * the full length. The cost is therefore a constant multiple of that of the
+   * iterations at full length.
+   * <p>
+   * <i><b>Note:</b> The returned number may be a {@code new int[]}
+   * instance.</i>
+   *
+   * @param val The {@linkplain BigInt#val() value-encoded number}.
+   * @param k The degree of the root.
+   * @return {@code val} with its value replaced with its {@code k}-th root,
+   *         rounded toward zero.
+   * @throws ArithmeticException If {@code k} is not positive, or if
+   *           {@code val} is negative and {@code k} is even.
+   * @complexity O(M(n) log k)
+   */
+  public static int[] root(final int[] val, final int k) {
+    if (k <= 0)
+      throw new ArithmeticException("Non-positive degree: " + k);
+
+    final int len = val[0];
+    if (len < 0 && (k & 1) == 0)
+      throw new ArithmeticException("Even root of negative number");
+
+    if (len == 0 || k == 1)
+      return val;
+
+    final int[] root = root0(len < 0 ? abs(val.clone()) : val, k);
+    if (len < 0)
+      root[0] = -root[0];
+
+    return assign(val, root);
+  }
+
+  /**
+   * Returns a new {@linkplain BigInt#val() value-encoded number} of the
+   * {@code k}-th root of the provided positive {@linkplain BigInt#val()
+   * value-encoded number}, rounded down, for {@code k >= 2}. The provided
+   * number is not modified.
+   */
+  private static int[] root0(final int[] val, final int k) {
+    final long bits = bitLength(val);
+    if (k >= bits)
+      return valueOf(1);
+
+    if (bits < Long.SIZE)
+      return valueOf(root(longValue(val), k));
+
+    // The root of val >>> (k * s) is the root of val >>> s, to within 1
+    final long s = ((bits - 1) / k + 1) / 2;
+    final int[] hi = root0(shiftRight(val.clone(), (int)(k * s)), k);
+
+    // The Newton iteration decreases monotonically from above the root, until
+    // it reaches the root
+    int[] x = shiftLeft(add(hi, 1), (int)s);
+    for (int[] y;; x = y) {
+      y = div(add(div(val.clone(), pow(x.clone(), k - 1)), mul(x.clone(), k - 1)), k);
+      if (compareTo(y, x) >= 0)
+        return x;
     }
-    else {
-      final int shift = (log2 - FloatingDecimal.SIGNIFICAND_BITS_DOUBLE) & ~1; // even!
-      /* We have that x / 2^shift < 2^54. Our initial approximation to
-       * sqrtFloor(x) will be 2^(shift/2) * sqrtApproxWithDoubles(x / 2^shift). */
-      res = shiftLeft(sqrtApproxDoubleInPlace(shiftRight(val.clone(), shift), rm), shift >> 1);
+  }
+
+  /**
+   * Returns the {@code k}-th root of the specified non-negative {@code long},
+   * rounded down, for {@code k >= 2}.
+   */
+  private static long root(final long x, final int k) {
+    if (k == 2)
+      return sqrt(x, RoundingMode.FLOOR);
+
+    long r = (long)Math.pow(x, 1d / k);
+    while (r > 0 && powExceeds(r, k, x))
+      --r;
+
+    while (!powExceeds(r + 1, k, x))
+      ++r;
+
+    return r;
+  }
+
+  /**
+   * Returns {@code true} if <code>r<sup>k</sup> &gt; x</code>, for positive
+   * {@code r} and non-negative {@code x}.
+   */
+  private static boolean powExceeds(final long r, final int k, final long x) {
+    long p = 1;
+    for (int i = 0; i < k; ++i) {
+      if (p > x / r)
+        return true;
+
+      p *= r;
     }
 
-    int[] tmp = shiftRight(addInPlace(div(val.clone(), res), res), 1);
-    if (equals(res, tmp))
-      return res;
+    return false;
+  }
 
-    do {
-      res = tmp;
-      tmp = shiftRight(addInPlace(div(val.clone(), res), res), 1);
+  /**
+   * Computes the square root of the provided {@linkplain BigInt#val()
+   * value-encoded number}, rounded down, and returns the remainder.
+   *
+   * <pre>
+   * rem = val - ⌊val<sup>1/2</sup>⌋<sup>2</sup>
+   * val = ⌊val<sup>1/2</sup>⌋
+   * return rem
+   * </pre>
+   *
+   * The square root is computed as by {@link #root(int[],int)}, and is
+   * assigned to the provided array, which is always long enough.
+   *
+   * @param val The {@linkplain BigInt#val() value-encoded number}.
+   * @return A new {@linkplain BigInt#val() value-encoded number} of the
+   *         remainder, which is between {@code 0} and {@code 2 * sqrt}.
+   * @throws ArithmeticException If {@code val} is negative.
+   * @complexity O(M(n))
+   */
+  public static int[] sqrtRem(final int[] val) {
+    final int len = val[0];
+    if (len < 0)
+      throw new ArithmeticException("Square root of negative number");
+
+    if (len == 0)
+      return alloc(2);
+
+    final int[] root = root0(val, 2);
+    final int[] rem = sub(val.clone(), mul(root.clone(), root));
+    copy(root, root[0] + OFF, val, 0);
+    return rem;
+  }
+
+  /**
+   * Returns {@code true} if the provided {@linkplain BigInt#val()
+   * value-encoded number} is a perfect power, i.e. if
+   * <code>val = m<sup>k</sup></code> for an integer {@code m} and
+   * {@code k >= 2}. The numbers {@code 0}, {@code 1} and {@code -1} are perfect
+   * powers, and a negative number is a perfect power if its magnitude is an
+   * odd power.
+   * <p>
+   * Each prime exponent {@code k} less than the bit length is tested, and
+   * must divide the number of trailing zero bits. For large {@code k}, the
+   * root is short, and is estimated from the leading bits of the number, after
+   * which the candidates are screened by comparing their {@code k}-th powers
+   * with the number modulo two primes. For small {@code k}, the number is
+   * screened with primes {@code q = 1 (mod k)}, modulo which a {@code k}-th
+   * power that is not a multiple of {@code q} is a {@code k}-th power residue
+   * (<code>val<sup>(q-1)/k</sup> = 1 (mod q)</code>). Either screening rejects
+   * most non-powers cheaply, and the remaining candidates are confirmed
+   * exactly.
+   *
+   * @param val The {@linkplain BigInt#val() value-encoded number}, which is
+   *          not modified.
+   * @return {@code true} if the provided {@linkplain BigInt#val()
+   *         value-encoded number} is a perfect power.
+   * @complexity O(n^2 / log n) - O(M(n) log n)
+   */
+  public static boolean isPerfectPower(final int[] val) {
+    final int len = Math.abs(val[0]);
+    if (len == 0 || len == 1 && val[OFF] == 1)
+      return true;
+
+    final int[] mag = val[0] < 0 ? abs(val.clone()) : val;
+    final long bits = bitLength(mag);
+    final int[] primes = oddPrimes((int)Math.min(bits - 1, Integer.MAX_VALUE));
+    if (bits < Long.SIZE) {
+      final long x = longValue(mag);
+      if (val[0] > 0 && powExceeds(root(x, 2), 2, x - 1))
+        return true;
+
+      for (final int k : primes)
+        if (powExceeds(root(x, k), k, x - 1))
+          return true;
+
+      return false;
+    }
+
+    final int zeros = getLowestSetBit(mag);
+    if (val[0] > 0 && zeros % 2 == 0 && isPowerResidue(mag, len, 2) && equals(pow(root0(mag, 2), 2), mag))
+      return true;
+
+    final long r1 = rem(mag, OFF, len, POWER_Q1) & LONG_MASK;
+    final long r2 = rem(mag, OFF, len, POWER_Q2) & LONG_MASK;
+    // The number is 2^shift * 2^log2, where 62 <= log2 < 63
+    final int shift = (int)(bits - 63);
+    final double log2 = Math.log(longValue(shiftRight(mag.clone(), shift))) / Math.log(2);
+    for (final int k : primes) {
+      if (zeros % k != 0)
+        continue;
+
+      if ((bits - 1) / k < ROOT_ESTIMATE_BITS) {
+        // The root is 2^(shift / k) * 2^((shift % k + log2) / k), to within 1
+        final long r = (long)Math.scalb(Math.pow(2, (shift % k + log2) / k), shift / k);
+        for (long x = Math.max(1, r - 1); x <= r + 1; ++x)
+          if (powMod(x, k, POWER_Q1) == r1 && powMod(x, k, POWER_Q2) == r2 && equals(pow(valueOf(x), k), mag))
+            return true;
+      }
+      else if (isPowerResidue(mag, len, k) && equals(pow(root0(mag, k), k), mag)) {
+        return true;
+      }
     }
-    while (compareToAbs(tmp, res) < 0);
-    return res;
+
+    return false;
+  }
+
+  /**
+   * The number of bits of the roots that are estimated from the leading bits
+   * of the number in {@link #isPerfectPower(int[])}.
+   */
+  private static final int ROOT_ESTIMATE_BITS = 40;
+
+  /** The primes modulo which estimated roots are screened in {@link #isPerfectPower(int[])}. */
+  private static final int POWER_Q1 = 2147483647, POWER_Q2 = 2147483629;
+
+  /** The number of primes {@code q = 1 (mod k)} screened by {@link #isPowerResidue(int[],int,int)}. */
+  private static final int POWER_RESIDUE_TESTS = 4;
+
+  /**
+   * Returns {@code false} if the provided magnitude is definitely not a
+   * {@code k}-th power, by Euler's criterion modulo the first primes
+   * {@code q = 1 (mod k)}.
+   */
+  private static boolean isPowerResidue(final int[] mag, final int len, final int k) {
+    for (long q = k + 1, tests = 0; tests < POWER_RESIDUE_TESTS && q < Integer.MAX_VALUE; q += k) {
+      if (!isPrime((int)q))
+        continue;
+
+      ++tests;
+      final long a = rem(mag, OFF, len, (int)q) & LONG_MASK;
+      if (a != 0 && powMod(a, (q - 1) / k, q) != 1)
+        return false;
+    }
+
+    return true;
+  }
+
+  /** Returns <code>b<sup>e</sup> mod q</code>, for non-negative {@code b} and {@code q < 2^31}. */
+  private static long powMod(long b, long e, final long q) {
+    long r = 1;
+    for (b %= q; e > 0; e >>>= 1, b = b * b % q)
+      if ((e & 1) != 0)
+        r = r * b % q;
+
+    return r;
   }
 
-  private static int[] sqrtApproxDoubleInPlace(final int[] val, final RoundingMode rm) {
-    return assignInPlace(val, Math.sqrt(doubleValue(val)), rm);
+  /** Returns {@code true} if the provided positive {@code int} is prime. */
+  private static boolean isPrime(final int n) {
+    if (n < 4)
+      return n > 1;
+
+    if ((n & 1) == 0)
+      return false;
+
+    for (int d = 3; d <= n / d; d += 2)
+      if (n % d == 0)
+        return false;
+
+    return true;
   }
 
   /**
@@ -509,4 +732,2228 @@ abstract class BigIntMath extends BigIntDivision {
     final double res = Math.log(doubleValue(val, OFF, len, 1));
     return blex > 0 ? res + blex * Constants.LOG_2 : res;
   }
-}
\ No newline at end of file
+
+  /**
+   * The threshold value for the number of ints of the operands of
+   * {@link #gcd(int[],int[])}, at and above which the operands are reduced with
+   * the subquadratic half-gcd algorithm, before Lehmer's algorithm computes the
+   * gcd of the reduced operands. The half-gcd algorithm reduces the operands
+   * with multiplications of the matrices of the reductions of their upper
+   * halves, and therefore benefits from Karatsuba and faster multiplication.
+   * With the multiplication of this library, Lehmer's algorithm is faster up to
+   * several thousand ints. This value is found experimentally, and can be
+   * overridden for the host CPU (see {@link BigIntThresholds}).
+   */
+  static int HALF_GCD_THRESHOLD = Math.max(16, BigIntThresholds.get("HALF_GCD_THRESHOLD", 4096));
+
+  /**
+   * The threshold value for the number of ints of the operands of a half-gcd
+   * reduction, at and above which the reduction recurses on the upper halves of
+   * the operands, instead of applying successive Lehmer steps. This value is
+   * found experimentally, and can be overridden for the host CPU (see
+   * {@link BigIntThresholds}).
+   */
+  static int HALF_GCD_RECURSION_THRESHOLD = Math.max(8, BigIntThresholds.get("HALF_GCD_RECURSION_THRESHOLD", 1000));
+
+  /**
+   * Computes the greatest common divisor of the provided
+   * {@linkplain BigInt#val() value-encoded numbers}, which is non-negative.
+   *
+   * <pre>
+   * val = gcd(val, val2)
+   * </pre>
+   *
+   * Operands that fit in a {@code long} are reduced with the binary gcd
+   * algorithm. Larger operands are reduced with Lehmer's algorithm, which
+   * replaces the quotients of Euclid's algorithm with the reductions of the
+   * upper 64 bits of the operands, and operands of at least
+   * {@link #HALF_GCD_THRESHOLD} ints are first reduced with the subquadratic
+   * half-gcd algorithm.
+   * <p>
+   * <i><b>Note:</b> The returned number may be a {@code new int[]} instance if
+   * the operation requires a larger array for the computation.</i>
+   *
+   * @param val The first {@linkplain BigInt#val() value-encoded number}.
+   * @param val2 The second {@linkplain BigInt#val() value-encoded number},
+   *          which is not modified.
+   * @return The provided {@linkplain BigInt#val() value-encoded number} with
+   *         its value replaced by the greatest common divisor of the provided
+   *         {@linkplain BigInt#val() value-encoded numbers}.
+   * @see <a href="https://doi.org/10.1090/S0025-5718-07-02017-0">Niels Möller:
+   *      On Schönhage's algorithm and subquadratic integer gcd
+   *      computation</a>
+   * @complexity O(n^2) - O(M(n) log n)
+   */
+  public static int[] gcd(int[] val, final int[] val2) {
+    int len1 = val[0]; if (len1 < 0) { len1 = -len1; }
+    int len2 = val2[0]; if (len2 < 0) { len2 = -len2; }
+    if (len2 == 0)
+      return abs(val);
+
+    if (len1 == 0)
+      return abs(assign(val, val2));
+
+    if (len1 <= 2 && len2 <= 2)
+      return assign(val, 1, gcd(longValueUnsigned(val), longValueUnsigned(val2)));
+
+    final int len = Math.max(len1, len2);
+    final int[] u = new int[len + 1];
+    final int[] v = new int[len + 1];
+    System.arraycopy(val, OFF, u, 0, len1);
+    System.arraycopy(val2, OFF, v, 0, len2);
+    final int[] g = len1 >= len2 ? gcdMag(u, len1, v, len2) : gcdMag(v, len2, u, len1);
+    final int glen = significantLength(g, 0, len);
+    if (val.length <= glen)
+      val = alloc(glen + 1);
+
+    System.arraycopy(g, 0, val, OFF, glen);
+    val[0] = glen;
+    // _debugLenSig(val);
+    return val;
+  }
+
+  /**
+   * Computes the least common multiple of the provided
+   * {@linkplain BigInt#val() value-encoded numbers}, which is non-negative.
+   *
+   * <pre>
+   * val = lcm(val, val2)
+   * </pre>
+   *
+   * The least common multiple is computed as
+   * {@code |val| / gcd(val, val2) * |val2|}, with the exact division of
+   * {@link #divExact(int[],int[])}.
+   * <p>
+   * <i><b>Note:</b> The returned number may be a {@code new int[]} instance if
+   * the operation requires a larger array for the computation.</i>
+   *
+   * @param val The first {@linkplain BigInt#val() value-encoded number}.
+   * @param val2 The second {@linkplain BigInt#val() value-encoded number},
+   *          which is not modified.
+   * @return The provided {@linkplain BigInt#val() value-encoded number} with
+   *         its value replaced by the least common multiple of the provided
+   *         {@linkplain BigInt#val() value-encoded numbers}.
+   * @complexity O(n^2) - O(M(n) log n)
+   */
+  public static int[] lcm(int[] val, final int[] val2) {
+    if (val[0] == 0 || val2[0] == 0)
+      return setToZero(val);
+
+    final int[] g = gcd(val.clone(), val2);
+    val = abs(divExact(val, g));
+    val = mul(val, val2);
+    return abs(val);
+  }
+
+  /**
+   * Returns the greatest common divisor of the provided <i>unsigned</i>
+   * {@code long} values, with the binary gcd algorithm.
+   *
+   * @param a The first value (unsigned).
+   * @param b The second value (unsigned).
+   * @return The greatest common divisor of the provided <i>unsigned</i>
+   *         {@code long} values (unsigned).
+   */
+  static long gcd(long a, long b) {
+    if (a == 0)
+      return b;
+
+    if (b == 0)
+      return a;
+
+    final int shift = Long.numberOfTrailingZeros(a | b);
+    a >>>= Long.numberOfTrailingZeros(a);
+    do {
+      b >>>= Long.numberOfTrailingZeros(b);
+      if (a + hbit > b + hbit) {
+        final long t = a;
+        a = b;
+        b = t;
+      }
+
+      b -= a;
+    }
+    while (b != 0);
+    return a << shift;
+  }
+
+  private static final long hbit = Long.MIN_VALUE;
+
+  /**
+   * Returns the magnitude array that holds the greatest common divisor of the
+   * magnitudes {@code u[0..ulen)} and {@code v[0..vlen)}, which are destroyed.
+   * Each array must have one free limb after its magnitude.
+   *
+   * @param u The first magnitude array.
+   * @param ulen The number of limbs of {@code u}, which is at least
+   *          {@code vlen}.
+   * @param v The second magnitude array.
+   * @param vlen The number of limbs of {@code v}.
+   * @return The magnitude array that holds the greatest common divisor, which
+   *         is either {@code u} or {@code v}.
+   */
+  private static int[] gcdMag(final int[] u, final int ulen, final int[] v, final int vlen) {
+    int n = vlen;
+    if (ulen > vlen) {
+      // Make the operands of equal length with a division
+      divRemMag(u, 0, ulen, v, 0, vlen);
+      if (significantLength(u, 0, ulen) == 0)
+        return v;
+    }
+
+    while (n >= HALF_GCD_THRESHOLD) {
+      final int p = n * 2 / 3;
+      final HalfGcdMatrix m = new HalfGcdMatrix(n - p);
+      final int nn = halfGcd(u, p, v, p, n - p, m);
+      if (nn > 0) {
+        n = adjust(m, p + nn, u, 0, v, 0, p);
+      }
+      else if ((n = euclidStep(u, v, n)) <= 0) {
+        return n == 0 ? v : u;
+      }
+    }
+
+    final long[] m1 = new long[4];
+    while (n > 2) {
+      if (lehmerStep(u, 0, v, 0, n, false, m1)) {
+        n = mul1InverseVector(m1, u, 0, v, 0, n);
+      }
+      else if ((n = euclidStep(u, v, n)) <= 0) {
+        return n == 0 ? v : u;
+      }
+    }
+
+    final long g = gcd(longValue(u, 0, n), longValue(v, 0, n));
+    u[0] = (int)g;
+    u[1] = (int)(g >>> 32);
+    for (int i = 2; i < ulen; ++i)
+      u[i] = 0;
+
+    return u;
+  }
+
+  /**
+   * Reduces the larger of the magnitudes {@code u[0..n)} and {@code v[0..n)}
+   * modulo the smaller, and returns the new number of limbs, or {@code 0} if
+   * the gcd is the magnitude in {@code v}, or {@code -1} if the gcd is the
+   * magnitude in {@code u}.
+   */
+  private static int euclidStep(final int[] u, final int[] v, final int n) {
+    final int ulen = significantLength(u, 0, n);
+    final int vlen = significantLength(v, 0, n);
+    if (ulen == 0)
+      return 0;
+
+    if (vlen == 0)
+      return -1;
+
+    if (compareToMag(u, 0, ulen, v, 0, vlen) >= 0) {
+      divRemMag(u, 0, ulen, v, 0, vlen);
+      return significantLength(u, 0, ulen) == 0 ? 0 : vlen;
+    }
+
+    divRemMag(v, 0, vlen, u, 0, ulen);
+    return significantLength(v, 0, vlen) == 0 ? -1 : ulen;
+  }
+
+  /**
+   * Divides the magnitude {@code b[boff..boff+bn)} by the magnitude
+   * {@code a[aoff..aoff+an)}, replaces {@code b} with the remainder, and
+   * returns the {@linkplain BigInt#val() value-encoded} quotient.
+   */
+  private static int[] divRemMag(final int[] b, final int boff, final int bn, final int[] a, final int aoff, final int an) {
+    final int[] q = alloc(bn + 2);
+    System.arraycopy(b, boff, q, OFF, bn);
+    q[0] = significantLength(b, boff, bn);
+    final int[] d = alloc(an + 1);
+    System.arraycopy(a, aoff, d, OFF, an);
+    d[0] = significantLength(a, aoff, an);
+    final int[] r = divRem(q, d);
+    final int rn = Math.abs(r[0]);
+    System.arraycopy(r, OFF, b, boff, rn);
+    Arrays.fill(b, boff + rn, boff + bn, 0);
+    return q;
+  }
+
+  /**
+   * A 2x2 matrix of non-negative magnitudes with determinant {@code 1}, which
+   * accumulates the reductions of a half-gcd reduction, such that
+   * {@code (a; b) = M (a'; b')}, where {@code (a; b)} are the operands, and
+   * {@code (a'; b')} are the reduced operands.
+   */
+  private static final class HalfGcdMatrix {
+    /** The entries in the order {@code m00, m01, m10, m11}. */
+    final int[][] m = new int[4][];
+
+    /** The maximum number of limbs of the entries. */
+    int n = 1;
+
+    /**
+     * Creates the identity matrix for the half-gcd reduction of operands of
+     * {@code len} limbs.
+     */
+    HalfGcdMatrix(final int len) {
+      for (int i = 0; i < 4; ++i)
+        m[i] = new int[(len + 1) / 2 + 2];
+
+      m[0][0] = 1;
+      m[3][0] = 1;
+    }
+
+    /**
+     * Ensures that each entry has room for {@code len} limbs.
+     */
+    void ensure(final int len) {
+      for (int i = 0; i < 4; ++i)
+        if (m[i].length < len)
+          m[i] = Arrays.copyOf(m[i], len + len / 2);
+    }
+  }
+
+  /**
+   * Reduces the magnitudes {@code a[aoff..aoff+n)} and
+   * {@code b[boff..boff+n)} in place, such that both remain larger than
+   * {@code 2^(32s)}, where {@code s = n / 2 + 1}, and their difference is less
+   * than {@code 2^(32s)}, accumulates the reduction in {@code m}, which must be
+   * the identity, and returns the number of limbs of the reduced magnitudes,
+   * or {@code 0} if no reduction is possible.
+   *
+   * @param a The first magnitude array.
+   * @param aoff The offset of the first limb of {@code a}.
+   * @param b The second magnitude array.
+   * @param boff The offset of the first limb of {@code b}.
+   * @param n The number of limbs of the larger of the magnitudes.
+   * @param m The identity matrix, into which the reduction is accumulated.
+   * @return The number of limbs of the reduced magnitudes, or {@code 0} if no
+   *         reduction is possible.
+   */
+  private static int halfGcd(final int[] a, final int aoff, final int[] b, final int boff, int n, final HalfGcdMatrix m) {
+    final int s = n / 2 + 1;
+    if (n <= s)
+      return 0;
+
+    final long[] m1 = new long[4];
+    boolean success = false;
+    int nn;
+    if (n >= HALF_GCD_RECURSION_THRESHOLD) {
+      final int n2 = n * 3 / 4 + 1;
+      int p = n / 2;
+      // Reduce the upper half, and apply its reduction to the operands
+      nn = halfGcd(a, aoff + p, b, boff + p, n - p, m);
+      if (nn > 0) {
+        n = adjust(m, p + nn, a, aoff, b, boff, p);
+        success = true;
+      }
+
+      while (n > n2) {
+        if ((nn = halfGcdStep(a, aoff, b, boff, n, s, m, m1)) == 0)
+          return success ? n : 0;
+
+        n = nn;
+        success = true;
+      }
+
+      if (n > s + 2) {
+        // Reduce the upper part of the remainder, and append its reduction
+        p = 2 * s - n + 1;
+        final HalfGcdMatrix m2 = new HalfGcdMatrix(n - p);
+        nn = halfGcd(a, aoff + p, b, boff + p, n - p, m2);
+        if (nn > 0) {
+          n = adjust(m2, p + nn, a, aoff, b, boff, p);
+          mul(m, m2);
+          success = true;
+        }
+      }
+    }
+
+    while ((nn = halfGcdStep(a, aoff, b, boff, n, s, m, m1)) > 0) {
+      n = nn;
+      success = true;
+    }
+
+    return success ? n : 0;
+  }
+
+  /**
+   * Applies a Lehmer step, or a step of Euclid's algorithm if the Lehmer step
+   * makes no progress, to the magnitudes {@code a[aoff..aoff+n)} and
+   * {@code b[boff..boff+n)}, such that both remain larger than
+   * {@code 2^(32s)}, accumulates the step in {@code m}, and returns the number
+   * of limbs of the reduced magnitudes, or {@code 0} if no reduction is
+   * possible.
+   */
+  private static int halfGcdStep(final int[] a, final int aoff, final int[] b, final int boff, final int n, final int s, final HalfGcdMatrix m, final long[] m1) {
+    if ((n > s + 1 || ((a[aoff + n - 1] | b[boff + n - 1]) & LONG_MASK) >= 4) && lehmerStep(a, aoff, b, boff, n, n == s + 1, m1)) {
+      mul1(m, m1);
+      return mul1InverseVector(m1, a, aoff, b, boff, n);
+    }
+
+    return subdivStep(a, aoff, b, boff, n, s, m);
+  }
+
+  /**
+   * Computes the reduction of the upper 64 bits of the magnitudes
+   * {@code a[aoff..aoff+n)} and {@code b[boff..boff+n)} into {@code m1}, and
+   * returns {@code false} if no reduction is possible.
+   *
+   * @param noShift Whether the upper 2 limbs are to be taken without
+   *          normalization.
+   */
+  private static boolean lehmerStep(final int[] a, final int aoff, final int[] b, final int boff, final int n, final boolean noShift, final long[] m1) {
+    final int mask = a[aoff + n - 1] | b[boff + n - 1];
+    long ah = (a[aoff + n - 1] & LONG_MASK) << 32 | a[aoff + n - 2] & LONG_MASK;
+    long bh = (b[boff + n - 1] & LONG_MASK) << 32 | b[boff + n - 2] & LONG_MASK;
+    if (!noShift && mask > 0) {
+      final int shift = Integer.numberOfLeadingZeros(mask);
+      ah = ah << shift | (a[aoff + n - 3] & LONG_MASK) >>> 32 - shift;
+      bh = bh << shift | (b[boff + n - 3] & LONG_MASK) >>> 32 - shift;
+    }
+
+    return hgcd2(ah, bh, m1);
+  }
+
+  /**
+   * Computes the reduction matrix {@code m = (m[0], m[1]; m[2], m[3])} of the
+   * 2-limb numbers {@code a} and {@code b} (unsigned), with entries of at most
+   * 32 bits, and returns {@code false} if no reduction is possible. The
+   * reduction stops short of reducing either number below {@code 2^33}, such
+   * that it is also a correct reduction of any numbers with {@code a} and
+   * {@code b} as their upper 2 limbs.
+   *
+   * @param a The first number (unsigned).
+   * @param b The second number (unsigned).
+   * @param m The array of length 4 into which the matrix is to be put.
+   * @return Whether a reduction is possible.
+   */
+  static boolean hgcd2(long a, long b, final long[] m) {
+    long u00, u01, u10, u11, q;
+    if (a >>> 33 == 0 || b >>> 33 == 0)
+      return false;
+
+    boolean reduceA;
+    if (a + hbit > b + hbit) {
+      a -= b;
+      if (a >>> 33 == 0)
+        return false;
+
+      u00 = u01 = u11 = 1;
+      u10 = 0;
+    }
+    else {
+      b -= a;
+      if (b >>> 33 == 0)
+        return false;
+
+      u00 = u10 = u11 = 1;
+      u01 = 0;
+    }
+
+    reduceA = a + hbit >= b + hbit;
+    // Double precision loop, which reduces the operands to 48 bits
+    for (;; reduceA = !reduceA) {
+      if (a == b)
+        return hgcd2(m, u00, u01, u10, u11);
+
+      if (reduceA) {
+        if (a >>> 48 == 0)
+          break;
+
+        a -= b;
+        if (a >>> 33 == 0)
+          return hgcd2(m, u00, u01, u10, u11);
+
+        if (a + hbit <= b + hbit) {
+          u01 += u00;
+          u11 += u10;
+        }
+        else {
+          q = FastMath.divideUnsigned(a, b);
+          a -= q * b;
+          if (a >>> 33 == 0) {
+            u01 += q * u00;
+            u11 += q * u10;
+            return hgcd2(m, u00, u01, u10, u11);
+          }
+
+          ++q;
+          u01 += q * u00;
+          u11 += q * u10;
+        }
+      }
+      else {
+        if (b >>> 48 == 0)
+          break;
+
+        b -= a;
+        if (b >>> 33 == 0)
+          return hgcd2(m, u00, u01, u10, u11);
+
+        if (b + hbit <= a + hbit) {
+          u00 += u01;
+          u10 += u11;
+        }
+        else {
+          q = FastMath.divideUnsigned(b, a);
+          b -= q * a;
+          if (b >>> 33 == 0) {
+            u00 += q * u01;
+            u10 += q * u11;
+            return hgcd2(m, u00, u01, u10, u11);
+          }
+
+          ++q;
+          u00 += q * u01;
+          u10 += q * u11;
+        }
+      }
+    }
+
+    // Single precision loop on the upper 32 bits, which discards the lower 16
+    // bits, and therefore stops at 17 bits
+    a >>>= 16;
+    b >>>= 16;
+    for (;; reduceA = !reduceA) {
+      if (reduceA) {
+        a -= b;
+        if (a < 1 << 17)
+          break;
+
+        if (a <= b) {
+          u01 += u00;
+          u11 += u10;
+        }
+        else {
+          q = a / b;
+          a -= q * b;
+          if (a < 1 << 17) {
+            u01 += q * u00;
+            u11 += q * u10;
+            break;
+          }
+
+          ++q;
+          u01 += q * u00;
+          u11 += q * u10;
+        }
+      }
+      else {
+        b -= a;
+        if (b < 1 << 17)
+          break;
+
+        if (b <= a) {
+          u00 += u01;
+          u10 += u11;
+        }
+        else {
+          q = b / a;
+          b -= q * a;
+          if (b < 1 << 17) {
+            u00 += q * u01;
+            u10 += q * u11;
+            break;
+          }
+
+          ++q;
+          u00 += q * u01;
+          u10 += q * u11;
+        }
+      }
+    }
+
+    return hgcd2(m, u00, u01, u10, u11);
+  }
+
+  private static boolean hgcd2(final long[] m, final long u00, final long u01, final long u10, final long u11) {
+    m[0] = u00;
+    m[1] = u01;
+    m[2] = u10;
+    m[3] = u11;
+    return true;
+  }
+
+  /**
+   * Replaces the magnitudes {@code a[aoff..aoff+n)} and {@code b[boff..boff+n)}
+   * with {@code M^-1 (a; b) = (m11 a - m01 b; m00 b - m10 a)}, where the
+   * entries of {@code M} are at most 32 bits, and returns the number of limbs
+   * of the larger of the results.
+   */
+  private static int mul1InverseVector(final long[] m1, final int[] a, final int aoff, final int[] b, final int boff, final int n) {
+    final long u00 = m1[0], u01 = m1[1], u10 = m1[2], u11 = m1[3];
+    long ca = 0, cb = 0, x, y, p0, p1, p2, p3;
+    for (int i = 0; i < n; ++i) {
+      x = a[aoff + i] & LONG_MASK;
+      y = b[boff + i] & LONG_MASK;
+      p0 = u11 * x;
+      p1 = u01 * y;
+      p2 = u00 * y;
+      p3 = u10 * x;
+      ca += (p0 & LONG_MASK) - (p1 & LONG_MASK);
+      cb += (p2 & LONG_MASK) - (p3 & LONG_MASK);
+      a[aoff + i] = (int)ca;
+      b[boff + i] = (int)cb;
+      ca = (ca >> 32) + (p0 >>> 32) - (p1 >>> 32);
+      cb = (cb >> 32) + (p2 >>> 32) - (p3 >>> 32);
+    }
+
+    int len = n;
+    while (len > 0 && a[aoff + len - 1] == 0 && b[boff + len - 1] == 0)
+      --len;
+
+    return len;
+  }
+
+  /**
+   * Multiplies {@code m} by the matrix {@code m1} of entries of at most 32
+   * bits from the right.
+   */
+  private static void mul1(final HalfGcdMatrix m, final long[] m1) {
+    final int n = m.n;
+    m.ensure(n + 1);
+    final long u00 = m1[0], u01 = m1[1], u10 = m1[2], u11 = m1[3];
+    int len = 0;
+    for (int r = 0; r < 4; r += 2) {
+      final int[] e0 = m.m[r], e1 = m.m[r + 1];
+      long c0 = 0, c1 = 0, x, y, p0, p1, p2, p3;
+      for (int i = 0; i <= n; ++i) {
+        x = e0[i] & LONG_MASK;
+        y = e1[i] & LONG_MASK;
+        p0 = x * u00;
+        p1 = y * u10;
+        p2 = x * u01;
+        p3 = y * u11;
+        c0 += (p0 & LONG_MASK) + (p1 & LONG_MASK);
+        c1 += (p2 & LONG_MASK) + (p3 & LONG_MASK);
+        e0[i] = (int)c0;
+        e1[i] = (int)c1;
+        c0 = (c0 >>> 32) + (p0 >>> 32) + (p1 >>> 32);
+        c1 = (c1 >>> 32) + (p2 >>> 32) + (p3 >>> 32);
+      }
+
+      if (e0[n] != 0 || e1[n] != 0)
+        len = n + 1;
+    }
+
+    m.n = Math.max(n, len);
+  }
+
+  /**
+   * Accumulates the quotient {@code q} of a step of Euclid's algorithm into
+   * {@code m}, by adding {@code q} times the other column to the column
+   * {@code col}, which is {@code 0} if the step reduced {@code b}, or {@code 1}
+   * if the step reduced {@code a}.
+   */
+  private static void updateQ(final HalfGcdMatrix m, final int[] q, final int qn, final int col) {
+    final int n = m.n;
+    final int len = n + qn + 1;
+    m.ensure(len);
+    final int[] p = new int[n + qn];
+    final int[] t = new int[toom3ScratchLen(n, qn)];
+    int max = n;
+    for (int r = 0; r < 4; r += 2) {
+      final int[] e = m.m[r + col];
+      mulMag(m.m[r + 1 - col], 0, n, q, OFF, qn, p, 0, t, 0, 0);
+      uaddMag(e, 0, len, p, 0, n + qn);
+      max = Math.max(max, significantLength(e, 0, len));
+    }
+
+    m.n = max;
+  }
+
+  /**
+   * Multiplies {@code m} by {@code m1} from the right.
+   */
+  private static void mul(final HalfGcdMatrix m, final HalfGcdMatrix m1) {
+    final int n = m.n, n1 = m1.n;
+    final int len = n + n1 + 1;
+    final int[] p = new int[n + n1];
+    final int[] t = new int[toom3ScratchLen(n, n1)];
+    final int[][] e = new int[4][];
+    int max = 0;
+    for (int r = 0; r < 4; r += 2) {
+      for (int c = 0; c < 2; ++c) {
+        final int[] z = e[r + c] = new int[len + 1];
+        mulMag(m.m[r], 0, n, m1.m[c], 0, n1, z, 0, t, 0, 0);
+        mulMag(m.m[r + 1], 0, n, m1.m[2 + c], 0, n1, p, 0, t, 0, 0);
+        uaddMag(z, 0, len, p, 0, n + n1);
+        max = Math.max(max, significantLength(z, 0, len));
+      }
+    }
+
+    System.arraycopy(e, 0, m.m, 0, 4);
+    m.n = max;
+  }
+
+  /**
+   * Replaces the magnitudes {@code a[aoff..aoff+n)} and {@code b[boff..boff+n)},
+   * whose upper parts {@code a[aoff+p..aoff+n)} and {@code b[boff+p..boff+n)}
+   * have been reduced by {@code m}, with {@code M^-1 (a; b)}, and returns the
+   * number of limbs of the larger of the results.
+   */
+  private static int adjust(final HalfGcdMatrix m, int n, final int[] a, final int aoff, final int[] b, final int boff, final int p) {
+    final int mn = m.n;
+    final int len = p + mn;
+    final int[] t0 = new int[len];
+    final int[] t1 = new int[len];
+    final int[] t = new int[toom3ScratchLen(mn, p)];
+
+    // a = a_hi * 2^(32p) + m11 * a_lo - m01 * b_lo
+    mulMag(m.m[3], 0, mn, a, aoff, p, t0, 0, t, 0, 0);
+    mulMag(m.m[2], 0, mn, a, aoff, p, t1, 0, t, 0, 0);
+    System.arraycopy(t0, 0, a, aoff, p);
+    int ah = uaddMag(a, aoff + p, n - p, t0, p, mn);
+    mulMag(m.m[1], 0, mn, b, boff, p, t0, 0, t, 0, 0);
+    ah -= usubMag(a, aoff, n, t0, 0, len);
+
+    // b = b_hi * 2^(32p) + m00 * b_lo - m10 * a_lo
+    mulMag(m.m[0], 0, mn, b, boff, p, t0, 0, t, 0, 0);
+    System.arraycopy(t0, 0, b, boff, p);
+    int bh = uaddMag(b, boff + p, n - p, t0, p, mn);
+    bh -= usubMag(b, boff, n, t1, 0, len);
+
+    if (ah != 0 || bh != 0) {
+      a[aoff + n] = ah;
+      b[boff + n] = bh;
+      ++n;
+    }
+    else {
+      while (n > 0 && a[aoff + n - 1] == 0 && b[boff + n - 1] == 0)
+        --n;
+    }
+
+    return n;
+  }
+
+  /**
+   * Applies a step of Euclid's algorithm to the magnitudes
+   * {@code a[aoff..aoff+n)} and {@code b[boff..boff+n)}, such that both remain
+   * larger than {@code 2^(32s)}, accumulates the step in {@code m}, and returns
+   * the number of limbs of the reduced magnitudes, or {@code 0} if no
+   * reduction is possible.
+   */
+  private static int subdivStep(int[] a, int aoff, int[] b, int boff, final int n, final int s, final HalfGcdMatrix m) {
+    int an = significantLength(a, aoff, n);
+    int bn = significantLength(b, boff, n);
+    int swapped = 0;
+    // Arrange so that a < b, subtract b -= a, and maybe swap a and b
+    if (an == bn) {
+      final int c = compareToMag(a, aoff, an, b, boff, bn);
+      if (c == 0)
+        return 0;
+
+      if (c > 0) {
+        int[] x = a; a = b; b = x;
+        int o = aoff; aoff = boff; boff = o;
+        swapped ^= 1;
+      }
+    }
+    else if (an > bn) {
+      int[] x = a; a = b; b = x;
+      int o = aoff; aoff = boff; boff = o;
+      o = an; an = bn; bn = o;
+      swapped ^= 1;
+    }
+
+    if (an <= s)
+      return 0;
+
+    usubMag(b, boff, bn, a, aoff, an);
+    bn = significantLength(b, boff, bn);
+    if (bn <= s) {
+      // Undo the subtraction
+      uaddMag(b, boff, an + 1, a, aoff, an);
+      return 0;
+    }
+
+    // Arrange so that a < b
+    if (an == bn) {
+      final int c = compareToMag(a, aoff, an, b, boff, bn);
+      updateQ(m, ONE, 1, swapped);
+      if (c == 0)
+        return an;
+
+      if (c > 0) {
+        int[] x = a; a = b; b = x;
+        int o = aoff; aoff = boff; boff = o;
+        swapped ^= 1;
+      }
+    }
+    else {
+      updateQ(m, ONE, 1, swapped);
+      if (an > bn) {
+        int[] x = a; a = b; b = x;
+        int o = aoff; aoff = boff; boff = o;
+        o = an; an = bn; bn = o;
+        swapped ^= 1;
+      }
+    }
+
+    final int[] q = divRemMag(b, boff, bn, a, aoff, an);
+    bn = significantLength(b, boff, an);
+    if (bn <= s) {
+      // The quotient is one too large, so decrement it and add back a
+      uaddMag(b, boff, an + 1, a, aoff, an);
+      subInPlace(q, 1, 1);
+    }
+
+    if (q[0] != 0)
+      updateQ(m, q, q[0], swapped);
+
+    return an;
+  }
+
+  private static final int[] ONE = {1, 1};
+
+  /**
+   * Computes the greatest common divisor of the provided
+   * {@linkplain BigInt#val() value-encoded numbers}, which is non-negative,
+   * into {@code val}, and returns the Bézout coefficient {@code s} of
+   * {@code val}, such that:
+   *
+   * <pre>
+   * s * val + t * val2 = gcd(val, val2)
+   * </pre>
+   *
+   * The coefficient {@code t} of {@code val2} can be computed from {@code s}
+   * with an exact division. The gcd is computed with Lehmer's algorithm, as in
+   * {@link #gcd(int[],int[])}, and the coefficient is updated with the same
+   * reductions. The reductions of the upper 64 bits of the operands, which are
+   * the vast majority of the steps, are applied in place to preallocated
+   * arrays.
+   *
+   * @param val The first {@linkplain BigInt#val() value-encoded number}, which
+   *          is not zero, and which is replaced with the gcd.
+   * @param val2 The second {@linkplain BigInt#val() value-encoded number},
+   *          which is not zero, and which is not modified.
+   * @return The {@linkplain BigInt#val() value-encoded} Bézout coefficient of
+   *         {@code val}.
+   * @complexity O(n^2)
+   */
+  static int[] gcdExt(final int[] val, final int[] val2) {
+    int len1 = val[0]; final boolean sig = len1 > 0; if (!sig) { len1 = -len1; }
+    int len2 = val2[0]; if (len2 < 0) { len2 = -len2; }
+
+    final int len = Math.max(len1, len2);
+    final int[] u = new int[len + 1];
+    final int[] v = new int[len + 1];
+    System.arraycopy(val, OFF, u, 0, len1);
+    System.arraycopy(val2, OFF, v, 0, len2);
+
+    // The coefficients of |val| of the magnitudes in u and v are c0 and -c1
+    final int[] c0 = new int[len + 3];
+    final int[] c1 = new int[len + 3];
+    c0[0] = 1;
+    int cn = 1;
+
+    final long[] m1 = new long[4];
+    for (int n = len;;) {
+      if (n > 2 && lehmerStep(u, 0, v, 0, n, false, m1)) {
+        n = mul1InverseVector(m1, u, 0, v, 0, n);
+        cn = mul1Vector(m1, c0, c1, cn);
+        continue;
+      }
+
+      final int ulen = significantLength(u, 0, n);
+      final int vlen = significantLength(v, 0, n);
+      final int[] g, c;
+      final boolean neg;
+      if (vlen == 0) {
+        g = u;
+        c = c0;
+        neg = !sig;
+      }
+      else if (ulen == 0) {
+        g = v;
+        c = c1;
+        neg = sig;
+      }
+      else {
+        if (n <= 2) {
+          long a = longValue(u, 0, n), b = longValue(v, 0, n);
+          if (a + hbit >= b + hbit) {
+            final long q = FastMath.divideUnsigned(a, b);
+            a -= q * b;
+            cn = addMul(c0, c1, cn, q);
+          }
+          else {
+            final long q = FastMath.divideUnsigned(b, a);
+            b -= q * a;
+            cn = addMul(c1, c0, cn, q);
+          }
+
+          u[0] = (int)a;
+          u[1] = (int)(a >>> 32);
+          v[0] = (int)b;
+          v[1] = (int)(b >>> 32);
+        }
+        else if (compareToMag(u, 0, ulen, v, 0, vlen) >= 0) {
+          cn = addMul(c0, c1, cn, divRemMag(u, 0, ulen, v, 0, vlen));
+        }
+        else {
+          cn = addMul(c1, c0, cn, divRemMag(v, 0, vlen, u, 0, ulen));
+        }
+
+        n = Math.max(significantLength(u, 0, n), significantLength(v, 0, n));
+        continue;
+      }
+
+      final int glen = significantLength(g, 0, len);
+      System.arraycopy(g, 0, val, OFF, glen);
+      val[0] = glen;
+
+      cn = significantLength(c, 0, cn);
+      final int[] s = alloc(cn + 1);
+      System.arraycopy(c, 0, s, OFF, cn);
+      s[0] = neg ? -cn : cn;
+      return s;
+    }
+  }
+
+  /**
+   * Replaces the magnitudes {@code c0[0..cn)} and {@code c1[0..cn)} with
+   * {@code (m11 c0 + m01 c1; m10 c0 + m00 c1)}, where the entries of {@code M}
+   * are at most 32 bits, and returns the number of limbs of the larger of the
+   * results.
+   */
+  private static int mul1Vector(final long[] m1, final int[] c0, final int[] c1, final int cn) {
+    final long u00 = m1[0], u01 = m1[1], u10 = m1[2], u11 = m1[3];
+    long ca = 0, cb = 0, x, y, p0, p1, p2, p3;
+    for (int i = 0; i < cn; ++i) {
+      x = c0[i] & LONG_MASK;
+      y = c1[i] & LONG_MASK;
+      p0 = u11 * x;
+      p1 = u01 * y;
+      p2 = u10 * x;
+      p3 = u00 * y;
+      ca += (p0 & LONG_MASK) + (p1 & LONG_MASK);
+      cb += (p2 & LONG_MASK) + (p3 & LONG_MASK);
+      c0[i] = (int)ca;
+      c1[i] = (int)cb;
+      ca = (ca >>> 32) + (p0 >>> 32) + (p1 >>> 32);
+      cb = (cb >>> 32) + (p2 >>> 32) + (p3 >>> 32);
+    }
+
+    c0[cn] = (int)ca;
+    c1[cn] = (int)cb;
+    return (ca | cb) != 0 ? cn + 1 : cn;
+  }
+
+  /**
+   * Adds the product of the magnitude {@code x[0..xn)} and the provided
+   * <i>unsigned</i> {@code long} to the magnitude {@code z}, and returns the
+   * number of limbs of the larger of the magnitudes {@code z} and {@code x}.
+   */
+  private static int addMul(final int[] z, final int[] x, final int xn, final long q) {
+    addMul(z, 0, x, xn, q & LONG_MASK);
+    if (q >>> 32 != 0)
+      addMul(z, 1, x, xn, q >>> 32);
+
+    return significantLength(z, 0, xn + 2) > xn ? significantLength(z, 0, xn + 2) : xn;
+  }
+
+  private static void addMul(final int[] z, int zoff, final int[] x, final int xn, final long q) {
+    long c = 0, p;
+    for (int i = 0; i < xn; ++i, ++zoff) {
+      p = (x[i] & LONG_MASK) * q;
+      c += (z[zoff] & LONG_MASK) + (p & LONG_MASK);
+      z[zoff] = (int)c;
+      c = (c >>> 32) + (p >>> 32);
+    }
+
+    for (; c != 0; ++zoff) {
+      c += z[zoff] & LONG_MASK;
+      z[zoff] = (int)c;
+      c >>>= 32;
+    }
+  }
+
+  /**
+   * Adds the product of the magnitude {@code x[0..xn)} and the provided
+   * {@linkplain BigInt#val() value-encoded quotient} to the magnitude
+   * {@code z}, and returns the number of limbs of the larger of the magnitudes
+   * {@code z} and {@code x}.
+   */
+  private static int addMul(final int[] z, final int[] x, final int xn, final int[] q) {
+    final int qn = q[0];
+    if (qn <= 2)
+      return addMul(z, x, xn, longValue(q, OFF, qn));
+
+    final int[] p = new int[qn + xn];
+    mulMag(q, OFF, qn, x, 0, xn, p, 0, new int[toom3ScratchLen(qn, xn)], 0, PARALLEL_KARATSUBA_MAX_DEPTH);
+    uaddMag(z, 0, z.length, p, 0, significantLength(p, 0, qn + xn));
+    return Math.max(significantLength(z, 0, z.length), xn);
+  }
+
+  /**
+   * Computes the inverse of the provided {@linkplain BigInt#val() value-encoded
+   * number} modulo the provided {@linkplain BigInt#val() value-encoded
+   * modulus}, which is non-negative and less than the modulus.
+   *
+   * <pre>
+   * val = val<sup>-1</sup> mod mod
+   * </pre>
+   *
+   * The inverse is the Bézout coefficient of {@code val} of
+   * {@code gcd(val mod mod, mod)}, which is computed with Lehmer's extended
+   * algorithm.
+   * <p>
+   * <i><b>Note:</b> The returned number may be a {@code new int[]} instance if
+   * the operation results in a number that requires a larger array.</i>
+   *
+   * @param val The {@linkplain BigInt#val() value-encoded number}, which is
+   *          not modified if an {@link ArithmeticException} is thrown.
+   * @param mod The {@linkplain BigInt#val() value-encoded modulus}, which is
+   *          not modified.
+   * @return <code>val<sup>-1</sup> mod mod</code>
+   * @throws ArithmeticException If {@code mod} is not positive, or if
+   *           {@code val} is not invertible modulo {@code mod}.
+   * @complexity O(n^2)
+   */
+  public static int[] modInverse(int[] val, final int[] mod) {
+    if (mod[0] <= 0)
+      throw new ArithmeticException("Modulus not positive");
+
+    if (mod[0] == 1 && mod[1] == 1)
+      return setToZero(val);
+
+    // The gcd is computed in a copy, so that val (which may be mod) is not
+    // modified if it is not invertible
+    final int[] gcd = mod(val.clone(), mod);
+    if (gcd[0] == 0)
+      throw new ArithmeticException("Not invertible");
+
+    int[] s = gcdExt(gcd, mod);
+    if (gcd[0] != 1 || gcd[1] != 1)
+      throw new ArithmeticException("Not invertible");
+
+    if (s[0] < 0)
+      s = add(s, mod);
+
+    return copy(s, s[0] + 1, val, s[0] + 1);
+  }
+
+  /**
+   * The bit lengths of the exponent of {@link #modPow(int[],int[],int[])}, at
+   * and above which the sliding window is widened by one bit, beginning with a
+   * window of 1 bit. Each wider window halves the number of multiplications by
+   * the precomputed odd powers of the base, at the cost of doubling the number
+   * of precomputed powers.
+   */
+  private static final int[] WINDOW_THRESHOLDS = {7, 25, 81, 241, 673, 1793};
+
+  private static final LocalArray modPowProduct = new LocalArray();
+  private static final LocalArray modPowScratch = new LocalArray();
+
+  /**
+   * Raises the provided {@linkplain BigInt#val() value-encoded base} to the
+   * power of the provided {@linkplain BigInt#val() value-encoded exponent},
+   * modulo the provided {@linkplain BigInt#val() value-encoded modulus}, and
+   * returns the result, which is non-negative.
+   *
+   * <pre>
+   * val = val<sup>exp</sup> mod mod
+   * </pre>
+   *
+   * The exponent is scanned with a sliding window, the width of which grows
+   * with the bit length of the exponent, and each product is reduced modulo the
+   * modulus: with Montgomery's reduction if the modulus is odd, and with
+   * Barrett's reduction otherwise. The products are computed with the
+   * multiplication algorithms of {@link BigIntMultiplication}, in scratch
+   * arrays that are retained by the calling thread. Moduli that fit in an
+   * {@code int} are handled with {@code long} arithmetic. A negative exponent
+   * raises the {@linkplain #modInverse(int[],int[]) inverse} of the base.
+   * <p>
+   * <i><b>Note:</b> The returned number may be a {@code new int[]} instance if
+   * the operation results in a number that requires a larger array.</i>
+   *
+   * @param val The {@linkplain BigInt#val() value-encoded base}.
+   * @param exp The {@linkplain BigInt#val() value-encoded exponent}.
+   * @param mod The {@linkplain BigInt#val() value-encoded modulus}.
+   * @return <code>val<sup>exp</sup> mod mod</code>
+   * @throws ArithmeticException If {@code mod} is not positive, or if
+   *           {@code exp} is negative and {@code val} is not invertible modulo
+   *           {@code mod}.
+   * @complexity O(n^2 e) - O(M(n) e)
+   * @see <a href="https://doi.org/10.1090/S0025-5718-1985-0777282-X">Peter L.
+   *      Montgomery: Modular Multiplication Without Trial Division</a>
+   */
+  public static int[] modPow(int[] val, int[] exp, final int[] mod) {
+    final int k = mod[0];
+    if (k <= 0)
+      throw new ArithmeticException("Modulus not positive");
+
+    if (k == 1 && mod[1] == 1)
+      return setToZero(val);
+
+    if (exp[0] == 0)
+      return assign(val, 1, 1);
+
+    if (exp[0] < 0) {
+      // val^-e = (val^-1)^e
+      exp = abs(exp.clone());
+      val = modInverse(val, mod);
+    }
+    else if (exp == val) {
+      exp = exp.clone();
+    }
+
+    val = mod(val, mod);
+    if (val[0] == 0)
+      return val;
+
+    if (k == 1)
+      return assign(val, 1, modPow(val[1] & LONG_MASK, exp, mod[1] & LONG_MASK));
+
+    final ModularMultiplier mul = new ModularMultiplier(mod, k);
+    final int[] z = mul.pow(mul.valueOf(val), exp);
+    mul.valueOf(z, z);
+    final int len = significantLength(z, OFF, k);
+    if (val.length <= len)
+      val = alloc(len + 1);
+
+    System.arraycopy(z, OFF, val, OFF, len);
+    val[0] = len;
+    return val;
+  }
+
+  /**
+   * Returns the width of the sliding window of
+   * {@link #modPow(int[],int[],int[])} for an exponent of the provided bit
+   * length.
+   *
+   * @param bits The bit length of the exponent.
+   * @return The width of the sliding window.
+   */
+  private static int windowBits(final int bits) {
+    int w = 1;
+    while (w <= WINDOW_THRESHOLDS.length && bits >= WINDOW_THRESHOLDS[w - 1])
+      ++w;
+
+    return w;
+  }
+
+  /**
+   * Returns <code>base<sup>exp</sup> mod mod</code> for a modulus that fits in
+   * an {@code int}, with {@code long} arithmetic.
+   *
+   * @param base The base (unsigned), which is less than {@code mod}.
+   * @param exp The {@linkplain BigInt#val() value-encoded exponent}, which is
+   *          positive.
+   * @param mod The modulus (unsigned), which is less than {@code 2^32}.
+   * @return <code>base<sup>exp</sup> mod mod</code>
+   */
+  private static long modPow(final long base, final int[] exp, final long mod) {
+    long z = 1;
+    for (int i = (int)bitLength(exp) - 1; i >= 0; --i) {
+      z = FastMath.remainderUnsigned(z * z, mod);
+      if (testBit(exp, i))
+        z = FastMath.remainderUnsigned(z * base, mod);
+    }
+
+    return z;
+  }
+
+  /**
+   * The table of the odd primes less than {@code 2^12}, and of the products of
+   * runs of consecutive primes of the table, each of which fits in an
+   * <i>unsigned</i> {@code long}. The table is initialized on first use.
+   */
+  private static final class SmallPrimes {
+    /** The bound of the primes of the table. */
+    private static final int MAX = 1 << 12;
+
+    /** The odd primes less than {@link #MAX}. */
+    private static final int[] primes;
+
+    /** The divisors of the products of runs of consecutive primes. */
+    private static final InvariantDivisor[] products;
+
+    /** The index in {@link #primes} of the first prime of each product. */
+    private static final int[] offsets;
+
+    static {
+      final boolean[] composite = new boolean[MAX];
+      final int[] p = new int[MAX / 2];
+      int n = 0;
+      for (int i = 3; i < MAX; i += 2) {
+        if (!composite[i]) {
+          p[n++] = i;
+          for (int j = i * i; j < MAX; j += 2 * i)
+            composite[j] = true;
+        }
+      }
+
+      primes = Arrays.copyOf(p, n);
+      final long[] q = new long[n];
+      final int[] o = new int[n + 1];
+      int m = 0;
+      for (int i = 0; i < n; ++m) {
+        long prod = 1;
+        o[m] = i;
+        for (; i < n && prod + hbit <= FastMath.divideUnsigned(-1L, primes[i]) + hbit; ++i)
+          prod *= primes[i];
+
+        q[m] = prod;
+      }
+
+      o[m] = n;
+      offsets = Arrays.copyOf(o, m + 1);
+      products = new InvariantDivisor[m];
+      for (int i = 0; i < m; ++i)
+        products[i] = new InvariantDivisor(q[i]);
+    }
+
+    /**
+     * Returns the smallest odd prime less than {@link #MAX} that divides the
+     * magnitude {@code mag[OFF..OFF+len)}, or {@code 0} if there is none.
+     */
+    private static int factor(final int[] mag, final int len) {
+      for (int i = 0; i < products.length; ++i) {
+        final long r = products[i].rem(mag, OFF, len);
+        for (int j = offsets[i], end = offsets[i + 1]; j < end; ++j)
+          if (FastMath.remainderUnsigned(r, primes[j]) == 0)
+            return primes[j];
+      }
+
+      return 0;
+    }
+  }
+
+  /**
+   * Screens the {@code n} candidates {@code val + 2i}, for {@code 0 <= i < n},
+   * by trial division by the primes less than {@code 2^12}, and returns the
+   * set of the indexes {@code i} of the candidates that are divisible by a
+   * prime other than themselves, and are therefore composite.
+   * <p>
+   * The residues of {@code val} modulo the primes are computed in one sweep of
+   * the table of primes, in which the remainder of each division by the
+   * product of a run of consecutive primes provides the residues of the run.
+   * The candidates that are divisible by each prime are then struck out as in
+   * the sieve of Eratosthenes, which makes the cost of the screening of many
+   * candidates little more than that of one candidate. The candidates are
+   * expected to be odd: if {@code val} is even, all candidates other than
+   * {@code 2} are struck out.
+   *
+   * @param val The {@linkplain BigInt#val() value-encoded} first candidate,
+   *          which is positive, and which is not modified.
+   * @param n The number of candidates.
+   * @return The set of the indexes {@code i} of the composite candidates
+   *         {@code val + 2i}.
+   * @throws IllegalArgumentException If {@code val} is not positive, or if
+   *           {@code n} is negative.
+   * @complexity O(n + p * len)
+   */
+  public static BitSet sieve(final int[] val, final int n) {
+    final int len = val[0];
+    if (len <= 0)
+      throw new IllegalArgumentException("val (" + BigInt.toString(val) + ") must be positive");
+
+    if (n < 0)
+      throw new IllegalArgumentException("n (" + n + ") must be non-negative");
+
+    final BitSet composite = new BitSet(n);
+    if ((val[OFF] & 1) == 0) {
+      composite.set(len == 1 && val[OFF] == 2 ? 1 : 0, n);
+      return composite;
+    }
+
+    // The first candidate, if it is small enough to be one of the primes
+    final long small = len == 1 ? val[OFF] & LONG_MASK : Long.MAX_VALUE;
+    final int[] primes = SmallPrimes.primes;
+    final int[] offsets = SmallPrimes.offsets;
+    final InvariantDivisor[] products = SmallPrimes.products;
+    for (int i = 0; i < products.length; ++i) {
+      final long r = products[i].rem(val, OFF, len);
+      for (int j = offsets[i], end = offsets[i + 1]; j < end; ++j) {
+        final int p = primes[j];
+        // val + 2c = 0 (mod p), so c = (p - val mod p) * (p + 1) / 2 (mod p)
+        int c = (int)((p - FastMath.remainderUnsigned(r, p)) * (p + 1 >>> 1) % p);
+        if (small + 2L * c == p)
+          c += p;
+
+        for (; c < n; c += p)
+          composite.set(c);
+      }
+    }
+
+    return composite;
+  }
+
+  /**
+   * Returns {@code true} if the provided {@linkplain BigInt#val() value-encoded
+   * number} is probably prime, and {@code false} if it is definitely
+   * composite. The sign of the number is ignored.
+   * <p>
+   * The number is first screened by trial division by the primes less than
+   * {@code 2^12}, which proves the primality of numbers less than
+   * {@code 2^24}. Larger numbers are tested with the Baillie-PSW test, which
+   * is a Miller-Rabin test to base 2 followed by a strong Lucas test with the
+   * parameters of Selfridge, and which has no known counterexamples, and is
+   * proven to have none below {@code 2^64}. Numbers of more than 64 bits are
+   * then tested with additional Miller-Rabin tests to random bases, the number
+   * of which depends on the certainty and the size of the number as in
+   * {@link java.math.BigInteger#isProbablePrime(int)}. The modular
+   * exponentiations and products are performed with Montgomery's reduction,
+   * as in {@link #modPow(int[],int[],int[])}.
+   *
+   * @param val The {@linkplain BigInt#val() value-encoded number}, which is not
+   *          modified.
+   * @param certainty A measure of the uncertainty that the caller is willing to
+   *          tolerate: if the call returns {@code true} the probability that
+   *          the number is prime exceeds <code>1 - 1/2<sup>certainty</sup></code>.
+   *          If {@code certainty <= 0}, {@code true} is returned.
+   * @return {@code true} if the provided {@linkplain BigInt#val() value-encoded
+   *         number} is probably prime, and {@code false} if it is definitely
+   *         composite.
+   * @see <a href="https://doi.org/10.1090/S0025-5718-1980-0583518-6">Robert
+   *      Baillie and Samuel S. Wagstaff, Jr.: Lucas Pseudoprimes</a>
+   * @complexity O(n^3) - O(M(n) n)
+   */
+  public static boolean isProbablePrime(final int[] val, final int certainty) {
+    if (certainty <= 0)
+      return true;
+
+    int len = val[0]; if (len < 0) { len = -len; }
+    if (len == 0)
+      return false;
+
+    final long small = len == 1 ? val[OFF] & LONG_MASK : Long.MAX_VALUE;
+    if ((val[OFF] & 1) == 0)
+      return small == 2;
+
+    if (small < 3)
+      return false;
+
+    final int p = SmallPrimes.factor(val, len);
+    if (p != 0)
+      return small == p;
+
+    if (small < (long)SmallPrimes.MAX * SmallPrimes.MAX)
+      return true;
+
+    final int[] n = alloc(len + 1);
+    System.arraycopy(val, OFF, n, OFF, len);
+    n[0] = len;
+    return passesBailliePsw(n, certainty);
+  }
+
+  /**
+   * Returns whether the provided {@linkplain BigInt#val() value-encoded
+   * number}, which is odd and greater than {@code 2^24}, and is not divisible
+   * by the primes less than {@code 2^12}, passes the Baillie-PSW test, and the
+   * number of additional Miller-Rabin tests for the provided certainty.
+   */
+  private static boolean passesBailliePsw(final int[] n, final int certainty) {
+    final int k = n[0];
+    final int bits = (int)bitLength(n);
+    final ModularMultiplier mul = new ModularMultiplier(n, k);
+    final int[] one = mul.valueOf(assign(alloc(2), 1));
+    final int[] minusOne = new int[OFF + k];
+    mul.sub(minusOne, one, minusOne);
+
+    // n - 1 = d * 2^s
+    final int[] d = sub(n.clone(), 1);
+    final int s = getLowestSetBit(d);
+    shiftRight(d, s);
+    if (!passesMillerRabin(mul, mul.valueOf(assign(alloc(2), 2)), d, s, one, minusOne) || !passesStrongLucas(n, mul, one))
+      return false;
+
+    if (bits <= 64)
+      return true;
+
+    int rounds = bits < 100 ? 50 : bits < 256 ? 27 : bits < 512 ? 15 : bits < 768 ? 8 : bits < 1024 ? 4 : 2;
+    rounds = Math.min(rounds, (certainty + 1) / 2);
+    final ThreadLocalRandom random = ThreadLocalRandom.current();
+    final int[] b = alloc(k + 1);
+    for (int i = 1; i < rounds; ++i) {
+      // A random base in [2, 2^(bits-1))
+      for (int j = OFF; j <= k; ++j)
+        b[j] = random.nextInt();
+
+      b[k] &= Integer.highestOneBit(n[k]) - 1;
+      b[0] = significantLength(b, OFF, k);
+      if (b[0] == 0 || b[0] == 1 && (b[OFF] & LONG_MASK) < 2)
+        assign(b, 2);
+
+      if (!passesMillerRabin(mul, mul.valueOf(b), d, s, one, minusOne))
+        return false;
+    }
+
+    return true;
+  }
+
+  /**
+   * Returns whether the modulus of the provided {@link ModularMultiplier},
+   * {@code n = d * 2^s + 1}, is a strong probable prime to the provided base,
+   * which is in the domain of the reduction, as are {@code 1} and {@code -1}.
+   */
+  private static boolean passesMillerRabin(final ModularMultiplier mul, final int[] b, final int[] d, final int s, final int[] one, final int[] minusOne) {
+    final int[] z = mul.pow(b, d);
+    if (mul.equals(z, one) || mul.equals(z, minusOne))
+      return true;
+
+    for (int r = 1; r < s; ++r) {
+      mul.mul(z, z, z);
+      if (mul.equals(z, minusOne))
+        return true;
+
+      if (mul.equals(z, one))
+        return false;
+    }
+
+    return false;
+  }
+
+  /**
+   * Returns whether the provided {@linkplain BigInt#val() value-encoded
+   * number}, which is the modulus of the provided {@link ModularMultiplier},
+   * and is odd and greater than {@code 2^24}, is a strong Lucas probable prime
+   * with the parameters {@code P = 1} and {@code Q = (1 - D) / 4}, where
+   * {@code D} is the first of {@code 5, -7, 9, -11, ...} for which the Jacobi
+   * symbol {@code (D/n) = -1}.
+   */
+  private static boolean passesStrongLucas(final int[] n, final ModularMultiplier mul, final int[] one) {
+    int d = 5;
+    for (int i = 0;; ++i) {
+      final int j = jacobi(d, n);
+      if (j == -1)
+        break;
+
+      // |d| is less than n, so it shares a factor with n
+      if (j == 0)
+        return false;
+
+      // No such d exists for perfect squares
+      if (i == 8) {
+        final int[] r = sqrt(n.clone(), RoundingMode.FLOOR);
+        if (compareTo(mul(r, r.clone()), n) == 0)
+          return false;
+      }
+
+      d = d > 0 ? -d - 2 : -d + 2;
+    }
+
+    final int k = n[0];
+    final int[] dm = mul.valueOf(residue(n, d));
+    final int[] qm = mul.valueOf(residue(n, (1 - d) / 4));
+
+    // n + 1 = e * 2^s
+    final int[] e = add(n.clone(), 1);
+    final int s = getLowestSetBit(e);
+    shiftRight(e, s);
+
+    // U_1 = 1, V_1 = P = 1
+    final int[] u = one.clone();
+    final int[] v = one.clone();
+    final int[] qk = qm.clone();
+    final int[] t = new int[OFF + k];
+    for (int i = (int)bitLength(e) - 2; i >= 0; --i) {
+      // U_2k = U_k * V_k, V_2k = V_k^2 - 2Q^k
+      mul.mul(u, v, u);
+      mul.mul(v, v, v);
+      mul.sub(v, qk, v);
+      mul.sub(v, qk, v);
+      mul.mul(qk, qk, qk);
+      if (testBit(e, i)) {
+        // U_k+1 = (P * U_k + V_k) / 2, V_k+1 = (D * U_k + P * V_k) / 2
+        mul.mul(dm, u, t);
+        mul.add(u, v, u);
+        mul.half(u);
+        mul.add(t, v, v);
+        mul.half(v);
+        mul.mul(qk, qm, qk);
+      }
+    }
+
+    if (isZero(u, k) || isZero(v, k))
+      return true;
+
+    for (int r = 1; r < s; ++r) {
+      mul.mul(v, v, v);
+      mul.sub(v, qk, v);
+      mul.sub(v, qk, v);
+      if (isZero(v, k))
+        return true;
+
+      mul.mul(qk, qk, qk);
+    }
+
+    return false;
+  }
+
+  private static boolean isZero(final int[] mag, final int k) {
+    return significantLength(mag, OFF, k) == 0;
+  }
+
+  /**
+   * Returns the {@linkplain BigInt#val() value-encoded} residue of the provided
+   * {@code int} modulo the provided {@linkplain BigInt#val() value-encoded
+   * modulus}, which is greater than the magnitude of the {@code int}.
+   */
+  private static int[] residue(final int[] mod, final int x) {
+    return x >= 0 ? assign(alloc(2), x) : sub(mod.clone(), -x);
+  }
+
+  /**
+   * Returns the Jacobi symbol {@code (a/n)} of the provided {@code int} and
+   * the provided {@linkplain BigInt#val() value-encoded number}, which is odd
+   * and positive.
+   */
+  private static int jacobi(int a, final int[] n) {
+    final int n8 = n[OFF] & 7;
+    int j = 1;
+    if (a < 0) {
+      a = -a;
+      // (-1/n) = -1 if n = 3 (mod 4)
+      if ((n8 & 3) == 3)
+        j = -j;
+    }
+
+    for (; (a & 1) == 0; a >>>= 1)
+      // (2/n) = -1 if n = 3 or 5 (mod 8)
+      if (n8 == 3 || n8 == 5)
+        j = -j;
+
+    if (a == 1)
+      return j;
+
+    // (a/n) = (n/a), unless a = n = 3 (mod 4)
+    if ((a & n8 & 3) == 3)
+      j = -j;
+
+    return j * jacobi(rem(n, OFF, n[0], 1, a), a);
+  }
+
+  /**
+   * Returns the Jacobi symbol {@code (a/n)} of the provided non-negative
+   * {@code a} and the provided odd and positive {@code n}.
+   */
+  private static int jacobi(int a, int n) {
+    int j = 1;
+    while (a != 0) {
+      for (; (a & 1) == 0; a >>>= 1)
+        if ((n & 7) == 3 || (n & 7) == 5)
+          j = -j;
+
+      if ((a & n & 3) == 3)
+        j = -j;
+
+      final int r = n % a;
+      n = a;
+      a = r;
+    }
+
+    return n == 1 ? j : 0;
+  }
+
+  /**
+   * Computes the least number greater than the provided
+   * {@linkplain BigInt#val() value-encoded number} that is probably prime, with
+   * the certainty of {@link java.math.BigInteger#nextProbablePrime()}.
+   *
+   * <pre>
+   * val = nextProbablePrime(val)
+   * </pre>
+   *
+   * The candidates are screened in batches with {@link #sieve(int[],int)},
+   * after which the remaining candidates are tested as in
+   * {@link #isProbablePrime(int[],int)}.
+   * <p>
+   * <i><b>Note:</b> The returned number may be a {@code new int[]} instance if
+   * the operation results in a number that requires a larger array.</i>
+   *
+   * @param val The {@linkplain BigInt#val() value-encoded number}.
+   * @return The least number greater than the provided
+   *         {@linkplain BigInt#val() value-encoded number} that is probably
+   *         prime.
+   * @throws ArithmeticException If {@code val} is negative.
+   * @complexity O(n^4) - O(M(n) n^2)
+   */
+  public static int[] nextProbablePrime(int[] val) {
+    final int len = val[0];
+    if (len < 0)
+      throw new ArithmeticException("Negative start");
+
+    if (len == 0 || len == 1 && val[OFF] == 1)
+      return assign(val, 2);
+
+    val = add(val, (val[OFF] & 1) == 0 ? 1 : 2);
+    if (bitLength(val) < 2 * 12) {
+      while (!isProbablePrime(val, DEFAULT_PRIME_CERTAINTY))
+        val = add(val, 2);
+
+      return val;
+    }
+
+    // The number of candidates that are screened together
+    final int n = Math.max(64, (int)bitLength(val) / 20 * 64);
+    for (;; val = add(val, 2L * n)) {
+      final BitSet composite = sieve(val, n);
+      for (int i = composite.nextClearBit(0); i < n; i = composite.nextClearBit(i + 1)) {
+        final int[] c = add(val.clone(), 2L * i);
+        if (passesBailliePsw(c, DEFAULT_PRIME_CERTAINTY))
+          return assign(val, c);
+      }
+    }
+  }
+
+  /** The certainty of {@link #nextProbablePrime(int[])}. */
+  private static final int DEFAULT_PRIME_CERTAINTY = 100;
+
+  /** The factorials that fit into a {@code long}. */
+  private static final long[] FACTORIALS = new long[21];
+
+  static {
+    FACTORIALS[0] = 1;
+    for (int i = 1; i < FACTORIALS.length; ++i)
+      FACTORIALS[i] = FACTORIALS[i - 1] * i;
+  }
+
+  /**
+   * The number of operands at or below which a product tree is evaluated by
+   * linear accumulation instead of by further splitting.
+   */
+  private static final int PRODUCT_TREE_LEAF = 32;
+
+  /**
+   * Returns a new {@linkplain BigInt#val() value-encoded number} of the
+   * product of the provided {@linkplain BigInt#val() value-encoded numbers}.
+   *
+   * <pre>
+   * product = vals[0] * vals[1] * ... * vals[n-1]
+   * </pre>
+   *
+   * The product is computed with a balanced product tree, whereby the
+   * operands of each multiplication are of similar length, such that the
+   * sub-quadratic algorithms of {@link BigIntMultiplication} are used where
+   * a running product would perform {@code n} multiplications of a growing
+   * number by a short one. The subtrees are computed on the
+   * {@linkplain BigInt#getParallelPool() parallel pool} if the product is
+   * long enough for
+   * {@linkplain BigInt#setParallelKaratsubaThreshold(int,int) parallel
+   * multiplication}. The provided numbers are not modified.
+   *
+   * @param vals The {@linkplain BigInt#val() value-encoded numbers}.
+   * @return A new {@linkplain BigInt#val() value-encoded number} of the
+   *         product of the provided {@linkplain BigInt#val() value-encoded
+   *         numbers}, which is {@code 1} if no numbers are provided.
+   * @complexity O(M(n) log k)
+   */
+  public static int[] product(final int[] ... vals) {
+    return vals.length == 0 ? valueOf(1) : product(vals, 0, vals.length, PARALLEL_KARATSUBA_MAX_DEPTH);
+  }
+
+  private static int[] product(final int[][] vals, final int from, final int to, final int parallelDepth) {
+    if (to - from == 1) {
+      final int len = Math.abs(vals[from][0]) + OFF;
+      return copy(vals[from], len, alloc(len + 1), len + 1);
+    }
+
+    final int mid = from + to >>> 1;
+    long len = 0;
+    if (parallelDepth > 0)
+      for (int i = from; i < to; ++i)
+        len += Math.abs(vals[i][0]);
+
+    if (len > 2L * PARALLEL_KARATSUBA_THRESHOLD_X) {
+      final ProductTask left = new ProductTask(vals, null, from, mid, parallelDepth - 1);
+      final ProductTask right = new ProductTask(vals, null, mid, to, parallelDepth - 1);
+      invokeAll(left, right);
+      return mul(left.product, right.product);
+    }
+
+    return mul(product(vals, from, mid, 0), product(vals, mid, to, 0));
+  }
+
+  /**
+   * Returns a new {@linkplain BigInt#val() value-encoded number} of the
+   * product of the <i>unsigned</i> {@code int} factors in the provided range
+   * of the given array, computed with a balanced product tree.
+   *
+   * @param factors The array of <i>unsigned</i> {@code int} factors.
+   * @param from The index of the first factor (inclusive).
+   * @param to The index of the last factor (exclusive).
+   * @param parallelDepth The depth to which the subtrees are computed in
+   *          parallel.
+   * @return A new {@linkplain BigInt#val() value-encoded number} of the
+   *         product of the factors.
+   */
+  private static int[] product(final int[] factors, final int from, final int to, final int parallelDepth) {
+    if (to - from <= PRODUCT_TREE_LEAF) {
+      int[] val = alloc(to - from + 2);
+      val = assign(val, 1, from < to ? factors[from] : 1);
+      for (int i = from + 1; i < to; ++i)
+        val = mul(val, 1, factors[i]);
+
+      return val;
+    }
+
+    final int mid = from + to >>> 1;
+    if (parallelDepth > 0 && to - from > 2 * PARALLEL_KARATSUBA_THRESHOLD_X) {
+      final ProductTask left = new ProductTask(null, factors, from, mid, parallelDepth - 1);
+      final ProductTask right = new ProductTask(null, factors, mid, to, parallelDepth - 1);
+      invokeAll(left, right);
+      return mul(left.product, right.product);
+    }
+
+    return mul(product(factors, from, mid, 0), product(factors, mid, to, 0));
+  }
+
+  /**
+   * A {@link RecursiveAction} that computes a subtree of a product tree of
+   * {@linkplain BigInt#val() value-encoded numbers} or of <i>unsigned</i>
+   * {@code int} factors.
+   */
+  private static final class ProductTask extends RecursiveAction {
+    private static final long serialVersionUID = -3409735214851209563L;
+
+    private final int[][] vals;
+    private final int[] factors;
+    private final int from;
+    private final int to;
+    private final int parallelDepth;
+    private int[] product;
+
+    private ProductTask(final int[][] vals, final int[] factors, final int from, final int to, final int parallelDepth) {
+      this.vals = vals;
+      this.factors = factors;
+      this.from = from;
+      this.to = to;
+      this.parallelDepth = parallelDepth;
+    }
+
+    @Override
+    protected void compute() {
+      product = vals != null ? product(vals, from, to, parallelDepth) : product(factors, from, to, parallelDepth);
+    }
+  }
+
+  /**
+   * Accumulator of small factors, which are packed into <i>unsigned</i>
+   * {@code int} words for evaluation with a product tree.
+   */
+  private static final class Factors {
+    private int[] words = new int[16];
+    private int size;
+    private long word = 1;
+
+    private void add(final long factor) {
+      final long w = word * factor;
+      if (w >>> 32 == 0) {
+        word = w;
+        return;
+      }
+
+      push();
+      word = factor;
+    }
+
+    private void push() {
+      if (size == words.length)
+        words = Arrays.copyOf(words, size * 2);
+
+      words[size++] = (int)word;
+    }
+
+    private int[] product() {
+      if (word != 1) {
+        push();
+        word = 1;
+      }
+
+      return BigIntMath.product(words, 0, size, PARALLEL_KARATSUBA_MAX_DEPTH);
+    }
+  }
+
+  /**
+   * Returns the odd primes less than or equal to {@code n} in ascending order,
+   * as sieved with the sieve of Eratosthenes.
+   *
+   * @param n The bound of the primes.
+   * @return The odd primes less than or equal to {@code n}.
+   */
+  private static int[] oddPrimes(final int n) {
+    // Bit i represents the odd number 2i + 1
+    final int bits = (n - 1) / 2 + 1;
+    final BitSet composite = new BitSet(bits);
+    composite.set(0);
+    for (int i = 1; i < bits; i = composite.nextClearBit(i + 1)) {
+      final long p = 2L * i + 1;
+      if (p * p > n)
+        break;
+
+      for (long j = p * p / 2; j < bits; j += p)
+        composite.set((int)j);
+    }
+
+    final int[] primes = new int[bits - composite.cardinality()];
+    for (int i = composite.nextClearBit(1), j = 0; i < bits; i = composite.nextClearBit(i + 1))
+      primes[j++] = 2 * i + 1;
+
+    return primes;
+  }
+
+  /**
+   * Returns a new {@linkplain BigInt#val() value-encoded number} of the
+   * factorial of the provided number.
+   *
+   * <pre>
+   * factorial = n! = 1 * 2 * ... * n
+   * </pre>
+   *
+   * The factorial is computed with Luschny's prime swing algorithm, by which
+   * the odd part of {@code n!} is the square of the odd part of
+   * {@code (n/2)!} multiplied by the odd part of the swing
+   * <code>n! / (n/2)!<sup>2</sup></code>. The prime factorization of each
+   * swing is determined with the exponents of Legendre's formula, and its
+   * prime powers are multiplied with a product tree. The power of two of
+   * {@code n!} is then applied with a shift.
+   *
+   * @param n The number.
+   * @return A new {@linkplain BigInt#val() value-encoded number} of the
+   *         factorial of the provided number.
+   * @throws ArithmeticException If {@code n} is negative.
+   * @complexity O(M(n log n) log n)
+   */
+  public static int[] factorial(final int n) {
+    if (n < 0)
+      throw new ArithmeticException("Negative factorial: " + n);
+
+    if (n < FACTORIALS.length)
+      return valueOf(FACTORIALS[n]);
+
+    final int[] val = oddFactorial(n, oddPrimes(n));
+    // The exponent of 2 in n! is n - bitCount(n)
+    return shiftLeft(val, n - Integer.bitCount(n));
+  }
+
+  /**
+   * Returns a new {@linkplain BigInt#val() value-encoded number} of the odd
+   * part of {@code n!}.
+   *
+   * @param n The number.
+   * @param primes The odd primes less than or equal to at least {@code n}.
+   * @return A new {@linkplain BigInt#val() value-encoded number} of the odd
+   *         part of {@code n!}.
+   */
+  private static int[] oddFactorial(final int n, final int[] primes) {
+    if (n < FACTORIALS.length) {
+      final long f = FACTORIALS[n];
+      return valueOf(f >>> Long.numberOfTrailingZeros(f));
+    }
+
+    final int[] val = oddFactorial(n / 2, primes);
+    final Factors swing = new Factors();
+    for (int i = 0; i < primes.length; ++i) {
+      final int p = primes[i];
+      if (p > n)
+        break;
+
+      // The exponent of p in the swing is the number of odd floor(n / p^j), j > 0
+      if (p > n / 2) {
+        swing.add(p);
+      }
+      else if (p > n / p) {
+        if ((n / p & 1) == 1)
+          swing.add(p);
+      }
+      else {
+        long pe = 1;
+        for (int q = n / p; q > 0; q /= p)
+          if ((q & 1) == 1)
+            pe *= p;
+
+        swing.add(pe);
+      }
+    }
+
+    return mul(mul(val, val), swing.product());
+  }
+
+  /**
+   * Returns a new {@linkplain BigInt#val() value-encoded number} of the
+   * binomial coefficient {@code (n choose k)}.
+   *
+   * <pre>
+   * binomial = n! / (k! * (n - k)!)
+   * </pre>
+   *
+   * The binomial coefficient is computed from its prime factorization, in
+   * which the exponent of each prime {@code p <= n} is the number of carries
+   * in the addition of {@code k} and {@code n - k} in base {@code p}, as by
+   * Kummer's theorem, which is the difference of the exponents of Legendre's
+   * formula. The prime powers are multiplied with a product tree.
+   * <p>
+   * If {@code n} is negative, the binomial coefficient is computed as
+   * <code>(-1)<sup>k</sup> * (k - n - 1 choose k)</code>.
+   *
+   * @param n The size of the pool.
+   * @param k The size of the selection.
+   * @return A new {@linkplain BigInt#val() value-encoded number} of the
+   *         binomial coefficient {@code (n choose k)}, which is {@code 0} if
+   *         {@code k < 0}, or if {@code 0 <= n < k}.
+   * @throws ArithmeticException If {@code n < 0} and {@code k - n - 1}
+   *           overflows an {@code int}.
+   * @complexity O(M(n) log n)
+   */
+  public static int[] binomial(final int n, int k) {
+    if (k < 0)
+      return alloc(2);
+
+    if (n < 0) {
+      final long m = (long)k - n - 1;
+      if (m > Integer.MAX_VALUE)
+        throw new ArithmeticException("Overflow: (" + m + " choose " + k + ")");
+
+      final int[] val = binomial((int)m, k);
+      if ((k & 1) == 1)
+        val[0] = -val[0];
+
+      return val;
+    }
+
+    if (k > n)
+      return alloc(2);
+
+    if (k > n - k)
+      k = n - k;
+
+    if (k == 0)
+      return valueOf(1);
+
+    if (k == 1)
+      return valueOf(n);
+
+    final int nk = n - k;
+    final Factors factors = new Factors();
+    // Kummer's theorem for p = 2: the number of carries is the number of bits
+    // of k + nk in excess of those of k and nk
+    factors.add(1L << Integer.bitCount(k) + Integer.bitCount(nk) - Integer.bitCount(n));
+    final int[] primes = oddPrimes(n);
+    for (int i = 0; i < primes.length; ++i) {
+      final int p = primes[i];
+      if (p > nk) {
+        factors.add(p);
+      }
+      else if (p > n / 2) {
+        // floor(n / p) == floor(nk / p) == 1, and floor(k / p) == 0
+        continue;
+      }
+      else if (p > n / p) {
+        if (n / p - k / p - nk / p == 1)
+          factors.add(p);
+      }
+      else {
+        long pe = 1;
+        for (int q = n, a = k, b = nk; q >= p;)
+          if ((q /= p) - (a /= p) - (b /= p) == 1)
+            pe *= p;
+
+        factors.add(pe);
+      }
+    }
+
+    return factors.product();
+  }
+
+  /**
+   * Multiplier of magnitudes of {@code k} limbs modulo a fixed modulus of
+   * {@code k} limbs. Odd moduli are reduced with Montgomery's reduction, for
+   * which the magnitudes are kept in the Montgomery domain
+   * <code>x * 2<sup>32k</sup> mod m</code>, powers of two are reduced with a
+   * mask, and other even moduli are reduced with Barrett's reduction. The magnitudes are at {@link BigInt#OFF} in their
+   * arrays, which allows the products of short magnitudes to be computed with
+   * the native kernels of {@link BigIntMultiplication}.
+   */
+  private static final class ModularMultiplier {
+    /** The modulus. */
+    private final int[] m;
+
+    /** The number of limbs of the modulus. */
+    private final int k;
+
+    /** The negated inverse of the modulus mod {@code 2^32}, or {@code 0} if the modulus is even. */
+    private final int minv;
+
+    /**
+     * The Barrett constant <code>&mu; = floor(2<sup>64k</sup> / m)</code> of
+     * {@code k + 1} limbs at {@link BigInt#OFF}, or {@code null} if the modulus
+     * is odd or a power of two.
+     */
+    private final int[] mu;
+
+    /** The product, followed by the intermediate products of Barrett's reduction. */
+    private final int[] t;
+
+    /** The scratch space of the multiplications. */
+    private final int[] s;
+
+    private ModularMultiplier(final int[] mod, final int k) {
+      this.m = mod;
+      this.k = k;
+      if ((mod[OFF] & 1) != 0) {
+        this.minv = -inverse(mod[OFF]);
+        this.mu = null;
+        this.t = modPowProduct.get(OFF + 2 * k);
+        this.s = modPowScratch.get(toom3ScratchLen(k, k));
+      }
+      else if (getLowestSetBit(mod) == bitLength(mod) - 1) {
+        // A power of two, for which mu = 2^(32(k+1)) when m = 2^(32(k-1)) would not fit in k + 1 limbs
+        this.minv = 0;
+        this.mu = null;
+        this.t = modPowProduct.get(OFF + 2 * k);
+        this.s = modPowScratch.get(toom3ScratchLen(k, k));
+      }
+      else {
+        this.minv = 0;
+        int[] mu = alloc(2 * k + 2);
+        mu[0] = 2 * k + 1;
+        mu[2 * k + 1] = 1;
+        mu = div(mu, mod);
+        this.mu = new int[OFF + k + 1];
+        System.arraycopy(mu, OFF, this.mu, OFF, mu[0]);
+        this.t = modPowProduct.get(OFF + 2 * k + 2 * k + 2 + 2 * k + 1);
+        this.s = modPowScratch.get(toom3ScratchLen(k + 1, k + 1));
+      }
+    }
+
+    /**
+     * Returns the magnitude of {@code k} limbs of the provided
+     * {@linkplain BigInt#val() value-encoded number}, which is non-negative and
+     * less than the modulus, in the domain of the reduction.
+     *
+     * @param val The {@linkplain BigInt#val() value-encoded number}.
+     * @return The magnitude of {@code k} limbs of the provided number in the
+     *         domain of the reduction.
+     */
+    private int[] valueOf(final int[] val) {
+      final int len = val[0];
+      final int[] z = new int[OFF + k];
+      if (minv == 0) {
+        System.arraycopy(val, OFF, z, OFF, len);
+        return z;
+      }
+
+      // x * 2^(32k) mod m
+      int[] x = alloc(len + k + 1);
+      System.arraycopy(val, OFF, x, OFF + k, len);
+      x[0] = len + k;
+      x = rem(x, m);
+      System.arraycopy(x, OFF, z, OFF, x[0]);
+      return z;
+    }
+
+    /**
+     * Puts the magnitude {@code x} out of the domain of the reduction into
+     * {@code z}, which may be {@code x}.
+     *
+     * @param x The magnitude in the domain of the reduction.
+     * @param z The array into which the result is to be put.
+     */
+    private void valueOf(final int[] x, final int[] z) {
+      if (minv == 0) {
+        System.arraycopy(x, OFF, z, OFF, k);
+      }
+      else {
+        System.arraycopy(x, OFF, t, OFF, k);
+        Arrays.fill(t, OFF + k, OFF + 2 * k, 0);
+        montgomeryReduce(z);
+      }
+    }
+
+    /**
+     * Returns the magnitude {@code b}, which is in the domain of the
+     * reduction, raised to the power of the provided {@linkplain BigInt#val()
+     * value-encoded exponent}, which is positive, in the domain of the
+     * reduction. The exponent is scanned from the top with a sliding window,
+     * the width of which grows with the bit length of the exponent.
+     *
+     * @param b The magnitude in the domain of the reduction.
+     * @param exp The {@linkplain BigInt#val() value-encoded exponent}.
+     * @return <code>b<sup>exp</sup></code> in the domain of the reduction.
+     */
+    private int[] pow(final int[] b, final int[] exp) {
+      final int bits = (int)bitLength(exp);
+      final int window = windowBits(bits);
+      final int[][] pow = new int[1 << window - 1][];
+
+      // The odd powers of the base: b, b^3, b^5, ..., in the domain of the reduction
+      pow[0] = b;
+      if (pow.length > 1) {
+        final int[] b2 = new int[OFF + k];
+        mul(b, b, b2);
+        for (int i = 1; i < pow.length; ++i)
+          mul(pow[i - 1], b2, pow[i] = new int[OFF + k]);
+      }
+
+      final int[] z = new int[OFF + k];
+      boolean first = true;
+      for (int i = bits - 1; i >= 0;) {
+        if (!testBit(exp, i)) {
+          mul(z, z, z);
+          --i;
+          continue;
+        }
+
+        // The window [j, i] is the longest that ends with a one bit
+        int j = Math.max(i - window + 1, 0);
+        while (!testBit(exp, j))
+          ++j;
+
+        int w = 0;
+        for (int l = i; l >= j; --l)
+          w = w << 1 | (testBit(exp, l) ? 1 : 0);
+
+        if (first) {
+          System.arraycopy(pow[w >>> 1], OFF, z, OFF, k);
+          first = false;
+        }
+        else {
+          for (int l = i; l >= j; --l)
+            mul(z, z, z);
+
+          mul(z, pow[w >>> 1], z);
+        }
+
+        i = j - 1;
+      }
+
+      return z;
+    }
+
+    /**
+     * Multiplies the magnitudes {@code x} and {@code y} modulo the modulus, and
+     * puts the result into {@code z}, which may be {@code x} or {@code y}. If
+     * {@code x == y}, the magnitude is squared.
+     *
+     * @param x The first magnitude.
+     * @param y The second magnitude.
+     * @param z The array into which the result is to be put.
+     */
+    private void mul(final int[] x, final int[] y, final int[] z) {
+      mulMag(x, OFF, k, y, OFF, k, t, OFF, s, 0, PARALLEL_KARATSUBA_MAX_DEPTH);
+      if (minv != 0)
+        montgomeryReduce(z);
+      else if (mu != null)
+        barrettReduce(z);
+      else
+        maskReduce(z);
+    }
+
+    /**
+     * Puts {@code x + y} modulo the modulus into {@code z}, which may be
+     * {@code x} or {@code y}.
+     */
+    private void add(final int[] x, final int[] y, final int[] z) {
+      final int[] a = z == y ? x : y;
+      if (z != x && z != y)
+        System.arraycopy(x, OFF, z, OFF, k);
+
+      if (uaddMag(z, OFF, k, a, OFF, k) != 0 || compareToMag(z, OFF, k, m, OFF, k) >= 0)
+        usubMag(z, OFF, k, m, OFF, k);
+    }
+
+    /**
+     * Puts {@code x - y} modulo the modulus into {@code z}, which may be
+     * {@code x} or {@code y}.
+     */
+    private void sub(final int[] x, final int[] y, final int[] z) {
+      long borrow = 0;
+      for (int i = OFF, end = OFF + k; i < end; ++i) {
+        borrow += (x[i] & LONG_MASK) - (y[i] & LONG_MASK);
+        z[i] = (int)borrow;
+        borrow >>= 32;
+      }
+
+      if (borrow != 0)
+        uaddMag(z, OFF, k, m, OFF, k);
+    }
+
+    /**
+     * Puts {@code x / 2} modulo the modulus, which is odd, into {@code x}.
+     */
+    private void half(final int[] x) {
+      final int end = OFF + k - 1;
+      final int carry = (x[OFF] & 1) == 0 ? 0 : uaddMag(x, OFF, k, m, OFF, k);
+      for (int i = OFF; i < end; ++i)
+        x[i] = x[i] >>> 1 | x[i + 1] << 31;
+
+      x[end] = x[end] >>> 1 | carry << 31;
+    }
+
+    private boolean equals(final int[] x, final int[] y) {
+      for (int i = OFF, end = OFF + k; i < end; ++i)
+        if (x[i] != y[i])
+          return false;
+
+      return true;
+    }
+
+    /**
+     * Reduces the product {@code t[OFF..OFF+2k)}, which is less than
+     * <code>m * 2<sup>32k</sup></code>, to
+     * <code>t * 2<sup>-32k</sup> mod m</code>, and puts the result into
+     * {@code z}.
+     *
+     * @param z The array into which the result is to be put.
+     */
+    private void montgomeryReduce(final int[] z) {
+      final int[] m = this.m, t = this.t;
+      final int k = this.k, end = OFF + k;
+      long top = 0;
+      for (int i = OFF; i < end; ++i) {
+        // Add u * m to t, such that the limb at i becomes zero
+        final long u = t[i] * minv & LONG_MASK;
+        long c = 0;
+        for (int j = OFF, l = i; j < end; ++j, ++l) {
+          c += u * (m[j] & LONG_MASK) + (t[l] & LONG_MASK);
+          t[l] = (int)c;
+          c >>>= 32;
+        }
+
+        top += (t[i + k] & LONG_MASK) + c;
+        t[i + k] = (int)top;
+        top >>>= 32;
+      }
+
+      // The result is less than 2m
+      if (top != 0 || compareToMag(t, end, k, m, OFF, k) >= 0)
+        usubMag(t, end, k, m, OFF, k);
+
+      System.arraycopy(t, end, z, OFF, k);
+    }
+
+    /**
+     * Reduces the product {@code t[OFF..OFF+2k)}, which is less than
+     * <code>2<sup>64k</sup></code>, modulo the modulus, and puts the result
+     * into {@code z}.
+     *
+     * @param z The array into which the result is to be put.
+     */
+    private void barrettReduce(final int[] z) {
+      final int[] m = this.m, t = this.t;
+      final int k = this.k, p = OFF + 2 * k, r = p + 2 * k + 2;
+      // q = floor(floor(t / 2^(32(k-1))) * mu / 2^(32(k+1))), which is t[p+k+1..p+2k+2)
+      mulMag(t, OFF + k - 1, k + 1, mu, OFF, k + 1, t, p, s, 0, PARALLEL_KARATSUBA_MAX_DEPTH);
+      // t = (t - q * m) mod 2^(32(k+1)), which is less than 3m
+      mulMag(t, p + k + 1, k + 1, m, OFF, k, t, r, s, 0, PARALLEL_KARATSUBA_MAX_DEPTH);
+      usubMag(t, OFF, k + 1, t, r, k + 1);
+      while (compareToMag(t, OFF, k + 1, m, OFF, k) >= 0)
+        usubMag(t, OFF, k + 1, m, OFF, k);
+
+      System.arraycopy(t, OFF, z, OFF, k);
+    }
+
+    /**
+     * Reduces the product {@code t[OFF..OFF+2k)} modulo the modulus, which is a
+     * power of two, and puts the result into {@code z}.
+     *
+     * @param z The array into which the result is to be put.
+     */
+    private void maskReduce(final int[] z) {
+      final int top = OFF + k - 1;
+      System.arraycopy(t, OFF, z, OFF, k);
+      z[top] &= m[top] - 1;
+    }
+  }
+}
@@ -30,6 +30,10 @@
 package org.libj.math;
 
 import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 
 abstract class BigIntMultiplication extends BigIntAddition {
   private static final long serialVersionUID = -4907342078241892616L;
@@ -49,6 +53,12 @@ abstract class BigIntMultiplication extends BigIntAddition {
    * Factor to be applied Karatsuba thresholds. This factor was determined
    * experimentally to produce better results in general applications than the
    * exact factors that were determined in isolated tests.
+   * <p>
+   * The thresholds that are derived from this factor are the built-in values,
+   * which are replaced with values calibrated to the host CPU if enabled with
+   * {@code -Dorg.libj.math.calibrate=true} (see {@link BigIntThresholds}). The
+   * thresholds are therefore not {@code final}, but are only assigned during
+   * the initialization of this class.
    */
   private static final double THRESHOLD_FACTOR = 1.2;
 
@@ -72,7 +82,7 @@ abstract class BigIntMultiplication extends BigIntAddition {
    *
    * @see #KARATSUBA_THRESHOLD_X
    */
-  static final int KARATSUBA_THRESHOLD_Z = (int)((NATIVE_THRESHOLD == Integer.MAX_VALUE ? 135 : 80) * THRESHOLD_FACTOR); // 135 : 80
+  static int KARATSUBA_THRESHOLD_Z = BigIntThresholds.get("KARATSUBA_THRESHOLD_Z", (int)((NATIVE_THRESHOLD == Integer.MAX_VALUE ? 135 : 80) * THRESHOLD_FACTOR)); // 135 : 80
 
   /**
    * The "x" threshold value for using Karatsuba multiplication. If the number
@@ -81,17 +91,105 @@ abstract class BigIntMultiplication extends BigIntAddition {
    * multiplication is to be used. This value is found experimentally to work
    * well.
    */
-  static final int KARATSUBA_THRESHOLD_X = (int)((NATIVE_THRESHOLD == Integer.MAX_VALUE ? 70 : 50) * THRESHOLD_FACTOR); // 70 : 50
+  static int KARATSUBA_THRESHOLD_X = BigIntThresholds.get("KARATSUBA_THRESHOLD_X", (int)((NATIVE_THRESHOLD == Integer.MAX_VALUE ? 70 : 50) * THRESHOLD_FACTOR)); // 70 : 50
+
+  /**
+   * The "z" threshold value for using Toom-Cook 3-way multiplication. If the
+   * number of ints in the output array is greater than this number, and both
+   * input arrays are greater than {@link #TOOM3_THRESHOLD_X}, then Toom-Cook
+   * 3-way multiplication will be used instead of Karatsuba multiplication.
+   * <p>
+   * The sub-products of the Toom-Cook 3-way algorithm are one third of the
+   * length of the input, and are computed with Karatsuba multiplication (or
+   * recursively with Toom-Cook 3-way multiplication). Therefore, the native
+   * Karatsuba implementation pushes this threshold higher, because each of the
+   * 5 sub-products is cheaper relative to the linear evaluation and
+   * interpolation steps, which are implemented in Java only.
+   *
+   * @see #TOOM3_THRESHOLD_X
+   */
+  static int TOOM3_THRESHOLD_Z = BigIntThresholds.get("TOOM3_THRESHOLD_Z", (int)((NATIVE_THRESHOLD == Integer.MAX_VALUE ? 480 : 960) * THRESHOLD_FACTOR)); // 480 : 960
+
+  /**
+   * The "x" threshold value for using Toom-Cook 3-way multiplication. If the
+   * number of ints in both input arrays is greater than this number, then
+   * {@link #TOOM3_THRESHOLD_Z} will be evaluated to determine if Toom-Cook
+   * 3-way multiplication is to be used.
+   */
+  static int TOOM3_THRESHOLD_X = BigIntThresholds.get("TOOM3_THRESHOLD_X", (int)((NATIVE_THRESHOLD == Integer.MAX_VALUE ? 240 : 480) * THRESHOLD_FACTOR)); // 240 : 480
+
+  /**
+   * The ratio of the lengths of the input arrays at and above which
+   * multiplication is performed in unbalanced mode, provided that the shorter
+   * input array is not shorter than {@link #KARATSUBA_THRESHOLD_X}. In
+   * unbalanced mode, the longer input array is split into chunks of the length
+   * of the shorter input array, which are multiplied with the best algorithm
+   * for balanced lengths, and the partial products are accumulated in place.
+   * <p>
+   * Without unbalanced mode, the Karatsuba and Toom-Cook algorithms pad the
+   * shorter input array to the length of the longer one, thus performing the
+   * work of a balanced multiplication of the longer length.
+   */
+  static final int UNBALANCED_RATIO = 2;
 
   /**
    * The threshold value for using Karatsuba squaring. If the number of ints in
-   * the magnitude array is greater than this value, Karatsuba squaring will be
-   * used. This value is found experimentally to work well.
+   * the magnitude array is greater than this value, and less than
+   * {@link #TOOM3_SQUARE_THRESHOLD}, Karatsuba squaring will be used. This
+   * value is found experimentally to work well.
+   * <p>
+   * The native Karatsuba squaring outperforms the quadratic squaring from
+   * ~150 ints. The Java Karatsuba squaring is outperformed by Toom-Cook 3-way
+   * squaring at all lengths at which it outperforms the quadratic squaring,
+   * and therefore this threshold is equal to {@link #TOOM3_SQUARE_THRESHOLD}
+   * in Java mode, leaving the Karatsuba tier empty.
    * <p>
    * Note: Values lower than {@code 30} for this threshold will result in errors
    * for in-place execution of the Karatsuba algorithm.
    */
-  static final int KARATSUBA_SQUARE_THRESHOLD = (int)((NATIVE_THRESHOLD == Integer.MAX_VALUE ? 640 : 400) * THRESHOLD_FACTOR); // 640 : 400
+  static int KARATSUBA_SQUARE_THRESHOLD = BigIntThresholds.get("KARATSUBA_SQUARE_THRESHOLD", (int)((NATIVE_THRESHOLD == Integer.MAX_VALUE ? 140 : 130) * THRESHOLD_FACTOR)); // 140 : 130
+
+  /**
+   * Threshold for number of ints in the array to be multiplied as a square
+   * with Toom-Cook 3-way multiplication. Squaring evaluates the operand only
+   * once per evaluation point, and computes its sub-products as squares. In
+   * Java mode, Toom-Cook 3-way squaring over quadratic sub-squares outperforms
+   * the quadratic squaring from ~150 ints. In native mode, it outperforms the
+   * native Karatsuba squaring from ~600 ints, which is bounded by
+   * {@link #TOOM3_THRESHOLD_X}.
+   */
+  static int TOOM3_SQUARE_THRESHOLD = BigIntThresholds.get("TOOM3_SQUARE_THRESHOLD", (int)((NATIVE_THRESHOLD == Integer.MAX_VALUE ? 140 : 480) * THRESHOLD_FACTOR)); // 140 : 480
+
+  /**
+   * The "z" threshold value for using Number-Theoretic Transform (NTT)
+   * multiplication. If the number of ints in the output array is greater than
+   * this number, and both input arrays are greater than
+   * {@link #NTT_THRESHOLD_X}, then NTT multiplication will be used instead of
+   * Toom-Cook 3-way multiplication.
+   *
+   * @see #NTT_THRESHOLD_X
+   */
+  static int NTT_THRESHOLD_Z = BigIntThresholds.get("NTT_THRESHOLD_Z", (int)((NATIVE_THRESHOLD == Integer.MAX_VALUE ? 13000 : 22000) * THRESHOLD_FACTOR)); // 13000 : 22000
+
+  /**
+   * The "x" threshold value for using Number-Theoretic Transform (NTT)
+   * multiplication. If the number of ints in both input arrays is greater than
+   * this number, then {@link #NTT_THRESHOLD_Z} will be evaluated to determine
+   * if NTT multiplication is to be used.
+   */
+  static int NTT_THRESHOLD_X = BigIntThresholds.get("NTT_THRESHOLD_X", (int)((NATIVE_THRESHOLD == Integer.MAX_VALUE ? 6500 : 11000) * THRESHOLD_FACTOR)); // 6500 : 11000
+
+  /**
+   * Threshold for number of ints in the array to be multiplied as a square
+   * with Number-Theoretic Transform (NTT) multiplication. The cost of NTT
+   * multiplication is that of the power-of-2 length of its transform, which is
+   * why NTT squaring is only used above this threshold if the product fills
+   * more than 2/3 of the transform (see {@link #isNttSquare(int)}). Measured in
+   * both modes, NTT squaring of such lengths outperforms Toom-Cook 3-way
+   * squaring from ~16000 ints, whereas at ~20000 ints (61% of the transform)
+   * and ~33000 ints (50% of the transform) it does not.
+   */
+  static int NTT_SQUARE_THRESHOLD = BigIntThresholds.get("NTT_SQUARE_THRESHOLD", (int)(13000 * THRESHOLD_FACTOR)); // 13000
 
   /**
    * Factor to be applied Parallel Karatsuba thresholds. This factor was
@@ -120,7 +218,7 @@ abstract class BigIntMultiplication extends BigIntAddition {
    *
    * @see #PARALLEL_KARATSUBA_THRESHOLD_X
    */
-  static final int PARALLEL_KARATSUBA_THRESHOLD_Z = (int)((NATIVE_THRESHOLD == Integer.MAX_VALUE ? 1500 : 850) * PARALLEL_THRESHOLD_FACTOR); // 1500 : 850
+  static volatile int PARALLEL_KARATSUBA_THRESHOLD_Z = BigIntThresholds.get("PARALLEL_KARATSUBA_THRESHOLD_Z", (int)((NATIVE_THRESHOLD == Integer.MAX_VALUE ? 1500 : 850) * PARALLEL_THRESHOLD_FACTOR)); // 1500 : 850
 
   /**
    * The "x" threshold value for using Parallel Karatsuba multiplication. If the
@@ -129,7 +227,136 @@ abstract class BigIntMultiplication extends BigIntAddition {
    * Parallel Karatsuba multiplication is to be used. This value is found
    * experimentally to work well.
    */
-  static final int PARALLEL_KARATSUBA_THRESHOLD_X = (int)((NATIVE_THRESHOLD == Integer.MAX_VALUE ? 120 : 100) * PARALLEL_THRESHOLD_FACTOR); // 120 : 100
+  static volatile int PARALLEL_KARATSUBA_THRESHOLD_X = BigIntThresholds.get("PARALLEL_KARATSUBA_THRESHOLD_X", (int)((NATIVE_THRESHOLD == Integer.MAX_VALUE ? 120 : 100) * PARALLEL_THRESHOLD_FACTOR)); // 120 : 100
+
+  /**
+   * The maximum nesting depth of parallel execution in the Parallel Karatsuba
+   * algorithm. Each level of parallel execution splits the problem into 3
+   * tasks, so this value bounds the number of concurrent tasks of a single
+   * multiplication to {@code 3^PARALLEL_KARATSUBA_MAX_DEPTH}.
+   */
+  static volatile int PARALLEL_KARATSUBA_MAX_DEPTH = 4;
+
+  /** The {@link ForkJoinPool} in which the Parallel Karatsuba tasks are executed. */
+  static volatile ForkJoinPool parallelPool = ForkJoinPool.commonPool();
+
+  /**
+   * Returns the {@link ForkJoinPool} in which the tasks of parallel
+   * multiplication are executed. By default, this is the
+   * {@linkplain ForkJoinPool#commonPool() common pool}.
+   *
+   * @return The {@link ForkJoinPool} in which the tasks of parallel
+   *         multiplication are executed.
+   */
+  public static ForkJoinPool getParallelPool() {
+    return parallelPool;
+  }
+
+  /**
+   * Sets the {@link ForkJoinPool} in which the tasks of parallel
+   * multiplication are to be executed. The parallelism of the provided pool
+   * bounds the number of threads used by parallel multiplication in this JVM.
+   * <p>
+   * <i><b>Note:</b> This setting applies to the Java implementation of the
+   * Parallel Karatsuba algorithm. The native implementation manages its own
+   * threads, which are bounded by
+   * {@link #setParallelKaratsubaThreshold(int,int)}, and can be disabled with
+   * {@link #setParallelMaxDepth(int) setParallelMaxDepth(0)}.</i>
+   *
+   * @param pool The {@link ForkJoinPool}.
+   * @throws IllegalArgumentException If {@code pool} is null.
+   */
+  public static void setParallelPool(final ForkJoinPool pool) {
+    if (pool == null)
+      throw new IllegalArgumentException("pool == null");
+
+    parallelPool = pool;
+  }
+
+  /**
+   * Returns the "x" threshold value for using Parallel Karatsuba
+   * multiplication, which is the number of ints in both input arrays above
+   * which the "z" threshold is evaluated.
+   *
+   * @return The "x" threshold value for using Parallel Karatsuba
+   *         multiplication.
+   * @see #setParallelKaratsubaThreshold(int,int)
+   */
+  public static int getParallelKaratsubaThresholdX() {
+    return PARALLEL_KARATSUBA_THRESHOLD_X;
+  }
+
+  /**
+   * Returns the "z" threshold value for using Parallel Karatsuba
+   * multiplication, which is the number of ints in the output array above
+   * which Parallel Karatsuba multiplication is used.
+   *
+   * @return The "z" threshold value for using Parallel Karatsuba
+   *         multiplication.
+   * @see #setParallelKaratsubaThreshold(int,int)
+   */
+  public static int getParallelKaratsubaThresholdZ() {
+    return PARALLEL_KARATSUBA_THRESHOLD_Z;
+  }
+
+  /**
+   * Sets the "x" and "z" threshold values for using Parallel Karatsuba
+   * multiplication. To disable parallel multiplication, specify
+   * {@link Integer#MAX_VALUE} for either threshold.
+   *
+   * @param x The number of ints in both input arrays above which the "z"
+   *          threshold is evaluated.
+   * @param z The number of ints in the output array above which Parallel
+   *          Karatsuba multiplication is used.
+   * @throws IllegalArgumentException If {@code x} or {@code z} is negative.
+   */
+  public static void setParallelKaratsubaThreshold(final int x, final int z) {
+    if (x < 0)
+      throw new IllegalArgumentException("x < 0: " + x);
+
+    if (z < 0)
+      throw new IllegalArgumentException("z < 0: " + z);
+
+    PARALLEL_KARATSUBA_THRESHOLD_X = x;
+    PARALLEL_KARATSUBA_THRESHOLD_Z = z;
+  }
+
+  /**
+   * Returns the maximum nesting depth of parallel execution in parallel
+   * multiplication.
+   *
+   * @return The maximum nesting depth of parallel execution in parallel
+   *         multiplication.
+   */
+  public static int getParallelMaxDepth() {
+    return PARALLEL_KARATSUBA_MAX_DEPTH;
+  }
+
+  /**
+   * Sets the maximum nesting depth of parallel execution in parallel
+   * multiplication. Each level of parallel execution splits the problem into 3
+   * tasks, so this value bounds the number of concurrent tasks of a single
+   * multiplication to {@code 3^depth}. A value of {@code 0} disables parallel
+   * multiplication.
+   *
+   * @param depth The maximum nesting depth of parallel execution.
+   * @throws IllegalArgumentException If {@code depth} is negative.
+   */
+  public static void setParallelMaxDepth(final int depth) {
+    if (depth < 0)
+      throw new IllegalArgumentException("depth < 0: " + depth);
+
+    PARALLEL_KARATSUBA_MAX_DEPTH = depth;
+  }
+
+  /**
+   * Returns the "x" Parallel Karatsuba threshold to be passed to the Karatsuba
+   * implementations, which is {@link Integer#MAX_VALUE} if parallel
+   * multiplication is disabled by {@link #PARALLEL_KARATSUBA_MAX_DEPTH}.
+   */
+  private static int parallelThresholdX() {
+    return PARALLEL_KARATSUBA_MAX_DEPTH > 0 ? PARALLEL_KARATSUBA_THRESHOLD_X : Integer.MAX_VALUE;
+  }
 
   static final int[] INT_5_POW = {
     1,
@@ -663,7 +890,440 @@ abstract class BigIntMultiplication extends BigIntAddition {
     if (len < KARATSUBA_THRESHOLD_X || mlen < KARATSUBA_THRESHOLD_X || zlen < KARATSUBA_THRESHOLD_Z)
       return mulQuad(val, len, mul, mlen, zlen, sig, allocExact);
 
-    return karatsuba(val, len, mul, mlen, zlen, sig);
+    if (len >= mlen * UNBALANCED_RATIO || mlen >= len * UNBALANCED_RATIO)
+      return mulMag(val, len, mul, mlen, zlen, sig);
+
+    if (len < TOOM3_THRESHOLD_X || mlen < TOOM3_THRESHOLD_X || zlen < TOOM3_THRESHOLD_Z)
+      return karatsuba(val, len, mul, mlen, zlen, sig);
+
+    if (len < NTT_THRESHOLD_X || mlen < NTT_THRESHOLD_X || zlen < NTT_THRESHOLD_Z || zlen > NTT_MAX_LEN)
+      return mulMag(val, len, mul, mlen, zlen, sig);
+
+    return ntt(val, len, mul, mlen, zlen, sig);
+  }
+
+  private static int[] mulMag(final int[] x, final int xlen, final int[] y, final int ylen, int zlen, final boolean sig) {
+    final int scratchLen = toom3ScratchLen(xlen, ylen);
+    final int[] z;
+    if (x.length > zlen) {
+      // The product is computed "in place" in (x), for which the magnitude of
+      // (x) is first moved to the head of the thread-local scratch array
+      final int[] t = threadLocal.get(xlen + scratchLen);
+      System.arraycopy(x, OFF, t, 0, xlen);
+      z = x;
+      if (x == y)
+        mulMag(t, 0, xlen, t, 0, ylen, z, OFF, t, xlen, PARALLEL_KARATSUBA_MAX_DEPTH);
+      else
+        mulMag(t, 0, xlen, y, OFF, ylen, z, OFF, t, xlen, PARALLEL_KARATSUBA_MAX_DEPTH);
+    }
+    else {
+      z = alloc(OFF + zlen);
+      mulMag(x, OFF, xlen, y, OFF, ylen, z, OFF, threadLocal.get(scratchLen), 0, PARALLEL_KARATSUBA_MAX_DEPTH);
+    }
+
+    for (zlen = xlen + ylen; z[zlen] == 0; --zlen);
+    z[0] = sig ? zlen : -zlen;
+    // _debugLenSig(z);
+    return z;
+  }
+
+  /**
+   * Returns the length of the scratch space needed by
+   * {@link #javaToom3(int[],int,int,int[],int,int,int[],int,int[],int,int)} to
+   * multiply magnitudes of the provided lengths.
+   *
+   * @param xlen The number of limbs of the first magnitude.
+   * @param ylen The number of limbs of the second magnitude.
+   * @return The length of the scratch space needed to multiply magnitudes of
+   *         the provided lengths.
+   */
+  static int toom3ScratchLen(final int xlen, final int ylen) {
+    final int len = Math.max(xlen, ylen);
+    if (xlen < TOOM3_THRESHOLD_X || ylen < TOOM3_THRESHOLD_X) // Operands are padded to equal length, and the Karatsuba tail is used as scratch
+      return len * 8 + 8;
+
+    final int k = (len + 2) / 3;
+    return k * 12 + 12 + toom3ScratchLen(k + 1, k + 1);
+  }
+
+  /**
+   * Multiplies the magnitudes x[xoff..xoff+xlen) and y[yoff..yoff+ylen) and
+   * puts the result in z[zoff..zoff+xlen+ylen), selecting the algorithm based
+   * on the lengths of the magnitudes. If {@code x == y && xoff == yoff}, the
+   * magnitude is squared. The array {@code z} must not overlap {@code x} or
+   * {@code y}.
+   *
+   * @param x The first magnitude array.
+   * @param xoff Offset for {@code x}.
+   * @param xlen The number of limbs of {@code x}.
+   * @param y The second magnitude array.
+   * @param yoff Offset for {@code y}.
+   * @param ylen The number of limbs of {@code y}.
+   * @param z The array into which the result is to be put.
+   * @param zoff Offset for {@code z}.
+   * @param t The scratch array, which must have at least
+   *          {@link #toom3ScratchLen(int,int)} free limbs starting at
+   *          {@code toff}.
+   * @param toff Offset of the free scratch space in {@code t}.
+   * @param parallelDepth The remaining nesting depth of parallel execution.
+   */
+  static void mulMag(final int[] x, final int xoff, int xlen, final int[] y, final int yoff, int ylen, final int[] z, final int zoff, final int[] t, final int toff, final int parallelDepth) {
+    final int zend = zoff + xlen + ylen;
+    xlen = significantLength(x, xoff, xlen);
+    ylen = significantLength(y, yoff, ylen);
+    final int plen = xlen + ylen;
+    if (xlen == 0 || ylen == 0) {
+      Arrays.fill(z, zoff, zend, 0);
+      return;
+    }
+
+    if (x == y && xoff == yoff) {
+      if (isNttSquare(xlen)) {
+        javaNtt(x, xoff, xlen, x, xoff, xlen, z, zoff, parallelDepth);
+      }
+      else if (xlen >= TOOM3_SQUARE_THRESHOLD) {
+        javaToom3(x, xoff, xlen, x, xoff, xlen, z, zoff, t, toff, parallelDepth);
+      }
+      else if (xlen < KARATSUBA_SQUARE_THRESHOLD) {
+        if (xlen < NATIVE_THRESHOLD)
+          javaSquareQuad(x, xoff, xlen, z, zoff, plen);
+        else
+          nativeSquareQuad(x, xoff, xlen, z, zoff, plen);
+      }
+      else {
+        karatsuba(x, xoff, x, xoff, t, toff, xlen, parallelDepth);
+        System.arraycopy(t, toff, z, zoff, plen);
+      }
+    }
+    else if (xlen >= NTT_THRESHOLD_X && ylen >= NTT_THRESHOLD_X && plen >= NTT_THRESHOLD_Z && plen <= NTT_MAX_LEN) {
+      javaNtt(x, xoff, xlen, y, yoff, ylen, z, zoff, parallelDepth);
+    }
+    else if (xlen >= KARATSUBA_THRESHOLD_X && ylen >= KARATSUBA_THRESHOLD_X && (xlen >= ylen * UNBALANCED_RATIO || ylen >= xlen * UNBALANCED_RATIO)) {
+      if (xlen > ylen)
+        javaUnbalanced(x, xoff, xlen, y, yoff, ylen, z, zoff, t, toff, parallelDepth);
+      else
+        javaUnbalanced(y, yoff, ylen, x, xoff, xlen, z, zoff, t, toff, parallelDepth);
+    }
+    else if (xlen >= TOOM3_THRESHOLD_X && ylen >= TOOM3_THRESHOLD_X && plen >= TOOM3_THRESHOLD_Z) {
+      javaToom3(x, xoff, xlen, y, yoff, ylen, z, zoff, t, toff, parallelDepth);
+    }
+    else if (xlen < KARATSUBA_THRESHOLD_X || ylen < KARATSUBA_THRESHOLD_X) {
+      // The native kernel only addresses magnitudes at OFF
+      final boolean nativeQuad = xoff == OFF && yoff == OFF && zoff == OFF && xlen >= NATIVE_THRESHOLD && ylen >= NATIVE_THRESHOLD;
+      if (xlen < ylen) {
+        if (nativeQuad)
+          nativeMulQuad(x, xlen, y, ylen, z);
+        else
+          javaMulQuad(x, xoff, xlen, y, yoff, ylen, z, zoff);
+      }
+      else {
+        if (nativeQuad)
+          nativeMulQuad(y, ylen, x, xlen, z);
+        else
+          javaMulQuad(y, yoff, ylen, x, xoff, xlen, z, zoff);
+      }
+    }
+    else {
+      // Karatsuba requires operands of equal length, and uses the free space
+      // after the product as scratch, so the product is put at the head of (t)
+      final int len = Math.max(xlen, ylen);
+      final int[] a, b;
+      final int aoff, boff;
+      int p = toff;
+      if (xlen == len) {
+        a = x;
+        aoff = xoff;
+      }
+      else {
+        System.arraycopy(x, xoff, t, p, xlen);
+        Arrays.fill(t, p + xlen, p += len, 0);
+        a = t;
+        aoff = p - len;
+      }
+
+      if (ylen == len) {
+        b = y;
+        boff = yoff;
+      }
+      else {
+        System.arraycopy(y, yoff, t, p, ylen);
+        Arrays.fill(t, p + ylen, p += len, 0);
+        b = t;
+        boff = p - len;
+      }
+
+      karatsuba(a, aoff, b, boff, t, p, len, parallelDepth);
+      System.arraycopy(t, p, z, zoff, plen);
+    }
+
+    Arrays.fill(z, zoff + plen, zend, 0);
+  }
+
+  /**
+   * Multiplies the magnitude x[xoff..xoff+xlen) by the shorter magnitude
+   * y[yoff..yoff+ylen) and puts the result in z[zoff..zoff+xlen+ylen).
+   * Algorithm: The longer magnitude is split into chunks of {@code ylen}
+   * limbs, each of which is multiplied by {@code y} with
+   * {@link #mulMag(int[],int,int,int[],int,int,int[],int,int[],int,int)}, and
+   * the partial products are accumulated in {@code z}. If parallel execution
+   * is enabled and the product is large enough, groups of consecutive chunks
+   * are multiplied as {@link ForkJoinTask}s in the
+   * {@linkplain #getParallelPool() parallel pool}, each into its own array.
+   *
+   * @param x The longer magnitude array.
+   * @param xoff Offset for {@code x}.
+   * @param xlen The number of limbs of {@code x}.
+   * @param y The shorter magnitude array.
+   * @param yoff Offset for {@code y}.
+   * @param ylen The number of limbs of {@code y}.
+   * @param z The array into which the result is to be put, which must not
+   *          overlap {@code x} or {@code y}.
+   * @param zoff Offset for {@code z}.
+   * @param t The scratch array, which must have at least
+   *          {@link #toom3ScratchLen(int,int)} free limbs starting at
+   *          {@code toff}.
+   * @param toff Offset of the free scratch space in {@code t}.
+   * @param parallelDepth The remaining nesting depth of parallel execution.
+   * @complexity O(n/m M(m))
+   */
+  private static void javaUnbalanced(final int[] x, final int xoff, final int xlen, final int[] y, final int yoff, final int ylen, final int[] z, final int zoff, final int[] t, final int toff, final int parallelDepth) {
+    final int zlen = xlen + ylen, chunks = (xlen + ylen - 1) / ylen;
+    Arrays.fill(z, zoff, zoff + zlen, 0);
+    if (parallelDepth > 0 && zlen > PARALLEL_KARATSUBA_THRESHOLD_Z && chunks > 1) {
+      final int groups = Math.min(chunks, Math.max(2, parallelPool.getParallelism()));
+      final int[][] products = new int[groups][];
+      final MulTask[] tasks = new MulTask[groups];
+      for (int g = 0, i = 0; g < groups; ++g) {
+        final int end = (int)((long)chunks * (g + 1) / groups) * ylen, glen = Math.min(end, xlen) - i;
+        tasks[g] = new MulTask(x, xoff + i, glen, y, yoff, ylen, products[g] = new int[glen + ylen], 0, parallelDepth - 1);
+        i += glen;
+      }
+
+      invokeAll(tasks);
+      for (int g = 0, i = 0; g < groups; ++g) {
+        uaddMag(z, zoff + i, zlen - i, products[g], 0, products[g].length);
+        i += products[g].length - ylen;
+      }
+    }
+    else {
+      final int top = toff + ylen * 2;
+      for (int i = 0; i < xlen; i += ylen) {
+        final int clen = Math.min(ylen, xlen - i);
+        mulMag(x, xoff + i, clen, y, yoff, ylen, t, toff, t, top, parallelDepth);
+        uaddMag(z, zoff + i, zlen - i, t, toff, clen + ylen);
+      }
+    }
+  }
+
+  /**
+   * Multiplies the magnitudes x[xoff..xoff+xlen) and y[yoff..yoff+ylen) and
+   * puts the result in z[zoff..zoff+xlen+ylen). Algorithm: Toom-Cook 3-way,
+   * with evaluation points {@code 0}, {@code 1}, {@code -1}, {@code 2} and
+   * {@code inf}, and the interpolation sequence of Marco Bodrato. If
+   * {@code x == y && xoff == yoff && xlen == ylen}, the magnitude is squared,
+   * for which the operand is evaluated only once, and the 5 sub-products are
+   * computed as squares.
+   * <p>
+   * All temporary values are kept in the scratch array {@code t}, which is
+   * used as a stack by the recursive calls. If parallel execution is enabled
+   * and the product is large enough, the 5 sub-products are computed as
+   * {@link ForkJoinTask}s in the {@linkplain #getParallelPool() parallel pool},
+   * each with its own scratch array.
+   *
+   * @param x The first magnitude array.
+   * @param xoff Offset for {@code x}.
+   * @param xlen The number of limbs of {@code x}.
+   * @param y The second magnitude array.
+   * @param yoff Offset for {@code y}.
+   * @param ylen The number of limbs of {@code y}.
+   * @param z The array into which the result is to be put, which must not
+   *          overlap {@code x} or {@code y}.
+   * @param zoff Offset for {@code z}.
+   * @param t The scratch array, which must have at least
+   *          {@link #toom3ScratchLen(int,int)} free limbs starting at
+   *          {@code toff}.
+   * @param toff Offset of the free scratch space in {@code t}.
+   * @param parallelDepth The remaining nesting depth of parallel execution.
+   * @complexity O(n^1.465)
+   */
+  private static void javaToom3(final int[] x, final int xoff, final int xlen, final int[] y, final int yoff, final int ylen, final int[] z, final int zoff, final int[] t, final int toff, final int parallelDepth) {
+    final int k = (Math.max(xlen, ylen) + 2) / 3, k1 = k + 1, kk = k * 2, w = kk + 2, zlen = xlen + ylen;
+    final boolean square = x == y && xoff == yoff && xlen == ylen;
+
+    // Lengths of the 3 parts of (x) and (y)
+    final int xl0 = Math.min(k, xlen), xl1 = Math.max(0, Math.min(k, xlen - k)), xl2 = Math.max(0, xlen - kk);
+    final int yl0 = Math.min(k, ylen), yl1 = Math.max(0, Math.min(k, ylen - k)), yl2 = Math.max(0, ylen - kk);
+    final int x1 = xoff + k, x2 = x1 + k, y1 = yoff + k, y2 = y1 + k;
+
+    // Layout of the scratch space
+    final int da = toff, db = da + k1, dm = db + k1, dn = dm + k1, de = dn + k1, df = de + k1, vm1 = df + k1, v1 = vm1 + w, v2 = v1 + w, top = v2 + w;
+
+    // da = x0 + x2, dm = da - x1, da = da + x1, de = ((da + x2) << 1) - x0
+    toom3Sum(x, xoff, xl0, x2, xl2, t, da, k1);
+    boolean vm1Neg = toom3Diff(t, da, x, x1, xl1, t, dm, k1);
+    uaddMag(t, da, k1, x, x1, xl1);
+    toom3Sum(t, da, k1, 0, 0, t, de, k1);
+    uaddMag(t, de, k1, x, x2, xl2);
+    primitiveLeftShift(t, de, de + k1, 1);
+    usubMag(t, de, k1, x, xoff, xl0);
+
+    // The same for (y), unless squaring, in which case the product at -1 is positive
+    final int yb, yn, yf;
+    if (square) {
+      vm1Neg = false;
+      yb = da;
+      yn = dm;
+      yf = de;
+    }
+    else {
+      toom3Sum(y, yoff, yl0, y2, yl2, t, yb = db, k1);
+      vm1Neg ^= toom3Diff(t, db, y, y1, yl1, t, yn = dn, k1);
+      uaddMag(t, db, k1, y, y1, yl1);
+      toom3Sum(t, db, k1, 0, 0, t, yf = df, k1);
+      uaddMag(t, df, k1, y, y2, yl2);
+      primitiveLeftShift(t, df, df + k1, 1);
+      usubMag(t, df, k1, y, yoff, yl0);
+    }
+
+    // v0 = x0 * y0 and vinf = x2 * y2 are put directly into their final place in (z)
+    final int vinfLen = xl2 == 0 || yl2 == 0 ? 0 : xl2 + yl2;
+    Arrays.fill(z, zoff + xl0 + yl0, zoff + Math.min(zlen, 4 * k), 0);
+    if (vinfLen == 0 && zlen > 4 * k)
+      Arrays.fill(z, zoff + 4 * k, zoff + zlen, 0);
+
+    if (parallelDepth > 0 && zlen > PARALLEL_KARATSUBA_THRESHOLD_Z) {
+      // vm1 = dm * dn, v1 = da * db, v2 = de * df
+      final int depth = parallelDepth - 1;
+      final MulTask t0 = new MulTask(x, xoff, xl0, y, yoff, yl0, z, zoff, depth);
+      final MulTask tm1 = new MulTask(t, dm, k1, t, yn, k1, t, vm1, depth);
+      final MulTask t1 = new MulTask(t, da, k1, t, yb, k1, t, v1, depth);
+      final MulTask t2 = new MulTask(t, de, k1, t, yf, k1, t, v2, depth);
+      if (vinfLen > 0)
+        invokeAll(t0, tm1, t1, t2, new MulTask(x, x2, xl2, y, y2, yl2, z, zoff + 4 * k, depth));
+      else
+        invokeAll(t0, tm1, t1, t2);
+    }
+    else {
+      mulMag(x, xoff, xl0, y, yoff, yl0, z, zoff, t, top, parallelDepth);
+      if (vinfLen > 0)
+        mulMag(x, x2, xl2, y, y2, yl2, z, zoff + 4 * k, t, top, parallelDepth);
+
+      // vm1 = dm * dn, v1 = da * db, v2 = de * df
+      mulMag(t, dm, k1, t, yn, k1, t, vm1, t, top, parallelDepth);
+      mulMag(t, da, k1, t, yb, k1, t, v1, t, top, parallelDepth);
+      mulMag(t, de, k1, t, yf, k1, t, v2, t, top, parallelDepth);
+    }
+
+    // t2 = (v2 - vm1) / 3
+    if (vm1Neg)
+      uaddMag(t, v2, w, t, vm1, w);
+    else
+      usubMag(t, v2, w, t, vm1, w);
+
+    exactDivideBy3(t, v2, w);
+
+    // tm1 = (v1 - vm1) >> 1
+    if (vm1Neg)
+      uaddMag(t, vm1, w, t, v1, w);
+    else
+      ursubMag(t, v1, w, t, vm1, w);
+
+    primitiveRightShift(t, vm1, vm1 + w, 1);
+
+    // t1 = v1 - v0
+    usubMag(t, v1, w, z, zoff, Math.min(kk, zlen));
+
+    // t2 = (t2 - t1) >> 1
+    usubMag(t, v2, w, t, v1, w);
+    primitiveRightShift(t, v2, v2 + w, 1);
+
+    // t1 = t1 - tm1 - vinf
+    usubMag(t, v1, w, t, vm1, w);
+    usubMag(t, v1, w, z, zoff + 4 * k, vinfLen);
+
+    // t2 = t2 - 2 * vinf
+    usubMag(t, v2, w, z, zoff + 4 * k, vinfLen);
+    usubMag(t, v2, w, z, zoff + 4 * k, vinfLen);
+
+    // tm1 = tm1 - t2
+    usubMag(t, vm1, w, t, v2, w);
+
+    // z = vinf * B^4k + t2 * B^3k + t1 * B^2k + tm1 * B^k + v0
+    toom3Add(z, zoff, zlen, k, t, vm1, w);
+    toom3Add(z, zoff, zlen, kk, t, v1, w);
+    toom3Add(z, zoff, zlen, 3 * k, t, v2, w);
+  }
+
+  /**
+   * Puts the sum of the magnitudes a[aoff..aoff+alen) and a[boff..boff+blen)
+   * into z[zoff..zoff+zlen), whereby {@code zlen} is greater than
+   * {@code alen} and {@code blen}.
+   */
+  private static void toom3Sum(final int[] a, final int aoff, final int alen, final int boff, final int blen, final int[] z, final int zoff, final int zlen) {
+    System.arraycopy(a, aoff, z, zoff, alen);
+    Arrays.fill(z, zoff + alen, zoff + zlen, 0);
+    uaddMag(z, zoff, zlen, a, boff, blen);
+  }
+
+  /**
+   * Puts the absolute difference of the magnitudes a[aoff..aoff+len) and
+   * b[boff..boff+blen) into z[zoff..zoff+len), and returns whether the
+   * difference is negative.
+   */
+  private static boolean toom3Diff(final int[] a, final int aoff, final int[] b, final int boff, final int blen, final int[] z, final int zoff, final int len) {
+    System.arraycopy(a, aoff, z, zoff, len);
+    if (compareToMag(a, aoff, len, b, boff, blen) >= 0) {
+      usubMag(z, zoff, len, b, boff, blen);
+      return false;
+    }
+
+    System.arraycopy(b, boff, z, zoff, blen);
+    Arrays.fill(z, zoff + blen, zoff + len, 0);
+    usubMag(z, zoff, len, a, aoff, len);
+    return true;
+  }
+
+  /**
+   * Adds the coefficient a[aoff..aoff+alen) to z[zoff..zoff+zlen) at the
+   * position {@code pos}, ignoring the leading limbs of the coefficient that
+   * exceed {@code zlen} (which are zero, because the coefficient is part of a
+   * product of {@code zlen} limbs).
+   */
+  private static void toom3Add(final int[] z, final int zoff, final int zlen, final int pos, final int[] a, final int aoff, final int alen) {
+    if (pos < zlen)
+      uaddMag(z, zoff + pos, zlen - pos, a, aoff, Math.min(alen, zlen - pos));
+  }
+
+  /**
+   * Divides the magnitude mag[off..off+len) by {@code 3} in place, under the
+   * condition that the magnitude is a multiple of {@code 3}. The division is
+   * performed from the least significant limb by multiplying with the modular
+   * inverse of {@code 3}, which avoids the division instruction.
+   *
+   * @param mag The magnitude array.
+   * @param off The offset of the first limb of the magnitude.
+   * @param len The number of limbs of the magnitude.
+   * @complexity O(n)
+   */
+  static void exactDivideBy3(final int[] mag, int off, int len) {
+    long borrow = 0, x, w, q;
+    for (len += off; off < len; ++off) {
+      x = mag[off] & LONG_MASK;
+      w = x - borrow;
+      borrow = borrow > x ? 1 : 0;
+
+      // 0xAAAAAAAB is the modular inverse of 3 (mod 2^32)
+      q = (w * 0xAAAAAAABL) & LONG_MASK;
+      mag[off] = (int)q;
+
+      // Now check the borrow. The second check can of course be eliminated if
+      // the first fails.
+      if (q >= 0x55555556L) {
+        ++borrow;
+        if (q >= 0xAAAAAAABL)
+          ++borrow;
+      }
+    }
   }
 
   private static int[] karatsuba(int[] x, int xlen, int[] y, int ylen, int zlen, final boolean sig) {
@@ -771,6 +1431,28 @@ abstract class BigIntMultiplication extends BigIntAddition {
     }
   }
 
+  private static void javaMulQuad(final int[] x, final int xoff, final int xlen, final int[] y, final int yoff, final int ylen, final int[] z, final int zoff) {
+    int i, j, k;
+    final int xend = xoff + xlen, yend = yoff + ylen;
+
+    long carry = 0, x0 = x[xoff] & LONG_MASK;
+    for (j = yoff, k = zoff; j < yend; ++j, ++k) {
+      z[k] = (int)(carry += x0 * (y[j] & LONG_MASK));
+      carry >>>= 32;
+    }
+
+    z[k] = (int)carry;
+    for (i = xoff + 1; i < xend; ++i) {
+      x0 = x[i] & LONG_MASK;
+      for (carry = 0, j = yoff, k = zoff + i - xoff; j < yend; ++j, ++k) {
+        z[k] = (int)(carry += x0 * (y[j] & LONG_MASK) + (z[k] & LONG_MASK));
+        carry >>>= 32;
+      }
+
+      z[k] = (int)carry;
+    }
+  }
+
   private static native void nativeMulQuadInPlace(int[] x, int xlen, int[] y, int ylen, int zlen);
 
   private static void javaMulQuadInPlace(final int[] x, final int xlen, final int[] y, final int ylen, int zlen) {
@@ -798,9 +1480,331 @@ abstract class BigIntMultiplication extends BigIntAddition {
 
   private static void karatsuba(final int[] x, final int[] y, final int[] z, final int zlen, final int len) {
     if (len < NATIVE_THRESHOLD)
-      javaKaratsuba(x, OFF, y, OFF, z, OFF, zlen, 0, len, PARALLEL_KARATSUBA_THRESHOLD_X, PARALLEL_KARATSUBA_THRESHOLD_Z);
+      javaKaratsuba(x, OFF, y, OFF, z, OFF, zlen, 0, len, PARALLEL_KARATSUBA_THRESHOLD_X, PARALLEL_KARATSUBA_THRESHOLD_Z, PARALLEL_KARATSUBA_MAX_DEPTH);
     else
-      nativeKaratsuba(x, OFF, y, OFF, z, OFF, zlen, z.length, 0, len, PARALLEL_KARATSUBA_THRESHOLD_X, PARALLEL_KARATSUBA_THRESHOLD_Z);
+      nativeKaratsuba(x, OFF, y, OFF, z, OFF, Math.max(zlen, len * 2), z.length, 0, len, parallelThresholdX(), PARALLEL_KARATSUBA_THRESHOLD_Z);
+  }
+
+  /**
+   * The primes for the Number-Theoretic Transform, in increasing order. Each
+   * prime is of the form {@code c * 2^k + 1} with {@code k >= 25}, and the
+   * product of the primes is greater than {@code 2^92}, which bounds the
+   * coefficients of a convolution of up to {@link #NTT_MAX_LEN} 32-bit limbs.
+   */
+  private static final int[] NTT_P = {1811939329, 2013265921, 2113929217}; // 27 * 2^26 + 1, 15 * 2^27 + 1, 63 * 2^25 + 1
+
+  /** The primitive roots of the primes in {@link #NTT_P}. */
+  private static final int[] NTT_G = {13, 31, 5};
+
+  /**
+   * The maximum length of the product for which NTT multiplication can be
+   * used, as limited by the largest power of 2 dividing {@code p - 1} for all
+   * primes in {@link #NTT_P}.
+   */
+  static final int NTT_MAX_LEN = 1 << 25;
+
+  /** The values of {@code -p^-1 mod 2^32} for the Montgomery reduction. */
+  private static final int[] NTT_PN = new int[NTT_P.length];
+
+  /** The values of {@code R^2 mod p} for the Montgomery reduction, where {@code R = 2^32}. */
+  private static final int[] NTT_R2 = new int[NTT_P.length];
+
+  /** Constants for the Garner reconstruction, in Montgomery form. */
+  private static final int NTT_P0_MOD_P2, NTT_INV_P0_MOD_P1, NTT_INV_P0P1_MOD_P2;
+  private static final long NTT_P0P1 = (long)NTT_P[0] * NTT_P[1];
+
+  static {
+    for (int i = 0; i < NTT_P.length; ++i) {
+      final long p = NTT_P[i];
+      int inv = 1;
+      for (int j = 0; j < 5; ++j) // Newton iteration doubles the number of correct low bits
+        inv *= 2 - (int)p * inv;
+
+      NTT_PN[i] = -inv;
+      final long r = (1L << 32) % p;
+      NTT_R2[i] = (int)(r * r % p);
+    }
+
+    final long p0 = NTT_P[0], p1 = NTT_P[1], p2 = NTT_P[2];
+    NTT_P0_MOD_P2 = toMont(p0 % p2, 2);
+    NTT_INV_P0_MOD_P1 = toMont(modPow(p0 % p1, p1 - 2, p1), 1);
+    NTT_INV_P0P1_MOD_P2 = toMont(modPow(NTT_P0P1 % p2, p2 - 2, p2), 2);
+  }
+
+  private static long modPow(long b, long e, final long p) {
+    long r = 1;
+    for (; e > 0; e >>= 1, b = b * b % p)
+      if ((e & 1) != 0)
+        r = r * b % p;
+
+    return r;
+  }
+
+  /**
+   * Returns the Montgomery form of {@code a}, which must be less than
+   * {@code 2^32}, for the prime at index {@code i} in {@link #NTT_P}.
+   */
+  private static int toMont(final long a, final int i) {
+    return mont(a % NTT_P[i], NTT_R2[i] & LONG_MASK, NTT_P[i], NTT_PN[i]);
+  }
+
+  /**
+   * Returns the Montgomery product {@code a * b * 2^-32 mod p}, where
+   * {@code a} and {@code b} are less than {@code 2^31}.
+   */
+  private static int mont(final long a, final long b, final long p, final int pn) {
+    final long t = a * b;
+    final long u = (t + (((int)t * pn) & LONG_MASK) * p) >>> 32;
+    return (int)(u >= p ? u - p : u);
+  }
+
+  private static int[] ntt(final int[] x, final int xlen, final int[] y, final int ylen, int zlen, final boolean sig) {
+    final int[] z;
+    final int[][] r = nttConvolve(x, OFF, xlen, y, OFF, ylen, PARALLEL_KARATSUBA_MAX_DEPTH);
+    // All reads of (x) and (y) are done, so the product can be put into (x) if it has room
+    z = x.length > zlen ? x : alloc(OFF + zlen);
+    nttGarner(r, z, OFF, xlen + ylen);
+
+    for (zlen = xlen + ylen; z[zlen] == 0; --zlen);
+    z[0] = sig ? zlen : -zlen;
+    // _debugLenSig(z);
+    return z;
+  }
+
+  /**
+   * Multiplies the magnitudes x[xoff..xoff+xlen) and y[yoff..yoff+ylen) and
+   * puts the result in z[zoff..zoff+xlen+ylen). Algorithm: Number-Theoretic
+   * Transform (NTT) modulo the 3 primes in {@link #NTT_P}, followed by the
+   * Chinese Remainder reconstruction of the coefficients with Garner's
+   * algorithm. If {@code x == y && xoff == yoff}, the magnitude is squared
+   * with only one forward transform per prime. If parallel execution is
+   * enabled and the product is large enough, the convolutions modulo each of
+   * the primes are computed as {@link ForkJoinTask}s in the
+   * {@linkplain #getParallelPool() parallel pool}. The sum
+   * {@code xlen + ylen} must not be greater than {@link #NTT_MAX_LEN}.
+   *
+   * @param x The first magnitude array.
+   * @param xoff Offset for {@code x}.
+   * @param xlen The number of limbs of {@code x}.
+   * @param y The second magnitude array.
+   * @param yoff Offset for {@code y}.
+   * @param ylen The number of limbs of {@code y}.
+   * @param z The array into which the result is to be put.
+   * @param zoff Offset for {@code z}.
+   * @param parallelDepth The remaining nesting depth of parallel execution.
+   * @complexity O(n log n)
+   */
+  private static void javaNtt(final int[] x, final int xoff, final int xlen, final int[] y, final int yoff, final int ylen, final int[] z, final int zoff, final int parallelDepth) {
+    nttGarner(nttConvolve(x, xoff, xlen, y, yoff, ylen, parallelDepth), z, zoff, xlen + ylen);
+  }
+
+  /**
+   * Returns the cyclic convolution of the magnitudes x[xoff..xoff+xlen) and
+   * y[yoff..yoff+ylen) modulo each of the primes in {@link #NTT_P}.
+   */
+  private static int[][] nttConvolve(final int[] x, final int xoff, final int xlen, final int[] y, final int yoff, final int ylen, final int parallelDepth) {
+    final int n = Integer.highestOneBit(xlen + ylen - 1) << (Integer.bitCount(xlen + ylen - 1) == 1 ? 0 : 1);
+    final int[][] r = new int[NTT_P.length][];
+    if (parallelDepth > 0 && n > PARALLEL_KARATSUBA_THRESHOLD_Z) {
+      final NttTask[] tasks = new NttTask[NTT_P.length];
+      for (int i = 0; i < NTT_P.length; ++i)
+        tasks[i] = new NttTask(x, xoff, xlen, y, yoff, ylen, r, i, n);
+
+      invokeAll(tasks);
+    }
+    else {
+      for (int i = 0; i < NTT_P.length; ++i)
+        nttConvolve(x, xoff, xlen, y, yoff, ylen, r, i, n);
+    }
+
+    return r;
+  }
+
+  /**
+   * Puts the cyclic convolution of length {@code n} of the magnitudes
+   * x[xoff..xoff+xlen) and y[yoff..yoff+ylen) modulo the prime at index
+   * {@code i} in {@link #NTT_P} into {@code r[i]}.
+   */
+  private static void nttConvolve(final int[] x, final int xoff, final int xlen, final int[] y, final int yoff, final int ylen, final int[][] r, final int i, final int n) {
+    final long p = NTT_P[i];
+    final int pn = NTT_PN[i];
+    final int[] w = new int[n], wi = new int[n];
+    nttRoots(w, wi, n, i);
+
+    final int[] a = r[i] = new int[n];
+    nttLoad(x, xoff, xlen, a, p);
+    nttForward(a, n, w, p, pn);
+
+    // Scale by (n^-1), and cancel the R^-1 of the pointwise Montgomery product
+    final long scale = mont(toMont(modPow(n, p - 2, p), i), NTT_R2[i] & LONG_MASK, p, pn) & LONG_MASK;
+    if (x == y && xoff == yoff && xlen == ylen) {
+      for (int j = 0; j < n; ++j)
+        a[j] = mont(mont(a[j] & LONG_MASK, a[j] & LONG_MASK, p, pn) & LONG_MASK, scale, p, pn);
+    }
+    else {
+      final int[] b = new int[n];
+      nttLoad(y, yoff, ylen, b, p);
+      nttForward(b, n, w, p, pn);
+      for (int j = 0; j < n; ++j)
+        a[j] = mont(mont(a[j] & LONG_MASK, b[j] & LONG_MASK, p, pn) & LONG_MASK, scale, p, pn);
+    }
+
+    nttInverse(a, n, wi, p, pn);
+  }
+
+  /**
+   * A {@link RecursiveAction} that computes the convolution modulo one of the
+   * primes in {@link #NTT_P} as a subtask of parallel NTT multiplication.
+   */
+  private static final class NttTask extends RecursiveAction {
+    private static final long serialVersionUID = -1853125452834616186L;
+
+    private final int[] x;
+    private final int xoff;
+    private final int xlen;
+    private final int[] y;
+    private final int yoff;
+    private final int ylen;
+    private final int[][] r;
+    private final int i;
+    private final int n;
+
+    private NttTask(final int[] x, final int xoff, final int xlen, final int[] y, final int yoff, final int ylen, final int[][] r, final int i, final int n) {
+      this.x = x;
+      this.xoff = xoff;
+      this.xlen = xlen;
+      this.y = y;
+      this.yoff = yoff;
+      this.ylen = ylen;
+      this.r = r;
+      this.i = i;
+      this.n = n;
+    }
+
+    @Override
+    protected void compute() {
+      nttConvolve(x, xoff, xlen, y, yoff, ylen, r, i, n);
+    }
+  }
+
+  /**
+   * Loads the magnitude mag[off..off+len) into {@code a}, reducing each limb
+   * modulo {@code p}, and zero-fills the rest of {@code a}.
+   */
+  private static void nttLoad(final int[] mag, final int off, final int len, final int[] a, final long p) {
+    for (int i = 0; i < len; ++i) {
+      long v = mag[off + i] & LONG_MASK;
+      if (v >= p && (v -= p) >= p)
+        v -= p;
+
+      a[i] = (int)v;
+    }
+
+    Arrays.fill(a, len, a.length, 0);
+  }
+
+  /**
+   * Computes the tables of the roots of unity (in Montgomery form) for the
+   * transforms of length {@code n}, whereby the roots of order {@code 2h} are
+   * at indices {@code [h, 2h)}.
+   */
+  private static void nttRoots(final int[] w, final int[] wi, final int n, final int i) {
+    final long p = NTT_P[i];
+    final int pn = NTT_PN[i];
+    final long one = toMont(1, i) & LONG_MASK;
+    for (int h = 1; h < n; h <<= 1) {
+      final long root = toMont(modPow(NTT_G[i], (p - 1) / (h << 1), p), i) & LONG_MASK;
+      final long rooti = toMont(modPow(NTT_G[i], p - 1 - (p - 1) / (h << 1), p), i) & LONG_MASK;
+      w[h] = wi[h] = (int)one;
+      for (int j = h + 1, end = h << 1; j < end; ++j) {
+        w[j] = mont(w[j - 1] & LONG_MASK, root, p, pn);
+        wi[j] = mont(wi[j - 1] & LONG_MASK, rooti, p, pn);
+      }
+    }
+  }
+
+  /**
+   * Decimation-in-frequency forward transform of {@code a}, from natural order
+   * to bit-reversed order.
+   */
+  private static void nttForward(final int[] a, final int n, final int[] w, final long p, final int pn) {
+    final int ip = (int)p;
+    for (int h = n >> 1; h > 0; h >>= 1) {
+      for (int s = 0; s < n; s += h << 1) {
+        for (int j = 0, k = s, l = s + h; j < h; ++j, ++k, ++l) {
+          final int u = a[k], v = a[l];
+          int t = u - (ip - v);
+          a[k] = t < 0 ? t + ip : t;
+          t = u - v;
+          a[l] = mont((t < 0 ? t + ip : t) & LONG_MASK, w[h + j] & LONG_MASK, p, pn);
+        }
+      }
+    }
+  }
+
+  /**
+   * Decimation-in-time inverse transform of {@code a}, from bit-reversed order
+   * to natural order. The result is not scaled by {@code n^-1}.
+   */
+  private static void nttInverse(final int[] a, final int n, final int[] wi, final long p, final int pn) {
+    final int ip = (int)p;
+    for (int h = 1; h < n; h <<= 1) {
+      for (int s = 0; s < n; s += h << 1) {
+        for (int j = 0, k = s, l = s + h; j < h; ++j, ++k, ++l) {
+          final int u = a[k], v = mont(a[l] & LONG_MASK, wi[h + j] & LONG_MASK, p, pn);
+          int t = u - (ip - v);
+          a[k] = t < 0 ? t + ip : t;
+          t = u - v;
+          a[l] = t < 0 ? t + ip : t;
+        }
+      }
+    }
+  }
+
+  /**
+   * Reconstructs the coefficients of the convolution from the residues in
+   * {@code r} with Garner's algorithm, and puts the sum of the coefficients
+   * with carry propagation in z[zoff..zoff+zlen).
+   */
+  private static void nttGarner(final int[][] r, final int[] z, final int zoff, final int zlen) {
+    final long p0 = NTT_P[0], p1 = NTT_P[1], p2 = NTT_P[2];
+    final int pn1 = NTT_PN[1], pn2 = NTT_PN[2];
+    final long p0p1l = NTT_P0P1 & LONG_MASK, p0p1h = NTT_P0P1 >>> 32;
+    final int[] r0 = r[0], r1 = r[1], r2 = r[2];
+    long carry = 0, v1, x, v2, lo, hi, m;
+    int t;
+    for (int i = 0, end = Math.min(zlen, r0.length); i < end; ++i) {
+      // x = r0 + p0 * ((r1 - r0) / p0 mod p1)
+      t = r1[i] - r0[i];
+      v1 = mont((t < 0 ? t + p1 : t), NTT_INV_P0_MOD_P1 & LONG_MASK, p1, pn1) & LONG_MASK;
+      x = r0[i] + p0 * v1;
+
+      // v2 = (r2 - x) / (p0 * p1) mod p2
+      t = r2[i] - r0[i];
+      if (t < 0)
+        t += p2;
+
+      t -= mont(NTT_P0_MOD_P2 & LONG_MASK, v1, p2, pn2);
+      v2 = mont((t < 0 ? t + p2 : t), NTT_INV_P0P1_MOD_P2 & LONG_MASK, p2, pn2) & LONG_MASK;
+
+      // coefficient = x + p0 * p1 * v2, added to the carry
+      lo = p0p1l * v2;
+      hi = p0p1h * v2;
+      m = (x & LONG_MASK) + (lo & LONG_MASK) + (carry & LONG_MASK);
+      z[zoff + i] = (int)m;
+      carry = (m >>> 32) + (x >>> 32) + (lo >>> 32) + (hi & LONG_MASK) + (carry >>> 32) + ((hi >>> 32) << 32);
+    }
+
+    for (int i = r0.length; i < zlen; ++i, carry >>>= 32)
+      z[zoff + i] = (int)carry;
+  }
+
+  private static void karatsuba(final int[] x, final int xoff, final int[] y, final int yoff, final int[] z, final int zoff, final int len, final int parallelDepth) {
+    final int zlen = len * 2;
+    if (len < NATIVE_THRESHOLD)
+      javaKaratsuba(x, xoff, y, yoff, z, zoff, zlen, 0, len, PARALLEL_KARATSUBA_THRESHOLD_X, PARALLEL_KARATSUBA_THRESHOLD_Z, parallelDepth);
+    else // The length of (z) is bounded to the product, because the native in-place scratch layout is not safe for the nested levels of a long scratch array
+      nativeKaratsuba(x, xoff, y, yoff, z, zoff, zlen, zoff + zlen, 0, len, parallelDepth > 0 ? PARALLEL_KARATSUBA_THRESHOLD_X : Integer.MAX_VALUE, PARALLEL_KARATSUBA_THRESHOLD_Z);
   }
 
   private static native void nativeKaratsuba(int[] x, int xoff, int[] y, int yoff, int[] z, int zoff, int zlen, int zlength, int off, int len, int parallelThreshold, int parallelThresholdZ);
@@ -820,9 +1824,10 @@ abstract class BigIntMultiplication extends BigIntAddition {
    * @param len The length of each of the two partial arrays.
    * @param parallelThreshold Threshold of {@code len} for parallel execution.
    * @param parallelThresholdZ Threshold of {@code zlen} for parallel execution.
+   * @param parallelDepth The remaining nesting depth of parallel execution.
    * @complexity O(n^1.585)
    */
-  private static void javaKaratsuba(final int[] x, final int xoff, final int[] y, final int yoff, final int[] z, final int zoff, final int zlen, final int off, final int len, final int parallelThreshold, final int parallelThresholdZ) {
+  private static void javaKaratsuba(final int[] x, final int xoff, final int[] y, final int yoff, final int[] z, final int zoff, final int zlen, final int off, final int len, final int parallelThreshold, final int parallelThresholdZ, final int parallelDepth) {
     int i, j, k, l, m;
 
     final int xoffoff = xoff + off, yoffoff = yoff + off;
@@ -850,14 +1855,15 @@ abstract class BigIntMultiplication extends BigIntAddition {
       }
     }
     else {
-      final boolean parallel = len > parallelThreshold && zlen > parallelThresholdZ;
+      final boolean parallel = parallelDepth > 0 && len > parallelThreshold && zlen > parallelThresholdZ;
       final int b = len >> 1, b2 = b * 2, ll = len * 2, l_b = len - b, l_b2 = l_b * 2;
       final int tmpoff, x2offl_b2, y2offl_b2;
       final int[] tmp;
 
       j = ll + l_b2 + 2; // length needed for (x2) computation
       k = j + l_b2 + 1;  // length needed for (y2) computation
-      if (!parallel && z.length >= (i = zoff + zlen) + k + 1) {
+      // The scratch follows the product, which is longer than (zlen) if the operands are padded to equal length
+      if (!parallel && z.length >= (i = zoff + Math.max(zlen, ll)) + k + 1) {
         tmpoff = i;
         x2offl_b2 = j + i;
         y2offl_b2 = k + i;
@@ -906,49 +1912,16 @@ abstract class BigIntMultiplication extends BigIntAddition {
 
       final int tmpoffrr = tmpoff + r * 2, tmpoffbb = tmpoff + b2, tmpoffrrbb = tmpoffrr + b2;
       if (!parallel) {
-        javaKaratsuba(tmp, x2offl_b2, tmp, y2offl_b1, tmp, tmpoff, tmplen, 0, r, Integer.MAX_VALUE, Integer.MAX_VALUE);
-        javaKaratsuba(x, xoff, y, yoff, tmp, tmpoffrr, tmplen, off, b, Integer.MAX_VALUE, Integer.MAX_VALUE);
-        javaKaratsuba(x, xoff, y, yoff, tmp, tmpoffrrbb, tmplen, off + b, l_b, Integer.MAX_VALUE, Integer.MAX_VALUE);
+        javaKaratsuba(tmp, x2offl_b2, tmp, y2offl_b1, tmp, tmpoff, tmplen, 0, r, Integer.MAX_VALUE, Integer.MAX_VALUE, 0);
+        javaKaratsuba(x, xoff, y, yoff, tmp, tmpoffrr, tmplen, off, b, Integer.MAX_VALUE, Integer.MAX_VALUE, 0);
+        javaKaratsuba(x, xoff, y, yoff, tmp, tmpoffrrbb, tmplen, off + b, l_b, Integer.MAX_VALUE, Integer.MAX_VALUE, 0);
       }
       else {
-        final Thread t1 = new Thread() {
-          @Override
-          public void run() {
-            // System.err.print(".");
-            javaKaratsuba(tmp, x2offl_b2, tmp, y2offl_b1, tmp, tmpoff, tmplen, 0, r, parallelThreshold * 2, parallelThresholdZ * 2);
-          }
-        };
-
-        final Thread t2 = new Thread() {
-          @Override
-          public void run() {
-            javaKaratsuba(x, xoff, y, yoff, tmp, tmpoffrr, tmplen, off, b, parallelThreshold * 2, parallelThresholdZ * 2);
-          }
-        };
-
-        final Thread t3 = new Thread() {
-          @Override
-          public void run() {
-            javaKaratsuba(x, xoff, y, yoff, tmp, tmpoffrrbb, tmplen, off + b, l_b, parallelThreshold * 2, parallelThresholdZ * 2);
-          }
-        };
-
-        t1.setDaemon(true);
-        t2.setDaemon(true);
-        t3.setDaemon(true);
-
-        t1.start();
-        t2.start();
-        t3.start();
-
-        try {
-          t1.join();
-          t2.join();
-          t3.join();
-        }
-        catch (final InterruptedException e) {
-          throw new RuntimeException(e);
-        }
+        final int threshold = parallelThreshold * 2, thresholdZ = parallelThresholdZ * 2, depth = parallelDepth - 1;
+        final KaratsubaTask t1 = new KaratsubaTask(tmp, x2offl_b2, tmp, y2offl_b1, tmp, tmpoff, tmplen, 0, r, threshold, thresholdZ, depth);
+        final KaratsubaTask t2 = new KaratsubaTask(x, xoff, y, yoff, tmp, tmpoffrr, tmplen, off, b, threshold, thresholdZ, depth);
+        final KaratsubaTask t3 = new KaratsubaTask(x, xoff, y, yoff, tmp, tmpoffrrbb, tmplen, off + b, l_b, threshold, thresholdZ, depth);
+        invokeAll(t1, t2, t3);
       }
 
       System.arraycopy(tmp, tmpoffrr, z, zoff, ll);
@@ -975,9 +1948,154 @@ abstract class BigIntMultiplication extends BigIntAddition {
     }
   }
 
+  /**
+   * Executes the provided tasks, and returns when all have completed. If the
+   * calling thread is a worker of the {@linkplain #getParallelPool() parallel
+   * pool}, the tasks are forked in the pool. Otherwise, including if the
+   * calling thread is a worker of another {@link ForkJoinPool}, all but the
+   * first task are submitted to the {@linkplain #getParallelPool() parallel
+   * pool}, and the first task is computed in the calling thread while the
+   * others execute.
+   *
+   * @param tasks The tasks to execute.
+   */
+  static void invokeAll(final RecursiveAction ... tasks) {
+    final ForkJoinPool pool = parallelPool;
+    if (ForkJoinTask.getPool() == pool) {
+      ForkJoinTask.invokeAll(tasks);
+      return;
+    }
+
+    ParallelCalibration.ensure();
+
+    for (int i = 1; i < tasks.length; ++i)
+      pool.execute(tasks[i]);
+
+    tasks[0].invoke();
+    for (int i = 1; i < tasks.length; ++i)
+      tasks[i].join();
+  }
+
+  /**
+   * A {@link RecursiveAction} that executes
+   * {@link #mulMag(int[],int,int,int[],int,int,int[],int,int[],int,int)} with
+   * its own copy of the operands and its own scratch array as a subtask of
+   * parallel Toom-Cook 3-way multiplication.
+   */
+  private static final class MulTask extends RecursiveAction {
+    private static final long serialVersionUID = 6023167437437591224L;
+
+    private final int[] x;
+    private final int xoff;
+    private final int xlen;
+    private final int[] y;
+    private final int yoff;
+    private final int ylen;
+    private final int[] z;
+    private final int zoff;
+    private final int parallelDepth;
+
+    private MulTask(final int[] x, final int xoff, final int xlen, final int[] y, final int yoff, final int ylen, final int[] z, final int zoff, final int parallelDepth) {
+      this.x = x;
+      this.xoff = xoff;
+      this.xlen = xlen;
+      this.y = y;
+      this.yoff = yoff;
+      this.ylen = ylen;
+      this.z = z;
+      this.zoff = zoff;
+      this.parallelDepth = parallelDepth;
+    }
+
+    @Override
+    protected void compute() {
+      // The thread-local scratch array cannot be used, because the executing
+      // thread may be computing another product with it while joining. The
+      // operands are copied into the task's own scratch array, because the
+      // native implementation must not read from arrays that are concurrently
+      // written by sibling tasks.
+      final int[] t = new int[xlen + ylen + toom3ScratchLen(xlen, ylen)];
+      System.arraycopy(x, xoff, t, 0, xlen);
+      if (x == y && xoff == yoff) {
+        mulMag(t, 0, xlen, t, 0, ylen, z, zoff, t, xlen, parallelDepth);
+      }
+      else {
+        System.arraycopy(y, yoff, t, xlen, ylen);
+        mulMag(t, 0, xlen, t, xlen, ylen, z, zoff, t, xlen + ylen, parallelDepth);
+      }
+    }
+  }
+
+  /**
+   * A {@link RecursiveAction} that executes
+   * {@link #javaKaratsuba(int[],int,int[],int,int[],int,int,int,int,int,int,int)}
+   * as a subtask of the Parallel Karatsuba algorithm.
+   */
+  private static final class KaratsubaTask extends RecursiveAction {
+    private static final long serialVersionUID = -2398316591384224127L;
+
+    private final int[] x;
+    private final int xoff;
+    private final int[] y;
+    private final int yoff;
+    private final int[] z;
+    private final int zoff;
+    private final int zlen;
+    private final int off;
+    private final int len;
+    private final int parallelThreshold;
+    private final int parallelThresholdZ;
+    private final int parallelDepth;
+
+    private KaratsubaTask(final int[] x, final int xoff, final int[] y, final int yoff, final int[] z, final int zoff, final int zlen, final int off, final int len, final int parallelThreshold, final int parallelThresholdZ, final int parallelDepth) {
+      this.x = x;
+      this.xoff = xoff;
+      this.y = y;
+      this.yoff = yoff;
+      this.z = z;
+      this.zoff = zoff;
+      this.zlen = zlen;
+      this.off = off;
+      this.len = len;
+      this.parallelThreshold = parallelThreshold;
+      this.parallelThresholdZ = parallelThresholdZ;
+      this.parallelDepth = parallelDepth;
+    }
+
+    @Override
+    protected void compute() {
+      javaKaratsuba(x, xoff, y, yoff, z, zoff, zlen, off, len, parallelThreshold, parallelThresholdZ, parallelDepth);
+    }
+  }
+
+  /**
+   * Returns whether a magnitude of the provided length is to be squared with
+   * NTT multiplication, which is the case if the length is not less than
+   * {@link #NTT_SQUARE_THRESHOLD}, and the product fills more than 2/3 of the
+   * power-of-2 length of the transform.
+   *
+   * @param len The number of limbs of the magnitude.
+   * @return Whether a magnitude of the provided length is to be squared with
+   *         NTT multiplication.
+   */
+  static boolean isNttSquare(final int len) {
+    final int plen = len * 2;
+    if (len < NTT_SQUARE_THRESHOLD || plen > NTT_MAX_LEN)
+      return false;
+
+    final int n = Integer.highestOneBit(plen - 1) << (Integer.bitCount(plen - 1) == 1 ? 0 : 1);
+    return plen * 3L > n * 2L;
+  }
+
   static int[] square(final int[] x, final int len) {
-    final int[] z;
     int zlen = len * 2;
+    if (isNttSquare(len))
+      return ntt(x, len, x, len, zlen, true);
+
+    if (len >= TOOM3_SQUARE_THRESHOLD)
+      return mulMag(x, len, x, len, zlen, true);
+
+    final int[] z;
     if (len < KARATSUBA_SQUARE_THRESHOLD) {
       final int xoff;
       if (x.length >= len + zlen + OFF) {
@@ -1001,17 +2119,17 @@ abstract class BigIntMultiplication extends BigIntAddition {
         z = x;
 
         if (len < NATIVE_THRESHOLD)
-          javaSquareKaratsuba(x, len, x, fullLen, true, PARALLEL_KARATSUBA_THRESHOLD_X, PARALLEL_KARATSUBA_THRESHOLD_Z);
+          javaSquareKaratsuba(x, len, x, fullLen, true, PARALLEL_KARATSUBA_THRESHOLD_X, PARALLEL_KARATSUBA_THRESHOLD_Z, PARALLEL_KARATSUBA_MAX_DEPTH);
         else
-          nativeSquareKaratsuba(x, len, x, fullLen, x.length, true, PARALLEL_KARATSUBA_THRESHOLD_X, PARALLEL_KARATSUBA_THRESHOLD_Z);
+          nativeSquareKaratsuba(x, len, x, fullLen, x.length, true, parallelThresholdX(), PARALLEL_KARATSUBA_THRESHOLD_Z);
       }
       else {
         z = alloc(OFF + zlen * 2); // (OFF + zlen) is all that's needed, but increase to potentially reuse the original array
         // z = alloc((OFF + zlen) * ((int)(1 + 10 * Math.random()))); // FIXME: Remove this!
         if (len < NATIVE_THRESHOLD)
-          javaSquareKaratsuba(x, len, z, zlen, false, PARALLEL_KARATSUBA_THRESHOLD_X, PARALLEL_KARATSUBA_THRESHOLD_Z);
+          javaSquareKaratsuba(x, len, z, zlen, false, PARALLEL_KARATSUBA_THRESHOLD_X, PARALLEL_KARATSUBA_THRESHOLD_Z, PARALLEL_KARATSUBA_MAX_DEPTH);
         else
-          nativeSquareKaratsuba(x, len, z, zlen, z.length, false, PARALLEL_KARATSUBA_THRESHOLD_X, PARALLEL_KARATSUBA_THRESHOLD_Z);
+          nativeSquareKaratsuba(x, len, z, zlen, z.length, false, parallelThresholdX(), PARALLEL_KARATSUBA_THRESHOLD_Z);
       }
     }
 
@@ -1024,7 +2142,7 @@ abstract class BigIntMultiplication extends BigIntAddition {
 
   private static native void nativeSquareKaratsuba(int[] x, int len, int[] z, int zlen, int zlength, boolean yCopy, int parallelThreshold, int parallelThresholdZ);
 
-  private static void javaSquareKaratsuba(final int[] x, final int len, final int[] z, final int zlen, final boolean yCopy, final int parallelThreshold, final int parallelThresholdZ) {
+  private static void javaSquareKaratsuba(final int[] x, final int len, final int[] z, final int zlen, final boolean yCopy, final int parallelThreshold, final int parallelThresholdZ, final int parallelDepth) {
     final int[] y;
     if (yCopy) {
       // "In place" computation for (mag) requires a copy for (y), otherwise
@@ -1036,7 +2154,7 @@ abstract class BigIntMultiplication extends BigIntAddition {
       y = x;
     }
 
-    javaKaratsuba(x, OFF, y, OFF, z, OFF, zlen, 0, len, parallelThreshold, parallelThresholdZ);
+    javaKaratsuba(x, OFF, y, OFF, z, OFF, zlen, 0, len, parallelThreshold, parallelThresholdZ, parallelDepth);
   }
 
   private static native void nativeSquareQuad(int[] x, int xoff, int xlen, int[] z, int zoff, int zlen);
@@ -1070,6 +2188,15 @@ abstract class BigIntMultiplication extends BigIntAddition {
     // _debugLenSig(z);
   }
 
+  // shifts a from start to end right n bits, 0<n<32
+  private static void primitiveRightShift(final int[] a, int start, final int end, final int n) {
+    final int n2 = 32 - n;
+    for (final int last = end - 1; start < last; ++start)
+      a[start] = (a[start] >>> n) | (a[start + 1] << n2);
+
+    a[start] >>>= n;
+  }
+
   // shifts a up to len left n bits assumes no leading zeros, 0<=n<32
   private static void primitiveLeftShift(final int[] a, final int start, int end, final int n) {
 //    if (end <= start || n == 0)
@@ -1285,4 +2412,206 @@ abstract class BigIntMultiplication extends BigIntAddition {
 
     return diff;
   }
+
+  static {
+    if (BigIntThresholds.isCalibrating("KARATSUBA_THRESHOLD_X", "KARATSUBA_THRESHOLD_Z", "TOOM3_THRESHOLD_X", "TOOM3_THRESHOLD_Z", "NTT_THRESHOLD_X", "NTT_THRESHOLD_Z", "KARATSUBA_SQUARE_THRESHOLD", "TOOM3_SQUARE_THRESHOLD", "NTT_SQUARE_THRESHOLD"))
+      calibrate();
+    else
+      checkThresholds();
+  }
+
+  /**
+   * The lazy holder of the calibration of the Parallel Karatsuba threshold,
+   * which is initialized by {@link #invokeAll(RecursiveAction...)} upon the
+   * first parallel execution from a thread that is not a worker of the
+   * {@linkplain #getParallelPool() parallel pool}. The calibration cannot be
+   * performed during the initialization of {@link BigIntMultiplication},
+   * because the tasks of parallel execution call its static methods, and the
+   * workers that execute them would wait for the initialization that waits
+   * for them. Threads that execute in parallel while the calibration is
+   * performed wait for it to complete.
+   */
+  private static final class ParallelCalibration {
+    static {
+      if (BigIntThresholds.isCalibrating("PARALLEL_KARATSUBA_THRESHOLD_X", "PARALLEL_KARATSUBA_THRESHOLD_Z"))
+        calibrateParallel();
+    }
+
+    /**
+     * Performs the calibration upon the first call, and is a no-op thereafter.
+     */
+    static void ensure() {
+    }
+  }
+
+  /**
+   * Ensures that the thresholds, which may have been read from a profile,
+   * satisfy the constraints of the algorithms.
+   */
+  static void checkThresholds() {
+    // Values lower than 30 result in errors for in-place execution of the Karatsuba algorithm
+    KARATSUBA_THRESHOLD_X = Math.max(KARATSUBA_THRESHOLD_X, 32);
+    KARATSUBA_THRESHOLD_Z = Math.max(KARATSUBA_THRESHOLD_Z, 32);
+    KARATSUBA_SQUARE_THRESHOLD = Math.max(KARATSUBA_SQUARE_THRESHOLD, 32);
+    // The sub-products of the Toom-Cook 3-way algorithm must be shorter than its operands, and the tiers of
+    // multiplication must be in order, otherwise the in-place Karatsuba algorithm is reached with shorter operands
+    TOOM3_THRESHOLD_X = Math.max(TOOM3_THRESHOLD_X, KARATSUBA_THRESHOLD_X);
+    TOOM3_THRESHOLD_Z = Math.max(TOOM3_THRESHOLD_Z, KARATSUBA_THRESHOLD_Z);
+    NTT_THRESHOLD_X = Math.max(NTT_THRESHOLD_X, TOOM3_THRESHOLD_X);
+    NTT_THRESHOLD_Z = Math.max(NTT_THRESHOLD_Z, TOOM3_THRESHOLD_Z);
+    // toom3ScratchLen(int,int) assumes that a square of TOOM3_THRESHOLD_X is computed with Toom-Cook 3-way squaring
+    TOOM3_SQUARE_THRESHOLD = Math.max(32, Math.min(TOOM3_SQUARE_THRESHOLD, TOOM3_THRESHOLD_X));
+    // The tiers of squaring must be in order, otherwise Karatsuba squaring is never reached
+    KARATSUBA_SQUARE_THRESHOLD = Math.min(KARATSUBA_SQUARE_THRESHOLD, TOOM3_SQUARE_THRESHOLD);
+    NTT_SQUARE_THRESHOLD = Math.max(NTT_SQUARE_THRESHOLD, TOOM3_SQUARE_THRESHOLD);
+  }
+
+  /**
+   * A {@link BigIntThresholds.Trial} that multiplies or squares random
+   * magnitudes with {@link #mul(int[],int[])} or {@link #square(int[],int)}.
+   */
+  private abstract static class Trial extends BigIntThresholds.Trial {
+    private final int[] limbs;
+    private final boolean square;
+
+    private Trial(final int[] limbs, final boolean square) {
+      this.limbs = limbs;
+      this.square = square;
+    }
+
+    private int[] val(final int off, final int len) {
+      final int[] val = new int[OFF + len];
+      val[0] = len;
+      System.arraycopy(limbs, off, val, OFF, len);
+      return val;
+    }
+
+    @Override
+    final void run(final int len) {
+      if (square)
+        square(val(0, len), len);
+      else
+        mul(val(0, len), val(len, len));
+    }
+  }
+
+  /**
+   * Returns the random limbs of the operands of the {@link Trial}s of the
+   * calibration.
+   */
+  private static int[] calibrationLimbs(final int len) {
+    final int[] limbs = new int[len];
+    final Random random = new Random(0);
+    for (int i = 0; i < limbs.length; ++i)
+      limbs[i] = random.nextInt();
+
+    return limbs;
+  }
+
+  /**
+   * Measures the crossover points of the sequential multiplication and
+   * squaring algorithms on the host CPU, sets the thresholds accordingly, and
+   * saves them to the profile. The tiers are calibrated from the lowest to the
+   * highest, so that each tier is compared against the calibrated tier below
+   * it. This method is called during the initialization of this class, and
+   * therefore disables parallel execution while it measures, such that no
+   * task leaves the initializing thread. The Parallel Karatsuba threshold is
+   * calibrated later by {@link ParallelCalibration}.
+   */
+  private static void calibrate() {
+    final int max = 32768;
+    final int[] limbs = calibrationLimbs(max * 2);
+    final int parallelDepth = PARALLEL_KARATSUBA_MAX_DEPTH;
+    PARALLEL_KARATSUBA_MAX_DEPTH = 0;
+    try {
+      TOOM3_THRESHOLD_X = TOOM3_THRESHOLD_Z = NTT_THRESHOLD_X = NTT_THRESHOLD_Z = Integer.MAX_VALUE;
+      KARATSUBA_THRESHOLD_X = BigIntThresholds.crossover(new Trial(limbs, false) {
+        @Override
+        void configure(final int len, final boolean enabled) {
+          KARATSUBA_THRESHOLD_X = enabled ? len : len + 1;
+          KARATSUBA_THRESHOLD_Z = KARATSUBA_THRESHOLD_X * 2;
+        }
+      }, 32, 512);
+      KARATSUBA_THRESHOLD_Z = KARATSUBA_THRESHOLD_X * 2;
+
+      TOOM3_THRESHOLD_X = BigIntThresholds.crossover(new Trial(limbs, false) {
+        @Override
+        void configure(final int len, final boolean enabled) {
+          TOOM3_THRESHOLD_X = enabled ? len : len + 1;
+          TOOM3_THRESHOLD_Z = TOOM3_THRESHOLD_X * 2;
+        }
+      }, Math.max(64, KARATSUBA_THRESHOLD_X), 4096);
+      TOOM3_THRESHOLD_Z = TOOM3_THRESHOLD_X * 2;
+
+      NTT_THRESHOLD_X = BigIntThresholds.crossover(new Trial(limbs, false) {
+        @Override
+        void configure(final int len, final boolean enabled) {
+          NTT_THRESHOLD_X = enabled ? len : len + 1;
+          NTT_THRESHOLD_Z = NTT_THRESHOLD_X * 2;
+        }
+      }, Math.max(1024, TOOM3_THRESHOLD_X), max);
+      NTT_THRESHOLD_Z = NTT_THRESHOLD_X * 2;
+
+      TOOM3_SQUARE_THRESHOLD = NTT_SQUARE_THRESHOLD = Integer.MAX_VALUE;
+      KARATSUBA_SQUARE_THRESHOLD = BigIntThresholds.crossover(new Trial(limbs, true) {
+        @Override
+        void configure(final int len, final boolean enabled) {
+          KARATSUBA_SQUARE_THRESHOLD = enabled ? len : len + 1;
+        }
+      }, 32, 1024);
+
+      TOOM3_SQUARE_THRESHOLD = Math.min(TOOM3_THRESHOLD_X, BigIntThresholds.crossover(new Trial(limbs, true) {
+        @Override
+        void configure(final int len, final boolean enabled) {
+          TOOM3_SQUARE_THRESHOLD = enabled ? len : len + 1;
+        }
+      }, 64, 4096));
+
+      NTT_SQUARE_THRESHOLD = BigIntThresholds.crossover(new Trial(limbs, true) {
+        @Override
+        void configure(final int len, final boolean enabled) {
+          NTT_SQUARE_THRESHOLD = enabled ? len : len + 1;
+        }
+      }, Math.max(1024, TOOM3_SQUARE_THRESHOLD), max);
+
+      checkThresholds();
+    }
+    finally {
+      PARALLEL_KARATSUBA_MAX_DEPTH = parallelDepth;
+    }
+
+    BigIntThresholds.put("KARATSUBA_THRESHOLD_X", KARATSUBA_THRESHOLD_X);
+    BigIntThresholds.put("KARATSUBA_THRESHOLD_Z", KARATSUBA_THRESHOLD_Z);
+    BigIntThresholds.put("TOOM3_THRESHOLD_X", TOOM3_THRESHOLD_X);
+    BigIntThresholds.put("TOOM3_THRESHOLD_Z", TOOM3_THRESHOLD_Z);
+    BigIntThresholds.put("NTT_THRESHOLD_X", NTT_THRESHOLD_X);
+    BigIntThresholds.put("NTT_THRESHOLD_Z", NTT_THRESHOLD_Z);
+    BigIntThresholds.put("KARATSUBA_SQUARE_THRESHOLD", KARATSUBA_SQUARE_THRESHOLD);
+    BigIntThresholds.put("TOOM3_SQUARE_THRESHOLD", TOOM3_SQUARE_THRESHOLD);
+    BigIntThresholds.put("NTT_SQUARE_THRESHOLD", NTT_SQUARE_THRESHOLD);
+    BigIntThresholds.save();
+  }
+
+  /**
+   * Measures the crossover point of the Parallel Karatsuba algorithm on the
+   * host CPU, sets {@link #PARALLEL_KARATSUBA_THRESHOLD_Z} accordingly, and
+   * saves it to the profile, if more than one processor is available to the
+   * {@link #parallelPool}. This method must not be called during the
+   * initialization of this class (see {@link ParallelCalibration}).
+   */
+  private static void calibrateParallel() {
+    if (PARALLEL_KARATSUBA_MAX_DEPTH > 0 && parallelPool.getParallelism() > 1 && Runtime.getRuntime().availableProcessors() > 1) {
+      final int parallelX = PARALLEL_KARATSUBA_THRESHOLD_X;
+      PARALLEL_KARATSUBA_THRESHOLD_Z = BigIntThresholds.crossover(new Trial(calibrationLimbs(16384 * 2), false) {
+        @Override
+        void configure(final int len, final boolean enabled) {
+          PARALLEL_KARATSUBA_THRESHOLD_Z = enabled ? len * 2 : Integer.MAX_VALUE;
+        }
+      }, Math.max(512, parallelX), 16384) * 2;
+    }
+
+    BigIntThresholds.put("PARALLEL_KARATSUBA_THRESHOLD_X", PARALLEL_KARATSUBA_THRESHOLD_X);
+    BigIntThresholds.put("PARALLEL_KARATSUBA_THRESHOLD_Z", PARALLEL_KARATSUBA_THRESHOLD_Z);
+    BigIntThresholds.save();
+  }
 }
\ No newline at end of file
@@ -0,0 +1,378 @@
+/* Copyright (c) 2020 Seva Safris, LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.math;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An opt-in pool of the {@code int[]} arrays of
+ * {@linkplain BigInt#val() value-encoded numbers}, which is enabled with the
+ * system property {@code -Dorg.libj.math.pool=true}.
+ * <p>
+ * When the pool is enabled, the arrays that are allocated for the growth of
+ * {@linkplain BigInt#val() value-encoded numbers} are drawn from the pool, and
+ * the arrays of numbers that are no longer used are to be returned to the pool
+ * explicitly with {@link BigInt#release()} or {@link #release(int[])}, or with
+ * the close of a {@link Scope}:
+ *
+ * <pre>
+ * try (final BigIntPool.Scope scope = BigIntPool.scope()) {
+ *   final BigInt t = scope.track(new BigInt(a)).mul(b);
+ *   ...
+ * }
+ * </pre>
+ *
+ * When the pool is enabled, the array that a {@link BigInt} supersedes with
+ * a larger array in an operation is also returned to the pool. An array that
+ * is obtained with {@link BigInt#val()} is therefore valid only until the next
+ * operation on the {@link BigInt}, and an array that is provided to
+ * {@link BigInt#BigInt(int[])} is owned by the {@link BigInt}.
+ * <p>
+ * The arrays are pooled in size classes of powers of two, from
+ * {@code 2^5} to {@code 2^16} ints. Each thread holds a magazine of each size
+ * class, from which it draws and to which it returns arrays without
+ * synchronization. A magazine holds up to {@code 16} arrays, and up to
+ * {@code 256} KiB, so that a magazine of the largest size class holds a single
+ * array. A thread of which a magazine is empty refills it with a full magazine
+ * from a lock-free depot that is shared among the threads, and a thread of
+ * which a magazine is full hands it off to the depot. The depot holds up to
+ * {@code 16} full magazines of each size class, which bounds the arrays
+ * retained by the pool to {@code 4} MiB per size class in the depot, and to
+ * {@code 256} KiB per size class per thread. Arrays of other lengths, and
+ * arrays that exceed the capacity of the depot, are left to the garbage
+ * collector.
+ * <p>
+ * When the pool is disabled, the arrays are allocated with {@code new int[]},
+ * and the release of arrays has no effect.
+ * <p>
+ * <i><b>Note:</b> An array that is returned to the pool must not be referenced
+ * anywhere else, because it is handed out to the next allocation of its size
+ * class.</i>
+ */
+public final class BigIntPool {
+  private static final boolean enabled = Boolean.getBoolean("org.libj.math.pool");
+
+  /** The base 2 logarithm of the length of the smallest pooled array. */
+  static final int MIN_CLASS = 5;
+
+  /** The base 2 logarithm of the length of the largest pooled array. */
+  static final int MAX_CLASS = 16;
+
+  /** The maximum number of arrays of a magazine. */
+  static final int MAGAZINE_SIZE = 16;
+
+  /** The maximum number of bytes of the arrays of a magazine. */
+  static final int MAGAZINE_BYTES = 1 << 18;
+
+  /** The number of full magazines of each size class in the depot. */
+  static final int DEPOT_SIZE = 16;
+
+  static final BigIntPool pool = new BigIntPool();
+
+  /**
+   * A try-with-resources scope that returns the arrays of the numbers that are
+   * tracked with it to the pool upon {@link #close()}.
+   */
+  public static final class Scope implements AutoCloseable {
+    private final ArrayList<Object> tracked = new ArrayList<>();
+
+    private Scope() {
+    }
+
+    /**
+     * Tracks the provided {@link BigInt} with this {@link Scope}, of which the
+     * array is released upon {@link #close()}.
+     *
+     * @param b The {@link BigInt} to track.
+     * @return The provided {@link BigInt}.
+     */
+    public BigInt track(final BigInt b) {
+      tracked.add(b);
+      return b;
+    }
+
+    /**
+     * Tracks the provided {@linkplain BigInt#val() value-encoded number} with
+     * this {@link Scope}, which is released upon {@link #close()}.
+     *
+     * @param val The {@linkplain BigInt#val() value-encoded number} to track.
+     * @return The provided {@linkplain BigInt#val() value-encoded number}.
+     */
+    public int[] track(final int[] val) {
+      tracked.add(val);
+      return val;
+    }
+
+    /**
+     * Releases the arrays of all numbers tracked with this {@link Scope} to
+     * the pool.
+     */
+    @Override
+    public void close() {
+      for (int i = tracked.size() - 1; i >= 0; --i) {
+        final Object o = tracked.get(i);
+        if (o instanceof BigInt)
+          ((BigInt)o).release();
+        else
+          release((int[])o);
+      }
+
+      tracked.clear();
+    }
+  }
+
+  /**
+   * Returns the number of arrays of a magazine of the provided size class,
+   * which is {@link #MAGAZINE_SIZE}, or fewer if the arrays would exceed
+   * {@link #MAGAZINE_BYTES}.
+   *
+   * @param c The size class.
+   * @return The number of arrays of a magazine of the provided size class.
+   */
+  static int capacity(final int c) {
+    return Math.max(1, Math.min(MAGAZINE_SIZE, MAGAZINE_BYTES >> c + 2));
+  }
+
+  /** The arrays of one size class held by one thread. */
+  private static final class Magazine {
+    private int[][] arrays;
+    private int size;
+
+    private Magazine(final int capacity) {
+      this.arrays = new int[capacity][];
+    }
+  }
+
+  /** A node of the lock-free stack of full magazines of one size class. */
+  private static final class Node {
+    private final int[][] arrays;
+    private final Node next;
+
+    private Node(final int[][] arrays, final Node next) {
+      this.arrays = arrays;
+      this.next = next;
+    }
+  }
+
+  /** The lock-free stack of full magazines of one size class. */
+  private static final class Depot {
+    private final AtomicReference<Node> head = new AtomicReference<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    private int[][] pop() {
+      for (Node node; (node = head.get()) != null;) {
+        if (head.compareAndSet(node, node.next)) {
+          size.decrementAndGet();
+          return node.arrays;
+        }
+      }
+
+      return null;
+    }
+
+    private boolean push(final int[][] arrays) {
+      if (size.incrementAndGet() > DEPOT_SIZE) {
+        size.decrementAndGet();
+        return false;
+      }
+
+      for (Node node; !head.compareAndSet(node = head.get(), new Node(arrays, node)););
+      return true;
+    }
+  }
+
+  private final ThreadLocal<Magazine[]> magazines = new ThreadLocal<Magazine[]>() {
+    @Override
+    protected Magazine[] initialValue() {
+      final Magazine[] magazines = new Magazine[MAX_CLASS + 1];
+      for (int i = MIN_CLASS; i <= MAX_CLASS; ++i)
+        magazines[i] = new Magazine(capacity(i));
+
+      return magazines;
+    }
+  };
+
+  private final Depot[] depots = new Depot[MAX_CLASS + 1];
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder releases = new LongAdder();
+  private final LongAdder drops = new LongAdder();
+
+  BigIntPool() {
+    for (int i = MIN_CLASS; i <= MAX_CLASS; ++i)
+      depots[i] = new Depot();
+  }
+
+  /**
+   * Returns whether the pool is enabled with the system property
+   * {@code -Dorg.libj.math.pool=true}.
+   *
+   * @return Whether the pool is enabled.
+   */
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Returns a new {@link Scope} that releases the arrays of the numbers that
+   * are tracked with it upon {@link Scope#close()}.
+   *
+   * @return A new {@link Scope}.
+   */
+  public static Scope scope() {
+    return new Scope();
+  }
+
+  /**
+   * Returns the provided {@linkplain BigInt#val() value-encoded number} to the
+   * pool, if the pool is enabled.
+   *
+   * @param val The {@linkplain BigInt#val() value-encoded number} to release,
+   *          which must not be referenced anywhere else.
+   */
+  public static void release(final int[] val) {
+    if (enabled)
+      pool.give(val);
+  }
+
+  /**
+   * Returns the number of allocations that were served from the pool.
+   *
+   * @return The number of allocations that were served from the pool.
+   */
+  public static long getHits() {
+    return pool.hits();
+  }
+
+  /**
+   * Returns the number of allocations while the pool is enabled that were
+   * served with {@code new int[]}.
+   *
+   * @return The number of allocations that were served with
+   *         {@code new int[]}.
+   */
+  public static long getMisses() {
+    return pool.misses();
+  }
+
+  /**
+   * Returns the number of arrays that were returned to the pool.
+   *
+   * @return The number of arrays that were returned to the pool.
+   */
+  public static long getReleases() {
+    return pool.releases();
+  }
+
+  /**
+   * Returns the number of released arrays that were left to the garbage
+   * collector, because their length is not of a size class, or because the
+   * depot was full.
+   *
+   * @return The number of released arrays that were left to the garbage
+   *         collector.
+   */
+  public static long getDrops() {
+    return pool.drops();
+  }
+
+  /**
+   * Returns an array of this pool with length that is at least {@code len},
+   * the elements of which are zero from index {@code from}. An array that is
+   * drawn from the pool is zeroed from index {@code from}, and an array that is
+   * allocated with {@code new int[]} is zero already.
+   *
+   * @param len The minimal length of the returned array.
+   * @param from The index from which the elements of the returned array are
+   *          zero.
+   * @return An array with length that is at least {@code len}, the elements of
+   *         which are zero from index {@code from}.
+   */
+  int[] get(final int len, final int from) {
+    if (len > 1 << MAX_CLASS) {
+      misses.increment();
+      return new int[len];
+    }
+
+    final int c = Math.max(MIN_CLASS, 32 - Integer.numberOfLeadingZeros(len - 1));
+    final Magazine magazine = magazines.get()[c];
+    if (magazine.size == 0) {
+      final int[][] arrays = depots[c].pop();
+      if (arrays == null) {
+        misses.increment();
+        return new int[1 << c];
+      }
+
+      magazine.arrays = arrays;
+      magazine.size = arrays.length;
+    }
+
+    hits.increment();
+    final int[] array = magazine.arrays[--magazine.size];
+    magazine.arrays[magazine.size] = null;
+    Arrays.fill(array, from, array.length, 0);
+    return array;
+  }
+
+  /**
+   * Returns the provided array to this pool, if its length is of a size class.
+   *
+   * @param array The array to return to this pool.
+   */
+  void give(final int[] array) {
+    final int len = array.length;
+    if (len < 1 << MIN_CLASS || len > 1 << MAX_CLASS || (len & len - 1) != 0) {
+      drops.increment();
+      return;
+    }
+
+    final int c = Integer.numberOfTrailingZeros(len);
+    final Magazine magazine = magazines.get()[c];
+    if (magazine.size == magazine.arrays.length) {
+      if (!depots[c].push(magazine.arrays)) {
+        drops.increment();
+        return;
+      }
+
+      magazine.arrays = new int[magazine.arrays.length][];
+      magazine.size = 0;
+    }
+
+    releases.increment();
+    magazine.arrays[magazine.size++] = array;
+  }
+
+  long hits() {
+    return hits.sum();
+  }
+
+  long misses() {
+    return misses.sum();
+  }
+
+  long releases() {
+    return releases.sum();
+  }
+
+  long drops() {
+    return drops.sum();
+  }
+}
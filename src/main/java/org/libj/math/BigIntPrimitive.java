@@ -338,4 +338,22 @@ abstract class BigIntPrimitive extends BigIntBinary {
   public static int[] valueOf(final String s) {
     return assign(emptyVal, s);
   }
+
+  /**
+   * Returns a new {@linkplain BigInt#val() value-encoded number} with the
+   * provided magnitude as a {@link CharSequence} of the given radix.
+   *
+   * @param s The magnitude.
+   * @param radix The radix of the magnitude.
+   * @return A new {@linkplain BigInt#val() value-encoded number} with the
+   *         magnitude as a {@link CharSequence} of the given radix.
+   * @throws NumberFormatException If {@code s} is not a valid representation
+   *           of a number in the given radix, or if {@code radix} is outside
+   *           the range from {@link Character#MIN_RADIX} to
+   *           {@link Character#MAX_RADIX}.
+   * @complexity O(n) - O(M(n) log n)
+   */
+  public static int[] valueOf(final CharSequence s, final int radix) {
+    return assign(emptyVal, s, radix);
+  }
 }
\ No newline at end of file
@@ -0,0 +1,360 @@
+/* Copyright (c) 2020 Seva Safris, LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.math;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Properties;
+
+/**
+ * Provides the values of the thresholds at which {@link BigInt} switches
+ * between algorithms. By default, the thresholds are the values that are
+ * built into the classes that declare them. The thresholds can instead be
+ * calibrated to the host CPU, which is enabled with the system property:
+ *
+ * <pre>
+ * -Dorg.libj.math.calibrate=true
+ * </pre>
+ *
+ * With calibration enabled, the thresholds are read from the profile file of
+ * the host. If the profile file does not exist, or was written on a different
+ * host (CPU model, number of processors, JVM version, or JNI mode), the
+ * crossover points of the algorithms are measured with micro-benchmarks upon
+ * the first use of {@link BigInt}, and are written to the profile file. The
+ * micro-benchmarks that are run during class initialization execute
+ * sequentially in the initializing thread, and the crossover point of
+ * parallel multiplication is measured upon the first parallel execution. The
+ * value {@code force} performs the measurement regardless of the profile file.
+ * <p>
+ * The profile file is
+ * <code>${user.home}/.libj/math/thresholds-<i>mode</i>.properties</code>, where
+ * <code><i>mode</i></code> is {@code java}, {@code native} or {@code critical},
+ * and can be changed with the system property:
+ *
+ * <pre>
+ * -Dorg.libj.math.thresholds=/path/to/thresholds.properties
+ * </pre>
+ *
+ * If this property is set, the profile file is read even if calibration is not
+ * enabled, which allows a profile to be distributed to hosts of the same kind.
+ */
+final class BigIntThresholds {
+  private static final String CALIBRATE_PROPERTY = "org.libj.math.calibrate";
+  private static final String PROFILE_PROPERTY = "org.libj.math.thresholds";
+  private static final String HOST_KEY = "host";
+
+  /** The number of timed runs of each variant of a trial, of which the fastest counts. */
+  private static final int REPEATS = 5;
+
+  /** The number of consecutive steps at which an algorithm must win to determine the crossover. */
+  private static final int WINS = 3;
+
+  private static final boolean calibrate;
+  private static final boolean force;
+  private static final File profile;
+  private static final String host;
+  private static final Properties values = new Properties();
+
+  static {
+    final String calibrateProp = System.getProperty(CALIBRATE_PROPERTY);
+    force = "force".equals(calibrateProp);
+    calibrate = force || calibrateProp != null && !calibrateProp.equals("false");
+
+    final String mode = NativeMath.loadNative().name().toLowerCase();
+    final String profileProp = System.getProperty(PROFILE_PROPERTY);
+    profile = profileProp != null ? new File(profileProp) : new File(System.getProperty("user.home"), ".libj/math/thresholds-" + mode + ".properties");
+    host = System.getProperty("os.arch") + "/" + cpuModel() + "/" + Runtime.getRuntime().availableProcessors() + "/" + System.getProperty("java.vm.version") + "/" + mode;
+    if (!force && (calibrate || profileProp != null) && profile.exists())
+      load(profile, host, values);
+  }
+
+  /**
+   * Reads the thresholds from the provided profile file into the provided
+   * {@link Properties}, if the profile file was written on the provided host.
+   *
+   * @param profile The profile file.
+   * @param host The key of the host.
+   * @param values The {@link Properties} into which the thresholds are read.
+   * @return Whether the thresholds were read.
+   */
+  static boolean load(final File profile, final String host, final Properties values) {
+    final Properties properties = new Properties();
+    try (final InputStream in = new FileInputStream(profile)) {
+      properties.load(in);
+    }
+    catch (final IOException e) {
+      System.err.println("Unable to read thresholds profile " + profile + ": " + e.getMessage());
+      return false;
+    }
+
+    if (!host.equals(properties.getProperty(HOST_KEY)))
+      return false;
+
+    values.putAll(properties);
+    return true;
+  }
+
+  /**
+   * Returns the model name of the CPU as reported by {@code /proc/cpuinfo}, or
+   * the empty string if it is not available.
+   *
+   * @return The model name of the CPU, or the empty string if it is not
+   *         available.
+   */
+  private static String cpuModel() {
+    final File cpuinfo = new File("/proc/cpuinfo");
+    if (!cpuinfo.canRead())
+      return "";
+
+    try (final BufferedReader in = new BufferedReader(new FileReader(cpuinfo))) {
+      for (String line; (line = in.readLine()) != null;) {
+        if (line.startsWith("model name")) {
+          final int colon = line.indexOf(':');
+          return colon < 0 ? "" : line.substring(colon + 1).trim();
+        }
+      }
+    }
+    catch (final IOException e) {
+    }
+
+    return "";
+  }
+
+  /**
+   * Returns the value of the threshold with the provided name from the
+   * profile, or the provided default value if the profile does not specify
+   * the threshold.
+   *
+   * @param name The name of the threshold.
+   * @param defaultValue The built-in value of the threshold.
+   * @return The value of the threshold with the provided name from the
+   *         profile, or the provided default value if the profile does not
+   *         specify the threshold.
+   */
+  static int get(final String name, final int defaultValue) {
+    return get(values, name, defaultValue);
+  }
+
+  /**
+   * Returns the value of the threshold with the provided name from the
+   * provided {@link Properties}, or the provided default value if the
+   * threshold is not specified, or is not a non-negative {@code int}.
+   *
+   * @param values The {@link Properties} of the thresholds.
+   * @param name The name of the threshold.
+   * @param defaultValue The built-in value of the threshold.
+   * @return The value of the threshold with the provided name from the
+   *         provided {@link Properties}, or the provided default value if the
+   *         threshold is not specified, or is not a non-negative {@code int}.
+   */
+  static int get(final Properties values, final String name, final int defaultValue) {
+    final String value = values.getProperty(name);
+    if (value == null)
+      return defaultValue;
+
+    try {
+      final int threshold = Integer.parseInt(value);
+      return threshold < 0 ? defaultValue : threshold;
+    }
+    catch (final NumberFormatException e) {
+      return defaultValue;
+    }
+  }
+
+  /**
+   * Returns whether the thresholds with the provided names are to be
+   * calibrated, which is the case if calibration is enabled, and the profile
+   * does not specify all of the thresholds.
+   *
+   * @param names The names of the thresholds.
+   * @return Whether the thresholds with the provided names are to be
+   *         calibrated.
+   */
+  static boolean isCalibrating(final String ... names) {
+    return isCalibrating(calibrate, force, values, names);
+  }
+
+  /**
+   * Returns whether the thresholds with the provided names are to be
+   * calibrated, which is the case if {@code force} is {@code true}, or if
+   * {@code calibrate} is {@code true} and the provided {@link Properties} do
+   * not specify all of the thresholds.
+   *
+   * @param calibrate Whether calibration is enabled.
+   * @param force Whether calibration is forced regardless of the profile.
+   * @param values The {@link Properties} of the thresholds.
+   * @param names The names of the thresholds.
+   * @return Whether the thresholds with the provided names are to be
+   *         calibrated.
+   */
+  static boolean isCalibrating(final boolean calibrate, final boolean force, final Properties values, final String ... names) {
+    if (force)
+      return true;
+
+    if (!calibrate)
+      return false;
+
+    for (final String name : names)
+      if (!values.containsKey(name))
+        return true;
+
+    return false;
+  }
+
+  /**
+   * Sets the calibrated value of the threshold with the provided name. The
+   * value is persisted with the next call to {@link #save()}.
+   *
+   * @param name The name of the threshold.
+   * @param value The calibrated value of the threshold.
+   */
+  static void put(final String name, final int value) {
+    values.setProperty(name, String.valueOf(value));
+  }
+
+  /**
+   * Writes the thresholds to the profile file.
+   */
+  static void save() {
+    save(profile, host, values);
+  }
+
+  /**
+   * Writes the provided thresholds to the provided profile file, with the
+   * provided key of the host.
+   *
+   * @param profile The profile file.
+   * @param host The key of the host.
+   * @param values The {@link Properties} of the thresholds.
+   */
+  static void save(final File profile, final String host, final Properties values) {
+    values.setProperty(HOST_KEY, host);
+    final File dir = profile.getAbsoluteFile().getParentFile();
+    if (dir != null && !dir.exists() && !dir.mkdirs()) {
+      System.err.println("Unable to create directory for thresholds profile: " + dir);
+      return;
+    }
+
+    try (final OutputStream out = new FileOutputStream(profile)) {
+      values.store(out, "BigInt thresholds calibrated for " + host);
+    }
+    catch (final IOException e) {
+      System.err.println("Unable to write thresholds profile " + profile + ": " + e.getMessage());
+    }
+  }
+
+  /**
+   * A micro-benchmark that compares an algorithm to the algorithm of the tier
+   * below it.
+   */
+  abstract static class Trial {
+    /**
+     * Configures the thresholds such that the algorithm under trial is used
+     * (or not used) for the top-level operation on magnitudes of the provided
+     * length, and all algorithms of lower tiers are used as calibrated.
+     *
+     * @param len The length of the magnitudes.
+     * @param enabled Whether the algorithm under trial is to be used.
+     */
+    abstract void configure(int len, boolean enabled);
+
+    /**
+     * Performs the operation on magnitudes of the provided length.
+     *
+     * @param len The length of the magnitudes.
+     */
+    abstract void run(int len);
+  }
+
+  /**
+   * Returns the lowest length in the range {@code [min,max]} from which the
+   * algorithm under trial outperforms the algorithm of the tier below it. The
+   * range is searched in geometric steps of ~20%, and the crossover is the
+   * first step from which the algorithm under trial wins at {@link #WINS}
+   * consecutive steps, which filters out the noise of single measurements. If
+   * no crossover is found, {@code max} is returned.
+   *
+   * @param trial The {@link Trial}.
+   * @param min The lowest length to be tested.
+   * @param max The highest length to be tested.
+   * @return The lowest length in the range {@code [min,max]} from which the
+   *         algorithm under trial outperforms the algorithm of the tier below
+   *         it.
+   */
+  static int crossover(final Trial trial, final int min, final int max) {
+    warmup(trial, min);
+    int from = -1;
+    for (int len = min, wins = 0; len <= max; len += Math.max(1, len / 5)) {
+      if (!wins(trial, len)) {
+        wins = 0;
+      }
+      else if (++wins == 1) {
+        from = len;
+      }
+      else if (wins == WINS) {
+        return from;
+      }
+    }
+
+    return max;
+  }
+
+  private static void warmup(final Trial trial, final int len) {
+    final long end = System.nanoTime() + 200000000L;
+    for (int i = 0; i < 1000 && System.nanoTime() < end; ++i) {
+      trial.configure(len, (i & 1) == 0);
+      trial.run(len);
+    }
+  }
+
+  /**
+   * Returns whether the algorithm under trial outperforms the algorithm of the
+   * tier below it for magnitudes of the provided length. The variants are
+   * timed alternately, so that drift (i.e. from JIT compilation or garbage
+   * collection) affects both alike, and the fastest time of each counts.
+   *
+   * @param trial The {@link Trial}.
+   * @param len The length of the magnitudes.
+   * @return Whether the algorithm under trial outperforms the algorithm of the
+   *         tier below it for magnitudes of the provided length.
+   */
+  private static boolean wins(final Trial trial, final int len) {
+    long enabled = Long.MAX_VALUE, disabled = Long.MAX_VALUE;
+    for (int i = 0; i < REPEATS; ++i) {
+      enabled = Math.min(enabled, time(trial, len, true));
+      disabled = Math.min(disabled, time(trial, len, false));
+    }
+
+    return enabled < disabled;
+  }
+
+  private static long time(final Trial trial, final int len, final boolean enabled) {
+    trial.configure(len, enabled);
+    final long start = System.nanoTime();
+    trial.run(len);
+    return System.nanoTime() - start;
+  }
+
+  private BigIntThresholds() {
+  }
+}
\ No newline at end of file
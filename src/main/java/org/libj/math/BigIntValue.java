@@ -29,7 +29,11 @@
 
 package org.libj.math;
 
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Arrays;
+import java.util.concurrent.RecursiveAction;
 
 import org.libj.lang.Numbers;
 
@@ -83,7 +87,8 @@ abstract class BigIntValue extends Number {
   /**
    * Creates a new {@code int[]} with length that is at least {@code len}.
    * <p>
-   * This method can return longer arrays tuned for optimal performance.
+   * This method can return longer arrays tuned for optimal performance. If the
+   * {@link BigIntPool} is enabled, the array is drawn from the pool.
    *
    * @param len The minimal length of the returned {@code int[]}.
    * @return A new {@code int[]} with a length that is at least {@code len}.
@@ -91,7 +96,7 @@ abstract class BigIntValue extends Number {
    */
   static int[] alloc(final int len) {
 //    System.err.println("alloc");
-    return new int[32 + len];
+    return BigIntPool.isEnabled() ? BigIntPool.pool.get(32 + len, 0) : new int[32 + len];
   }
 
   /**
@@ -109,7 +114,7 @@ abstract class BigIntValue extends Number {
    * @complexity O(n)
    */
   static int[] realloc(final int[] array, final int len, final int newLen) {
-    final int[] v = new int[32 + newLen];
+    final int[] v = BigIntPool.isEnabled() ? BigIntPool.pool.get(32 + newLen, len) : new int[32 + newLen];
     System.arraycopy(array, 0, v, 0, len);
     return v;
   }
@@ -464,6 +469,98 @@ abstract class BigIntValue extends Number {
     return littleEndian ? assignLittleEndian(val, mag, off, len) : assignBigEndian(val, mag, off, len);
   }
 
+  /**
+   * Assigns the two's-complement binary representation of a
+   * {@linkplain BigInt#val() value-encoded <code>int[]</code>} of {@code len}
+   * bytes at the current position of the provided {@link ByteBuffer} into a
+   * {@linkplain BigInt#val() value-encoded <code>int[]</code>}, and advances
+   * the position past it.
+   *
+   * <pre>
+   * val = buf
+   * </pre>
+   *
+   * The limbs are read as whole {@code int}s with the absolute
+   * {@link ByteBuffer#getInt(int)}, which is a single load on both heap and
+   * direct buffers, and no intermediate array is allocated.
+   * <p>
+   * <i><b>Note:</b> The returned number may be a {@code new int[]} instance if
+   * the assignment requires a larger array.</i>
+   *
+   * @param val The target array of the assignment.
+   * @param buf The {@link ByteBuffer} of the two's-complement binary
+   *          representation of a {@linkplain BigInt#val() value-encoded
+   *          <code>int[]</code>}.
+   * @param len The number of bytes to use.
+   * @param littleEndian Whether the bytes are encoded in <i>little-endian</i>
+   *          ({@code true}), or <i>big-endian</i> ({@code false}), regardless
+   *          of the {@linkplain ByteBuffer#order() byte order} of the buffer.
+   * @return The result of assigning the two's-complement binary representation
+   *         of a {@linkplain BigInt#val() value-encoded <code>int[]</code>}
+   *         into a {@linkplain BigInt#val() value-encoded <code>int[]</code>}.
+   * @throws BufferUnderflowException If the remaining bytes of the buffer are
+   *           fewer than {@code len}.
+   * @complexity O(n)
+   */
+  public static int[] assign(int[] val, final ByteBuffer buf, final int len, final boolean littleEndian) {
+    if (buf.remaining() < len)
+      throw new BufferUnderflowException();
+
+    final int pos = buf.position();
+    final int ints = len >>> 2;
+    final int rem = len & 3;
+    int vlen = rem == 0 ? ints : ints + 1;
+    if (val.length <= vlen)
+      val = alloc(vlen + 1);
+
+    final boolean swap = buf.order() == ByteOrder.LITTLE_ENDIAN != littleEndian;
+    if (littleEndian) {
+      for (int i = 0, v; i < ints; ++i) {
+        v = buf.getInt(pos + (i << 2));
+        val[i + 1] = swap ? Integer.reverseBytes(v) : v;
+      }
+
+      if (rem != 0) {
+        int v = buf.get(pos + len - 1);
+        for (int i = pos + len - 2, lim = pos + (ints << 2); i >= lim; --i)
+          v = v << 8 | buf.get(i) & 0xFF;
+
+        val[vlen] = v;
+      }
+    }
+    else {
+      final int end = pos + len;
+      for (int i = 0, v; i < ints; ++i) {
+        v = buf.getInt(end - (i + 1 << 2));
+        val[i + 1] = swap ? Integer.reverseBytes(v) : v;
+      }
+
+      if (rem != 0) {
+        int v = buf.get(pos);
+        for (int i = pos + 1, lim = pos + rem; i < lim; ++i)
+          v = v << 8 | buf.get(i) & 0xFF;
+
+        val[vlen] = v;
+      }
+    }
+
+    buf.position(pos + len);
+    final boolean negative = vlen > 0 && val[vlen] < 0;
+    if (negative) {
+      // Negate the two's-complement limbs into the magnitude
+      int i = 1;
+      for (; val[i] == 0; ++i);
+      val[i] = -val[i];
+      for (++i; i <= vlen; ++i)
+        val[i] = ~val[i];
+    }
+
+    for (; vlen > 0 && val[vlen] == 0; --vlen);
+    val[0] = negative ? -vlen : vlen;
+    // _debugLenSig(val);
+    return val;
+  }
+
   private static int[] assignLittleEndian(final int[] val, final byte[] mag, final int off, final int len) {
     return mag[off + len - 1] < 0 ? assignNegativeLittleEndian(val, mag, off, len) : assignPositiveLittleEndian(val, mag, off, len);
   }
@@ -667,12 +764,19 @@ abstract class BigIntValue extends Number {
    * <i><b>Note:</b> The returned number may be a {@code new int[]} instance if
    * the assignment requires a larger array.</i>
    *
+   * Numbers of at least {@link #PARSE_THRESHOLD} digits are parsed by divide
+   * and conquer: the trailing <code>2<sup>k</sup></code> digits, which are at
+   * least half of the digits, and the leading digits are parsed recursively,
+   * in parallel if they are longer than {@link #PARALLEL_PARSE_THRESHOLD},
+   * and are combined as <code>hi * 10<sup>2<sup>k</sup></sup> + lo</code>
+   * with the cached power of {@link FastMath#E10Pow2(int)}.
+   *
    * @param val The target array of the assignment.
    * @param s The number as a {@code char[]}.
    * @return The result of assigning the specified number as a {@code char[]} to
    *         the provided {@linkplain BigInt#val() value-encoded
    *         <code>int[]</code>}.
-   * @complexity O(n^2)
+   * @complexity O(n^2) - O(M(n) log n)
    */
   public static int[] assign(int[] val, final char[] s) {
     final int sig = s[0] == '-' ? -1 : 1;
@@ -680,6 +784,14 @@ abstract class BigIntValue extends Number {
     final int length = s.length;
     final int from = sig - 1 >> 1;
     final int len = length + from;
+    if (len >= PARSE_THRESHOLD) {
+      val = assign(val, parseRecursive(s, -from, length, 10));
+      if (sig < 0)
+        val[0] = -val[0];
+
+      return val;
+    }
+
     // 3402 = bits per digit * 1024
     final int alloc = (len < 10 ? 1 : (int)(len * 3402L >>> 10) + 32 >>> 5) + 1;
     if (alloc > val.length)
@@ -691,22 +803,231 @@ abstract class BigIntValue extends Number {
 
     j -= from;
 
-    if ((val[1] = parse(s, -from, j)) != 0) {
-      int toIndex = 2;
-      while (j < length)
-        toIndex = mulAdd(val, 1, toIndex, 1_000_000_000, parse(s, j, j += 9));
+    // The leading digits may be zeros, in which case the leading limb is zero
+    val[1] = parse(s, -from, j);
+    int toIndex = 2;
+    while (j < length)
+      toIndex = mulAdd(val, 1, toIndex, 1_000_000_000, parse(s, j, j += 9));
 
-      --toIndex;
-      val[0] = sig < 0 ? -toIndex : toIndex;
+    toIndex = BigIntMagnitude.significantLength(val, 1, toIndex - 1);
+    val[0] = sig < 0 ? -toIndex : toIndex;
+
+    // _debugLenSig(val);
+    return val;
+  }
+
+  /**
+   * Assigns the specified number as a {@link CharSequence} of the given radix
+   * to the provided {@linkplain BigInt#val() value-encoded <code>int[]</code>}.
+   * The number consists of an optional minus or plus sign followed by digits
+   * of the radix, as by {@link Character#digit(char,int)}.
+   *
+   * <pre>
+   * val = s
+   * </pre>
+   *
+   * Numbers of power-of-two radices are parsed by placement of the bits of
+   * each digit in linear time. Numbers of other radices are parsed as in
+   * {@link #assign(int[],char[])}, by divide and conquer with the cached
+   * powers <code>radix<sup>2<sup>k</sup></sup></code> of
+   * {@link FastMath#radixPow2(int,int)}.
+   * <p>
+   * <i><b>Note:</b> The returned number may be a {@code new int[]} instance if
+   * the assignment requires a larger array.</i>
+   *
+   * @param val The target array of the assignment.
+   * @param s The number as a {@link CharSequence}.
+   * @param radix The radix of the number.
+   * @return The result of assigning the specified number as a
+   *         {@link CharSequence} of the given radix to the provided
+   *         {@linkplain BigInt#val() value-encoded <code>int[]</code>}.
+   * @throws NumberFormatException If {@code s} is not a valid representation
+   *           of a number in the given radix, or if {@code radix} is outside
+   *           the range from {@link Character#MIN_RADIX} to
+   *           {@link Character#MAX_RADIX}.
+   * @complexity O(n) - O(M(n) log n)
+   */
+  public static int[] assign(int[] val, final CharSequence s, final int radix) {
+    if (radix < Character.MIN_RADIX || radix > Character.MAX_RADIX)
+      throw new NumberFormatException("Radix out of range: " + radix);
+
+    final int length = s.length();
+    final char c0 = length == 0 ? 0 : s.charAt(0);
+    final int from = c0 == '-' || c0 == '+' ? 1 : 0;
+    if (length == from)
+      throw new NumberFormatException("Zero length BigInt");
+
+    // The digits are normalized to '0'-'9' and 'a'-'z'
+    final char[] chars = new char[length];
+    chars[0] = '-';
+    for (int i = from, d; i < length; ++i) {
+      if ((d = Character.digit(s.charAt(i), radix)) < 0)
+        throw new NumberFormatException("Illegal digit: " + s);
+
+      chars[i] = DIGITS[d];
+    }
+
+    if (radix == 10)
+      return assign(val, c0 == '-' ? chars : Arrays.copyOfRange(chars, from, length));
+
+    val = assign(val, (radix & radix - 1) == 0 ? parsePow2(chars, from, length, radix) : parseRecursive(chars, from, length, radix));
+    if (c0 == '-')
+      val[0] = -val[0];
+
+    return val;
+  }
+
+  /**
+   * The number of digits at and above which {@link #assign(int[],char[])}
+   * parses the number by divide and conquer. The divide-and-conquer parsing
+   * outperforms the sequential parsing from about 1200 limbs (11500 digits) in
+   * Java mode, and from about 600 limbs (5800 digits) in native mode.
+   */
+  static int PARSE_THRESHOLD = Math.max(64, BigIntThresholds.get("PARSE_THRESHOLD", NATIVE_THRESHOLD == Integer.MAX_VALUE ? 12000 : 6000)); // 12000 : 6000
+
+  /**
+   * The number of digits at and above which the halves of the
+   * divide-and-conquer parsing of {@link #assign(int[],char[])} are parsed in
+   * parallel.
+   */
+  static int PARALLEL_PARSE_THRESHOLD = BigIntThresholds.get("PARALLEL_PARSE_THRESHOLD", 1 << 17);
+
+  /**
+   * Returns a new {@linkplain BigInt#val() value-encoded number} of the
+   * unsigned digits in the given radix of the provided range of a char array,
+   * parsed by divide and conquer. Digits greater than {@code 9} are expected
+   * to be lowercase letters.
+   *
+   * @param s A char array representing the number in the given radix.
+   * @param fromIndex The index (inclusive) where we start parsing.
+   * @param toIndex The index (exclusive) where we stop parsing.
+   * @param radix The radix.
+   * @return A new {@linkplain BigInt#val() value-encoded number} of the parsed
+   *         digits.
+   */
+  private static int[] parseRecursive(final char[] s, final int fromIndex, final int toIndex, final int radix) {
+    final int len = toIndex - fromIndex;
+    if (len < PARSE_THRESHOLD) {
+      final int digits = RADIX_INT_DIGITS[radix];
+      final int[] val = alloc(((int)(len * Math.log(radix) / LOG_2) + 32 >>> 5) + 2);
+      int j = fromIndex + (len % digits == 0 ? digits : len % digits);
+      val[1] = parse(s, fromIndex, j, radix);
+      int toIdx = 2;
+      while (j < toIndex)
+        toIdx = mulAdd(val, 1, toIdx, RADIX_INT_POW[radix], parse(s, j, j += digits, radix));
+
+      val[0] = BigIntMagnitude.significantLength(val, 1, toIdx - 1);
+      return val;
+    }
+
+    // The low part has 2^k digits, which is at least half of the digits
+    final int k = 31 - Integer.numberOfLeadingZeros(len - 1);
+    final int mid = toIndex - (1 << k);
+    final int[] hi, lo;
+    if (len >= PARALLEL_PARSE_THRESHOLD) {
+      final ParseTask hiTask = new ParseTask(s, fromIndex, mid, radix);
+      final ParseTask loTask = new ParseTask(s, mid, toIndex, radix);
+      BigIntMultiplication.invokeAll(hiTask, loTask);
+      hi = hiTask.val;
+      lo = loTask.val;
     }
     else {
-      val[0] = 0;
+      hi = parseRecursive(s, fromIndex, mid, radix);
+      lo = parseRecursive(s, mid, toIndex, radix);
     }
 
-    // _debugLenSig(val);
+    return BigInt.add(BigInt.mul(hi, FastMath.radixPow2(radix, k)), lo);
+  }
+
+  /**
+   * A {@link RecursiveAction} that executes
+   * {@link #parseRecursive(char[],int,int,int)} for one half of the
+   * divide-and-conquer parsing.
+   */
+  private static final class ParseTask extends RecursiveAction {
+    private static final long serialVersionUID = -4409129381525376427L;
+
+    private final char[] s;
+    private final int fromIndex;
+    private final int toIndex;
+    private final int radix;
+    private int[] val;
+
+    private ParseTask(final char[] s, final int fromIndex, final int toIndex, final int radix) {
+      this.s = s;
+      this.fromIndex = fromIndex;
+      this.toIndex = toIndex;
+      this.radix = radix;
+    }
+
+    @Override
+    protected void compute() {
+      val = parseRecursive(s, fromIndex, toIndex, radix);
+    }
+  }
+
+  /**
+   * Returns a new {@linkplain BigInt#val() value-encoded number} of the
+   * unsigned digits in the given power-of-two radix of the provided range of a
+   * char array, of which the bits of each digit are placed directly into the
+   * magnitude. Digits greater than {@code 9} are expected to be lowercase
+   * letters.
+   *
+   * @param s A char array representing the number in the given radix.
+   * @param fromIndex The index (inclusive) where we start parsing.
+   * @param toIndex The index (exclusive) where we stop parsing.
+   * @param radix The radix, which is a power of two.
+   * @return A new {@linkplain BigInt#val() value-encoded number} of the parsed
+   *         digits.
+   * @complexity O(n)
+   */
+  private static int[] parsePow2(final char[] s, final int fromIndex, final int toIndex, final int radix) {
+    final int shift = Integer.numberOfTrailingZeros(radix);
+    final int[] val = alloc((int)((long)(toIndex - fromIndex) * shift + 31 >>> 5) + 2);
+    long b = 0;
+    for (int i = toIndex - 1; i >= fromIndex; --i, b += shift) {
+      final int d = digit(s[i]);
+      final int j = (int)(b >>> 5) + 1;
+      final int o = (int)b & 31;
+      val[j] |= d << o;
+      if (o + shift > 32)
+        val[j + 1] |= d >>> 32 - o;
+    }
+
+    val[0] = BigIntMagnitude.significantLength(val, 1, val.length - 1);
     return val;
   }
 
+  /**
+   * Returns the value of the provided digit, which is {@code '0'} to
+   * {@code '9'}, or {@code 'a'} to {@code 'z'}.
+   */
+  private static int digit(final char c) {
+    return c <= '9' ? c - '0' : c - ('a' - 10);
+  }
+
+  /**
+   * Parses a part of a char array as an unsigned number in the given radix,
+   * of which the digits greater than {@code 9} are lowercase letters.
+   *
+   * @param s A char array representing the number in the given radix.
+   * @param fromIndex The index (inclusive) where we start parsing.
+   * @param toIndex The index (exclusive) where we stop parsing.
+   * @param radix The radix.
+   * @return The parsed {@code int}.
+   * @complexity O(n)
+   */
+  private static int parse(final char[] s, int fromIndex, final int toIndex, final int radix) {
+    if (radix == 10)
+      return parse(s, fromIndex, toIndex);
+
+    int v = digit(s[fromIndex]);
+    while (++fromIndex < toIndex)
+      v = v * radix + digit(s[fromIndex]);
+
+    return v;
+  }
+
   /**
    * Parses a part of a char array as an unsigned number radix 10.
    *
@@ -1384,14 +1705,36 @@ abstract class BigIntValue extends Number {
     return r;
   }
 
+  /**
+   * The number of limbs at and above which {@link #toString(int[])} divides the
+   * number by a power of ten into halves that are converted recursively. The
+   * divide-and-conquer conversion breaks even with the sequential conversion
+   * at about 1000 limbs in Java mode, and at about 600 limbs in native mode.
+   */
+  static int TO_STRING_THRESHOLD = Math.max(8, BigIntThresholds.get("TO_STRING_THRESHOLD", NATIVE_THRESHOLD == Integer.MAX_VALUE ? 1000 : 600)); // 1000 : 600
+
+  /**
+   * The number of limbs at and above which the halves of the divide-and-conquer
+   * radix conversion of {@link #toString(int[])} are converted in parallel.
+   */
+  static int PARALLEL_TO_STRING_THRESHOLD = BigIntThresholds.get("PARALLEL_TO_STRING_THRESHOLD", 1 << 13);
+
   /**
    * Converts the provided {@linkplain BigInt#val() value-encoded number} into a
    * string of radix 10.
+   * <p>
+   * Numbers of at least {@link #TO_STRING_THRESHOLD} limbs are converted by
+   * divide and conquer: the number is divided by the cached power
+   * <code>10<sup>2<sup>k</sup></sup></code> of {@link FastMath#E10Pow2(int)}
+   * that is nearest to its square root, and the quotient and remainder are
+   * converted recursively into adjacent ranges of the result, in parallel if
+   * they are longer than {@link #PARALLEL_TO_STRING_THRESHOLD}. The remainder
+   * is padded with zeros to <code>2<sup>k</sup></code> digits.
    *
    * @param val The {@linkplain BigInt#val() value-encoded number}.
    * @return The string representation of the provided {@linkplain BigInt#val()
    *         value-encoded number} in radix 10.
-   * @complexity O(n^2)
+   * @complexity O(n^2) - O(M(n) log n)
    */
   public static String toString(final int[] val) {
     if (val == null)
@@ -1402,14 +1745,151 @@ abstract class BigIntValue extends Number {
 
     int sig = 1, len = val[0]; if (len < 0) { len = -len; sig = -1; }
 
-    int j, top = len * 10 + 3;
-    final char[] chars = new char[top];
+    final char[] chars = new char[len * 10 + 3];
+    Arrays.fill(chars, '0');
+    int top;
+    if (len < TO_STRING_THRESHOLD) {
+      final int[] mag = new int[len];
+      System.arraycopy(val, 1, mag, 0, len);
+      top = toString(mag, len, chars, chars.length);
+    }
+    else {
+      final int[] abs = Arrays.copyOf(val, len + 1);
+      abs[0] = len;
+      toStringRecursive(abs, 10, chars, chars.length);
+      for (top = 0; chars[top] == '0'; ++top);
+    }
+
+    if (sig < 0)
+      chars[--top] = '-';
+
+    return new String(chars, top, chars.length - top);
+  }
+
+  /**
+   * Converts the provided {@linkplain BigInt#val() value-encoded number} into a
+   * string of the given radix. If the radix is outside the range from
+   * {@link Character#MIN_RADIX} to {@link Character#MAX_RADIX}, radix 10 is
+   * used, as in {@link java.math.BigInteger#toString(int)}. Digits greater
+   * than {@code 9} are represented by lowercase letters.
+   * <p>
+   * Numbers of power-of-two radices are converted by extraction of the bits of
+   * each digit in linear time. Numbers of other radices are converted as in
+   * {@link #toString(int[])}, by divide and conquer with the cached powers
+   * <code>radix<sup>2<sup>k</sup></sup></code> of
+   * {@link FastMath#radixPow2(int,int)}.
+   *
+   * @param val The {@linkplain BigInt#val() value-encoded number}.
+   * @param radix The radix of the string representation.
+   * @return The string representation of the provided {@linkplain BigInt#val()
+   *         value-encoded number} in the given radix.
+   * @complexity O(n) - O(M(n) log n)
+   */
+  public static String toString(final int[] val, int radix) {
+    if (radix < Character.MIN_RADIX || radix > Character.MAX_RADIX)
+      radix = 10;
+
+    if (radix == 10 || val == null)
+      return toString(val);
+
+    if (isZero(val))
+      return "0";
+
+    int sig = 1, len = val[0]; if (len < 0) { len = -len; sig = -1; }
+
+    if ((radix & radix - 1) == 0)
+      return toStringPow2(val, sig, radix);
+
+    final char[] chars = new char[(int)(len * 32 * LOG_2 / Math.log(radix)) + 3];
     Arrays.fill(chars, '0');
-    final int[] mag = new int[len];
-    System.arraycopy(val, 1, mag, 0, len);
-    long tmp;
-    while (true) {
-      j = top;
+    final int[] abs = Arrays.copyOf(val, len + 1);
+    abs[0] = len;
+    toStringRecursive(abs, radix, chars, chars.length);
+    int top = 0;
+    while (chars[top] == '0')
+      ++top;
+
+    if (sig < 0)
+      chars[--top] = '-';
+
+    return new String(chars, top, chars.length - top);
+  }
+
+  /**
+   * Returns the string representation of the provided non-zero
+   * {@linkplain BigInt#val() value-encoded number} in the given power-of-two
+   * radix, of which each digit is extracted from the bits of the magnitude.
+   *
+   * @param val The {@linkplain BigInt#val() value-encoded number}.
+   * @param sig The sign of the number.
+   * @param radix The radix, which is a power of two.
+   * @return The string representation of the provided {@linkplain BigInt#val()
+   *         value-encoded number} in the given power-of-two radix.
+   * @complexity O(n)
+   */
+  private static String toStringPow2(final int[] val, final int sig, final int radix) {
+    final int shift = Integer.numberOfTrailingZeros(radix);
+    final int mask = radix - 1;
+    final int len = Math.abs(val[0]);
+    final long bits = bitLength(val);
+    final char[] chars = new char[(int)((bits + shift - 1) / shift) + (sig < 0 ? 1 : 0)];
+    int top = chars.length;
+    for (long b = 0; b < bits; b += shift) {
+      final int i = (int)(b >>> 5) + 1;
+      final int o = (int)b & 31;
+      int d = val[i] >>> o;
+      if (o + shift > 32 && i < len)
+        d |= val[i + 1] << 32 - o;
+
+      chars[--top] = DIGITS[d & mask];
+    }
+
+    if (sig < 0)
+      chars[0] = '-';
+
+    return new String(chars);
+  }
+
+  /** The digits of the radices up to {@link Character#MAX_RADIX}. */
+  private static final char[] DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz".toCharArray();
+
+  /**
+   * The number of digits of the largest power of each radix that is less than
+   * <code>2<sup>31</sup></code>.
+   */
+  private static final int[] RADIX_INT_DIGITS = new int[Character.MAX_RADIX + 1];
+
+  /** The largest power of each radix that is less than <code>2<sup>31</sup></code>. */
+  private static final int[] RADIX_INT_POW = new int[Character.MAX_RADIX + 1];
+
+  static {
+    for (int radix = Character.MIN_RADIX; radix <= Character.MAX_RADIX; ++radix) {
+      long pow = radix;
+      int digits = 1;
+      for (; pow * radix <= Integer.MAX_VALUE; pow *= radix)
+        ++digits;
+
+      RADIX_INT_DIGITS[radix] = digits;
+      RADIX_INT_POW[radix] = (int)pow;
+    }
+  }
+
+  /**
+   * Writes the digits of the provided magnitude into the provided
+   * {@code char[]} ending at the index {@code top}, which is expected to be
+   * filled with {@code '0'}, and returns the index of the first digit. The
+   * magnitude is consumed.
+   *
+   * @param mag The magnitude, which is positive.
+   * @param len The number of limbs of the magnitude.
+   * @param chars The {@code char[]} into which the digits are to be written.
+   * @param top The index after the last digit.
+   * @return The index of the first digit.
+   * @complexity O(n^2)
+   */
+  private static int toString(final int[] mag, int len, final char[] chars, int top) {
+    for (long tmp;;) {
+      final int j = top;
       tmp = toStringDiv(mag, len - 1);
       if (mag[len - 1] == 0 && len > 1 && mag[--len - 1] == 0 && len > 1)
         --len;
@@ -1418,15 +1898,108 @@ abstract class BigIntValue extends Number {
         chars[--top] += tmp % 10; // TODO: Optimize
 
       if (len == 1 && mag[0] == 0)
-        break;
+        return top;
 
       top = j - 13;
     }
+  }
 
-    if (sig < 0)
-      chars[--top] = '-';
+  /**
+   * Writes the digits in the given radix of the provided magnitude into the
+   * provided {@code char[]} ending at the index {@code top}, which is expected
+   * to be filled with {@code '0'}. The digits are produced by repeated division
+   * by the largest power of the radix that is less than
+   * <code>2<sup>31</sup></code>. The number is consumed.
+   *
+   * @param val The {@linkplain BigInt#val() value-encoded number}, which is
+   *          positive.
+   * @param radix The radix.
+   * @param chars The {@code char[]} into which the digits are to be written.
+   * @param top The index after the last digit.
+   * @complexity O(n^2)
+   */
+  private static void toStringLeaf(final int[] val, final int radix, final char[] chars, int top) {
+    final int digits = RADIX_INT_DIGITS[radix];
+    final int pow = RADIX_INT_POW[radix];
+    while (val[0] != 0) {
+      final int end = top - digits;
+      for (int r = BigInt.divRem(val, 1, pow); r > 0; r /= radix)
+        chars[--top] = DIGITS[r % radix];
+
+      top = end;
+    }
+  }
 
-    return new String(chars, top, chars.length - top);
+  /**
+   * Writes the digits in the given radix of the provided non-negative
+   * {@linkplain BigInt#val() value-encoded number} into the provided
+   * {@code char[]} ending at the index {@code end}, which is expected to be
+   * filled with {@code '0'}. The number is consumed.
+   *
+   * @param val The {@linkplain BigInt#val() value-encoded number}, which is
+   *          non-negative.
+   * @param radix The radix.
+   * @param chars The {@code char[]} into which the digits are to be written.
+   * @param end The index after the last digit.
+   */
+  private static void toStringRecursive(final int[] val, final int radix, final char[] chars, final int end) {
+    final int len = val[0];
+    if (len == 0)
+      return;
+
+    if (len < TO_STRING_THRESHOLD) {
+      if (radix == 10) {
+        final int[] mag = new int[len];
+        System.arraycopy(val, 1, mag, 0, len);
+        toString(mag, len, chars, end);
+      }
+      else {
+        toStringLeaf(val, radix, chars, end);
+      }
+
+      return;
+    }
+
+    // radix^(2^k) is the power of the radix with 2^k near half the number of digits
+    final double digits = bitLength(val) * LOG_2 / Math.log(radix);
+    final int k = Math.max(0, (int)Math.round(Math.log(digits) / LOG_2 - 1));
+    final int[] rem = FastMath.radixPow2Divisor(radix, k).divRem(val);
+    final int mid = end - (1 << k);
+    if (len >= PARALLEL_TO_STRING_THRESHOLD) {
+      BigIntMultiplication.invokeAll(new ToStringTask(val, radix, chars, mid), new ToStringTask(rem, radix, chars, end));
+    }
+    else {
+      toStringRecursive(val, radix, chars, mid);
+      toStringRecursive(rem, radix, chars, end);
+    }
+  }
+
+  private static final double LOG_2 = Math.log(2);
+
+  /**
+   * A {@link RecursiveAction} that executes
+   * {@link #toStringRecursive(int[],int,char[],int)} for one half of the
+   * divide-and-conquer radix conversion.
+   */
+  private static final class ToStringTask extends RecursiveAction {
+    private static final long serialVersionUID = 2862408736102538479L;
+
+    private final int[] val;
+    private final int radix;
+    private final char[] chars;
+    private final int end;
+
+    private ToStringTask(final int[] val, final int radix, final char[] chars, final int end) {
+      this.val = val;
+      this.radix = radix;
+      this.chars = chars;
+      this.end = end;
+    }
+
+    @Override
+    protected void compute() {
+      toStringRecursive(val, radix, chars, end);
+    }
   }
 
   /**
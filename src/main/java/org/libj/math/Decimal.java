@@ -20,6 +20,10 @@ import static org.libj.math.DecimalAddition.*;
 import static org.libj.math.DecimalDivision.*;
 import static org.libj.math.DecimalMultiplication.*;
 
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.RoundingMode;
@@ -38,9 +42,15 @@ import org.libj.lang.Numbers;
  * <code>10<sup>-scale</sup></code>)</li>
  * </ul>
  */
-public class Decimal extends FixedPoint implements Comparable<Decimal>, Cloneable {
+public class Decimal extends FixedPoint implements Comparable<Decimal>, Cloneable, Externalizable {
   private static final long serialVersionUID = 3129168059597869867L;
 
+  /**
+   * The encoded decimal in the {@link Externalizable} form that signals the
+   * extended form, which is the encoding of zero with the minimum scale.
+   */
+  private static final long EXTENDED = encodeInPlace(0, MIN_PSCALE);
+
   /**
    * Returns the absolute value of the argument (encoded with
    * {@link Decimal#valueOf(long,int,long)}.
@@ -419,7 +429,11 @@ public class Decimal extends FixedPoint implements Comparable<Decimal>, Cloneabl
     this.scale = copy.scale;
   }
 
-  Decimal() {
+  /**
+   * Creates a new {@link Decimal} with the value of zero, which is the
+   * constructor of the {@link Externalizable} form.
+   */
+  public Decimal() {
   }
 
   Decimal error(final String error) {
@@ -1733,6 +1747,62 @@ public class Decimal extends FixedPoint implements Comparable<Decimal>, Cloneabl
     return string == null ? string = toString(significand, scale) : string;
   }
 
+  /**
+   * Writes the compact form of this {@link Decimal} to the provided
+   * {@link ObjectOutput}, which is the fixed 8-byte
+   * {@linkplain Decimal#valueOf(long,int,long) encoded} decimal. A
+   * {@link Decimal} that cannot be encoded, because its significand or scale
+   * is out of range or because it is an {@linkplain #isError() error}, is
+   * written in the extended form, which is a reserved encoded decimal,
+   * followed by the significand, the scale, and the error.
+   *
+   * @param out The {@link ObjectOutput}.
+   * @throws IOException If an I/O error has occurred.
+   */
+  @Override
+  public void writeExternal(final ObjectOutput out) throws IOException {
+    if (!error && MIN_SIGNIFICAND <= significand && significand <= MAX_SIGNIFICAND) {
+      final int pscale = scale - Numbers.precision(significand);
+      if (MIN_PSCALE <= pscale && pscale <= MAX_PSCALE) {
+        final long dec = encodeInPlace(significand, pscale);
+        if (dec != EXTENDED) {
+          out.writeLong(dec);
+          return;
+        }
+      }
+    }
+
+    out.writeLong(EXTENDED);
+    out.writeLong(significand);
+    out.writeShort(scale);
+    out.writeBoolean(error);
+    if (error)
+      out.writeUTF(string);
+  }
+
+  /**
+   * Reads the compact form of {@link #writeExternal(ObjectOutput)} from the
+   * provided {@link ObjectInput} into this {@link Decimal}.
+   *
+   * @param in The {@link ObjectInput}.
+   * @throws IOException If an I/O error has occurred.
+   */
+  @Override
+  public void readExternal(final ObjectInput in) throws IOException {
+    clear();
+    final long dec = in.readLong();
+    if (dec != EXTENDED) {
+      significand = significand(dec);
+      scale = scale(dec, significand);
+      return;
+    }
+
+    significand = in.readLong();
+    scale = in.readShort();
+    if (in.readBoolean())
+      error(in.readUTF());
+  }
+
   /**
    * Returns a copy of this {@link Decimal}.
    *
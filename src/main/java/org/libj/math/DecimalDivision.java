@@ -34,7 +34,7 @@ abstract class DecimalDivision extends FixedPoint {
     // If significand2 has trailing zeroes, remove them first.
     final byte z2 = Numbers.trailingZeroes(significand2);
     if (z2 > 0) {
-      significand2 /= FastMath.longE10[z2];
+      significand2 = FastMath.divideExactE10(significand2, z2);
       scale2 -= z2;
     }
     final byte p2 = Numbers.precision(significand2);
@@ -157,7 +157,7 @@ abstract class DecimalDivision extends FixedPoint {
           if (ds < z2)
             z2 = ds;
 
-          significand2 /= FastMath.longE10[z2];
+          significand2 = FastMath.divideExactE10(significand2, z2);
           scale2 -= z2;
           ds -= z2;
         }
@@ -95,7 +95,7 @@ public final class DecimalMath {
     final byte z = Numbers.trailingZeroes(v);
     if (z > 0) {
 //      v = round(v, Long.MAX_VALUE, z, 0, rm);
-      v /= FastMath.longE10[z];
+      v = FastMath.divideExactE10(v, z);
       s -= z;
     }
 
@@ -46,14 +46,14 @@ abstract class DecimalMultiplication extends FixedPoint {
     // If significand1 has trailing zeroes, remove them first.
     final byte z1 = Numbers.trailingZeroes(significand1);
     if (z1 > 0) {
-      significand1 /= FastMath.longE10[z1];
+      significand1 = FastMath.divideExactE10(significand1, z1);
       scale1 -= z1;
     }
 
     // If v2 has trailing zeroes, remove them first.
     final byte z2 = Numbers.trailingZeroes(significand2);
     if (z2 > 0) {
-      significand2 /= FastMath.longE10[z2];
+      significand2 = FastMath.divideExactE10(significand2, z2);
       scale2 -= z2;
     }
 
@@ -0,0 +1,1001 @@
+/* Copyright (c) 2020 Seva Safris, LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.math;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.Arrays;
+
+/**
+ * An arbitrary-precision integer, of which the limbs are held off the Java
+ * heap in direct {@link ByteBuffer}s, and which is therefore not bounded by
+ * {@link BigInt#MAX_VAL_LENGTH}, not counted against the heap, and not copied
+ * by the compaction of the garbage collector.
+ * <p>
+ * The magnitude is held as 32-bit limbs in <i>little-endian</i> order, in
+ * chunks of up to <code>2<sup>28</sup></code> limbs (1 GiB), each of which is
+ * a direct {@link ByteBuffer} in {@link ByteOrder#LITTLE_ENDIAN} order, and the
+ * sign is held separately. The number of limbs is a {@code long}, which allows
+ * numbers of many gigabytes, subject to {@code -XX:MaxDirectMemorySize}. The
+ * memory of a chunk is released when the chunk is garbage collected.
+ * <p>
+ * Addition, subtraction and shifts run directly on the limbs off the heap.
+ * Multiplication of operands of which the product fits in a
+ * {@linkplain BigInt#val() value-encoded number} runs on the heap with
+ * {@link BigInt#mul(int[],int[])}. Longer operands are multiplied with the
+ * Karatsuba algorithm off the heap, down to sub-products of blocks of
+ * {@link #DEFAULT_BLOCK_LENGTH} limbs, which are multiplied on the heap, so
+ * that the heap holds no more than a few blocks at a time. Division divides the blocks of the
+ * dividend from the most significant down by a {@link BigIntDivisor}, carrying
+ * the remainder from block to block, and puts each block of the quotient into
+ * the place of the block of the dividend.
+ * <p>
+ * A {@link DirectBigInt} is converted from and to the
+ * {@linkplain BigInt#val() value-encoded <code>int[]</code>} of {@link BigInt}
+ * with {@link #DirectBigInt(int[])} and {@link #toVal()}, and is written to
+ * and memory-mapped from a file in a binary format of its limbs with
+ * {@link #writeTo(FileChannel)} and {@link #map(FileChannel)}.
+ * <p>
+ * A {@link DirectBigInt} is mutable, and is not thread-safe.
+ */
+public final class DirectBigInt {
+  private static final long LONG_MASK = 0xFFFFFFFFL;
+
+  /** The base 2 logarithm of the number of limbs of a chunk. */
+  private static final int CHUNK_SHIFT = 28;
+
+  /** The number of limbs of the buffer through which numbers are written. */
+  private static final int STAGE_LENGTH = 1 << 14;
+
+  /** The number of limbs of the blocks of multiplication and division. */
+  public static final int DEFAULT_BLOCK_LENGTH = BigIntThresholds.get("DIRECT_BLOCK_LENGTH", 1 << 20);
+
+  private static final IntBuffer[] EMPTY = {};
+
+  private final int chunkShift;
+  private final int blockLength;
+  private IntBuffer[] chunks = EMPTY;
+  private long capacity;
+  private long length;
+  private boolean negative;
+
+  /**
+   * Creates a new {@link DirectBigInt} with the provided base 2 logarithm of
+   * the number of limbs of a chunk, and number of limbs of the blocks of
+   * multiplication and division.
+   *
+   * @param capacity The number of limbs to reserve.
+   * @param chunkShift The base 2 logarithm of the number of limbs of a chunk.
+   * @param blockLength The number of limbs of the blocks of multiplication and
+   *          division.
+   */
+  DirectBigInt(final long capacity, final int chunkShift, final int blockLength) {
+    this.chunkShift = chunkShift;
+    this.blockLength = blockLength;
+    ensureCapacity(capacity);
+  }
+
+  /**
+   * Creates a new {@link DirectBigInt} with the value of zero, and the
+   * provided number of limbs reserved.
+   *
+   * @param capacity The number of limbs to reserve.
+   * @throws IllegalArgumentException If {@code capacity} is negative.
+   */
+  public DirectBigInt(final long capacity) {
+    this(checkCapacity(capacity), CHUNK_SHIFT, DEFAULT_BLOCK_LENGTH);
+  }
+
+  /**
+   * Creates a new {@link DirectBigInt} with the value of zero.
+   */
+  public DirectBigInt() {
+    this(0, CHUNK_SHIFT, DEFAULT_BLOCK_LENGTH);
+  }
+
+  /**
+   * Creates a new {@link DirectBigInt} with the value of the provided
+   * {@linkplain BigInt#val() value-encoded number}.
+   *
+   * @param val The {@linkplain BigInt#val() value-encoded number}.
+   * @complexity O(n)
+   */
+  public DirectBigInt(final int[] val) {
+    this(0, CHUNK_SHIFT, DEFAULT_BLOCK_LENGTH);
+    assign(val);
+  }
+
+  /**
+   * Creates a new {@link DirectBigInt} with the value of the provided
+   * {@link BigInt}.
+   *
+   * @param b The {@link BigInt}.
+   * @complexity O(n)
+   */
+  public DirectBigInt(final BigInt b) {
+    this(b.val());
+  }
+
+  private static long checkCapacity(final long capacity) {
+    if (capacity < 0)
+      throw new IllegalArgumentException("capacity (" + capacity + ") must be non-negative");
+
+    return capacity;
+  }
+
+  /**
+   * Returns a new direct {@link IntBuffer} of the provided number of limbs, in
+   * {@link ByteOrder#LITTLE_ENDIAN} order.
+   *
+   * @param len The number of limbs.
+   * @return A new direct {@link IntBuffer} of the provided number of limbs.
+   */
+  private static IntBuffer allocate(final int len) {
+    return ByteBuffer.allocateDirect(len * 4).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+  }
+
+  /**
+   * Ensures the chunks of this {@link DirectBigInt} hold at least {@code n}
+   * limbs, growing the capacity by at least half.
+   *
+   * @param n The number of limbs.
+   */
+  private void ensureCapacity(final long n) {
+    if (n <= capacity)
+      return;
+
+    final long cap = Math.max(n, capacity + (capacity >> 1));
+    final int count = (int)((cap - 1 >>> chunkShift) + 1);
+    final IntBuffer[] chunks = Arrays.copyOf(this.chunks, count);
+    // Only the last chunk can be shorter than a full chunk
+    for (int i = Math.max(0, this.chunks.length - 1); i < count; ++i) {
+      final int len = (int)Math.min(1L << chunkShift, cap - ((long)i << chunkShift));
+      final IntBuffer chunk = chunks[i];
+      if (chunk != null && chunk.capacity() >= len)
+        continue;
+
+      chunks[i] = allocate(len);
+      if (chunk != null)
+        chunks[i].duplicate().put(chunk.duplicate());
+    }
+
+    this.chunks = chunks;
+    this.capacity = ((long)(count - 1) << chunkShift) + chunks[count - 1].capacity();
+  }
+
+  private int get(final long i) {
+    return chunks[(int)(i >>> chunkShift)].get((int)i & (1 << chunkShift) - 1);
+  }
+
+  private void set(final long i, final int limb) {
+    chunks[(int)(i >>> chunkShift)].put((int)i & (1 << chunkShift) - 1, limb);
+  }
+
+  /**
+   * Returns the limb at the provided index, or {@code 0} if the index is not
+   * less than the length.
+   */
+  private int limb(final long i) {
+    return i < length ? get(i) : 0;
+  }
+
+  /**
+   * Copies {@code len} limbs starting at limb {@code off} to the provided
+   * array.
+   */
+  private void read(long off, final int[] dst, int dstOff, int len) {
+    while (len > 0) {
+      final int i = (int)off & (1 << chunkShift) - 1;
+      final IntBuffer chunk = chunks[(int)(off >>> chunkShift)].duplicate();
+      final int n = Math.min(len, chunk.capacity() - i);
+      chunk.position(i);
+      chunk.get(dst, dstOff, n);
+      off += n;
+      dstOff += n;
+      len -= n;
+    }
+  }
+
+  /**
+   * Copies {@code len} limbs of the provided array to the limbs starting at
+   * limb {@code off}.
+   */
+  private void write(long off, final int[] src, int srcOff, int len) {
+    while (len > 0) {
+      final int i = (int)off & (1 << chunkShift) - 1;
+      final IntBuffer chunk = chunks[(int)(off >>> chunkShift)].duplicate();
+      final int n = Math.min(len, chunk.capacity() - i);
+      chunk.position(i);
+      chunk.put(src, srcOff, n);
+      off += n;
+      srcOff += n;
+      len -= n;
+    }
+  }
+
+  /**
+   * Sets {@code len} limbs starting at limb {@code off} to zero.
+   */
+  private void clear(long off, long len) {
+    for (; len > 0; --len)
+      set(off++, 0);
+  }
+
+  /**
+   * Reduces the length of this {@link DirectBigInt} to its most significant
+   * non-zero limb, and clears the sign if it is zero.
+   */
+  private void trim() {
+    while (length > 0 && get(length - 1) == 0)
+      --length;
+
+    if (length == 0)
+      negative = false;
+  }
+
+  /**
+   * Returns the number of limbs of the magnitude of this {@link DirectBigInt}.
+   *
+   * @return The number of limbs of the magnitude of this {@link DirectBigInt}.
+   * @complexity O(1)
+   */
+  public long length() {
+    return length;
+  }
+
+  /**
+   * Returns the number of bits in the minimal two's-complement representation
+   * of this {@link DirectBigInt}, <i>excluding</i> a sign bit, as by
+   * {@link BigInt#bitLength()}.
+   *
+   * @return The number of bits in the minimal two's-complement representation
+   *         of this {@link DirectBigInt}, <i>excluding</i> a sign bit.
+   * @complexity O(n)
+   */
+  public long bitLength() {
+    if (length == 0)
+      return 0;
+
+    final int top = get(length - 1);
+    long bits = (length - 1) * 32 + 32 - Integer.numberOfLeadingZeros(top);
+    // The magnitude of a negative power of two is one bit shorter
+    if (negative && Integer.bitCount(top) == 1) {
+      long i = 0;
+      while (i < length - 1 && get(i) == 0)
+        ++i;
+
+      if (i == length - 1)
+        --bits;
+    }
+
+    return bits;
+  }
+
+  /**
+   * Returns the signum of this {@link DirectBigInt}.
+   *
+   * @return {@code -1}, {@code 0} or {@code 1} as the value of this
+   *         {@link DirectBigInt} is negative, zero or positive.
+   * @complexity O(1)
+   */
+  public int signum() {
+    return length == 0 ? 0 : negative ? -1 : 1;
+  }
+
+  /**
+   * Assigns the provided {@linkplain BigInt#val() value-encoded number} to this
+   * {@link DirectBigInt}.
+   *
+   * <pre>
+   * this = val
+   * </pre>
+   *
+   * @param val The {@linkplain BigInt#val() value-encoded number}.
+   * @return {@code this}
+   * @complexity O(n)
+   */
+  public DirectBigInt assign(final int[] val) {
+    int len = val[0];
+    negative = len < 0;
+    if (negative) { len = -len; }
+    ensureCapacity(len);
+    write(0, val, 1, len);
+    length = len;
+    return this;
+  }
+
+  /**
+   * Returns a new {@linkplain BigInt#val() value-encoded number} with the value
+   * of this {@link DirectBigInt}.
+   *
+   * @return A new {@linkplain BigInt#val() value-encoded number} with the value
+   *         of this {@link DirectBigInt}.
+   * @throws ArithmeticException If the magnitude of this {@link DirectBigInt}
+   *           exceeds {@link BigInt#MAX_VAL_LENGTH} limbs.
+   * @complexity O(n)
+   */
+  public int[] toVal() {
+    if (length >= BigInt.MAX_VAL_LENGTH)
+      throw new ArithmeticException("Magnitude of " + length + " limbs exceeds the capacity of a value-encoded number");
+
+    final int len = (int)length;
+    final int[] val = new int[len + 1];
+    read(0, val, 1, len);
+    val[0] = negative ? -len : len;
+    return val;
+  }
+
+  /**
+   * Returns a new {@link BigInt} with the value of this {@link DirectBigInt}.
+   *
+   * @return A new {@link BigInt} with the value of this {@link DirectBigInt}.
+   * @throws ArithmeticException If the magnitude of this {@link DirectBigInt}
+   *           exceeds {@link BigInt#MAX_VAL_LENGTH} limbs.
+   * @complexity O(n)
+   */
+  public BigInt toBigInt() {
+    return new BigInt(toVal());
+  }
+
+  /**
+   * Returns a new {@linkplain BigInt#val() value-encoded number} of the
+   * positive magnitude of the limbs {@code [off, off + len)}.
+   */
+  private int[] block(final long off, final int len) {
+    final int[] val = new int[len + 1];
+    read(off, val, 1, len);
+    val[0] = BigIntMagnitude.significantLength(val, 1, len);
+    return val;
+  }
+
+  /**
+   * Compares the magnitudes of this {@link DirectBigInt} and the provided
+   * {@link DirectBigInt}.
+   */
+  private int compareToAbs(final DirectBigInt b) {
+    if (length != b.length)
+      return length < b.length ? -1 : 1;
+
+    for (long i = length - 1; i >= 0; --i) {
+      final int x = get(i), y = b.get(i);
+      if (x != y)
+        return Integer.compareUnsigned(x, y);
+    }
+
+    return 0;
+  }
+
+  /**
+   * Adds the magnitude of the provided {@link DirectBigInt} to the magnitude
+   * of this {@link DirectBigInt}.
+   */
+  private void uadd(final DirectBigInt b) {
+    final long blen = b.length, len = Math.max(length, blen);
+    ensureCapacity(len + 1);
+    long carry = 0, i = 0;
+    for (; i < blen; ++i) {
+      set(i, (int)(carry += (limb(i) & LONG_MASK) + (b.get(i) & LONG_MASK)));
+      carry >>>= 32;
+    }
+
+    for (; carry != 0 && i < length; ++i) {
+      set(i, (int)(carry += get(i) & LONG_MASK));
+      carry >>>= 32;
+    }
+
+    length = len;
+    if (carry != 0)
+      set(length++, 1);
+  }
+
+  /**
+   * Subtracts the magnitude of the provided {@link DirectBigInt}, which is not
+   * greater than the magnitude of this {@link DirectBigInt}, from the
+   * magnitude of this {@link DirectBigInt}.
+   */
+  private void usub(final DirectBigInt b) {
+    final long blen = b.length;
+    long borrow = 0, i = 0;
+    for (; i < blen; ++i) {
+      set(i, (int)(borrow += (get(i) & LONG_MASK) - (b.get(i) & LONG_MASK)));
+      borrow >>= 32;
+    }
+
+    for (; borrow != 0; ++i) {
+      set(i, (int)(borrow += get(i) & LONG_MASK));
+      borrow >>= 32;
+    }
+
+    trim();
+  }
+
+  /**
+   * Puts the magnitude of the provided {@link DirectBigInt}, which is greater
+   * than the magnitude of this {@link DirectBigInt}, less the magnitude of this
+   * {@link DirectBigInt} into this {@link DirectBigInt}.
+   */
+  private void ursub(final DirectBigInt b) {
+    final long blen = b.length;
+    ensureCapacity(blen);
+    long borrow = 0;
+    for (long i = 0; i < blen; ++i) {
+      set(i, (int)(borrow += (b.get(i) & LONG_MASK) - (limb(i) & LONG_MASK)));
+      borrow >>= 32;
+    }
+
+    length = blen;
+    trim();
+  }
+
+  private DirectBigInt add(final DirectBigInt b, final boolean bNegative) {
+    if (b.length == 0)
+      return this;
+
+    if (negative == bNegative || length == 0) {
+      if (length == 0)
+        negative = bNegative;
+
+      uadd(b);
+    }
+    else {
+      final int c = compareToAbs(b);
+      if (c >= 0) {
+        usub(b);
+      }
+      else {
+        ursub(b);
+        negative = bNegative;
+      }
+    }
+
+    return this;
+  }
+
+  /**
+   * Adds the provided {@link DirectBigInt} to this {@link DirectBigInt}.
+   *
+   * <pre>
+   * this = this + b
+   * </pre>
+   *
+   * @param b The {@link DirectBigInt} to add.
+   * @return {@code this}
+   * @complexity O(n)
+   */
+  public DirectBigInt add(final DirectBigInt b) {
+    return add(b, b.negative);
+  }
+
+  /**
+   * Subtracts the provided {@link DirectBigInt} from this
+   * {@link DirectBigInt}.
+   *
+   * <pre>
+   * this = this - b
+   * </pre>
+   *
+   * @param b The {@link DirectBigInt} to subtract.
+   * @return {@code this}
+   * @complexity O(n)
+   */
+  public DirectBigInt sub(final DirectBigInt b) {
+    return add(b, !b.negative);
+  }
+
+  /**
+   * Adds the provided {@linkplain BigInt#val() value-encoded magnitude} to the
+   * limbs of this {@link DirectBigInt} starting at limb {@code off}.
+   */
+  private void addAt(long off, final int[] val) {
+    final int len = val[0];
+    long carry = 0;
+    for (int i = 1; i <= len; ++i, ++off) {
+      set(off, (int)(carry += (get(off) & LONG_MASK) + (val[i] & LONG_MASK)));
+      carry >>>= 32;
+    }
+
+    for (; carry != 0; ++off) {
+      set(off, (int)(carry += get(off) & LONG_MASK));
+      carry >>>= 32;
+    }
+  }
+
+  /**
+   * Adds the magnitude of the provided {@link DirectBigInt} to the limbs of
+   * this {@link DirectBigInt} starting at limb {@code off}.
+   */
+  private void addAt(long off, final DirectBigInt b) {
+    final long blen = b.length;
+    long carry = 0;
+    for (long i = 0; i < blen; ++i, ++off) {
+      set(off, (int)(carry += (get(off) & LONG_MASK) + (b.get(i) & LONG_MASK)));
+      carry >>>= 32;
+    }
+
+    for (; carry != 0; ++off) {
+      set(off, (int)(carry += get(off) & LONG_MASK));
+      carry >>>= 32;
+    }
+  }
+
+  /**
+   * Returns a new {@link DirectBigInt} of the positive magnitude of the limbs
+   * {@code [off, off + len)}.
+   */
+  private DirectBigInt slice(final long off, final long len) {
+    final DirectBigInt slice = new DirectBigInt(len, chunkShift, blockLength);
+    final int[] stage = new int[(int)Math.min(STAGE_LENGTH, len)];
+    for (long i = 0; i < len; i += stage.length) {
+      final int n = (int)Math.min(stage.length, len - i);
+      read(off + i, stage, 0, n);
+      slice.write(i, stage, 0, n);
+    }
+
+    slice.length = len;
+    slice.trim();
+    return slice;
+  }
+
+  /**
+   * Multiplies this {@link DirectBigInt} by the provided {@link DirectBigInt}.
+   *
+   * <pre>
+   * this = this * b
+   * </pre>
+   *
+   * If the product fits in a {@linkplain BigInt#val() value-encoded number},
+   * the operands are multiplied on the heap with
+   * {@link BigInt#mul(int[],int[])}, which selects the Karatsuba, Toom-Cook
+   * 3-way or NTT algorithm by their length. Otherwise, the operands are
+   * multiplied off the heap with the Karatsuba algorithm, of which the
+   * sub-products of operands of up to {@link #DEFAULT_BLOCK_LENGTH} limbs are
+   * multiplied on the heap, so that the heap holds no more than a few blocks
+   * at a time.
+   *
+   * @param b The {@link DirectBigInt} by which to multiply.
+   * @return {@code this}
+   * @complexity O(M(n)) - O((n/B)^1.585 * M(B))
+   */
+  public DirectBigInt mul(final DirectBigInt b) {
+    if (length == 0)
+      return this;
+
+    if (b.length == 0) {
+      length = 0;
+      negative = false;
+      return this;
+    }
+
+    if (length + b.length < BigInt.MAX_VAL_LENGTH) {
+      final int[] x = toVal();
+      return assign(BigInt.mul(x, b == this ? x : b.toVal()));
+    }
+
+    final DirectBigInt z = umul(this, b);
+    chunks = z.chunks;
+    capacity = z.capacity;
+    length = z.length;
+    negative ^= b.negative;
+    return this;
+  }
+
+  /**
+   * Returns a new {@link DirectBigInt} of the product of the magnitudes of the
+   * provided {@link DirectBigInt}s. If one of the operands is not longer than
+   * the block length, the blocks of the other operand are multiplied by it on
+   * the heap with {@link BigInt#mul(int[],int[])}. Otherwise, the longer
+   * operand is split in halves, and if the shorter operand is longer than a
+   * half, the halves of the shorter operand are multiplied with the Karatsuba
+   * algorithm:
+   *
+   * <pre>
+   * x * y = z2 * B^2h + ((x0 + x1) * (y0 + y1) - z0 - z2) * B^h + z0
+   * </pre>
+   *
+   * where {@code z0 = x0 * y0} and {@code z2 = x1 * y1}.
+   *
+   * @param x The first operand.
+   * @param y The second operand.
+   * @return A new {@link DirectBigInt} of the product of the magnitudes of the
+   *         provided {@link DirectBigInt}s.
+   * @complexity O((n/B)^1.585 * M(B))
+   */
+  static DirectBigInt umul(final DirectBigInt x, final DirectBigInt y) {
+    final DirectBigInt z = new DirectBigInt(x.length + y.length, x.chunkShift, x.blockLength);
+    if (x.length == 0 || y.length == 0)
+      return z;
+
+    final DirectBigInt s = x.length <= y.length ? x : y, l = s == x ? y : x;
+    final int blockLength = x.blockLength;
+    if (s.length <= blockLength) {
+      final int[] c = s.block(0, (int)s.length);
+      if (c[0] != 0) {
+        for (long i = 0; i < l.length; i += blockLength) {
+          final int[] d = l == s ? c.clone() : l.block(i, (int)Math.min(blockLength, l.length - i));
+          if (d[0] != 0)
+            z.addAt(i, BigInt.mul(d, l == s ? d : c));
+        }
+      }
+    }
+    else {
+      final long h = (l.length + 1) / 2;
+      if (s.length <= h) {
+        z.addAt(0, umul(l.slice(0, h), s));
+        z.addAt(h, umul(l.slice(h, l.length - h), s));
+      }
+      else {
+        final DirectBigInt x0 = x.slice(0, h), x1 = x.slice(h, x.length - h);
+        final DirectBigInt y0 = x == y ? x0 : y.slice(0, h), y1 = x == y ? x1 : y.slice(h, y.length - h);
+        final DirectBigInt z0 = umul(x0, y0), z2 = umul(x1, y1);
+        x0.uadd(x1);
+        if (y0 != x0)
+          y0.uadd(y1);
+
+        final DirectBigInt z1 = umul(x0, y0);
+        z1.usub(z0);
+        z1.usub(z2);
+        z.addAt(0, z0);
+        z.addAt(h, z1);
+        z.addAt(2 * h, z2);
+      }
+    }
+
+    z.length = x.length + y.length;
+    z.trim();
+    return z;
+  }
+
+  /**
+   * Divides this {@link DirectBigInt} by the provided {@link BigIntDivisor},
+   * and returns the remainder.
+   *
+   * <pre>
+   * rem = this % div
+   * this = this / div
+   * return rem
+   * </pre>
+   *
+   * The blocks of {@link #DEFAULT_BLOCK_LENGTH} limbs of this
+   * {@link DirectBigInt} are divided from the most significant down, each
+   * prefixed by the remainder of the previous block, and each block of the
+   * quotient replaces the block of the dividend. The quotient is truncated
+   * toward zero, and the remainder has the sign of the dividend, as by
+   * {@link BigInt#divRem(int[],int[])}.
+   *
+   * @param div The {@link BigIntDivisor}.
+   * @return The {@linkplain BigInt#val() value-encoded} remainder.
+   * @complexity O(n/k * M(k))
+   */
+  public int[] divRem(final BigIntDivisor div) {
+    final int blen = Math.max(blockLength, div.length());
+    boolean quotientNegative = false;
+    int[] rem = {0};
+    if (length > 0) {
+      for (long off = (length - 1) / blen * blen; off >= 0; off -= blen) {
+        final int len = (int)Math.min(blen, length - off), remLen = rem[0];
+        final int[] val = new int[len + remLen + 2];
+        read(off, val, 1, len);
+        System.arraycopy(rem, 1, val, len + 1, remLen);
+        val[0] = BigIntMagnitude.significantLength(val, 1, len + remLen);
+        rem = div.divRem(val);
+        // The quotient of the block is less than B^len, because the remainder
+        // of the previous block is less than the divisor
+        final int qlen = Math.abs(val[0]);
+        if (qlen > 0)
+          quotientNegative = val[0] < 0;
+
+        write(off, val, 1, qlen);
+        clear(off + qlen, len - qlen);
+      }
+    }
+
+    if (negative && rem[0] != 0)
+      rem[0] = -rem[0];
+
+    negative ^= quotientNegative;
+    trim();
+    return rem;
+  }
+
+  /**
+   * Divides this {@link DirectBigInt} by the provided {@link BigIntDivisor}.
+   *
+   * <pre>
+   * this = this / div
+   * </pre>
+   *
+   * @param div The {@link BigIntDivisor}.
+   * @return {@code this}
+   * @complexity O(n/k * M(k))
+   * @see #divRem(BigIntDivisor)
+   */
+  public DirectBigInt div(final BigIntDivisor div) {
+    divRem(div);
+    return this;
+  }
+
+  /**
+   * Shifts this {@link DirectBigInt} left by the specified number of bits. The
+   * shift distance, {@code num}, may be negative, in which case this method
+   * performs a right shift.
+   *
+   * <pre>
+   * this = this &lt;&lt; num
+   * </pre>
+   *
+   * @param num The amount by which to shift.
+   * @return {@code this}
+   * @complexity O(n)
+   */
+  public DirectBigInt shiftLeft(final long num) {
+    if (num < 0)
+      return shiftRight(-num);
+
+    if (num == 0 || length == 0)
+      return this;
+
+    final long big = num >>> 5;
+    final int small = (int)num & 31;
+    ensureCapacity(length + big + 1);
+    if (small == 0) {
+      for (long i = length - 1; i >= 0; --i)
+        set(i + big, get(i));
+
+      length += big;
+    }
+    else {
+      int hi = get(length - 1);
+      set(length + big, hi >>> 32 - small);
+      for (long i = length - 1; i > 0; --i) {
+        final int lo = get(i - 1);
+        set(i + big, hi << small | lo >>> 32 - small);
+        hi = lo;
+      }
+
+      set(big, hi << small);
+      length += big + 1;
+    }
+
+    clear(0, big);
+    trim();
+    return this;
+  }
+
+  /**
+   * Shifts this {@link DirectBigInt} right by the specified number of bits,
+   * rounding toward negative infinity, as by
+   * {@link BigInt#shiftRight(int[],int)}. The shift distance, {@code num}, may
+   * be negative, in which case this method performs a left shift.
+   *
+   * <pre>
+   * this = this &gt;&gt; num
+   * </pre>
+   *
+   * @param num The amount by which to shift.
+   * @return {@code this}
+   * @complexity O(n)
+   */
+  public DirectBigInt shiftRight(final long num) {
+    if (num < 0)
+      return shiftLeft(-num);
+
+    if (num == 0 || length == 0)
+      return this;
+
+    final long big = num >>> 5;
+    if (big >= length) {
+      length = 0;
+      if (negative) {
+        // Any negative number shifted off the end is -1
+        set(0, 1);
+        length = 1;
+      }
+
+      return this;
+    }
+
+    final int small = (int)num & 31;
+    boolean oneLost = false;
+    if (negative) {
+      for (long i = 0; i < big && !(oneLost = get(i) != 0); ++i);
+      if (!oneLost && small != 0)
+        oneLost = get(big) << 32 - small != 0;
+    }
+
+    final long len = length - big;
+    if (small == 0) {
+      for (long i = 0; i < len; ++i)
+        set(i, get(i + big));
+    }
+    else {
+      int lo = get(big);
+      for (long i = 0; i < len - 1; ++i) {
+        final int hi = get(i + big + 1);
+        set(i, lo >>> small | hi << 32 - small);
+        lo = hi;
+      }
+
+      set(len - 1, lo >>> small);
+    }
+
+    length = len;
+    trim();
+    if (oneLost) {
+      negative = true;
+      increment();
+    }
+
+    return this;
+  }
+
+  /**
+   * Adds one to the magnitude of this {@link DirectBigInt}.
+   */
+  private void increment() {
+    for (long i = 0; i < length; ++i) {
+      final int limb = get(i) + 1;
+      set(i, limb);
+      if (limb != 0)
+        return;
+    }
+
+    ensureCapacity(length + 1);
+    set(length++, 1);
+  }
+
+  /**
+   * Writes the provided {@linkplain BigInt#val() value-encoded number} to the
+   * provided {@link FileChannel} at its current position in the binary format
+   * of {@link #writeTo(FileChannel)}, and advances the position past it.
+   *
+   * @param val The {@linkplain BigInt#val() value-encoded number}.
+   * @param channel The {@link FileChannel}.
+   * @throws IOException If an I/O error has occurred.
+   * @complexity O(n)
+   */
+  public static void write(final int[] val, final FileChannel channel) throws IOException {
+    final int len = Math.abs(val[0]);
+    final ByteBuffer buf = ByteBuffer.allocateDirect(Math.min(STAGE_LENGTH, len + 2) * 4).order(ByteOrder.LITTLE_ENDIAN);
+    buf.putLong(val[0]);
+    for (int i = 1; i <= len || buf.position() > 0;) {
+      final int n = Math.min(len + 1 - i, buf.remaining() / 4);
+      buf.asIntBuffer().put(val, i, n);
+      buf.position(buf.position() + n * 4);
+      i += n;
+      drain(buf, channel);
+    }
+  }
+
+  /**
+   * Writes this {@link DirectBigInt} to the provided {@link FileChannel} at its
+   * current position, and advances the position past it. The binary format is
+   * an 8-byte <i>little-endian</i> header of the number of limbs, which is
+   * negative for a negative number, followed by the limbs of the magnitude as
+   * 4-byte <i>little-endian</i> words from the least significant, which is the
+   * image of the limbs in memory on little-endian platforms. The number is
+   * loaded with {@link #map(FileChannel)}.
+   *
+   * @param channel The {@link FileChannel}.
+   * @throws IOException If an I/O error has occurred.
+   * @complexity O(n)
+   */
+  public void writeTo(final FileChannel channel) throws IOException {
+    final ByteBuffer buf = ByteBuffer.allocateDirect((int)Math.min(STAGE_LENGTH, length + 2) * 4).order(ByteOrder.LITTLE_ENDIAN);
+    buf.putLong(negative ? -length : length);
+    for (long i = 0; i < length || buf.position() > 0;) {
+      final int n = (int)Math.min(length - i, buf.remaining() / 4);
+      final IntBuffer limbs = buf.asIntBuffer();
+      for (int j = 0; j < n;) {
+        final int k = (int)(i + j) & (1 << chunkShift) - 1;
+        final IntBuffer chunk = chunks[(int)(i + j >>> chunkShift)].duplicate();
+        final int m = Math.min(n - j, chunk.capacity() - k);
+        chunk.position(k);
+        chunk.limit(k + m);
+        limbs.put(chunk);
+        j += m;
+      }
+
+      buf.position(buf.position() + n * 4);
+      i += n;
+      drain(buf, channel);
+    }
+  }
+
+  /**
+   * Writes the content of the provided buffer to the provided
+   * {@link FileChannel}, and clears the buffer.
+   */
+  private static void drain(final ByteBuffer buf, final FileChannel channel) throws IOException {
+    buf.flip();
+    while (buf.hasRemaining())
+      channel.write(buf);
+
+    buf.clear();
+  }
+
+  /**
+   * Returns a new {@link DirectBigInt} of the number at the current position
+   * of the provided {@link FileChannel} in the binary format of
+   * {@link #writeTo(FileChannel)}, of which the limbs are mapped into memory
+   * directly from the file, and advances the position past the number.
+   * <p>
+   * The limbs are mapped with {@link MapMode#PRIVATE}, such that arithmetic on
+   * the returned {@link DirectBigInt} starts without a copy of the limbs, the
+   * pages of the file are read as they are accessed, and the pages that are
+   * modified are copied, leaving the file unchanged. The mapping remains valid
+   * after the {@link FileChannel} is closed.
+   *
+   * @param channel The {@link FileChannel}, which must be open for reading and
+   *          writing.
+   * @return A new {@link DirectBigInt} of the number at the current position
+   *         of the provided {@link FileChannel}.
+   * @throws IOException If an I/O error has occurred, or if the file is
+   *           shorter than the number its header declares.
+   * @complexity O(n / 2^28)
+   */
+  public static DirectBigInt map(final FileChannel channel) throws IOException {
+    return map(channel, CHUNK_SHIFT, DEFAULT_BLOCK_LENGTH);
+  }
+
+  static DirectBigInt map(final FileChannel channel, final int chunkShift, final int blockLength) throws IOException {
+    final long position = channel.position();
+    final ByteBuffer header = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+    while (header.hasRemaining())
+      if (channel.read(header, position + header.position()) < 0)
+        throw new EOFException("Truncated header at position " + position);
+
+    final long signedLength = header.getLong(0);
+    final long length = Math.abs(signedLength);
+    if (signedLength == Long.MIN_VALUE || length > (channel.size() - position - 8) / 4)
+      throw new EOFException("Truncated limbs of length " + signedLength + " at position " + position);
+
+    final DirectBigInt b = new DirectBigInt(0, chunkShift, blockLength);
+    final int count = length == 0 ? 0 : (int)((length - 1 >>> chunkShift) + 1);
+    b.chunks = new IntBuffer[count];
+    for (int i = 0; i < count; ++i) {
+      final long off = (long)i << chunkShift;
+      final long len = Math.min(1L << chunkShift, length - off);
+      b.chunks[i] = channel.map(MapMode.PRIVATE, position + 8 + off * 4, len * 4).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+    }
+
+    b.capacity = b.length = length;
+    b.negative = signedLength < 0;
+    b.trim();
+    channel.position(position + 8 + length * 4);
+    return b;
+  }
+
+  /**
+   * Returns the string representation of this {@link DirectBigInt} in radix
+   * 10.
+   *
+   * @return The string representation of this {@link DirectBigInt} in radix
+   *         10.
+   * @throws ArithmeticException If the magnitude of this {@link DirectBigInt}
+   *           exceeds {@link BigInt#MAX_VAL_LENGTH} limbs.
+   * @complexity O(n) - O(M(n) log n)
+   */
+  @Override
+  public String toString() {
+    return BigInt.toString(toVal());
+  }
+}
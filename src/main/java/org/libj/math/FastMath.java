@@ -35,6 +35,13 @@ public final class FastMath {
    */
   public static final long[] longE10 = {1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L, 100000000L, 1000000000L, 10000000000L, 100000000000L, 1000000000000L, 10000000000000L, 100000000000000L, 1000000000000000L, 10000000000000000L, 100000000000000000L, 1000000000000000000L};
 
+  /**
+   * The inverses of <code>5<sup>n</sup></code> modulo <code>2<sup>64</sup></code>
+   * for {@code n} between {@code 0} and {@code 18}, for
+   * {@link #divideExactE10(long,int)}.
+   */
+  private static final long[] longE5Inverse = {0x1L, 0xCCCCCCCCCCCCCCCDL, 0x8F5C28F5C28F5C29L, 0x1CAC083126E978D5L, 0xD288CE703AFB7E91L, 0x5D4E8FB00BCBE61DL, 0x790FB65668C26139L, 0xE5032477AE8D46A5L, 0xC767074B22E90E21L, 0x8E47CE423A2E9C6DL, 0x4FA7F60D3ED61F49L, 0xFEE64690C913975L, 0x3662E0E1CF503EB1L, 0xA47A2CF9F6433FBDL, 0x54186F653140A659L, 0x7738164770402145L, 0xE4A4D1417CD9A041L, 0xC75429D9E5C5200DL, 0xC1773B91FAC10669L};
+
   private static volatile double[] doubleE10 = {1};
 
   /** This value was tuned with {@link FastMathTest#testDoubleE10} */
@@ -43,6 +50,76 @@ public final class FastMath {
 
   private static volatile int[][] bigIntE10 = {new int[] {1, 1}};
 
+  /**
+   * The cached powers <code>radix<sup>2<sup>n</sup></sup></code> of each radix
+   * between {@link Character#MIN_RADIX} and {@link Character#MAX_RADIX}, for
+   * the divide-and-conquer radix conversion of {@link BigInt}.
+   */
+  private static final RadixPowers[] radixPowers = new RadixPowers[Character.MAX_RADIX + 1];
+
+  static {
+    for (int radix = Character.MIN_RADIX; radix <= Character.MAX_RADIX; ++radix)
+      radixPowers[radix] = new RadixPowers(radix);
+  }
+
+  /**
+   * The powers <code>radix<sup>2<sup>n</sup></sup></code> of a radix as
+   * {@linkplain BigInt#val() value-encoded numbers}, and their
+   * {@link BigIntDivisor}s, which are expanded as necessary.
+   */
+  private static final class RadixPowers {
+    private volatile int[][] pows;
+    private volatile BigIntDivisor[] divisors = {};
+
+    private RadixPowers(final int radix) {
+      this.pows = new int[][] {{1, radix}};
+    }
+
+    private int[] pow(final int n) {
+      final int[][] pows = this.pows;
+      return n < pows.length ? pows[n] : expand(n)[n];
+    }
+
+    private BigIntDivisor divisor(final int n) {
+      BigIntDivisor[] divisors = this.divisors;
+      if (n < divisors.length)
+        return divisors[n];
+
+      final int[][] pows = expand(n);
+      synchronized (this) {
+        divisors = this.divisors;
+        if (n < divisors.length)
+          return divisors[n];
+
+        int curLen = divisors.length;
+        divisors = Arrays.copyOf(divisors, n + 1);
+        for (; curLen <= n; ++curLen)
+          divisors[curLen] = new BigIntDivisor(pows[curLen]);
+
+        this.divisors = divisors;
+        return divisors[n];
+      }
+    }
+
+    private synchronized int[][] expand(final int n) {
+      int[][] pows = this.pows;
+      // The array is read again in the synchronized method, to prevent
+      // multiple threads from expanding the same array
+      if (n < pows.length)
+        return pows;
+
+      int curLen = pows.length;
+      pows = Arrays.copyOf(pows, n + 1);
+      for (int[] val; curLen <= n; ++curLen) {
+        val = pows[curLen - 1].clone();
+        pows[curLen] = BigInt.mul(val, val);
+      }
+
+      this.pows = pows;
+      return pows;
+    }
+  }
+
   static {
     doubleE10(1024);
     E10(16);
@@ -145,6 +222,57 @@ public final class FastMath {
     }
   }
 
+  /**
+   * Return <code>10<sup>2<sup>n</sup></sup></code>, as a
+   * {@linkplain BigInt#val() value-encoded number}, expanding the underlying
+   * cache if necessary. Each value is the square of the previous one.
+   *
+   * @param n The base 2 logarithm of the power of ten to be returned
+   *          (&gt;= 0).
+   * @return A {@linkplain BigInt#val() value-encoded number} with the value
+   *         (10<sup>2<sup>n</sup></sup>).
+   * @throws ArrayIndexOutOfBoundsException If {@code n} is negative.
+   */
+  public static int[] E10Pow2(final int n) {
+    return radixPowers[10].pow(n);
+  }
+
+  /**
+   * Return <code>radix<sup>2<sup>n</sup></sup></code>, as a
+   * {@linkplain BigInt#val() value-encoded number}, expanding the underlying
+   * cache if necessary. Each value is the square of the previous one.
+   *
+   * @param radix The radix, between {@link Character#MIN_RADIX} and
+   *          {@link Character#MAX_RADIX}.
+   * @param n The base 2 logarithm of the power of the radix to be returned
+   *          (&gt;= 0).
+   * @return A {@linkplain BigInt#val() value-encoded number} with the value
+   *         (radix<sup>2<sup>n</sup></sup>).
+   * @throws ArrayIndexOutOfBoundsException If {@code radix} is not between
+   *           {@link Character#MIN_RADIX} and {@link Character#MAX_RADIX}, or
+   *           if {@code n} is negative.
+   * @throws NullPointerException If {@code radix} is less than
+   *           {@link Character#MIN_RADIX}.
+   */
+  public static int[] radixPow2(final int radix, final int n) {
+    return radixPowers[radix].pow(n);
+  }
+
+  /**
+   * Return a {@link BigIntDivisor} of
+   * <code>radix<sup>2<sup>n</sup></sup></code>, expanding the underlying cache
+   * if necessary.
+   *
+   * @param radix The radix, between {@link Character#MIN_RADIX} and
+   *          {@link Character#MAX_RADIX}.
+   * @param n The base 2 logarithm of the power of the radix (&gt;= 0).
+   * @return A {@link BigIntDivisor} of
+   *         <code>radix<sup>2<sup>n</sup></sup></code>.
+   */
+  static BigIntDivisor radixPow2Divisor(final int radix, final int n) {
+    return radixPowers[radix].divisor(n);
+  }
+
   /**
    * Returns the base 2 logarithm of positive {@code int} values, and {@code 0}
    * for negative values.
@@ -258,6 +386,31 @@ public final class FastMath {
     return r - (Long.compareUnsigned(r, divisor) >= 0 ? divisor : 0);
   }
 
+  /**
+   * Returns {@code dividend} divided by <code>10<sup>n</sup></code>, where
+   * {@code dividend} is known to be a multiple of <code>10<sup>n</sup></code>,
+   * such as after the removal of {@code n} trailing zeroes.
+   * <p>
+   * This method differentiates itself from
+   * {@code dividend / FastMath.longE10[n]} by replacing the hardware division
+   * with a shift by {@code n} and a multiplication by the inverse of
+   * <code>5<sup>n</sup></code> modulo <code>2<sup>64</sup></code>.
+   * <p>
+   * <i><b>Note:</b> The result is undefined if {@code dividend} is not a
+   * multiple of <code>10<sup>n</sup></code>.</i>
+   *
+   * @param dividend The dividend, which is a multiple of
+   *          <code>10<sup>n</sup></code>.
+   * @param n The power of ten by which to divide, between {@code 0} and
+   *          {@code 18}.
+   * @return {@code dividend} divided by <code>10<sup>n</sup></code>.
+   * @throws ArrayIndexOutOfBoundsException If {@code n} is negative or greater
+   *           than {@code 18}.
+   */
+  public static long divideExactE10(final long dividend, final int n) {
+    return (dividend >> n) * longE5Inverse[n];
+  }
+
   private FastMath() {
   }
 }
\ No newline at end of file
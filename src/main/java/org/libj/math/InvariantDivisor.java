@@ -0,0 +1,325 @@
+/* Copyright (c) 2020 Seva Safris, LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.math;
+
+/**
+ * A precomputed <i>unsigned</i> {@code long} divisor for the repeated
+ * division of {@linkplain BigInt#val() value-encoded numbers} by the same
+ * divisor, which replaces the hardware division of each limb with
+ * multiplications by the reciprocal of the divisor.
+ * <p>
+ * Upon construction, the divisor is normalized such that its highest bit is
+ * set, and the reciprocal {@code v} of the normalized divisor is computed with
+ * a single hardware division. Thereafter, each limb of the dividend is divided
+ * by dividing a 2-word number by the 1-word divisor (if the divisor fits in 32
+ * bits), or a 3-word number by the 2-word divisor (otherwise), where a word is
+ * 32 bits, with two multiplications, and at most two corrections.
+ * <p>
+ * For 2-word divisors, this is considerably faster than the division of
+ * {@link BigInt#divRem(int[],long)} had been with a hardware division per
+ * limb, which is why {@link BigInt} divides by {@code long} divisors with the
+ * same algorithm. For 1-word divisors, the hardware division of a 64-bit
+ * dividend by a 32-bit divisor on recent CPUs is as fast as the
+ * multiplications, but is several times slower on older CPUs.
+ * <p>
+ * A {@link InvariantDivisor} is immutable, and can be shared among threads.
+ *
+ * @see <a href="https://gmplib.org/~tege/division-paper.pdf">Niels Möller and
+ *      Torbjörn Granlund: Improved division by invariant integers</a>
+ */
+public final class InvariantDivisor {
+  private static final long LONG_MASK = 0xFFFFFFFFL;
+  private static final long hbit = Long.MIN_VALUE;
+
+  /** The divisor (unsigned). */
+  private final long div;
+
+  /** The number of bits by which the divisor is shifted to be normalized. */
+  private final int shift;
+
+  /** The normalized divisor. */
+  private final long norm;
+
+  /** The reciprocal of the normalized divisor. */
+  private final long inv;
+
+  /**
+   * Creates a new {@link InvariantDivisor} with the provided <i>unsigned</i>
+   * {@code long} divisor.
+   *
+   * @param div The divisor (unsigned).
+   * @throws ArithmeticException If {@code div} is 0.
+   */
+  public InvariantDivisor(final long div) {
+    if (div == 0)
+      throw new ArithmeticException("/ by zero");
+
+    this.div = div;
+    if ((div >>> 32) == 0) {
+      this.shift = Integer.numberOfLeadingZeros((int)div);
+      this.norm = div << shift;
+      this.inv = reciprocal(norm);
+    }
+    else {
+      this.shift = Long.numberOfLeadingZeros(div);
+      this.norm = div << shift;
+      this.inv = reciprocal2(norm);
+    }
+  }
+
+  /**
+   * Returns the divisor (unsigned).
+   *
+   * @return The divisor (unsigned).
+   */
+  public long divisor() {
+    return div;
+  }
+
+  /**
+   * Divides the provided {@linkplain BigInt#val() value-encoded dividend} by
+   * this divisor (unsigned), and returns the <i>absolute unsigned
+   * {@code long}</i> remainder.
+   *
+   * <pre>
+   * rem = val % div
+   * val = val / div
+   * return rem
+   * </pre>
+   *
+   * @param val The {@linkplain BigInt#val() value-encoded dividend}.
+   * @return The <i>absolute unsigned {@code long}</i> remainder resulting from
+   *         the division of the provided {@linkplain BigInt#val()
+   *         value-encoded dividend} by this divisor.
+   * @complexity O(n)
+   */
+  public long divRem(final int[] val) {
+    int len = val[0];
+    if (len == 0)
+      return 0;
+
+    final boolean sig = len < 0;
+    if (sig) { len = -len; }
+    final long r = (div >>> 32) == 0 ? divRem(val, 1, len, norm, shift, inv) : divRem2(val, 1, len, norm, shift, inv);
+    while (len > 0 && val[len] == 0)
+      --len;
+
+    val[0] = sig ? -len : len;
+    return r;
+  }
+
+  /**
+   * Returns the <i>unsigned</i> remainder of the division of the magnitude
+   * {@code mag[off..off+len)} by this divisor (unsigned), without modifying
+   * the magnitude.
+   *
+   * @param mag The dividend as a magnitude array.
+   * @param off The offset of the first limb of the dividend.
+   * @param len The number of limbs of the dividend.
+   * @return The <i>unsigned</i> remainder of the division of the magnitude
+   *         by this divisor.
+   * @complexity O(n)
+   */
+  public long rem(final int[] mag, final int off, final int len) {
+    return (div >>> 32) == 0 ? rem(mag, off, len, norm, shift, inv) : rem2(mag, off, len, norm, shift, inv);
+  }
+
+  /**
+   * Returns the reciprocal {@code floor((2^64 - 1) / d) - 2^32} of the
+   * provided normalized 32-bit divisor.
+   *
+   * @param d The normalized divisor, whose bit 31 is set.
+   * @return The reciprocal of the provided normalized divisor.
+   */
+  static long reciprocal(final long d) {
+    // 2^64 - 1 = 2 * (2^63 - 1) + 1, of which the remainder adds at most 1
+    final long q = Long.MAX_VALUE / d << 1;
+    return q + (-1L - q * d >= d ? 1 : 0) - (1L << 32);
+  }
+
+  /**
+   * Returns the reciprocal {@code floor((2^96 - 1) / d) - 2^32} of the
+   * provided normalized 64-bit divisor. This is Algorithm 6 of Möller and
+   * Granlund, which adjusts the reciprocal of the high word of {@code d}.
+   *
+   * @param d The normalized divisor, whose bit 63 is set.
+   * @return The reciprocal of the provided normalized divisor.
+   */
+  static long reciprocal2(final long d) {
+    final long d1 = d >>> 32, d0 = d & LONG_MASK;
+    long v = reciprocal(d1);
+    long p = d1 * v + d0 & LONG_MASK;
+    if (p < d0) {
+      --v;
+      if (p >= d1) {
+        --v;
+        p -= d1;
+      }
+
+      p = p - d1 & LONG_MASK;
+    }
+
+    final long t = v * d0, t1 = t >>> 32;
+    p = p + t1 & LONG_MASK;
+    if (p < t1) {
+      --v;
+      if (p > d1 || p == d1 && (t & LONG_MASK) >= d0)
+        --v;
+    }
+
+    return v;
+  }
+
+  /**
+   * Divides the magnitude {@code mag[off..off+len)} in place by the 1-word
+   * divisor {@code dn >>> s}, and returns the remainder.
+   *
+   * @param mag The dividend as a magnitude array.
+   * @param off The offset of the first limb of the dividend.
+   * @param len The number of limbs of the dividend.
+   * @param dn The normalized divisor.
+   * @param s The number of bits by which the divisor is normalized.
+   * @param v The reciprocal of {@code dn}.
+   * @return The remainder (unsigned).
+   * @complexity O(n)
+   */
+  static long divRem(final int[] mag, final int off, final int len, final long dn, final int s, final long v) {
+    long r = 0;
+    for (int i = off + len - 1; i >= off; --i) {
+      final long u = mag[i] & LONG_MASK;
+      final long u1 = r | u >>> 32 - s;
+      final long u0 = u << s & LONG_MASK;
+      final long p = v * u1 + (u1 << 32 | u0);
+      long q = p >>> 32;
+      r = u0 - dn - q * dn & LONG_MASK;
+      final long m = (p & LONG_MASK) - r >> 63;
+      q += 1 + m;
+      r = r + (dn & m) & LONG_MASK;
+      if (r >= dn) {
+        ++q;
+        r -= dn;
+      }
+
+      mag[i] = (int)q;
+    }
+
+    return r >>> s;
+  }
+
+  /**
+   * Returns the remainder of the magnitude {@code mag[off..off+len)} divided
+   * by the 1-word divisor {@code dn >>> s}.
+   *
+   * @param mag The dividend as a magnitude array.
+   * @param off The offset of the first limb of the dividend.
+   * @param len The number of limbs of the dividend.
+   * @param dn The normalized divisor.
+   * @param s The number of bits by which the divisor is normalized.
+   * @param v The reciprocal of {@code dn}.
+   * @return The remainder (unsigned).
+   * @complexity O(n)
+   */
+  static long rem(final int[] mag, final int off, final int len, final long dn, final int s, final long v) {
+    long r = 0;
+    for (int i = off + len - 1; i >= off; --i) {
+      final long u = mag[i] & LONG_MASK;
+      final long u1 = r | u >>> 32 - s;
+      final long u0 = u << s & LONG_MASK;
+      final long p = v * u1 + (u1 << 32 | u0);
+      r = u0 - dn - (p >>> 32) * dn & LONG_MASK;
+      r = r + (dn & (p & LONG_MASK) - r >> 63) & LONG_MASK;
+      if (r >= dn)
+        r -= dn;
+    }
+
+    return r >>> s;
+  }
+
+  /**
+   * Divides the magnitude {@code mag[off..off+len)} in place by the 2-word
+   * divisor {@code dn >>> s}, and returns the remainder. Each limb of the
+   * quotient is computed with Algorithm 5 of Möller and Granlund, which
+   * divides a 3-word number by the 2-word normalized divisor.
+   *
+   * @param mag The dividend as a magnitude array.
+   * @param off The offset of the first limb of the dividend.
+   * @param len The number of limbs of the dividend.
+   * @param dn The normalized divisor, whose bit 63 is set.
+   * @param s The number of bits by which the divisor is normalized.
+   * @param v The reciprocal of {@code dn}.
+   * @return The remainder (unsigned).
+   * @complexity O(n)
+   */
+  static long divRem2(final int[] mag, final int off, final int len, final long dn, final int s, final long v) {
+    final long d1 = dn >>> 32, d0 = dn & LONG_MASK;
+    long r = 0;
+    for (int i = off + len - 1; i >= off; --i) {
+      final long u = mag[i] & LONG_MASK;
+      final long u2 = r >>> 32;
+      final long u1 = r & LONG_MASK | u >>> 32 - s;
+      final long u0 = u << s & LONG_MASK;
+      final long p = v * u2 + (u2 << 32 | u1);
+      long q = p >>> 32;
+      r = ((u1 - q * d1 & LONG_MASK) << 32 | u0) - d0 * q - dn;
+      // The first adjustment is unpredictable, and is therefore branch-free
+      final long m = (p & LONG_MASK) - 1 - (r >>> 32) >> 63;
+      q = q + 1 + m & LONG_MASK;
+      r += dn & m;
+      if (r + hbit >= dn + hbit) {
+        ++q;
+        r -= dn;
+      }
+
+      mag[i] = (int)q;
+    }
+
+    return r >>> s;
+  }
+
+  /**
+   * Returns the remainder of the magnitude {@code mag[off..off+len)} divided
+   * by the 2-word divisor {@code dn >>> s}.
+   *
+   * @param mag The dividend as a magnitude array.
+   * @param off The offset of the first limb of the dividend.
+   * @param len The number of limbs of the dividend.
+   * @param dn The normalized divisor, whose bit 63 is set.
+   * @param s The number of bits by which the divisor is normalized.
+   * @param v The reciprocal of {@code dn}.
+   * @return The remainder (unsigned).
+   * @complexity O(n)
+   */
+  static long rem2(final int[] mag, final int off, final int len, final long dn, final int s, final long v) {
+    final long d1 = dn >>> 32, d0 = dn & LONG_MASK;
+    long r = 0;
+    for (int i = off + len - 1; i >= off; --i) {
+      final long u = mag[i] & LONG_MASK;
+      final long u2 = r >>> 32;
+      final long u1 = r & LONG_MASK | u >>> 32 - s;
+      final long u0 = u << s & LONG_MASK;
+      final long p = v * u2 + (u2 << 32 | u1);
+      final long q = p >>> 32;
+      r = ((u1 - q * d1 & LONG_MASK) << 32 | u0) - d0 * q - dn;
+      r += dn & (p & LONG_MASK) - 1 - (r >>> 32) >> 63;
+
+      if (r + hbit >= dn + hbit)
+        r -= dn;
+    }
+
+    return r >>> s;
+  }
+}
\ No newline at end of file
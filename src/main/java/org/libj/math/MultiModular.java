@@ -0,0 +1,737 @@
+/* Copyright (c) 2020 Seva Safris, LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.math;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A multi-modular (residue number) system for the arithmetic of
+ * {@linkplain BigInt#val() value-encoded numbers} of bounded size, which
+ * represents each number by its residues modulo a set of primes less than
+ * {@code 2^31}.
+ * <p>
+ * Upon construction, enough primes are chosen for their product {@code M} to
+ * exceed {@code 2^(bits+1)}, such that each number {@code x} with
+ * {@code |x| <= 2^bits} has a unique representation. Addition, subtraction,
+ * multiplication and (exact) division of such representations cost one
+ * operation on a word per prime, and are independent among the primes, which
+ * is why they are performed in parallel in the
+ * {@linkplain BigInt#getParallelPool() parallel pool} if the system has at
+ * least {@link #getParallelThreshold()} primes. A computation with many
+ * multiplications, the intermediate results of which would be large, but the
+ * final result of which is known to be bounded, such as the evaluation of a
+ * determinant, is therefore performed in time linear in the size of the bound
+ * per operation, instead of the time of the multiplication of the
+ * intermediate results. A computation that is expressed in the arithmetic
+ * modulo one prime, such as the Gaussian elimination of a matrix, is performed
+ * for all primes in parallel with {@link #compute(Kernel)}.
+ * <p>
+ * A number is reduced to its residues with a remainder tree, which divides the
+ * number by the products of the halves of the primes, and the halves of the
+ * halves, down to the pairs of primes, the product of each of which is an
+ * {@link InvariantDivisor}. A number is reconstructed from its residues with
+ * the Chinese Remainder Theorem, the terms
+ * <code>(r<sub>i</sub> * (M/p<sub>i</sub>)<sup>-1</sup> mod p<sub>i</sub>) *
+ * M/p<sub>i</sub></code> of which are summed with a product tree of the
+ * primes. Both trees split their halves among parallel tasks if the products
+ * are large enough for parallel multiplication. The reconstructed number is
+ * the representative of least magnitude, which is in {@code (-M/2, M/2)}.
+ * <p>
+ * The residues are held in {@code int[]} arrays of length {@link #size()}, in
+ * Montgomery form, and are to be created with {@link #valueOf(int[])}. The
+ * arithmetic methods put the result into their first argument, which they
+ * return.
+ * <p>
+ * A {@link MultiModular} is immutable, and can be shared among threads.
+ *
+ * @see <a href="https://doi.org/10.1109/TEC.1959.5222697">Harvey L. Garner:
+ *      The Residue Number System</a>
+ */
+public final class MultiModular {
+  private static final int OFF = BigInt.OFF;
+  private static final long LONG_MASK = 0xFFFFFFFFL;
+
+  /** The greatest number of primes of a leaf of the remainder tree. */
+  private static final int LEAF = 16;
+
+  /**
+   * The number of primes of a system at and above which the arithmetic on the
+   * residues is performed in parallel.
+   */
+  static volatile int PARALLEL_THRESHOLD = BigIntThresholds.get("MULTIMODULAR_PARALLEL_THRESHOLD", 1 << 13);
+
+  /**
+   * Returns the number of primes of a system at and above which the
+   * arithmetic on the residues is performed in parallel.
+   *
+   * @return The number of primes of a system at and above which the
+   *         arithmetic on the residues is performed in parallel.
+   */
+  public static int getParallelThreshold() {
+    return PARALLEL_THRESHOLD;
+  }
+
+  /**
+   * Sets the number of primes of a system at and above which the arithmetic
+   * on the residues is performed in parallel. To disable parallel arithmetic,
+   * specify {@link Integer#MAX_VALUE}.
+   *
+   * @param threshold The number of primes.
+   * @throws IllegalArgumentException If {@code threshold} is not positive.
+   */
+  public static void setParallelThreshold(final int threshold) {
+    if (threshold <= 0)
+      throw new IllegalArgumentException("threshold (" + threshold + ") must be positive");
+
+    PARALLEL_THRESHOLD = threshold;
+  }
+
+  /** The bound of the bit length of the numbers of the system. */
+  private final int bits;
+
+  /** The primes. */
+  private final int[] p;
+
+  /** The values of {@code -p^-1 mod 2^32} for the Montgomery reduction. */
+  private final int[] pn;
+
+  /** The values of {@code R^2 mod p} for the Montgomery reduction, where {@code R = 2^32}. */
+  private final int[] r2;
+
+  /** The values of {@code R^3 mod p}. */
+  private final int[] r3;
+
+  /** The values of {@code (M/p)^-1 mod p}. */
+  private final int[] c;
+
+  /** The divisors of the products of the pairs of consecutive primes. */
+  private final InvariantDivisor[] pairs;
+
+  /** The root of the product tree of the primes. */
+  private final Node root;
+
+  /** The product {@code M} of the primes. */
+  private final BigIntDivisor m;
+
+  /** The {@linkplain BigInt#val() value-encoded} {@code floor(M/2)}. */
+  private final int[] half;
+
+  /**
+   * Creates a new {@link MultiModular} system for the numbers {@code x} with
+   * {@code |x| <= 2^bits}.
+   *
+   * @param bits The bound of the bit length of the numbers of the system.
+   * @throws IllegalArgumentException If {@code bits} is negative.
+   */
+  public MultiModular(final int bits) {
+    if (bits < 0)
+      throw new IllegalArgumentException("bits (" + bits + ") must be non-negative");
+
+    this.bits = bits;
+    // Each prime is greater than 2^30, so M >= 2^(30 * n) > 2^(bits+1)
+    final int n = bits / 30 + 1;
+    this.p = new int[n];
+    this.pn = new int[n];
+    this.r2 = new int[n];
+    this.r3 = new int[n];
+    this.c = new int[n];
+    for (int i = 0, q = Integer.MAX_VALUE; i < n; q -= 2) {
+      if (isPrime(q)) {
+        p[i] = q;
+        int inv = 1;
+        for (int j = 0; j < 5; ++j) // Newton iteration doubles the number of correct low bits
+          inv *= 2 - q * inv;
+
+        pn[i] = -inv;
+        final long r = (1L << 32) % q;
+        r2[i] = (int)(r * r % q);
+        r3[i] = mont(r2[i], r2[i], q, pn[i]);
+        ++i;
+      }
+    }
+
+    this.pairs = new InvariantDivisor[(n + 1) / 2];
+    for (int i = 0; i < n; i += 2)
+      pairs[i / 2] = new InvariantDivisor(i + 1 < n ? (long)p[i] * p[i + 1] : p[i]);
+
+    this.root = new Node(p, 0, n);
+    this.m = new BigIntDivisor(root.prod);
+    this.half = BigInt.shiftRight(root.prod.clone(), 1);
+    cofactors(root, BigInt.assign(BigInt.alloc(2), 1));
+  }
+
+  /**
+   * Returns whether the provided odd number, which is greater than {@code 61},
+   * is prime, with the Miller-Rabin test to the bases {@code 2}, {@code 7} and
+   * {@code 61}, which is deterministic for numbers less than {@code 2^32}.
+   */
+  private static boolean isPrime(final int n) {
+    if (n % 3 == 0 || n % 5 == 0 || n % 7 == 0)
+      return false;
+
+    int s = Integer.numberOfTrailingZeros(n - 1);
+    final int d = n - 1 >>> s;
+    loop:
+    for (final int a : new int[] {2, 7, 61}) {
+      long x = modPow(a, d, n);
+      if (x == 1 || x == n - 1)
+        continue;
+
+      for (int r = 1; r < s; ++r) {
+        x = x * x % n;
+        if (x == n - 1)
+          continue loop;
+      }
+
+      return false;
+    }
+
+    return true;
+  }
+
+  private static long modPow(long b, long e, final long p) {
+    long r = 1;
+    for (; e > 0; e >>= 1, b = b * b % p)
+      if ((e & 1) != 0)
+        r = r * b % p;
+
+    return r;
+  }
+
+  /**
+   * Returns the Montgomery product {@code a * b * 2^-32 mod p}, where
+   * {@code a} and {@code b} are less than {@code 2^31}.
+   */
+  private static int mont(final long a, final long b, final long p, final int pn) {
+    final long t = a * b;
+    final long u = (t + (((int)t * pn) & LONG_MASK) * p) >>> 32;
+    return (int)(u >= p ? u - p : u);
+  }
+
+  /**
+   * Computes {@link #c} for the primes of the provided node, given
+   * {@code cof = (M / node.prod) mod node.prod}.
+   */
+  private void cofactors(final Node node, final int[] cof) {
+    if (node.left == null) {
+      final long q = p[node.lo];
+      c[node.lo] = (int)modPow(cof[0] == 0 ? 0 : cof[OFF] & LONG_MASK, q - 2, q);
+      return;
+    }
+
+    cofactors(node.left, BigInt.rem(BigInt.mul(cof.clone(), node.right.prod), node.left.prod));
+    cofactors(node.right, BigInt.rem(BigInt.mul(cof, node.left.prod), node.right.prod));
+  }
+
+  /**
+   * Returns the bound of the bit length of the numbers of this system.
+   *
+   * @return The bound of the bit length of the numbers of this system.
+   */
+  public int bitLength() {
+    return bits;
+  }
+
+  /**
+   * Returns the number of primes of this system, which is the length of the
+   * arrays of residues.
+   *
+   * @return The number of primes of this system.
+   */
+  public int size() {
+    return p.length;
+  }
+
+  /**
+   * Returns the prime at the provided index.
+   *
+   * @param i The index of the prime.
+   * @return The prime at the provided index.
+   * @throws ArrayIndexOutOfBoundsException If {@code i} is negative, or not
+   *           less than {@link #size()}.
+   */
+  public int prime(final int i) {
+    return p[i];
+  }
+
+  /**
+   * Returns the residue at the provided index of the provided residues, which
+   * is the value modulo the prime at the index.
+   *
+   * @param res The residues.
+   * @param i The index of the prime.
+   * @return The residue at the provided index of the provided residues.
+   * @throws ArrayIndexOutOfBoundsException If {@code i} is negative, or not
+   *           less than {@link #size()}.
+   */
+  public int residue(final int[] res, final int i) {
+    return mont(res[i] & LONG_MASK, 1, p[i], pn[i]);
+  }
+
+  /**
+   * Returns the residues of the provided {@code long}.
+   *
+   * @param val The {@code long}.
+   * @return The residues of the provided {@code long}.
+   * @complexity O(n)
+   */
+  public int[] valueOf(final long val) {
+    return valueOf(BigInt.assign(BigInt.alloc(3), val));
+  }
+
+  /**
+   * Returns the residues of the provided {@link BigInt}.
+   *
+   * @param val The {@link BigInt}.
+   * @return The residues of the provided {@link BigInt}.
+   * @complexity O(n^2) - O(M(n) log n)
+   */
+  public int[] valueOf(final BigInt val) {
+    return valueOf(val.val());
+  }
+
+  /**
+   * Returns the residues of the provided {@linkplain BigInt#val() value-encoded
+   * number}, which is not modified.
+   *
+   * @param val The {@linkplain BigInt#val() value-encoded number}.
+   * @return The residues of the provided {@linkplain BigInt#val()
+   *         value-encoded number}.
+   * @complexity O(n^2) - O(M(n) log n)
+   */
+  public int[] valueOf(final int[] val) {
+    final int[] res = new int[p.length];
+    int len = val[0];
+    if (len == 0)
+      return res;
+
+    final boolean sig = len < 0;
+    int[] x = sig ? BigInt.abs(val.clone()) : val;
+    if (x[0] >= root.prod[0])
+      x = m.rem(x == val ? val.clone() : x);
+
+    reduce(root, x, res, BigIntMultiplication.PARALLEL_KARATSUBA_MAX_DEPTH);
+    if (sig)
+      for (int i = 0; i < res.length; ++i)
+        if (res[i] != 0)
+          res[i] = p[i] - res[i];
+
+    return res;
+  }
+
+  /**
+   * Puts the residues of the provided {@linkplain BigInt#val() value-encoded
+   * number}, which is non-negative and less than {@code node.prod}, and which
+   * is not modified, modulo the primes of the provided node into {@code res}.
+   * Numbers of at most {@link #LEAF} limbs are divided by the pairs of primes
+   * directly, for which the remainder tree has no advantage.
+   */
+  private void reduce(final Node node, final int[] x, final int[] res, final int depth) {
+    if (node.hi - node.lo <= LEAF || x[0] <= LEAF) {
+      final int len = x[0];
+      for (int i = node.lo; i < node.hi; i += 2) {
+        final long r = pairs[i / 2].rem(x, OFF, len);
+        for (int j = i, end = Math.min(i + 2, node.hi); j < end; ++j)
+          res[j] = mont(r % p[j], r2[j] & LONG_MASK, p[j], pn[j]);
+      }
+
+      return;
+    }
+
+    // The division normalizes the divisor in place, so it is given a copy
+    final int[] xl = BigInt.rem(x.clone(), node.left.prod.clone());
+    final int[] xr = BigInt.rem(x.clone(), node.right.prod.clone());
+    if (depth > 0 && x[0] > BigIntMultiplication.PARALLEL_KARATSUBA_THRESHOLD_X) {
+      BigIntMultiplication.invokeAll(new TreeTask(this, node.left, xl, res, depth - 1), new TreeTask(this, node.right, xr, res, depth - 1));
+    }
+    else {
+      reduce(node.left, xl, res, depth);
+      reduce(node.right, xr, res, depth);
+    }
+  }
+
+  /**
+   * Returns the {@linkplain BigInt#val() value-encoded number} of least
+   * magnitude with the provided residues.
+   *
+   * @param res The residues.
+   * @return The {@linkplain BigInt#val() value-encoded number} of least
+   *         magnitude with the provided residues.
+   * @throws IllegalArgumentException If the length of {@code res} is not
+   *           {@link #size()}.
+   * @complexity O(n^2) - O(M(n) log n)
+   */
+  public int[] toVal(final int[] res) {
+    checkLength(res);
+    // a = r * (M/p)^-1 mod p, out of Montgomery form
+    final int[] a = new int[p.length];
+    for (int i = 0; i < a.length; ++i)
+      a[i] = mont(res[i] & LONG_MASK, c[i] & LONG_MASK, p[i], pn[i]);
+
+    int[] x = m.rem(combine(root, a, BigIntMultiplication.PARALLEL_KARATSUBA_MAX_DEPTH));
+    if (BigInt.compareTo(x, half) > 0)
+      x = BigInt.sub(x, root.prod);
+
+    return x;
+  }
+
+  /**
+   * Returns the {@link BigInt} of least magnitude with the provided residues.
+   *
+   * @param res The residues.
+   * @return The {@link BigInt} of least magnitude with the provided residues.
+   * @throws IllegalArgumentException If the length of {@code res} is not
+   *           {@link #size()}.
+   * @complexity O(n^2) - O(M(n) log n)
+   */
+  public BigInt toBigInt(final int[] res) {
+    return new BigInt(toVal(res));
+  }
+
+  /**
+   * Returns the sum of {@code a[i] * node.prod / p[i]} for the primes of the
+   * provided node.
+   */
+  private int[] combine(final Node node, final int[] a, final int depth) {
+    if (node.left == null)
+      return BigInt.assign(BigInt.alloc(2), a[node.lo]);
+
+    final int[] xl, xr;
+    if (depth > 0 && node.prod[0] > BigIntMultiplication.PARALLEL_KARATSUBA_THRESHOLD_X) {
+      final TreeTask tl = new TreeTask(this, node.left, a, null, depth - 1);
+      final TreeTask tr = new TreeTask(this, node.right, a, null, depth - 1);
+      BigIntMultiplication.invokeAll(tl, tr);
+      xl = tl.x;
+      xr = tr.x;
+    }
+    else {
+      xl = combine(node.left, a, depth);
+      xr = combine(node.right, a, depth);
+    }
+
+    return BigInt.add(BigInt.mul(xl, node.right.prod), BigInt.mul(xr, node.left.prod));
+  }
+
+  /**
+   * Adds the provided residues {@code y} to the residues {@code x}.
+   *
+   * <pre>
+   * x = x + y
+   * </pre>
+   *
+   * @param x The residues of the augend, into which the sum is put.
+   * @param y The residues of the addend.
+   * @return {@code x}
+   * @throws IllegalArgumentException If the length of {@code x} or {@code y}
+   *           is not {@link #size()}.
+   * @complexity O(n)
+   */
+  public int[] add(final int[] x, final int[] y) {
+    return apply(ADD, x, y);
+  }
+
+  /**
+   * Subtracts the provided residues {@code y} from the residues {@code x}.
+   *
+   * <pre>
+   * x = x - y
+   * </pre>
+   *
+   * @param x The residues of the minuend, into which the difference is put.
+   * @param y The residues of the subtrahend.
+   * @return {@code x}
+   * @throws IllegalArgumentException If the length of {@code x} or {@code y}
+   *           is not {@link #size()}.
+   * @complexity O(n)
+   */
+  public int[] sub(final int[] x, final int[] y) {
+    return apply(SUB, x, y);
+  }
+
+  /**
+   * Multiplies the residues {@code x} by the provided residues {@code y}.
+   *
+   * <pre>
+   * x = x * y
+   * </pre>
+   *
+   * @param x The residues of the multiplicand, into which the product is put.
+   * @param y The residues of the multiplier.
+   * @return {@code x}
+   * @throws IllegalArgumentException If the length of {@code x} or {@code y}
+   *           is not {@link #size()}.
+   * @complexity O(n)
+   */
+  public int[] mul(final int[] x, final int[] y) {
+    return apply(MUL, x, y);
+  }
+
+  /**
+   * Divides the residues {@code x} by the provided residues {@code y}, which
+   * is exact if the dividend is a multiple of the divisor.
+   *
+   * <pre>
+   * x = x / y
+   * </pre>
+   *
+   * @param x The residues of the dividend, into which the quotient is put.
+   * @param y The residues of the divisor.
+   * @return {@code x}
+   * @throws ArithmeticException If the divisor is a multiple of any of the
+   *           primes of this system, in which case {@code x} is undefined.
+   * @throws IllegalArgumentException If the length of {@code x} or {@code y}
+   *           is not {@link #size()}.
+   * @complexity O(n)
+   */
+  public int[] div(final int[] x, final int[] y) {
+    return apply(DIV, x, y);
+  }
+
+  /**
+   * Returns the residues of a result that is computed with the provided
+   * {@link Kernel} modulo each of the primes of this system, for the primes
+   * of which the kernel is applied in parallel in the
+   * {@linkplain BigInt#getParallelPool() parallel pool}. This allows a
+   * computation, such as the Gaussian elimination of a matrix for its
+   * determinant, to be performed in {@code int} arithmetic modulo each prime,
+   * the operands of which are obtained with {@link #residue(int[],int)}.
+   *
+   * @param kernel The {@link Kernel}.
+   * @return The residues of the result.
+   * @throws NullPointerException If {@code kernel} is null.
+   * @complexity O(n)
+   */
+  public int[] compute(final Kernel kernel) {
+    final int[] res = new int[p.length];
+    final int n = p.length;
+    final int groups = Math.min(n, BigIntMultiplication.parallelPool.getParallelism());
+    if (groups < 2) {
+      apply(kernel, res, 0, n);
+      return res;
+    }
+
+    final ApplyTask[] tasks = new ApplyTask[groups];
+    for (int g = 0; g < groups; ++g)
+      tasks[g] = new ApplyTask(this, kernel, res, (int)((long)n * g / groups), (int)((long)n * (g + 1) / groups));
+
+    BigIntMultiplication.invokeAll(tasks);
+    return res;
+  }
+
+  private void apply(final Kernel kernel, final int[] res, final int from, final int to) {
+    for (int i = from; i < to; ++i) {
+      final long q = p[i];
+      long r = kernel.apply(i, p[i]) % q;
+      if (r < 0)
+        r += q;
+
+      res[i] = mont(r, r2[i] & LONG_MASK, q, pn[i]);
+    }
+  }
+
+  /**
+   * A computation of the residue of a result modulo one of the primes of a
+   * {@link MultiModular} system.
+   *
+   * @see MultiModular#compute(Kernel)
+   */
+  public interface Kernel {
+    /**
+     * Returns the residue of the result modulo the provided prime.
+     *
+     * @param i The index of the prime in the {@link MultiModular} system.
+     * @param p The prime.
+     * @return The residue of the result modulo the provided prime.
+     */
+    int apply(int i, int p);
+  }
+
+  private static final int ADD = 0;
+  private static final int SUB = 1;
+  private static final int MUL = 2;
+  private static final int DIV = 3;
+
+  private void checkLength(final int[] res) {
+    if (res.length != p.length)
+      throw new IllegalArgumentException("res.length (" + res.length + ") must be " + p.length);
+  }
+
+  private int[] apply(final int op, final int[] x, final int[] y) {
+    checkLength(x);
+    checkLength(y);
+    final int n = p.length;
+    final int parallelism = BigIntMultiplication.parallelPool.getParallelism();
+    if (n < PARALLEL_THRESHOLD || parallelism < 2) {
+      apply(op, x, y, 0, n);
+      return x;
+    }
+
+    final int groups = Math.min(parallelism, Math.max(2, n / (PARALLEL_THRESHOLD / 2)));
+    final ApplyTask[] tasks = new ApplyTask[groups];
+    for (int g = 0; g < groups; ++g)
+      tasks[g] = new ApplyTask(this, op, x, y, (int)((long)n * g / groups), (int)((long)n * (g + 1) / groups));
+
+    BigIntMultiplication.invokeAll(tasks);
+    return x;
+  }
+
+  private void apply(final int op, final int[] x, final int[] y, final int from, final int to) {
+    final int[] p = this.p, pn = this.pn;
+    switch (op) {
+      case ADD:
+        for (int i = from; i < to; ++i) {
+          final int d = x[i] - (p[i] - y[i]);
+          x[i] = d < 0 ? d + p[i] : d;
+        }
+
+        break;
+      case SUB:
+        for (int i = from; i < to; ++i) {
+          final int d = x[i] - y[i];
+          x[i] = d < 0 ? d + p[i] : d;
+        }
+
+        break;
+      case MUL:
+        for (int i = from; i < to; ++i)
+          x[i] = mont(x[i] & LONG_MASK, y[i] & LONG_MASK, p[i], pn[i]);
+
+        break;
+      case DIV:
+        for (int i = from; i < to; ++i) {
+          if (y[i] == 0)
+            throw new ArithmeticException("Divisor is a multiple of " + p[i]);
+
+          // (y * R)^-1 = y^-1 * R^-1, which is multiplied by R^3 to y^-1 * R^2
+          final long q = p[i];
+          final long inv = modPow(y[i], q - 2, q);
+          x[i] = mont(x[i] & LONG_MASK, mont(inv, r3[i] & LONG_MASK, q, pn[i]) & LONG_MASK, q, pn[i]);
+        }
+
+        break;
+      default:
+        throw new IllegalStateException("Unsupported op: " + op);
+    }
+  }
+
+  /**
+   * A node of the product tree of the primes {@code p[lo..hi)}, the halves of
+   * which are split at an even index.
+   */
+  private static final class Node {
+    private final int lo;
+    private final int hi;
+    private final int[] prod;
+    private final Node left;
+    private final Node right;
+
+    private Node(final int[] p, final int lo, final int hi) {
+      this.lo = lo;
+      this.hi = hi;
+      if (hi - lo == 1) {
+        this.prod = BigInt.assign(BigInt.alloc(2), p[lo]);
+        this.left = null;
+        this.right = null;
+      }
+      else {
+        final int mid = hi - lo == 2 ? lo + 1 : lo + Math.max(2, (hi - lo) / 2 & ~1);
+        this.left = new Node(p, lo, mid);
+        this.right = new Node(p, mid, hi);
+        this.prod = BigInt.mul(left.prod.clone(), right.prod);
+      }
+    }
+  }
+
+  /**
+   * A {@link RecursiveAction} that reduces a number modulo the primes of a
+   * node of the product tree (if {@code res} is not null), or combines the
+   * terms of the Chinese Remainder Theorem of the primes of the node (if
+   * {@code res} is null), as a subtask of the parallel traversal of the tree.
+   */
+  private static final class TreeTask extends RecursiveAction {
+    private static final long serialVersionUID = 2604637470734153391L;
+
+    private final MultiModular system;
+    private final Node node;
+    private final int[] a;
+    private final int[] res;
+    private final int depth;
+    private int[] x;
+
+    private TreeTask(final MultiModular system, final Node node, final int[] a, final int[] res, final int depth) {
+      this.system = system;
+      this.node = node;
+      this.a = a;
+      this.res = res;
+      this.depth = depth;
+    }
+
+    @Override
+    protected void compute() {
+      if (res != null)
+        system.reduce(node, a, res, depth);
+      else
+        x = system.combine(node, a, depth);
+    }
+  }
+
+  /**
+   * A {@link RecursiveAction} that performs an arithmetic operation on the
+   * residues {@code [from, to)} (if {@code kernel} is null), or applies a
+   * {@link Kernel} to the primes {@code [from, to)}, as a subtask of parallel
+   * arithmetic.
+   */
+  private static final class ApplyTask extends RecursiveAction {
+    private static final long serialVersionUID = -6317026335981946842L;
+
+    private final MultiModular system;
+    private final Kernel kernel;
+    private final int op;
+    private final int[] x;
+    private final int[] y;
+    private final int from;
+    private final int to;
+
+    private ApplyTask(final MultiModular system, final int op, final int[] x, final int[] y, final int from, final int to) {
+      this.system = system;
+      this.kernel = null;
+      this.op = op;
+      this.x = x;
+      this.y = y;
+      this.from = from;
+      this.to = to;
+    }
+
+    private ApplyTask(final MultiModular system, final Kernel kernel, final int[] res, final int from, final int to) {
+      this.system = system;
+      this.kernel = kernel;
+      this.op = -1;
+      this.x = res;
+      this.y = null;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (kernel != null)
+        system.apply(kernel, x, from, to);
+      else
+        system.apply(op, x, y, from, to);
+    }
+  }
+}
@@ -1468,13 +1468,10 @@ public final class StatMath {
    * @param n Pool size.
    * @param k Selection size.
    * @return The binomial coefficient of {@code (n choose k)}.
+   * @see BigInt#binomial(int,int)
    */
   public static BigInteger binomial(final int n, final int k) {
-    BigInteger binomial = BigInteger.ONE;
-    for (int i = 0; i < k; ++i)
-      binomial = binomial.multiply(BigInteger.valueOf(n - i)).divide(BigInteger.valueOf(i + 1));
-
-    return binomial;
+    return new BigInt(BigInt.binomial(n, k)).toBigInteger();
   }
 
   private StatMath() {
@@ -16,9 +16,13 @@
 
 package org.libj.math;
 
+import static org.junit.Assert.*;
 import static org.libj.math.survey.AuditMode.*;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -120,4 +124,92 @@ public class BigIntConstructorTest extends BigIntTest {
       s(int[].class, a -> bytes[1], (byte[] a) -> BigInt.valueOf(a, true), BigInt::toString)
     );
   }
+
+  @Test
+  public void testParseDivideAndConquer() {
+    for (int i = 0; i < 300; ++i) {
+      BigInteger aa = i % 5 == 0 ? BigInteger.TEN.pow(random.nextInt(20000)).add(BigInteger.valueOf(random.nextInt(3) - 1)) : new BigInteger(1 + random.nextInt(i % 10 == 0 ? 200000 : 30000), random);
+      if (i % 3 == 0)
+        aa = aa.negate();
+
+      String s = aa.toString();
+      if (i % 4 == 0)
+        s = aa.signum() < 0 ? "-000" + s.substring(1) : "000" + s;
+
+      assertEquals(aa, new BigInt(s).toBigInteger());
+    }
+
+    // A leading chunk of 9 digits that are all zeros
+    assertEquals(new BigInt(123), new BigInt("000000000123"));
+    assertEquals(new BigInt(-123), new BigInt("-000000000000000000123"));
+  }
+
+  @Test
+  public void testParseRadix() {
+    for (int i = 0; i < 300; ++i) {
+      final int radix = Character.MIN_RADIX + i % (Character.MAX_RADIX - Character.MIN_RADIX + 1);
+      BigInteger aa = new BigInteger(random.nextInt(i % 10 == 0 ? 100000 : 10000), random);
+      if (i % 3 == 0)
+        aa = aa.negate();
+
+      String s = aa.toString(radix);
+      if (i % 4 == 0)
+        s = aa.signum() < 0 ? "-000" + s.substring(1) : "+000" + s;
+
+      if (i % 2 == 0)
+        s = s.toUpperCase();
+
+      assertEquals("radix " + radix, aa, new BigInt(s, radix).toBigInteger());
+    }
+  }
+
+  @Test
+  public void testByteBuffer() {
+    final ByteBuffer heap = ByteBuffer.allocate(4096);
+    final ByteBuffer direct = ByteBuffer.allocateDirect(4096);
+    final byte[] bytes = new byte[4096];
+    final BigInt b = new BigInt(0);
+    for (int i = 0; i < 10000; ++i) {
+      BigInteger bb = i < 4 ? BigInteger.valueOf(i - 2) : new BigInteger(random.nextInt(i % 10 == 0 ? 20000 : 200), random);
+      if (i % 5 == 0)
+        bb = bb.shiftLeft(random.nextInt(64));
+
+      if (random.nextBoolean())
+        bb = bb.negate();
+
+      final BigInt a = newBigInt(bb);
+      final byte[] be = bb.toByteArray();
+      final byte[] le = a.toByteArray(true);
+      assertEquals(be.length, a.byteLength());
+      for (int j = 0; j < be.length; ++j)
+        assertEquals(be[j], le[be.length - 1 - j]);
+
+      final boolean littleEndian = random.nextBoolean();
+      final int off = random.nextInt(8);
+      assertEquals(be.length, a.writeTo(bytes, off, littleEndian));
+      assertArrayEquals(littleEndian ? le : be, Arrays.copyOfRange(bytes, off, off + be.length));
+
+      final ByteBuffer buf = (i % 2 == 0 ? heap : direct).order(random.nextBoolean() ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+      buf.clear().position(off);
+      assertEquals(be.length, a.writeTo(buf));
+      assertEquals(off + be.length, buf.position());
+      final byte[] out = new byte[be.length];
+      buf.position(off);
+      buf.get(out);
+      final boolean bufLittleEndian = buf.order() == ByteOrder.LITTLE_ENDIAN;
+      assertArrayEquals(bufLittleEndian ? le : be, out);
+
+      buf.position(off);
+      assertEquals(bb, b.assign(buf, be.length, bufLittleEndian).toBigInteger());
+      assertEquals(off + be.length, buf.position());
+
+      // Reading in the byte order opposite to that of the buffer
+      buf.position(off).put(bufLittleEndian ? be : le).position(off);
+      assertEquals(bb, b.assign(buf, be.length, !bufLittleEndian).toBigInteger());
+
+      // Reading with sign-extension bytes
+      buf.position(off).put((byte)(bb.signum() < 0 ? -1 : 0)).put(be).position(off);
+      assertEquals(bb, b.assign(buf, be.length + 1, false).toBigInteger());
+    }
+  }
 }
\ No newline at end of file
@@ -16,9 +16,11 @@
 
 package org.libj.math;
 
+import static org.junit.Assert.*;
 import static org.libj.math.survey.AuditMode.*;
 
 import java.math.BigInteger;
+import java.util.Random;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -150,4 +152,128 @@ public class BigIntDivisionTest extends BigIntTest {
       s(int[].class, this::scaledVal, b -> BigInt.valueOf(nz(b)), (int[] a, int[] b) -> { BigInt.divRem(a, b); return a; }, BigInt::toString)
     );
   }
+
+  @Test
+  public void testBurnikelZieglerDiv() {
+    final int min = BigIntDivision.BURNIKEL_ZIEGLER_THRESHOLD;
+    for (int i = 0; i < 16; ++i) {
+      final int len2 = min + random.nextInt(min * 8), len1 = len2 + BigIntDivision.BURNIKEL_ZIEGLER_OFFSET + random.nextInt(len2 * 3);
+      BigInteger aa = operand(i, len1, 3);
+      final BigInteger bb = operand(i, len2, 0);
+      if (i % 4 == 1)
+        aa = aa.subtract(aa.mod(bb));
+
+      final BigInt a = newBigInt(aa);
+      final BigInt b = newBigInt(bb);
+      assertEquals("Burnikel-Ziegler div [" + len1 + " / " + len2 + "]", aa.divide(bb), a.clone().div(b).toBigInteger());
+      assertEquals("Burnikel-Ziegler rem [" + len1 + " / " + len2 + "]", aa.remainder(bb), a.clone().rem(b).toBigInteger());
+      final BigInt r = a.divRem(b);
+      assertEquals("Burnikel-Ziegler divRem [" + len1 + " / " + len2 + "]", aa.divide(bb), a.toBigInteger());
+      assertEquals("Burnikel-Ziegler divRem [" + len1 + " / " + len2 + "]", aa.remainder(bb), r.toBigInteger());
+    }
+  }
+
+  @Test
+  public void testBigIntDivisor() {
+    final int min = BigIntDivision.BARRETT_THRESHOLD;
+    for (int i = 0; i < 16; ++i) {
+      final int len2 = i % 4 == 3 ? 1 + random.nextInt(min) : min + random.nextInt(min), len1 = 1 + random.nextInt(len2 * 5);
+      BigInteger aa = operand(i, len1, 3);
+      final BigInteger bb = operand(i, len2, 5);
+      if (i % 4 == 1)
+        aa = aa.subtract(aa.mod(bb.abs()));
+
+      final BigInt a = newBigInt(aa);
+      final BigIntDivisor b = new BigIntDivisor(newBigInt(bb));
+      assertEquals("BigIntDivisor div [" + len1 + " / " + len2 + "]", aa.divide(bb), a.clone().div(b).toBigInteger());
+      assertEquals("BigIntDivisor rem [" + len1 + " / " + len2 + "]", aa.remainder(bb), a.clone().rem(b).toBigInteger());
+      assertEquals("BigIntDivisor mod [" + len1 + " / " + len2 + "]", aa.mod(bb.abs()), a.clone().mod(b).toBigInteger());
+      final BigInt r = a.divRem(b);
+      assertEquals("BigIntDivisor divRem [" + len1 + " / " + len2 + "]", aa.divide(bb), a.toBigInteger());
+      assertEquals("BigIntDivisor divRem [" + len1 + " / " + len2 + "]", aa.remainder(bb), r.toBigInteger());
+    }
+  }
+
+  @Test
+  public void testBigIntDivisorShared() throws InterruptedException {
+    // A divisor below the Barrett threshold that the Knuth division must normalize
+    final BigInteger bb = new BigInteger(Math.max(2, BigIntDivision.BARRETT_THRESHOLD / 2) * 32 - 5, random).setBit(Math.max(2, BigIntDivision.BARRETT_THRESHOLD / 2) * 32 - 6);
+    final BigIntDivisor b = new BigIntDivisor(newBigInt(bb));
+    final Thread[] threads = new Thread[4];
+    final AssertionError[] errors = new AssertionError[threads.length];
+    for (int t = 0; t < threads.length; ++t) {
+      final int index = t;
+      final Random random = new Random(t);
+      threads[t] = new Thread(() -> {
+        try {
+          for (int i = 0; i < 2000; ++i) {
+            final BigInteger aa = new BigInteger(64 + random.nextInt(bb.bitLength() * 4), random);
+            final BigInt a = newBigInt(aa);
+            final BigInt r = a.divRem(b);
+            assertEquals(aa.divide(bb), a.toBigInteger());
+            assertEquals(aa.remainder(bb), r.toBigInteger());
+          }
+        }
+        catch (final AssertionError e) {
+          errors[index] = e;
+        }
+      });
+      threads[t].start();
+    }
+
+    for (int t = 0; t < threads.length; ++t) {
+      threads[t].join();
+      if (errors[t] != null)
+        throw errors[t];
+    }
+  }
+
+  @Test
+  public void testDivExact() {
+    for (int i = 0; i < 1000; ++i) {
+      BigInteger qq = new BigInteger(1 + random.nextInt(i % 10 == 0 ? 4000 : 400), random);
+      if (i % 3 == 0)
+        qq = qq.negate();
+
+      final BigInteger dd;
+      if (i % 4 == 0)
+        dd = BigInteger.valueOf(random.nextInt() | 1 << random.nextInt(31));
+      else if (i % 4 == 1)
+        dd = BigInteger.valueOf(random.nextLong() | 1L << random.nextInt(63));
+      else
+        dd = new BigInteger(1 + random.nextInt(i % 10 == 2 ? 4000 : 400), random).setBit(0).shiftLeft(random.nextInt(3) == 0 ? random.nextInt(100) : 0);
+
+      final BigInteger aa = qq.multiply(dd);
+      final BigInt a = newBigInt(aa);
+      if (i % 4 == 0)
+        a.divExact(dd.intValue());
+      else if (i % 4 == 1)
+        a.divExact(dd.longValue());
+      else
+        a.divExact(newBigInt(dd));
+
+      assertEquals("divExact [" + aa + " / " + dd + "]", qq, a.toBigInteger());
+    }
+  }
+
+  @Test
+  public void testInvariantDivisor() {
+    for (int i = 0; i < 1000; ++i) {
+      final int len = 1 + random.nextInt(20);
+      final BigInteger aa = operand(i, len, 3);
+      final int kind = i / 4 % 3;
+      long d;
+      do
+        d = kind == 0 ? random.nextInt() : kind == 1 ? (1L << random.nextInt(64)) - random.nextInt(2) : random.nextLong() >>> random.nextInt(64);
+      while (d == 0);
+
+      final BigInteger dd = new BigInteger(Long.toUnsignedString(d));
+      final BigInteger[] qr = aa.abs().divideAndRemainder(dd);
+      final InvariantDivisor divisor = new InvariantDivisor(d);
+      final BigInt a = newBigInt(aa);
+      assertEquals("InvariantDivisor rem [" + aa + " / " + dd + "]", qr[1].longValue(), divisor.rem(a.val(), 1, Math.abs(a.val()[0])));
+      assertEquals("InvariantDivisor divRem [" + aa + " / " + dd + "]", qr[1].longValue(), divisor.divRem(a.val()));
+      assertEquals("InvariantDivisor divRem [" + aa + " / " + dd + "]", aa.signum() < 0 ? qr[0].negate() : qr[0], a.toBigInteger());
+    }
+  }
 }
\ No newline at end of file
@@ -0,0 +1,90 @@
+/* Copyright (c) 2020 Seva Safris, LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.math;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigInteger;
+
+import org.junit.Test;
+
+public class BigIntExternalizableTest extends BigIntTest {
+  private static ObjectInputStream newInput(final int ... bytes) throws IOException {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (final ObjectOutputStream oos = new ObjectOutputStream(out)) {
+      for (final int b : bytes)
+        oos.writeByte(b);
+    }
+
+    return new ObjectInputStream(new ByteArrayInputStream(out.toByteArray()));
+  }
+
+  private static void assertMalformed(final Class<? extends IOException> expected, final int ... bytes) throws IOException {
+    final BigInt a = new BigInt(7);
+    try (final ObjectInputStream in = newInput(bytes)) {
+      a.readExternal(in);
+      fail("Expected " + expected.getSimpleName());
+    }
+    catch (final IOException e) {
+      assertEquals(expected, e.getClass());
+    }
+
+    assertEquals(new BigInt(7), a);
+  }
+
+  @Test
+  public void testExternalizable() throws ClassNotFoundException, IOException {
+    final BigInt[] ints = new BigInt[100];
+    for (int i = 0; i < ints.length; ++i) {
+      BigInteger bb = i == 0 ? BigInteger.ZERO : new BigInteger(random.nextInt(i % 10 == 0 ? 20000 : 1000), random);
+      if (random.nextBoolean())
+        bb = bb.negate();
+
+      ints[i] = newBigInt(bb);
+    }
+
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (final ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(ints);
+    }
+
+    try (final ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      assertArrayEquals(ints, (BigInt[])in.readObject());
+    }
+  }
+
+  @Test
+  public void testMalformedLength() throws IOException {
+    // A 5th byte of the varint, which would decode to a signum of Integer.MIN_VALUE
+    assertMalformed(InvalidObjectException.class, 0xFF, 0xFF, 0xFF, 0xFF, 0x0F);
+    assertMalformed(InvalidObjectException.class, 0xFE, 0xFF, 0xFF, 0xFF, 0x0F);
+    assertMalformed(InvalidObjectException.class, 0x80, 0x80, 0x80, 0x80, 0x00);
+    // A length of MAX_VAL_LENGTH
+    assertMalformed(InvalidObjectException.class, 0x80, 0x80, 0x80, 0x40);
+    assertMalformed(InvalidObjectException.class, 0xFF, 0xFF, 0xFF, 0x3F);
+    // A truncated varint, and a truncated magnitude
+    assertMalformed(EOFException.class, 0x80);
+    assertMalformed(EOFException.class, 0x04, 0x00, 0x00, 0x00, 0x01);
+  }
+}
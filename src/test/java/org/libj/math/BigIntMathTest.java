@@ -0,0 +1,244 @@
+/* Copyright (c) 2020 Seva Safris, LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.math;
+
+import static org.junit.Assert.*;
+
+import java.math.BigInteger;
+import java.util.BitSet;
+
+import org.junit.Test;
+
+public class BigIntMathTest extends BigIntTest {
+  @Test
+  public void testGcd() {
+    final int threshold = BigIntMath.HALF_GCD_THRESHOLD;
+    final int recursionThreshold = BigIntMath.HALF_GCD_RECURSION_THRESHOLD;
+    try {
+      for (int i = 0; i < 1000; ++i) {
+        // Exercise the half-gcd reduction and its recursion at small sizes
+        BigIntMath.HALF_GCD_THRESHOLD = i % 2 == 0 ? threshold : 32;
+        BigIntMath.HALF_GCD_RECURSION_THRESHOLD = i % 2 == 0 ? recursionThreshold : 16;
+
+        final BigInteger gg = new BigInteger(1 + random.nextInt(i % 10 == 0 ? 4000 : 400), random);
+        BigInteger aa = new BigInteger(i % 7 == 0 ? 0 : 1 + random.nextInt(i % 10 == 1 ? 12000 : 1200), random).multiply(gg);
+        BigInteger bb = new BigInteger(i % 11 == 0 ? 0 : 1 + random.nextInt(i % 10 == 1 ? 12000 : 1200), random).multiply(gg);
+        if (i % 3 == 0)
+          aa = aa.negate();
+
+        if (i % 5 == 0)
+          bb = bb.negate();
+
+        final BigInt a = newBigInt(aa);
+        final BigInt b = newBigInt(bb);
+        assertEquals("gcd [" + aa + ", " + bb + "]", aa.gcd(bb), a.clone().gcd(b).toBigInteger());
+        final BigInteger ll = aa.signum() == 0 || bb.signum() == 0 ? BigInteger.ZERO : aa.multiply(bb).abs().divide(aa.gcd(bb));
+        assertEquals("lcm [" + aa + ", " + bb + "]", ll, a.lcm(b).toBigInteger());
+      }
+    }
+    finally {
+      BigIntMath.HALF_GCD_THRESHOLD = threshold;
+      BigIntMath.HALF_GCD_RECURSION_THRESHOLD = recursionThreshold;
+    }
+  }
+
+  @Test
+  public void testGcdExt() {
+    final BigInt x = new BigInt(0);
+    final BigInt y = new BigInt(0);
+    for (int i = 0; i < 1000; ++i) {
+      final BigInteger gg = new BigInteger(1 + random.nextInt(200), random);
+      BigInteger aa = new BigInteger(i % 17 == 0 ? 0 : 1 + random.nextInt(i % 10 == 0 ? 4000 : 400), random).multiply(gg);
+      BigInteger bb = new BigInteger(i % 19 == 0 ? 0 : 1 + random.nextInt(i % 10 == 1 ? 4000 : 400), random).multiply(gg);
+      if (i % 3 == 0)
+        aa = aa.negate();
+
+      if (i % 4 == 0)
+        bb = bb.negate();
+
+      final BigInt a = newBigInt(aa);
+      a.gcdExt(newBigInt(bb), x, y);
+      assertEquals("gcdExt [" + aa + ", " + bb + "]", aa.gcd(bb), a.toBigInteger());
+      assertEquals("gcdExt [" + aa + ", " + bb + "]", aa.gcd(bb), x.toBigInteger().multiply(aa).add(y.toBigInteger().multiply(bb)));
+    }
+  }
+
+  @Test
+  public void testModInverse() {
+    for (int i = 0; i < 1000; ++i) {
+      final BigInteger mm = new BigInteger(1 + random.nextInt(i % 10 == 0 ? 4000 : 400), random).add(BigInteger.ONE);
+      BigInteger aa = new BigInteger(1 + random.nextInt(i % 10 == 1 ? 4000 : 400), random);
+      if (i % 3 == 0)
+        aa = aa.negate();
+
+      final BigInt a = newBigInt(aa);
+      try {
+        final BigInteger expected = aa.modInverse(mm);
+        assertEquals("modInverse [" + aa + " mod " + mm + "]", expected, a.modInverse(newBigInt(mm)).toBigInteger());
+      }
+      catch (final ArithmeticException e) {
+        try {
+          a.modInverse(newBigInt(mm));
+          fail("Expected ArithmeticException [" + aa + " mod " + mm + "]");
+        }
+        catch (final ArithmeticException e2) {
+          assertEquals("modInverse [" + aa + " mod " + mm + "]", aa, a.toBigInteger());
+        }
+      }
+    }
+
+    final BigInt a = new BigInt(6);
+    try {
+      a.modInverse(new BigInt(9));
+      fail("Expected ArithmeticException");
+    }
+    catch (final ArithmeticException e) {
+      assertEquals(new BigInt(6), a);
+    }
+
+    final BigInt p = new BigInt("340282366920938463463374607431768211507");
+    try {
+      p.modInverse(p);
+      fail("Expected ArithmeticException");
+    }
+    catch (final ArithmeticException e) {
+      assertEquals(new BigInt("340282366920938463463374607431768211507"), p);
+    }
+  }
+
+  @Test
+  public void testModPow() {
+    for (int i = 0; i < 1000; ++i) {
+      final int bits = 1 + random.nextInt(i % 10 == 0 ? 4000 : 400);
+      BigInteger mm = new BigInteger(bits, random).setBit(0);
+      if (i % 2 == 0)
+        mm = mm.setBit(bits).clearBit(0);
+
+      BigInteger aa = new BigInteger(1 + random.nextInt(bits * 2), random);
+      if (i % 3 == 0)
+        aa = aa.negate();
+
+      BigInteger ee = new BigInteger(random.nextInt(i % 10 == 1 ? 2000 : 200), random);
+      if (i % 5 == 0 && aa.gcd(mm).equals(BigInteger.ONE))
+        ee = ee.negate();
+
+      final BigInt a = newBigInt(aa);
+      a.modPow(newBigInt(ee), newBigInt(mm));
+      assertEquals("modPow [" + aa + " ^ " + ee + " mod " + mm + "]", aa.modPow(ee, mm), a.toBigInteger());
+    }
+
+    // Powers of two, including 2^(32j), for which the Barrett constant would need k + 2 limbs
+    final int[] pow2 = {31, 32, 33, 63, 64, 96, 128, 160, 200, 960, 1152};
+    for (final int bits : pow2) {
+      final BigInteger mm = BigInteger.ONE.shiftLeft(bits);
+      for (final BigInteger aa : new BigInteger[] {BigInteger.valueOf(3), new BigInteger(bits * 2, random).setBit(0).negate(), mm.subtract(BigInteger.ONE)}) {
+        for (final BigInteger ee : new BigInteger[] {BigInteger.valueOf(5), new BigInteger(300, random), BigInteger.valueOf(-7)}) {
+          final BigInt a = newBigInt(aa);
+          a.modPow(newBigInt(ee), newBigInt(mm));
+          assertEquals("modPow [" + aa + " ^ " + ee + " mod 2^" + bits + "]", aa.modPow(ee, mm), a.toBigInteger());
+        }
+      }
+    }
+
+    assertEquals(new BigInt(243), new BigInt(3).modPow(new BigInt(5), new BigInt("4294967296")));
+  }
+
+  @Test
+  public void testIsProbablePrime() {
+    final long[] pseudoprimes = {561, 2047, 3277, 8321, 3215031751L, 2152302898747L, 3825123056546413051L};
+    for (final long p : pseudoprimes)
+      assertFalse("isProbablePrime [" + p + "]", new BigInt(p).isProbablePrime(100));
+
+    for (int i = 0; i < 5000; ++i) {
+      BigInteger aa = new BigInteger(2 + random.nextInt(i % 10 == 0 ? 600 : 80), random);
+      if (i % 3 == 0)
+        aa = aa.negate();
+
+      final BigInt a = newBigInt(aa);
+      assertEquals("isProbablePrime [" + aa + "]", aa.abs().isProbablePrime(100), a.isProbablePrime(100));
+    }
+  }
+
+  @Test
+  public void testNextProbablePrime() {
+    for (int i = 0; i < 300; ++i) {
+      final BigInteger aa = new BigInteger(1 + random.nextInt(i % 10 == 0 ? 600 : 100), random);
+      final BigInt a = newBigInt(aa);
+      assertEquals("nextProbablePrime [" + aa + "]", aa.nextProbablePrime(), a.nextProbablePrime().toBigInteger());
+
+      final BigInteger odd = aa.setBit(0);
+      final int n = 1 + random.nextInt(200);
+      final BitSet composite = BigInt.sieve(newBigInt(odd).val(), n);
+      for (int j = 0; j < n; ++j) {
+        final BigInteger c = odd.add(BigInteger.valueOf(2L * j));
+        if (composite.get(j))
+          assertFalse("sieve [" + c + "]", c.isProbablePrime(100));
+      }
+    }
+  }
+
+  @Test
+  public void testFactorial() {
+    BigInteger expected = BigInteger.ONE;
+    for (int n = 0; n <= 2000; ++n) {
+      if (n > 0)
+        expected = expected.multiply(BigInteger.valueOf(n));
+
+      assertEquals("factorial [" + n + "]", expected, new BigInt(BigInt.factorial(n)).toBigInteger());
+    }
+  }
+
+  @Test
+  public void testBinomial() {
+    for (int i = 0; i < 3000; ++i) {
+      final int n = random.nextInt(i % 10 == 0 ? 5000 : 300) - 20;
+      final int k = random.nextInt(Math.abs(n) + 4) - 2;
+      BigInteger expected = BigInteger.ONE;
+      for (int j = 0; j < k; ++j)
+        expected = expected.multiply(BigInteger.valueOf(n - j)).divide(BigInteger.valueOf(j + 1));
+
+      if (k < 0)
+        expected = BigInteger.ZERO;
+
+      assertEquals("binomial [" + n + ", " + k + "]", expected, new BigInt(BigInt.binomial(n, k)).toBigInteger());
+    }
+  }
+
+  @Test
+  public void testProduct() {
+    for (int i = 0; i < 1000; ++i) {
+      final int[][] vals = new int[random.nextInt(80)][];
+      BigInteger expected = BigInteger.ONE;
+      for (int j = 0; j < vals.length; ++j) {
+        BigInteger aa = new BigInteger(random.nextInt(i % 10 == 0 ? 3000 : 300), random);
+        if (random.nextBoolean())
+          aa = aa.negate();
+
+        vals[j] = newBigInt(aa).val();
+        expected = expected.multiply(aa);
+      }
+
+      final int[][] copies = new int[vals.length][];
+      for (int j = 0; j < vals.length; ++j)
+        copies[j] = vals[j].clone();
+
+      assertEquals("product", expected, new BigInt(BigInt.product(vals)).toBigInteger());
+      for (int j = 0; j < vals.length; ++j)
+        assertArrayEquals("product operand", copies[j], vals[j]);
+    }
+  }
+}
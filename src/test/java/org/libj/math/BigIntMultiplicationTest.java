@@ -16,9 +16,12 @@
 
 package org.libj.math;
 
+import static org.junit.Assert.*;
 import static org.libj.math.survey.AuditMode.*;
 
 import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 import org.junit.Ignore;
 import org.junit.Test;
@@ -428,4 +431,134 @@ public class BigIntMultiplicationTest extends BigIntTest {
       System.out.println("[" + len1 + "," + len2 + "] " + zlen + " " + c);
     }
   }
+
+  @Test
+  public void testToom3Mul() {
+    final int min = BigIntMultiplication.TOOM3_THRESHOLD_X;
+    for (int i = 0; i < 32; ++i) {
+      final int len1 = min + random.nextInt(min * 8), len2 = random.nextBoolean() ? len1 : min + random.nextInt(min * 8);
+      final BigInteger aa = operand(i, len1, 3), bb = operand(i, len2, 5);
+      final BigInt a = newBigInt(aa);
+      a.mul(newBigInt(bb));
+      assertEquals("Toom-3 mul [" + len1 + ", " + len2 + "]", aa.multiply(bb), a.toBigInteger());
+    }
+  }
+
+  @Test
+  public void testKaratsubaSquare() {
+    final int min = BigIntMultiplication.KARATSUBA_SQUARE_THRESHOLD, max = BigIntMultiplication.TOOM3_SQUARE_THRESHOLD;
+    assertTrue("Karatsuba square tier above Toom-3 square tier", min <= max);
+    for (int i = 0; i < 32; ++i) {
+      final int len = min - 2 + random.nextInt(max - min + 4);
+      final BigInteger aa = operand(i, len, 3);
+      final BigInt a = newBigInt(aa);
+      a.mul(a);
+      assertEquals("Karatsuba square [" + len + "]", aa.multiply(aa), a.toBigInteger());
+    }
+  }
+
+  @Test
+  public void testToom3Square() {
+    final int min = BigIntMultiplication.TOOM3_SQUARE_THRESHOLD;
+    for (int i = 0; i < 32; ++i) {
+      final int len = min + random.nextInt(min * 16);
+      final BigInteger aa = operand(i, len, 3);
+      final BigInt a = newBigInt(aa);
+      a.mul(a);
+      assertEquals("Toom-3 square [" + len + "]", aa.multiply(aa), a.toBigInteger());
+    }
+  }
+
+  @Test
+  public void testUnbalancedMul() {
+    final int min = BigIntMultiplication.KARATSUBA_THRESHOLD_X;
+    for (int i = 0; i < 16; ++i) {
+      final int len1 = min + random.nextInt(min * 4), len2 = len1 * (BigIntMultiplication.UNBALANCED_RATIO + random.nextInt(40)) + random.nextInt(len1);
+      final BigInteger aa = operand(i, len1, 3), bb = operand(i, len2, 5);
+      final BigInt a = newBigInt(aa);
+      final BigInt b = newBigInt(bb);
+      final BigInt c = i % 2 == 0 ? a.mul(b) : b.mul(a);
+      assertEquals("Unbalanced [" + len1 + " x " + len2 + "]", aa.multiply(bb), c.toBigInteger());
+    }
+  }
+
+  @Test
+  public void testNttMul() {
+    final int min = BigIntMultiplication.NTT_THRESHOLD_X;
+    for (int i = 0; i < 8; ++i) {
+      final int len1 = min + random.nextInt(min * 2), len2 = i % 2 == 0 ? len1 : min + random.nextInt(min * 2);
+      final BigInteger aa = operand(i, len1, 3), bb = operand(i, len2, 5);
+      final BigInt a = newBigInt(aa), b = newBigInt(bb);
+      a.mul(b);
+      assertEquals("NTT mul [" + len1 + ", " + len2 + "]", aa.multiply(bb), a.toBigInteger());
+
+      b.mul(b);
+      assertEquals("NTT square [" + len2 + "]", bb.multiply(bb), b.toBigInteger());
+    }
+  }
+
+  @Test
+  public void testLargePow() {
+    for (int i = 0; i < 8; ++i) {
+      final BigInteger aa = operand(i, BigIntMultiplication.TOOM3_SQUARE_THRESHOLD, 3);
+      final int exp = 2 + random.nextInt(40);
+      final BigInt a = newBigInt(aa);
+      a.pow(exp);
+      assertEquals("Large pow [" + exp + "]", aa.pow(exp), a.toBigInteger());
+    }
+  }
+
+  @Test
+  public void testParallelMul() throws InterruptedException {
+    final ForkJoinPool defaultPool = BigInt.getParallelPool();
+    final ForkJoinPool pool = new ForkJoinPool(2);
+    BigInt.setParallelPool(pool);
+    try {
+      // A multiplication from a worker of another pool must execute its tasks in the parallel pool
+      final ForkJoinPool other = new ForkJoinPool(2);
+      try {
+        final int len = BigIntMultiplication.PARALLEL_KARATSUBA_THRESHOLD_Z * 2;
+        final BigInteger aa = new BigInteger(len * 32, random), bb = new BigInteger(len * 32, random);
+        final BigInt a = newBigInt(aa);
+        other.submit(() -> a.mul(newBigInt(bb))).join();
+        assertEquals("Nested parallel mul [" + len + "]", aa.multiply(bb), a.toBigInteger());
+        assertTrue("Parallel pool was not used", pool.getPoolSize() > 0);
+      }
+      finally {
+        other.shutdown();
+      }
+
+      final Thread[] threads = new Thread[4];
+      final Throwable[] errors = new Throwable[threads.length];
+      for (int t = 0; t < threads.length; ++t) {
+        final int index = t;
+        threads[t] = new Thread(() -> {
+          try {
+            final Random random = new Random(index);
+            for (int i = 0; i < 4; ++i) {
+              final int len = BigIntMultiplication.PARALLEL_KARATSUBA_THRESHOLD_Z + random.nextInt(BigIntMultiplication.PARALLEL_KARATSUBA_THRESHOLD_Z);
+              final BigInteger aa = new BigInteger(len * 32, random), bb = new BigInteger(len * 32, random);
+              final BigInt a = newBigInt(aa);
+              a.mul(newBigInt(bb));
+              assertEquals("Parallel mul [" + len + "]", aa.multiply(bb), a.toBigInteger());
+            }
+          }
+          catch (final Throwable e) {
+            errors[index] = e;
+          }
+        });
+        threads[t].start();
+      }
+
+      for (int t = 0; t < threads.length; ++t) {
+        threads[t].join();
+        if (errors[t] != null)
+          throw new AssertionError(errors[t]);
+      }
+    }
+    finally {
+      BigInt.setParallelPool(defaultPool);
+      pool.shutdown();
+    }
+  }
 }
\ No newline at end of file
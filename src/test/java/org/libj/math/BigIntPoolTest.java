@@ -0,0 +1,89 @@
+/* Copyright (c) 2020 Seva Safris, LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.math;
+
+import static org.junit.Assert.*;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class BigIntPoolTest extends BigIntTest {
+  @Test
+  public void testPool() {
+    final BigIntPool pool = new BigIntPool();
+    final int[] a = pool.get(100, 0);
+    assertEquals(128, a.length);
+    assertEquals(1, pool.misses());
+
+    // An array that is drawn from the pool is zeroed from the provided index
+    Arrays.fill(a, 7);
+    pool.give(a);
+    assertSame(a, pool.get(65, 10));
+    assertEquals(1, pool.hits());
+    assertEquals(7, a[9]);
+    assertEquals(0, a[10]);
+    assertEquals(0, a[127]);
+
+    // The magazines of large size classes are bounded by bytes
+    assertEquals(BigIntPool.MAGAZINE_SIZE, BigIntPool.capacity(BigIntPool.MIN_CLASS));
+    assertEquals(1, BigIntPool.capacity(BigIntPool.MAX_CLASS));
+    assertTrue(BigIntPool.capacity(BigIntPool.MAX_CLASS) << BigIntPool.MAX_CLASS + 2 <= BigIntPool.MAGAZINE_BYTES);
+
+    pool.give(new int[100]);
+    assertEquals(1, pool.drops());
+
+    // Full magazines are handed off to the depot, from which other threads draw
+    for (int i = 0; i < 2 * BigIntPool.MAGAZINE_SIZE; ++i)
+      pool.give(new int[64]);
+
+    final int[][] b = new int[1][];
+    final Thread thread = new Thread(() -> b[0] = pool.get(64, 0));
+    thread.start();
+    try {
+      thread.join();
+    }
+    catch (final InterruptedException e) {
+      throw new RuntimeException(e);
+    }
+
+    assertEquals(64, b[0].length);
+    assertEquals(2, pool.hits());
+    assertEquals(1 + 2 * BigIntPool.MAGAZINE_SIZE, pool.releases());
+
+    final BigInt c = new BigInt(Long.MAX_VALUE);
+    try (final BigIntPool.Scope scope = BigIntPool.scope()) {
+      scope.track(c).mul(Long.MAX_VALUE);
+      assertEquals(BigInteger.valueOf(Long.MAX_VALUE).pow(2), c.toBigInteger());
+    }
+
+    assertTrue(c.isZero());
+
+    // The result of an operation does not share the array of an operand, which would be released with it
+    final BigInt e = new BigInt(Long.MAX_VALUE);
+    assertNotSame(e.val(), new BigInt(0).or(e).val());
+
+    // The array that a BigInt supersedes with a larger array is returned to the pool
+    if (BigIntPool.isEnabled()) {
+      final BigInt d = new BigInt(Long.MAX_VALUE);
+      final long releases = BigIntPool.getReleases() + BigIntPool.getDrops();
+      d.mul(new BigInt(BigInteger.ONE.shiftLeft(100 * 32).toByteArray(), false));
+      assertEquals(releases + 1, BigIntPool.getReleases() + BigIntPool.getDrops());
+    }
+  }
+}
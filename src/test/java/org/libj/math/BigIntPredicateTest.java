@@ -16,6 +16,7 @@
 
 package org.libj.math;
 
+import static org.junit.Assert.*;
 import static org.libj.math.survey.AuditMode.*;
 
 import java.math.BigInteger;
@@ -207,4 +208,27 @@ public class BigIntPredicateTest extends BigIntTest {
       s(int[].class, this::scaledVal, BigInt::valueOf, (int[] a, int[] b) -> BigInt.min(a, b), BigInt::toString)
     );
   }
+
+  @Test
+  public void testToStringDivideAndConquer() {
+    for (int i = 0; i < 500; ++i) {
+      BigInteger aa = i % 5 == 0 ? BigInteger.TEN.pow(random.nextInt(5000)).add(BigInteger.valueOf(random.nextInt(3) - 1)) : new BigInteger(1 + random.nextInt(i % 10 == 0 ? 60000 : 12000), random);
+      if (i % 3 == 0)
+        aa = aa.negate();
+
+      assertEquals(aa.toString(), newBigInt(aa).toString());
+    }
+  }
+
+  @Test
+  public void testToStringRadix() {
+    for (int i = 0; i < 300; ++i) {
+      final int radix = Character.MIN_RADIX + i % (Character.MAX_RADIX - Character.MIN_RADIX + 1);
+      BigInteger aa = new BigInteger(random.nextInt(i % 10 == 0 ? 100000 : 10000), random);
+      if (i % 3 == 0)
+        aa = aa.negate();
+
+      assertEquals("radix " + radix, aa.toString(radix), newBigInt(aa).toString(radix));
+    }
+  }
 }
\ No newline at end of file
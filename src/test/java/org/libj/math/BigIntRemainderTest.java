@@ -16,9 +16,11 @@
 
 package org.libj.math;
 
+import static org.junit.Assert.*;
 import static org.libj.math.survey.AuditMode.*;
 
 import java.math.BigInteger;
+import java.util.Arrays;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -242,4 +244,19 @@ public class BigIntRemainderTest extends BigIntTest {
       s(int[].class, this::scaledVal, b -> BigInt.valueOf(abs(nz(b))), (int[] a, int[] b) -> BigInt.mod(a, b), BigInt::toString)
     );
   }
+
+  @Test
+  public void testRemStaleLimbs() {
+    for (int i = 0; i < 1000; ++i) {
+      final BigInteger aa = operand(i, 2 + random.nextInt(100), 0);
+      final BigInteger bb = new BigInteger(1 + random.nextInt(aa.bitLength()), random).setBit(0);
+      final int[] a = newBigInt(aa).val();
+      // Limbs beyond the length of the dividend, as left by a previous operation
+      final int[] val = Arrays.copyOf(a, a.length + 4);
+      for (int j = Math.abs(a[0]) + 1; j < val.length; ++j)
+        val[j] = random.nextInt();
+
+      assertEquals("rem [" + aa + " % " + bb + "]", aa.mod(bb), new BigInt(BigInt.rem(val, newBigInt(bb).val())).toBigInteger());
+    }
+  }
 }
\ No newline at end of file
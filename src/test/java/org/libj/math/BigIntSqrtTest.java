@@ -16,6 +16,7 @@
 
 package org.libj.math;
 
+import static org.junit.Assert.*;
 import static org.libj.math.survey.AuditMode.*;
 
 import java.math.BigInteger;
@@ -82,4 +83,52 @@ public class BigIntSqrtTest extends BigIntTest {
   public void testUnnecessary(final AuditReport report) {
     test(report, RoundingMode.UNNECESSARY);
   }
+
+  @Test
+  public void testRoot() {
+    for (int i = 0; i < 3000; ++i) {
+      final BigInteger aa = new BigInteger(1 + random.nextInt(i % 10 == 0 ? 3000 : 200), random);
+      final int k = 1 + random.nextInt(i % 3 == 0 ? 100 : 6);
+      final boolean negative = (k & 1) == 1 && random.nextBoolean();
+      final BigInteger root = new BigInt((negative ? aa.negate() : aa).toByteArray(), false).root(k).toBigInteger();
+      assertEquals("root sign [" + aa + ", " + k + "]", negative ? -aa.signum() : aa.signum(), root.signum());
+      assertTrue("root [" + aa + ", " + k + "]", root.abs().pow(k).compareTo(aa) <= 0 && root.abs().add(BigInteger.ONE).pow(k).compareTo(aa) > 0);
+    }
+  }
+
+  @Test
+  public void testSqrtRem() {
+    for (int i = 0; i < 3000; ++i) {
+      BigInteger aa = new BigInteger(1 + random.nextInt(i % 10 == 0 ? 3000 : 200), random);
+      if (i % 3 == 0)
+        aa = aa.pow(2).add(BigInteger.valueOf(random.nextInt(3)));
+
+      final BigInt a = newBigInt(aa);
+      final BigInteger rem = a.sqrtRem().toBigInteger();
+      final BigInteger sqrt = a.toBigInteger();
+      assertEquals("sqrtRem [" + aa + "]", aa, sqrt.pow(2).add(rem));
+      assertTrue("sqrtRem [" + aa + "]", rem.signum() >= 0 && rem.compareTo(sqrt.shiftLeft(1)) <= 0);
+    }
+  }
+
+  @Test
+  public void testIsPerfectPower() {
+    for (long x = -1000; x <= 20000; ++x) {
+      final long abs = Math.abs(x);
+      boolean expected = abs <= 1;
+      for (long b = 2; !expected && b * b <= abs; ++b)
+        for (long p = b * b, k = 2; p <= abs; p *= b, ++k)
+          if (p == abs && (x > 0 || (k & 1) == 1))
+            expected = true;
+
+      assertEquals("isPerfectPower [" + x + "]", expected, new BigInt(x).isPerfectPower());
+    }
+
+    for (int i = 0; i < 200; ++i) {
+      final BigInteger aa = new BigInteger(2 + random.nextInt(200), random).add(BigInteger.valueOf(2));
+      final BigInteger power = aa.pow(2 + random.nextInt(20));
+      assertTrue("isPerfectPower [" + power + "]", newBigInt(power).isPerfectPower());
+      assertFalse("isPerfectPower [" + power + "]", newBigInt(power).sub(1).isPerfectPower() && newBigInt(power).add(1).isPerfectPower());
+    }
+  }
 }
\ No newline at end of file
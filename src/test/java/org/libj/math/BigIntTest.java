@@ -218,6 +218,26 @@ public abstract class BigIntTest extends NumericCaseTest {
     return val;
   }
 
+  /**
+   * Returns an operand of {@code len} limbs for the {@code i}th case of a
+   * randomized test. Every 4th operand has all of its bits set, and the others
+   * are random with a non-zero most significant limb. The operand is negated
+   * for every {@code neg}th case, or never if {@code neg} is {@code 0}.
+   *
+   * @param i The index of the case.
+   * @param len The number of limbs.
+   * @param neg The period of the negated cases, or {@code 0} for none.
+   * @return An operand of {@code len} limbs for the {@code i}th case.
+   */
+  static BigInteger operand(final int i, final int len, final int neg) {
+    final BigInteger a = i % 4 == 0 ? BigInteger.ONE.shiftLeft(len * 32).subtract(BigInteger.ONE) : new BigInteger(len * 32, random).setBit(len * 32 - 1 - random.nextInt(32));
+    return neg != 0 && i % neg == 0 ? a.negate() : a;
+  }
+
+  static BigInt newBigInt(final BigInteger a) {
+    return new BigInt(a.toByteArray(), false);
+  }
+
   @Override
   public Color getColor(final Case<?,?,?,?,?> cse) {
     if (cse.getSubject() == BigInteger.class || cse.getSubject() == BigDecimal.class)
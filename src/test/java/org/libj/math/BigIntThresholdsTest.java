@@ -0,0 +1,153 @@
+/* Copyright (c) 2020 Seva Safris, LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.math;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Properties;
+
+import org.junit.Test;
+
+public class BigIntThresholdsTest extends BigIntTest {
+  private static final String[] names = {"KARATSUBA_THRESHOLD_X", "KARATSUBA_THRESHOLD_Z"};
+
+  private static File newProfile(final String host, final int x, final int z) throws IOException {
+    final File profile = File.createTempFile("thresholds", ".properties");
+    profile.deleteOnExit();
+    final Properties values = new Properties();
+    values.setProperty(names[0], String.valueOf(x));
+    values.setProperty(names[1], String.valueOf(z));
+    BigIntThresholds.save(profile, host, values);
+    return profile;
+  }
+
+  @Test
+  public void testLoad() throws IOException {
+    final Properties values = new Properties();
+    assertTrue(BigIntThresholds.load(newProfile("host", 40, 80), "host", values));
+    assertEquals(40, BigIntThresholds.get(values, names[0], 70));
+    assertEquals(80, BigIntThresholds.get(values, names[1], 135));
+    assertEquals(240, BigIntThresholds.get(values, "TOOM3_THRESHOLD_X", 240));
+  }
+
+  @Test
+  public void testLoadInvalid() throws IOException {
+    final Properties values = new Properties();
+    assertTrue(BigIntThresholds.load(newProfile("host", -1, 80), "host", values));
+    values.setProperty(names[1], "eighty");
+    assertEquals(70, BigIntThresholds.get(values, names[0], 70));
+    assertEquals(135, BigIntThresholds.get(values, names[1], 135));
+  }
+
+  @Test
+  public void testLoadHostMismatch() throws IOException {
+    final Properties values = new Properties();
+    assertFalse(BigIntThresholds.load(newProfile("other", 40, 80), "host", values));
+    assertTrue(values.isEmpty());
+    assertEquals(70, BigIntThresholds.get(values, names[0], 70));
+    assertTrue(BigIntThresholds.isCalibrating(true, false, values, names));
+  }
+
+  @Test
+  public void testLoadMissing() {
+    final Properties values = new Properties();
+    assertFalse(BigIntThresholds.load(new File("/nonexistent/thresholds.properties"), "host", values));
+    assertTrue(values.isEmpty());
+  }
+
+  @Test
+  public void testIsCalibrating() throws IOException {
+    final Properties values = new Properties();
+    assertFalse(BigIntThresholds.isCalibrating(false, false, values, names));
+    assertTrue(BigIntThresholds.isCalibrating(true, false, values, names));
+
+    values.setProperty(names[0], "40");
+    assertTrue(BigIntThresholds.isCalibrating(true, false, values, names));
+
+    assertTrue(BigIntThresholds.load(newProfile("host", 40, 80), "host", values));
+    assertFalse(BigIntThresholds.isCalibrating(false, false, values, names));
+    assertFalse(BigIntThresholds.isCalibrating(true, false, values, names));
+  }
+
+  @Test
+  public void testForce() throws IOException {
+    final Properties values = new Properties();
+    assertTrue(BigIntThresholds.load(newProfile("host", 40, 80), "host", values));
+    assertTrue(BigIntThresholds.isCalibrating(true, true, values, names));
+  }
+
+  @Test
+  public void testCheckThresholds() {
+    final int kx = BigIntMultiplication.KARATSUBA_THRESHOLD_X, kz = BigIntMultiplication.KARATSUBA_THRESHOLD_Z, ks = BigIntMultiplication.KARATSUBA_SQUARE_THRESHOLD;
+    final int tx = BigIntMultiplication.TOOM3_THRESHOLD_X, tz = BigIntMultiplication.TOOM3_THRESHOLD_Z, ts = BigIntMultiplication.TOOM3_SQUARE_THRESHOLD;
+    final int nx = BigIntMultiplication.NTT_THRESHOLD_X, nz = BigIntMultiplication.NTT_THRESHOLD_Z, ns = BigIntMultiplication.NTT_SQUARE_THRESHOLD;
+    try {
+      BigIntMultiplication.KARATSUBA_THRESHOLD_X = BigIntMultiplication.KARATSUBA_THRESHOLD_Z = BigIntMultiplication.KARATSUBA_SQUARE_THRESHOLD = 2;
+      BigIntMultiplication.TOOM3_THRESHOLD_X = BigIntMultiplication.TOOM3_THRESHOLD_Z = BigIntMultiplication.TOOM3_SQUARE_THRESHOLD = 1;
+      BigIntMultiplication.NTT_THRESHOLD_X = BigIntMultiplication.NTT_THRESHOLD_Z = BigIntMultiplication.NTT_SQUARE_THRESHOLD = 0;
+      BigIntMultiplication.checkThresholds();
+
+      assertEquals(32, BigIntMultiplication.KARATSUBA_THRESHOLD_X);
+      assertEquals(32, BigIntMultiplication.KARATSUBA_THRESHOLD_Z);
+      assertEquals(32, BigIntMultiplication.KARATSUBA_SQUARE_THRESHOLD);
+      assertEquals(32, BigIntMultiplication.TOOM3_THRESHOLD_X);
+      assertEquals(32, BigIntMultiplication.TOOM3_THRESHOLD_Z);
+      assertEquals(32, BigIntMultiplication.TOOM3_SQUARE_THRESHOLD);
+      assertEquals(32, BigIntMultiplication.NTT_THRESHOLD_X);
+      assertEquals(32, BigIntMultiplication.NTT_THRESHOLD_Z);
+      assertEquals(32, BigIntMultiplication.NTT_SQUARE_THRESHOLD);
+
+      for (int i = 0; i < 1000; ++i) {
+        final int len1 = 1 + random.nextInt(128), len2 = i % 2 == 0 ? len1 : 1 + random.nextInt(128);
+        final BigInteger aa = operand(i, len1, 5), bb = i % 3 == 0 ? aa : operand(i, len2, 7);
+        final BigInt a = newBigInt(aa);
+        a.mul(i % 3 == 0 ? a : newBigInt(bb));
+        assertEquals("[" + len1 + " x " + len2 + "]", aa.multiply(bb), a.toBigInteger());
+      }
+
+      BigIntMultiplication.KARATSUBA_THRESHOLD_X = BigIntMultiplication.KARATSUBA_THRESHOLD_Z = 100;
+      BigIntMultiplication.TOOM3_THRESHOLD_X = BigIntMultiplication.TOOM3_THRESHOLD_Z = 50;
+      BigIntMultiplication.NTT_THRESHOLD_X = BigIntMultiplication.NTT_THRESHOLD_Z = 75;
+      BigIntMultiplication.KARATSUBA_SQUARE_THRESHOLD = 200;
+      BigIntMultiplication.TOOM3_SQUARE_THRESHOLD = 150;
+      BigIntMultiplication.NTT_SQUARE_THRESHOLD = 40;
+      BigIntMultiplication.checkThresholds();
+
+      assertEquals(100, BigIntMultiplication.TOOM3_THRESHOLD_X);
+      assertEquals(100, BigIntMultiplication.TOOM3_THRESHOLD_Z);
+      assertEquals(100, BigIntMultiplication.NTT_THRESHOLD_X);
+      assertEquals(100, BigIntMultiplication.NTT_THRESHOLD_Z);
+      assertEquals(100, BigIntMultiplication.TOOM3_SQUARE_THRESHOLD);
+      assertEquals(100, BigIntMultiplication.KARATSUBA_SQUARE_THRESHOLD);
+      assertEquals(100, BigIntMultiplication.NTT_SQUARE_THRESHOLD);
+    }
+    finally {
+      BigIntMultiplication.KARATSUBA_THRESHOLD_X = kx;
+      BigIntMultiplication.KARATSUBA_THRESHOLD_Z = kz;
+      BigIntMultiplication.KARATSUBA_SQUARE_THRESHOLD = ks;
+      BigIntMultiplication.TOOM3_THRESHOLD_X = tx;
+      BigIntMultiplication.TOOM3_THRESHOLD_Z = tz;
+      BigIntMultiplication.TOOM3_SQUARE_THRESHOLD = ts;
+      BigIntMultiplication.NTT_THRESHOLD_X = nx;
+      BigIntMultiplication.NTT_THRESHOLD_Z = nz;
+      BigIntMultiplication.NTT_SQUARE_THRESHOLD = ns;
+    }
+  }
+}
@@ -0,0 +1,54 @@
+/* Copyright (c) 2020 Seva Safris, LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.math;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.junit.Test;
+
+public class DecimalExternalizableTest extends DecimalTest {
+  @Test
+  public void testExternalizable() throws ClassNotFoundException, IOException {
+    final Decimal[] decs = new Decimal[104];
+    for (int i = 0; i < decs.length - 4; ++i)
+      decs[i] = new Decimal(random.nextLong() >> random.nextInt(64), (short)(random.nextInt(512) - 256));
+
+    // Zero with the minimum scale, numbers outside of the long encoding, and an error
+    decs[decs.length - 4] = new Decimal(0, (short)(Decimal.MIN_PSCALE + 1));
+    decs[decs.length - 3] = new Decimal(Long.MAX_VALUE, (short)3);
+    decs[decs.length - 2] = new Decimal(1, Short.MAX_VALUE);
+    decs[decs.length - 1] = new Decimal().error("Overflow");
+
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (final ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(decs);
+    }
+
+    try (final ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      final Decimal[] decs2 = (Decimal[])in.readObject();
+      assertArrayEquals(decs, decs2);
+      assertTrue(decs2[decs.length - 1].isError());
+      assertEquals(decs[decs.length - 1].toString(), decs2[decs.length - 1].toString());
+    }
+  }
+}
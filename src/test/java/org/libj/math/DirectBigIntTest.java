@@ -0,0 +1,141 @@
+/* Copyright (c) 2020 Seva Safris, LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.math;
+
+import static org.junit.Assert.*;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.Test;
+
+public class DirectBigIntTest extends BigIntTest {
+  @Test
+  public void testKaratsuba() {
+    for (int i = 0; i < 200; ++i) {
+      final int len1 = 1 + random.nextInt(i % 10 == 0 ? 1000 : 200), len2 = i % 3 == 0 ? len1 : 1 + random.nextInt(i % 10 == 0 ? 1000 : 200);
+      final BigInteger aa = operand(i, len1, 0), bb = i % 5 == 0 ? aa : operand(i, len2, 0);
+
+      // Small chunks and blocks for the recursion to reach the blocks on the heap
+      final int blockLength = 1 + random.nextInt(16);
+      final DirectBigInt a = new DirectBigInt(0, 3, blockLength).assign(newBigInt(aa).val());
+      final DirectBigInt b = i % 5 == 0 ? a : new DirectBigInt(0, 3, blockLength).assign(newBigInt(bb).val());
+      assertEquals("Karatsuba [" + len1 + " x " + len2 + " / " + blockLength + "]", aa.multiply(bb), DirectBigInt.umul(a, b).toBigInt().toBigInteger());
+      assertEquals(aa, a.toBigInt().toBigInteger());
+    }
+  }
+
+  @Test
+  public void testDirectBigInt() {
+    for (int i = 0; i < 2000; ++i) {
+      final boolean small = i % 4 != 0;
+      BigInteger aa = new BigInteger(random.nextInt(i % 10 == 0 ? 20000 : 1000), random);
+      BigInteger bb = i % 7 == 0 ? aa : new BigInteger(random.nextInt(i % 10 == 0 ? 20000 : 1000), random);
+      if (random.nextBoolean())
+        aa = aa.negate();
+
+      if (random.nextBoolean())
+        bb = bb.negate();
+
+      final int[] av = newBigInt(aa).val(), bv = newBigInt(bb).val();
+      // Small chunks and blocks for the kernels to cross their boundaries
+      final DirectBigInt a = small ? new DirectBigInt(0, 3, 5).assign(av) : new DirectBigInt(av);
+      final DirectBigInt b = small ? new DirectBigInt(0, 3, 5).assign(bv) : new DirectBigInt(bv);
+      assertEquals(aa, new BigInt(a.toVal()).toBigInteger());
+      assertEquals(aa.bitLength(), a.bitLength());
+      switch (i % 6) {
+        case 0:
+          assertEquals("add", aa.add(bb), a.add(b).toBigInt().toBigInteger());
+          break;
+        case 1:
+          assertEquals("sub", aa.subtract(bb), a.sub(b).toBigInt().toBigInteger());
+          break;
+        case 2:
+          assertEquals("mul", aa.multiply(bb), a.mul(b).toBigInt().toBigInteger());
+          final DirectBigInt c = small ? new DirectBigInt(0, 3, 5).assign(av) : new DirectBigInt(av);
+          assertEquals("square", aa.multiply(aa), c.mul(c).toBigInt().toBigInteger());
+          break;
+        case 3:
+          if (bb.signum() != 0) {
+            final int[] rem = a.divRem(new BigIntDivisor(bv));
+            assertEquals("div", aa.divide(bb), a.toBigInt().toBigInteger());
+            assertEquals("rem", aa.remainder(bb), new BigInt(rem).toBigInteger());
+          }
+
+          break;
+        case 4:
+          final int shift = random.nextInt(2000);
+          assertEquals("shiftLeft", aa.shiftLeft(shift), a.shiftLeft(shift).toBigInt().toBigInteger());
+          break;
+        default:
+          final int num = random.nextInt(aa.bitLength() + 64);
+          assertEquals("shiftRight", aa.shiftRight(num), a.shiftRight(num).toBigInt().toBigInteger());
+      }
+    }
+  }
+
+  @Test
+  public void testDirectBigIntMap() throws IOException {
+    final File file = File.createTempFile("bigint", ".bin");
+    file.deleteOnExit();
+    final BigInteger[] expected = new BigInteger[200];
+    try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      for (int i = 0; i < expected.length; ++i) {
+        BigInteger bb = i == 0 ? BigInteger.ZERO : new BigInteger(random.nextInt(i % 10 == 0 ? 20000 : 1000), random);
+        if (random.nextBoolean())
+          bb = bb.negate();
+
+        expected[i] = bb;
+        final int[] val = newBigInt(bb).val();
+        if (i % 2 == 0)
+          DirectBigInt.write(val, channel);
+        else
+          new DirectBigInt(0, 3, 5).assign(val).writeTo(channel);
+      }
+
+      final long size = channel.size();
+      channel.position(0);
+      for (int i = 0; i < expected.length; ++i) {
+        final DirectBigInt b = DirectBigInt.map(channel, 3, 5);
+        assertEquals(expected[i], new BigInt(b.toVal()).toBigInteger());
+        // Arithmetic on the mapped limbs must leave the file unchanged
+        b.add(b).shiftLeft(7);
+      }
+
+      assertEquals(size, channel.position());
+      channel.position(0);
+      for (int i = 0; i < expected.length; ++i)
+        assertEquals(expected[i], DirectBigInt.map(channel).toBigInt().toBigInteger());
+
+      channel.truncate(size - 1);
+      channel.position(0);
+      for (int i = 0; i < expected.length - 1; ++i)
+        DirectBigInt.map(channel);
+
+      try {
+        DirectBigInt.map(channel);
+        fail("Expected EOFException");
+      }
+      catch (final EOFException e) {
+      }
+    }
+  }
+}
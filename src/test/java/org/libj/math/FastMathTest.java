@@ -45,6 +45,15 @@ public class FastMathTest extends BigIntTest {
       assertEquals((long)Math.pow(10, i), FastMath.longE10[i]);
   }
 
+  @Test
+  public void testDivideExactE10() {
+    for (int i = 0; i < numTests; ++i) {
+      final int n = random.nextInt(19);
+      final long q = random.nextLong() / FastMath.longE10[n];
+      assertEquals(q + "e" + n, q, FastMath.divideExactE10(q * FastMath.longE10[n], n));
+    }
+  }
+
   @Test
   public void testDivideUnsignedLong() {
     test("divideUnsigned(long,long)").withCases(
@@ -0,0 +1,108 @@
+/* Copyright (c) 2020 Seva Safris, LibJ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.libj.math;
+
+import static org.junit.Assert.*;
+
+import java.math.BigInteger;
+
+import org.junit.Test;
+
+public class MultiModularTest extends BigIntTest {
+  @Test
+  public void testMultiModular() {
+    for (int i = 0; i < 200; ++i) {
+      final int bits = random.nextInt(i % 10 == 0 ? 40000 : 2000);
+      final MultiModular system = new MultiModular(bits);
+      BigInteger aa = new BigInteger(bits / 2 + 1, random);
+      BigInteger bb = new BigInteger(bits - bits / 2, random).shiftRight(1);
+      if (i % 3 == 0)
+        aa = aa.negate();
+
+      if (i % 5 == 0)
+        bb = bb.negate();
+
+      final int[] a = system.valueOf(newBigInt(aa));
+      final int[] b = system.valueOf(newBigInt(bb));
+      assertEquals("MultiModular residue [" + aa + "]", aa.mod(BigInteger.valueOf(system.prime(0))).intValue(), system.residue(a, 0));
+      assertEquals("MultiModular add [" + aa + " + " + bb + "]", aa.add(bb), system.toBigInt(system.add(a.clone(), b)).toBigInteger());
+      assertEquals("MultiModular sub [" + aa + " - " + bb + "]", aa.subtract(bb), system.toBigInt(system.sub(a.clone(), b)).toBigInteger());
+      final int[] ab = system.mul(a.clone(), b);
+      assertEquals("MultiModular mul [" + aa + " * " + bb + "]", aa.multiply(bb), system.toBigInt(ab).toBigInteger());
+      if (bb.signum() != 0)
+        assertEquals("MultiModular div [" + aa + " * " + bb + " / " + bb + "]", aa, system.toBigInt(system.div(ab, b)).toBigInteger());
+    }
+
+    // The determinant of a matrix, by Gaussian elimination modulo each prime
+    final int n = 12;
+    final BigInteger[][] aa = new BigInteger[n][n];
+    final int[][][] a = new int[n][n][];
+    final MultiModular system = new MultiModular(n * 70);
+    for (int i = 0; i < n; ++i) {
+      for (int j = 0; j < n; ++j) {
+        aa[i][j] = BigInteger.valueOf(random.nextLong());
+        a[i][j] = system.valueOf(aa[i][j].longValue());
+      }
+    }
+
+    final int[] det = system.compute((k, p) -> {
+      final long[][] m = new long[n][n];
+      for (int i = 0; i < n; ++i)
+        for (int j = 0; j < n; ++j)
+          m[i][j] = system.residue(a[i][j], k);
+
+      long d = 1;
+      for (int c = 0; c < n; ++c) {
+        int r = c;
+        while (r < n && m[r][c] == 0)
+          ++r;
+
+        if (r == n)
+          return 0;
+
+        if (r != c) {
+          final long[] t = m[r];
+          m[r] = m[c];
+          m[c] = t;
+          d = p - d;
+        }
+
+        d = d * m[c][c] % p;
+        final long inv = BigInteger.valueOf(m[c][c]).modInverse(BigInteger.valueOf(p)).longValue();
+        for (int i = c + 1; i < n; ++i) {
+          final long f = m[i][c] * inv % p;
+          for (int j = c; j < n; ++j)
+            m[i][j] = ((m[i][j] - f * m[c][j]) % p + p) % p;
+        }
+      }
+
+      return (int)d;
+    });
+
+    // Bareiss's fraction-free elimination
+    BigInteger prev = BigInteger.ONE;
+    for (int c = 0; c < n - 1; ++c) {
+      for (int i = c + 1; i < n; ++i)
+        for (int j = c + 1; j < n; ++j)
+          aa[i][j] = aa[i][j].multiply(aa[c][c]).subtract(aa[i][c].multiply(aa[c][j])).divide(prev);
+
+      prev = aa[c][c];
+    }
+
+    assertEquals("MultiModular determinant", aa[n - 1][n - 1], system.toBigInt(det).toBigInteger());
+  }
+}
@@ -18,6 +18,7 @@ package org.libj.math;
 
 import static org.junit.Assert.*;
 
+import java.math.BigInteger;
 import java.util.Random;
 
 import org.junit.Test;
@@ -919,4 +920,17 @@ public class StatMathTest {
       StatMath.threshold(random.nextDouble(), random.nextDouble(), random.nextDouble());
     }
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testBinomial() {
+    for (int i = 0; i < 1000; ++i) {
+      final int n = random.nextInt(500);
+      final int k = random.nextInt(n + 2);
+      BigInteger expected = BigInteger.ONE;
+      for (int j = 0; j < k; ++j)
+        expected = expected.multiply(BigInteger.valueOf(n - j)).divide(BigInteger.valueOf(j + 1));
+
+      assertEquals("(" + n + " choose " + k + ")", expected, StatMath.binomial(n, k));
+    }
+  }
+}